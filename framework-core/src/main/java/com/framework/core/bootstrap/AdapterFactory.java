@@ -0,0 +1,20 @@
+package com.framework.core.bootstrap;
+
+import com.framework.core.di.Container;
+
+import java.util.Map;
+
+/**
+ * Builds an adapter whose construction needs more than its constructor dependencies
+ * (configuration blocks, fallbacks). Registered with the bootstrap under the adapter's name
+ * in the {@code adapters} configuration block.
+ */
+@FunctionalInterface
+public interface AdapterFactory {
+    
+    /**
+     * Create the adapter and register it in the container, under its port where it has one
+     * @param beanConfig the adapter's entry in the adapters block
+     */
+    void register(Container container, Map<String, Object> beanConfig) throws Exception;
+}
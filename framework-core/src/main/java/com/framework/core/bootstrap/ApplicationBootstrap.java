@@ -10,8 +10,11 @@ import com.framework.core.persistence.DataSourceFactory;
 
 import javax.sql.DataSource;
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Application bootstrap - loads configuration and initializes the application
@@ -20,6 +23,8 @@ public class ApplicationBootstrap {
     
     private final Container container;
     private final ConfigurationLoader configLoader;
+    private final Map<String, AdapterFactory> adapterFactories = new LinkedHashMap<>();
+    private final List<Consumer<Container>> serviceInitializers = new ArrayList<>();
     private Map<String, Object> configuration;
     
     public ApplicationBootstrap() {
@@ -27,6 +32,20 @@ public class ApplicationBootstrap {
         this.configLoader = new YamlConfigurationLoader();
     }
     
+    /**
+     * Build the named entry of the adapters block with {@code factory} instead of by constructor injection
+     */
+    public void registerAdapterFactory(String beanName, AdapterFactory factory) {
+        adapterFactories.put(beanName, factory);
+    }
+    
+    /**
+     * Run {@code initializer} after adapters and repositories are registered, before services are created
+     */
+    public void beforeServices(Consumer<Container> initializer) {
+        serviceInitializers.add(initializer);
+    }
+    
     public void initialize(String configFile) {
         // Load configuration
         configuration = configLoader.loadConfiguration(configFile);
@@ -43,6 +62,11 @@ public class ApplicationBootstrap {
         // Register repositories
         registerRepositories();
         
+        // Components the services need that are not declared in configuration
+        for (Consumer<Container> initializer : serviceInitializers) {
+            initializer.accept(container);
+        }
+        
         // Register services (they depend on repositories and adapters)
         registerServices();
         
@@ -75,11 +99,9 @@ public class ApplicationBootstrap {
                     continue;
                 }
                 
-                // Special handling for JwtSecurityAdapter - needs JWT config
-                if ("securityAdapter".equals(beanName)) {
-                    registerSecurityAdapter(beanConfig);
-                } else if ("cacheAdapter".equals(beanName)) {
-                    registerCacheAdapter(beanConfig);
+                AdapterFactory factory = adapterFactories.get(beanName);
+                if (factory != null) {
+                    registerAdapter(beanName, beanConfig, factory);
                 } else {
                     registerBean(beanName, beanConfig);
                 }
@@ -87,74 +109,12 @@ public class ApplicationBootstrap {
         }
     }
     
-    @SuppressWarnings("unchecked")
-    private void registerSecurityAdapter(Map<String, Object> beanConfig) {
+    private void registerAdapter(String beanName, Map<String, Object> beanConfig, AdapterFactory factory) {
         try {
-            // Get JWT configuration
-            Map<String, Object> jwtConfig = (Map<String, Object>) configuration.get("jwt");
-            if (jwtConfig == null) {
-                throw new RuntimeException("JWT configuration not found in application.yml");
-            }
-            
-            String secret = (String) jwtConfig.get("secret");
-            Long accessTokenExpiration = jwtConfig.get("accessTokenExpiration") != null ?
-                ((Number) jwtConfig.get("accessTokenExpiration")).longValue() : 900000L;
-            Long refreshTokenExpiration = jwtConfig.get("refreshTokenExpiration") != null ?
-                ((Number) jwtConfig.get("refreshTokenExpiration")).longValue() : 604800000L;
-            
-            // Create JwtSecurityAdapter instance
-            Class<?> clazz = Class.forName((String) beanConfig.get("implementation"));
-            Constructor<?> constructor = clazz.getConstructor(String.class, long.class, long.class);
-            Object instance = constructor.newInstance(secret, accessTokenExpiration, refreshTokenExpiration);
-            
-            // Register as singleton
-            container.registerSingleton(clazz, instance);
-            System.out.println("Registered adapter: securityAdapter -> " + beanConfig.get("implementation"));
-        } catch (Exception e) {
-            System.err.println("Warning: Failed to register security adapter: " + e.getMessage());
-            throw new RuntimeException("Failed to register security adapter", e);
-        }
-    }
-    
-    @SuppressWarnings("unchecked")
-    private void registerCacheAdapter(Map<String, Object> beanConfig) {
-        try {
-            // Get Redis configuration
-            Map<String, Object> redisConfig = (Map<String, Object>) configuration.get("redis");
-            if (redisConfig == null) {
-                System.out.println("Warning: Redis configuration not found, skipping cache adapter");
-                return;
-            }
-            
-            Boolean enabled = redisConfig.get("enabled") != null ? 
-                ((Boolean) redisConfig.get("enabled")) : false;
-            if (!enabled) {
-                System.out.println("Redis cache is disabled, skipping cache adapter");
-                return;
-            }
-            
-            String host = (String) redisConfig.get("host");
-            if (host == null) host = "localhost";
-            
-            Integer port = redisConfig.get("port") != null ?
-                ((Number) redisConfig.get("port")).intValue() : 6379;
-            
-            String password = (String) redisConfig.get("password");
-            String keyPrefix = (String) redisConfig.get("keyPrefix");
-            Integer maxConnections = redisConfig.get("maxConnections") != null ?
-                ((Number) redisConfig.get("maxConnections")).intValue() : 10;
-            
-            // Create RedisCacheAdapter instance
-            Class<?> clazz = Class.forName((String) beanConfig.get("implementation"));
-            Constructor<?> constructor = clazz.getConstructor(String.class, int.class, String.class, String.class, int.class);
-            Object instance = constructor.newInstance(host, port, password, keyPrefix, maxConnections);
-            
-            // Register as singleton
-            container.registerSingleton(clazz, instance);
-            System.out.println("Registered adapter: cacheAdapter -> " + beanConfig.get("implementation"));
+            factory.register(container, beanConfig);
+            System.out.println("Registered adapter: " + beanName + " -> " + beanConfig.get("implementation"));
         } catch (Exception e) {
-            System.err.println("Warning: Failed to register cache adapter: " + e.getMessage());
-            // Don't throw - cache is optional
+            throw new RuntimeException("Failed to register adapter: " + beanName, e);
         }
     }
     
@@ -221,22 +181,8 @@ public class ApplicationBootstrap {
             // If singleton, create instance now (will be cached)
             if (singleton) {
                 try {
-                    Object instance = container.getBean(clazz);
+                    container.getBean(clazz);
                     System.out.println("Registered bean: " + beanName + " -> " + implementation);
-                    
-                    // Special handling: Set cache port in UserUseCase if cache is available
-                    if ("userService".equals(beanName) && instance instanceof com.subscription.subscriptionservice.application.service.UserUseCase) {
-                        try {
-                            com.subscription.subscriptionservice.application.port.outbound.CachePort cachePort = 
-                                container.getBean(com.subscription.subscriptionservice.application.port.outbound.CachePort.class);
-                            if (cachePort != null) {
-                                ((com.subscription.subscriptionservice.application.service.UserUseCase) instance).setCachePort(cachePort);
-                                System.out.println("Cache port set in UserUseCase");
-                            }
-                        } catch (Exception e) {
-                            // Cache is optional - ignore if not available
-                        }
-                    }
                 } catch (Exception e) {
                     System.err.println("Warning: Failed to instantiate bean '" + beanName + "': " + e.getMessage());
                     // Don't throw - allow other beans to register
@@ -12,7 +12,7 @@ public class Container {
     private final Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
     private final Map<Class<?>, BeanDefinition> definitions = new ConcurrentHashMap<>();
     
-    public <T> void registerSingleton(Class<T> clazz, T instance) {
+    public void registerSingleton(Class<?> clazz, Object instance) {
         singletons.put(clazz, instance);
     }
     
@@ -42,6 +42,11 @@ public class Container {
         for (Map.Entry<Class<?>, BeanDefinition> entry : definitions.entrySet()) {
             if (clazz.isAssignableFrom(entry.getKey())) {
                 BeanDefinition def = entry.getValue();
+                // A singleton already created under its implementation class is the same bean
+                Object existing = def.isSingleton() ? singletons.get(entry.getKey()) : null;
+                if (existing != null) {
+                    return (T) existing;
+                }
                 T instance = (T) def.createInstance(this);
                 if (def.isSingleton()) {
                     singletons.put(entry.getKey(), instance);
@@ -50,6 +55,23 @@ public class Container {
             }
         }
         
+        // Try registered instances by interface (adapters registered under their implementation).
+        // Only an unambiguous match is returned - bind the interface explicitly otherwise.
+        Object match = null;
+        for (Object instance : singletons.values()) {
+            if (clazz.isInstance(instance) && instance != match) {
+                if (match != null) {
+                    throw new RuntimeException("Ambiguous bean: " + clazz.getName() + " is implemented by " +
+                        match.getClass().getName() + " and " + instance.getClass().getName() +
+                        ". Register the one to use with registerSingleton(" + clazz.getSimpleName() + ".class, ...).");
+                }
+                match = instance;
+            }
+        }
+        if (match != null) {
+            return (T) match;
+        }
+        
         // Try to instantiate directly (for simple classes with no-arg constructor)
         try {
             T instance = clazz.getDeclaredConstructor().newInstance();
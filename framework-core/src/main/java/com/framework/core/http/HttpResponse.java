@@ -1,7 +1,10 @@
 package com.framework.core.http;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * HTTP Response representation
@@ -10,6 +13,8 @@ public class HttpResponse {
     private int statusCode = 200;
     private Map<String, String> headers = new HashMap<>();
     private String body;
+    private CompletionStage<HttpResponse> deferred;
+    private StreamingBody streamingBody;
     
     public HttpResponse() {
         headers.put("Content-Type", "application/json");
@@ -49,6 +54,44 @@ public class HttpResponse {
         this.body = body;
     }
     
+    /**
+     * Response produced later, e.g. by a long-poll; the request is suspended until it completes
+     */
+    public CompletionStage<HttpResponse> getDeferred() {
+        return deferred;
+    }
+    
+    public void setDeferred(CompletionStage<HttpResponse> deferred) {
+        this.deferred = deferred;
+    }
+    
+    public boolean isDeferred() {
+        return deferred != null;
+    }
+    
+    /**
+     * Body written straight to the connection instead of being built in memory; takes precedence over {@link #getBody()}
+     */
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+    
+    public void setStreamingBody(StreamingBody streamingBody) {
+        this.streamingBody = streamingBody;
+    }
+    
+    public static HttpResponse streaming(StreamingBody body) {
+        HttpResponse httpResponse = new HttpResponse(200);
+        httpResponse.setStreamingBody(body);
+        return httpResponse;
+    }
+    
+    public static HttpResponse deferred(CompletionStage<HttpResponse> response) {
+        HttpResponse httpResponse = new HttpResponse();
+        httpResponse.setDeferred(response);
+        return httpResponse;
+    }
+    
     public static HttpResponse ok(String body) {
         return new HttpResponse(200, body);
     }
@@ -57,6 +100,10 @@ public class HttpResponse {
         return new HttpResponse(201, body);
     }
     
+    public static HttpResponse accepted(String body) {
+        return new HttpResponse(202, body);
+    }
+    
     public static HttpResponse badRequest(String body) {
         return new HttpResponse(400, body);
     }
@@ -76,5 +123,13 @@ public class HttpResponse {
     public static HttpResponse internalServerError(String body) {
         return new HttpResponse(500, body);
     }
+    
+    public static HttpResponse serverError(String body) {
+        return internalServerError(body);
+    }
+    
+    @FunctionalInterface
+    public interface StreamingBody {
+        void writeTo(OutputStream out) throws IOException;
+    }
 }
-
@@ -1,15 +1,20 @@
 package com.framework.core.http;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.AbstractHandler;
 
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -19,6 +24,8 @@ import java.util.stream.Collectors;
  */
 public class HttpServletAdapter extends AbstractHandler {
     
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
     private final JettyHttpServer httpServer;
     
     public HttpServletAdapter(JettyHttpServer httpServer) {
@@ -31,14 +38,23 @@ public class HttpServletAdapter extends AbstractHandler {
         try {
             HttpRequest request = convertRequest(req);
             HttpResponse response = httpServer.handleRequest(request);
-            writeResponse(resp, response);
+            if (response.isDeferred()) {
+                completeAsync(req, response);
+            } else {
+                writeResponse(resp, response);
+            }
             baseRequest.setHandled(true);
         } catch (Exception e) {
-            resp.setStatus(500);
-            resp.setContentType("application/json");
-            PrintWriter writer = resp.getWriter();
-            writer.write("{\"error\":\"" + e.getMessage() + "\"}");
-            writer.flush();
+            if (resp.isCommitted()) {
+                // A streamed body failed midway - drop the connection so the client sees a truncated response
+                baseRequest.getHttpChannel().abort(e);
+            } else {
+                resp.setStatus(500);
+                resp.setContentType("application/json");
+                PrintWriter writer = resp.getWriter();
+                writer.write(errorBody(e.getMessage()));
+                writer.flush();
+            }
             baseRequest.setHandled(true);
         }
     }
@@ -74,10 +90,50 @@ public class HttpServletAdapter extends AbstractHandler {
         return request;
     }
     
+    /**
+     * Suspend the request without holding a server thread and write the response once it is ready.
+     * Headers set by filters on the original response are kept.
+     */
+    private void completeAsync(HttpServletRequest req, HttpResponse response) {
+        AsyncContext async = req.startAsync();
+        // The handler owns the wait; it must complete the response itself
+        async.setTimeout(0);
+        response.getDeferred().whenComplete((result, error) -> {
+            HttpServletResponse resp = (HttpServletResponse) async.getResponse();
+            try {
+                response.getHeaders().forEach(resp::setHeader);
+                if (error != null || result == null) {
+                    resp.setStatus(500);
+                    resp.setContentType("application/json");
+                    String message = error != null ? error.getMessage() : "No response";
+                    resp.getWriter().write(errorBody(message));
+                    resp.getWriter().flush();
+                } else {
+                    writeResponse(resp, result);
+                }
+            } catch (IOException e) {
+                // Client went away while waiting
+            } finally {
+                async.complete();
+            }
+        });
+    }
+    
+    /**
+     * Error messages may carry quotes or newlines - serialize rather than concatenate
+     */
+    static String errorBody(String message) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Collections.singletonMap("error", message));
+    }
+    
     private void writeResponse(HttpServletResponse resp, HttpResponse response) throws IOException {
         resp.setStatus(response.getStatusCode());
         response.getHeaders().forEach(resp::setHeader);
-        if (response.getBody() != null) {
+        if (response.getStreamingBody() != null) {
+            OutputStream out = resp.getOutputStream();
+            response.getStreamingBody().writeTo(out);
+            out.flush();
+        } else if (response.getBody() != null) {
             PrintWriter writer = resp.getWriter();
             writer.write(response.getBody());
             writer.flush();
@@ -138,6 +138,8 @@ public class JettyHttpServer implements HttpServer {
                     response.setStatusCode(handlerResponse.getStatusCode());
                     response.setBody(handlerResponse.getBody());
                     response.getHeaders().putAll(handlerResponse.getHeaders());
+                    response.setDeferred(handlerResponse.getDeferred());
+                    response.setStreamingBody(handlerResponse.getStreamingBody());
                 } else {
                     response.setStatusCode(404);
                     response.setBody("{\"error\":\"Not Found\"}");
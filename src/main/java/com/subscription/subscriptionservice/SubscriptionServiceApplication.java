@@ -13,12 +13,116 @@ public class SubscriptionServiceApplication {
 
     public static void main(String[] args) {
         try {
-            // Initialize application bootstrap
+            // Initialize application bootstrap - adapters that need configuration are built here
             ApplicationBootstrap bootstrap = new ApplicationBootstrap();
+            bootstrap.registerAdapterFactory("securityAdapter",
+                (beanContainer, beanConfig) -> registerSecurityAdapter(beanContainer, bootstrap.getConfiguration()));
+            bootstrap.registerAdapterFactory("cacheAdapter",
+                (beanContainer, beanConfig) -> registerCacheAdapter(beanContainer, beanConfig, bootstrap.getConfiguration()));
+            bootstrap.beforeServices(beanContainer -> registerCacheRegions(beanContainer, bootstrap.getConfiguration()));
+            bootstrap.beforeServices(beanContainer -> registerLeaseManager(beanContainer, bootstrap.getConfiguration()));
             bootstrap.initialize("application.yml");
             
             // Get container
             Container container = bootstrap.getContainer();
+
+            // Monthly billing worker pool sizing
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> billingConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("billing");
+            if (billingConfig != null) {
+                int workers = billingConfig.get("workers") != null ?
+                    ((Number) billingConfig.get("workers")).intValue() : 4;
+                int chunkSize = billingConfig.get("chunkSize") != null ?
+                    ((Number) billingConfig.get("chunkSize")).intValue() : 500;
+                container.getBean(com.subscription.subscriptionservice.application.service.BillingUseCase.class)
+                    .configureMonthlyBilling(workers, chunkSize);
+            }
+
+            // Invoice PDF rendering - bills are rendered off the request path
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> invoiceConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("invoices");
+            com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf.AsyncInvoiceRenderingAdapter invoiceRenderer =
+                invoiceConfig != null && !Boolean.FALSE.equals(invoiceConfig.get("enabled"))
+                    ? createInvoiceRenderer(container, invoiceConfig)
+                    : null;
+
+            // Invoice email dispatch - sends rendered invoices in batches over pooled SMTP connections
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> emailConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("email");
+            com.subscription.subscriptionservice.infrastructure.adapter.outbound.email.SmtpEmailAdapter emailAdapter =
+                emailConfig != null && Boolean.TRUE.equals(emailConfig.get("enabled"))
+                    ? createEmailAdapter(container, emailConfig)
+                    : null;
+
+            // Outbox relay - publishes domain events written with each lifecycle change
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> outboxConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("outbox");
+            com.subscription.subscriptionservice.application.service.OutboxRelay outboxRelay =
+                outboxConfig != null && !Boolean.FALSE.equals(outboxConfig.get("enabled"))
+                    ? createOutboxRelay(container, outboxConfig)
+                    : null;
+
+            // Change feed long-poll
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> changesConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("changes");
+            com.subscription.subscriptionservice.application.service.ChangeFeedUseCase changeFeed =
+                container.getBean(com.subscription.subscriptionservice.application.service.ChangeFeedUseCase.class);
+            if (changesConfig != null && changesConfig.get("pollIntervalMillis") != null) {
+                changeFeed.setPollIntervalMillis(((Number) changesConfig.get("pollIntervalMillis")).longValue());
+            }
+            com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+                .registerGauge("changeFeed", () -> java.util.Map.of("waiting", changeFeed.getWaitingCount()));
+            
+            // Device entitlement index
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> entitlementsConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("entitlements");
+            com.subscription.subscriptionservice.application.service.EntitlementIndex entitlementIndex =
+                container.getBean(com.subscription.subscriptionservice.application.service.EntitlementIndex.class);
+            entitlementIndex.start(entitlementsConfig != null && entitlementsConfig.get("refreshIntervalMillis") != null
+                ? ((Number) entitlementsConfig.get("refreshIntervalMillis")).longValue()
+                : 250);
+            com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+                .registerGauge("entitlementIndex", entitlementIndex::getStats);
+            com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+                .registerGauge("apiKeyCache", container.getBean(
+                    com.subscription.subscriptionservice.application.service.ApiKeyCache.class)::getStats);
+            com.subscription.subscriptionservice.application.port.outbound.CachePort cacheAdapter = findCacheAdapter(container);
+            if (cacheAdapter instanceof com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.TieredCacheAdapter) {
+                com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance().registerGauge("cache",
+                    ((com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.TieredCacheAdapter) cacheAdapter)::getStats);
+            } else if (cacheAdapter instanceof com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter) {
+                com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance().registerGauge("cache",
+                    ((com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter) cacheAdapter)::getStats);
+            }
+            com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+                .registerGauge("cacheRegions", container.getBean(
+                    com.subscription.subscriptionservice.infrastructure.util.CacheRegions.class)::getStats);
+            Object securityAdapter = container.getBean(
+                com.subscription.subscriptionservice.application.port.outbound.SecurityPort.class);
+            if (securityAdapter instanceof com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtSecurityAdapter) {
+                com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance().registerGauge("passwordHasher",
+                    ((com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtSecurityAdapter) securityAdapter)
+                        .getPasswordHasher()::getStats);
+                com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance().registerGauge("verifiedTokens",
+                    ((com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtSecurityAdapter) securityAdapter)
+                        .getVerifiedTokenCache()::getStats);
+                com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance().registerGauge("tokenRevocations",
+                    ((com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtSecurityAdapter) securityAdapter)
+                        .getRevocationStore()::getStats);
+            }
+            
+            // Offline entitlement tokens - revoked through the index's change notifications
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> redisConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("redis");
+            createEntitlementTokenIssuer(container, entitlementIndex, entitlementsConfig,
+                redisConfig != null && Boolean.TRUE.equals(redisConfig.get("enabled")));
             
             // Register filters
             HttpServer httpServer = container.getBean(HttpServer.class);
@@ -62,11 +166,14 @@ public class SubscriptionServiceApplication {
                     securityPort, objectMapper);
             httpServer.addFilter(authFilter);
             
-            // Rate Limiting Filter (100 requests per minute per IP)
-            com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter rateLimitFilter = 
-                new com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter(
-                    objectMapper, 100);
-            httpServer.addFilter(rateLimitFilter);
+            // Rate Limiting Filter (per IP and route group)
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> rateLimitConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("rateLimit");
+            if (rateLimitConfig == null || rateLimitConfig.get("enabled") == null || (Boolean) rateLimitConfig.get("enabled")) {
+                httpServer.addFilter(createRateLimitFilter(objectMapper,
+                    rateLimitConfig != null ? rateLimitConfig : java.util.Map.of()));
+            }
             
             // Register REST controllers
             RestControllerAdapter restController = new RestControllerAdapter(container);
@@ -76,6 +183,19 @@ public class SubscriptionServiceApplication {
             System.out.println("Starting Subscription Service...");
             bootstrap.start();
             
+            // Scheduled jobs (billing, overdue marking, cleanup) - one node per slot via job_leases
+            @SuppressWarnings("unchecked")
+            java.util.Map<String, Object> schedulerConfig =
+                (java.util.Map<String, Object>) bootstrap.getConfiguration().get("scheduler");
+            com.subscription.subscriptionservice.infrastructure.adapter.inbound.scheduler.SchedulerAdapter jobScheduler =
+                schedulerConfig != null && !Boolean.FALSE.equals(schedulerConfig.get("enabled"))
+                    ? new com.subscription.subscriptionservice.infrastructure.adapter.inbound.scheduler.SchedulerAdapter(
+                        container, schedulerConfig)
+                    : null;
+            if (jobScheduler != null) {
+                jobScheduler.start();
+            }
+            
             System.out.println("Subscription Service started successfully!");
             System.out.println("Server running on port 8080");
             System.out.println("Press Ctrl+C to stop");
@@ -91,7 +211,25 @@ public class SubscriptionServiceApplication {
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 try {
                     System.out.println("\nReceived shutdown signal, initiating graceful shutdown...");
+                    if (jobScheduler != null) {
+                        jobScheduler.stop();
+                    }
+                    changeFeed.shutdown();
+                    entitlementIndex.shutdown();
+                    if (invoiceRenderer != null) {
+                        invoiceRenderer.shutdown();
+                    }
+                    if (emailAdapter != null) {
+                        emailAdapter.shutdown();
+                    }
+                    if (outboxRelay != null) {
+                        outboxRelay.shutdown();
+                    }
+                    container.getBean(com.subscription.subscriptionservice.application.service.LeaseManager.class).shutdown();
                     gracefulShutdown.shutdown();
+                    if (cacheAdapter instanceof AutoCloseable) {
+                        ((AutoCloseable) cacheAdapter).close();
+                    }
                     System.out.println("Shutdown complete");
                 } catch (Exception e) {
                     System.err.println("Error during shutdown: " + e.getMessage());
@@ -108,4 +246,390 @@ public class SubscriptionServiceApplication {
             System.exit(1);
         }
     }
+    
+    /**
+     * JWT security adapter with its BCrypt pool, verified-token cache and revocation store
+     */
+    @SuppressWarnings("unchecked")
+    private static void registerSecurityAdapter(Container container, java.util.Map<String, Object> configuration) {
+        java.util.Map<String, Object> jwtConfig = (java.util.Map<String, Object>) configuration.get("jwt");
+        if (jwtConfig == null) {
+            throw new IllegalStateException("JWT configuration not found in application.yml");
+        }
+        long accessTokenExpiration = jwtConfig.get("accessTokenExpiration") != null ?
+            ((Number) jwtConfig.get("accessTokenExpiration")).longValue() : 900000L;
+        long refreshTokenExpiration = jwtConfig.get("refreshTokenExpiration") != null ?
+            ((Number) jwtConfig.get("refreshTokenExpiration")).longValue() : 604800000L;
+        int verifiedTokenCacheSize = jwtConfig.get("verifiedTokenCacheSize") != null ?
+            ((Number) jwtConfig.get("verifiedTokenCacheSize")).intValue() : 10000;
+        
+        com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtSecurityAdapter securityAdapter =
+            new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtSecurityAdapter(
+                (String) jwtConfig.get("secret"), accessTokenExpiration, refreshTokenExpiration,
+                createPasswordHasher((java.util.Map<String, Object>) configuration.get("passwords")),
+                new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.VerifiedTokenCache(
+                    verifiedTokenCacheSize),
+                createRevocationStore((java.util.Map<String, Object>) jwtConfig.get("revocation"),
+                    (java.util.Map<String, Object>) configuration.get("redis")));
+        container.registerSingleton(
+            com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtSecurityAdapter.class, securityAdapter);
+        container.registerSingleton(
+            com.subscription.subscriptionservice.application.port.outbound.SecurityPort.class, securityAdapter);
+    }
+    
+    /**
+     * Token revocations in Redis, shared by all nodes, or in memory when Redis is disabled or unreachable
+     */
+    private static com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.RevocationStore createRevocationStore(
+            java.util.Map<String, Object> revocationConfig, java.util.Map<String, Object> redisConfig) {
+        int expectedEntries = revocationConfig != null && revocationConfig.get("expectedEntries") != null ?
+            ((Number) revocationConfig.get("expectedEntries")).intValue() : 100000;
+        int rotatedEntries = revocationConfig != null && revocationConfig.get("rotatedEntries") != null ?
+            ((Number) revocationConfig.get("rotatedEntries")).intValue() : expectedEntries;
+        if (redisConfig == null || !Boolean.TRUE.equals(redisConfig.get("enabled"))) {
+            return new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.InMemoryRevocationStore(
+                expectedEntries, rotatedEntries);
+        }
+        String host = redisConfig.get("host") != null ? (String) redisConfig.get("host") : "localhost";
+        int port = redisConfig.get("port") != null ? ((Number) redisConfig.get("port")).intValue() : 6379;
+        com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.RedisRevocationStore store =
+            new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.RedisRevocationStore(
+                host, port, (String) redisConfig.get("password"), (String) redisConfig.get("keyPrefix"), 4, expectedEntries);
+        if (!store.isAvailable()) {
+            store.close();
+            System.err.println("Warning: Redis is unreachable at " + host + ":" + port
+                + ", token revocations are kept on this node only");
+            return new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.InMemoryRevocationStore(
+                expectedEntries, rotatedEntries);
+        }
+        return store;
+    }
+    
+    /**
+     * BCrypt pool from the passwords config block, with defaults for anything not set
+     */
+    private static com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.PasswordHasher createPasswordHasher(
+            java.util.Map<String, Object> passwordConfig) {
+        if (passwordConfig == null) {
+            return new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.PasswordHasher();
+        }
+        int cost = passwordConfig.get("bcryptCost") != null ?
+            ((Number) passwordConfig.get("bcryptCost")).intValue()
+            : com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.PasswordHasher.DEFAULT_COST;
+        int workers = passwordConfig.get("workers") != null ?
+            ((Number) passwordConfig.get("workers")).intValue() : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = passwordConfig.get("queueCapacity") != null ?
+            ((Number) passwordConfig.get("queueCapacity")).intValue()
+            : com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.PasswordHasher.DEFAULT_QUEUE_CAPACITY;
+        long timeoutMillis = passwordConfig.get("timeoutMillis") != null ?
+            ((Number) passwordConfig.get("timeoutMillis")).longValue()
+            : com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.PasswordHasher.DEFAULT_TIMEOUT_MILLIS;
+        return new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.PasswordHasher(
+            cost, workers, queueCapacity, timeoutMillis);
+    }
+    
+    /**
+     * Redis-backed cache adapter, or the in-memory cache when Redis is disabled or unreachable
+     * and cache.inMemory.fallback is on. Caching is optional, so failures never stop startup.
+     */
+    @SuppressWarnings("unchecked")
+    private static void registerCacheAdapter(Container container, java.util.Map<String, Object> beanConfig,
+                                             java.util.Map<String, Object> configuration) {
+        java.util.Map<String, Object> cacheConfig = (java.util.Map<String, Object>) configuration.get("cache");
+        java.util.Map<String, Object> inMemoryConfig = cacheConfig != null ?
+            (java.util.Map<String, Object>) cacheConfig.get("inMemory") : null;
+        boolean fallback = inMemoryConfig != null && !Boolean.FALSE.equals(inMemoryConfig.get("fallback"));
+        String implementation = (String) beanConfig.get("implementation");
+        
+        try {
+            if (com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter.class.getName()
+                    .equals(implementation)) {
+                registerInMemoryCache(container, inMemoryConfig);
+                return;
+            }
+            
+            java.util.Map<String, Object> redisConfig = (java.util.Map<String, Object>) configuration.get("redis");
+            if (redisConfig == null || !Boolean.TRUE.equals(redisConfig.get("enabled"))) {
+                if (fallback) {
+                    System.out.println("Redis cache is disabled, using in-memory cache");
+                    registerInMemoryCache(container, inMemoryConfig);
+                } else {
+                    System.out.println("Redis cache is disabled, skipping cache adapter");
+                }
+                return;
+            }
+            
+            String host = redisConfig.get("host") != null ? (String) redisConfig.get("host") : "localhost";
+            int port = redisConfig.get("port") != null ? ((Number) redisConfig.get("port")).intValue() : 6379;
+            String password = (String) redisConfig.get("password");
+            String keyPrefix = (String) redisConfig.get("keyPrefix");
+            int maxConnections = redisConfig.get("maxConnections") != null ?
+                ((Number) redisConfig.get("maxConnections")).intValue() : 10;
+            
+            // Adapters with a near cache also take its size and TTL
+            Class<?> clazz = Class.forName(implementation);
+            java.util.Map<String, Object> nearCacheConfig = (java.util.Map<String, Object>) redisConfig.get("nearCache");
+            Object instance;
+            if (nearCacheConfig != null) {
+                int maxEntries = nearCacheConfig.get("maxEntries") != null ?
+                    ((Number) nearCacheConfig.get("maxEntries")).intValue() : 10000;
+                long ttlSeconds = nearCacheConfig.get("ttlSeconds") != null ?
+                    ((Number) nearCacheConfig.get("ttlSeconds")).longValue() : 30L;
+                instance = clazz.getConstructor(String.class, int.class, String.class, String.class, int.class,
+                    int.class, long.class).newInstance(host, port, password, keyPrefix, maxConnections, maxEntries, ttlSeconds);
+            } else {
+                instance = clazz.getConstructor(String.class, int.class, String.class, String.class, int.class)
+                    .newInstance(host, port, password, keyPrefix, maxConnections);
+            }
+            com.subscription.subscriptionservice.application.port.outbound.CachePort cachePort =
+                (com.subscription.subscriptionservice.application.port.outbound.CachePort) instance;
+            
+            // An unreachable Redis would cost every cache call a connection timeout
+            if (!cachePort.isAvailable()) {
+                if (instance instanceof AutoCloseable) {
+                    ((AutoCloseable) instance).close();
+                }
+                if (fallback) {
+                    System.err.println("Warning: Redis is unreachable at " + host + ":" + port + ", using in-memory cache");
+                    registerInMemoryCache(container, inMemoryConfig);
+                } else {
+                    System.err.println("Warning: Redis is unreachable at " + host + ":" + port + ", caching is disabled");
+                }
+                return;
+            }
+            
+            container.registerSingleton(clazz, instance);
+            container.registerSingleton(com.subscription.subscriptionservice.application.port.outbound.CachePort.class, cachePort);
+        } catch (Exception e) {
+            if (fallback) {
+                System.err.println("Warning: Failed to register cache adapter, using in-memory cache: " + e.getMessage());
+                registerInMemoryCache(container, inMemoryConfig);
+            } else {
+                System.err.println("Warning: Failed to register cache adapter: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static void registerInMemoryCache(Container container, java.util.Map<String, Object> inMemoryConfig) {
+        long maxWeight = inMemoryConfig != null && inMemoryConfig.get("maxWeight") != null ?
+            ((Number) inMemoryConfig.get("maxWeight")).longValue() : 50_000_000L;
+        long sweepIntervalSeconds = inMemoryConfig != null && inMemoryConfig.get("sweepIntervalSeconds") != null ?
+            ((Number) inMemoryConfig.get("sweepIntervalSeconds")).longValue() : 60L;
+        com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter cache =
+            new com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter(
+                maxWeight, sweepIntervalSeconds);
+        container.registerSingleton(
+            com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter.class, cache);
+        container.registerSingleton(com.subscription.subscriptionservice.application.port.outbound.CachePort.class, cache);
+    }
+    
+    /**
+     * The one lease manager of this process, so every lease it takes has the same owner (scheduler.nodeId)
+     */
+    @SuppressWarnings("unchecked")
+    private static void registerLeaseManager(Container container, java.util.Map<String, Object> configuration) {
+        java.util.Map<String, Object> schedulerConfig = (java.util.Map<String, Object>) configuration.get("scheduler");
+        String nodeId = schedulerConfig != null ? (String) schedulerConfig.get("nodeId") : null;
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = com.subscription.subscriptionservice.application.service.LeaseManager.defaultNodeId();
+        }
+        container.registerSingleton(com.subscription.subscriptionservice.application.service.LeaseManager.class,
+            new com.subscription.subscriptionservice.application.service.LeaseManager(
+                container.getBean(com.subscription.subscriptionservice.application.port.outbound.JobLeaseRepositoryPort.class),
+                nodeId));
+    }
+    
+    /**
+     * Cache regions for the services, over the cache adapter when one was registered
+     */
+    @SuppressWarnings("unchecked")
+    private static void registerCacheRegions(Container container, java.util.Map<String, Object> configuration) {
+        java.util.Map<String, Object> cacheConfig = (java.util.Map<String, Object>) configuration.get("cache");
+        java.util.Map<String, Object> regionsConfig = cacheConfig != null ?
+            (java.util.Map<String, Object>) cacheConfig.get("regions") : null;
+        container.registerSingleton(com.subscription.subscriptionservice.infrastructure.util.CacheRegions.class,
+            new com.subscription.subscriptionservice.infrastructure.util.CacheRegions(findCacheAdapter(container), regionsConfig));
+    }
+    
+    /**
+     * The registered cache adapter, or null when caching is off
+     */
+    private static com.subscription.subscriptionservice.application.port.outbound.CachePort findCacheAdapter(Container container) {
+        try {
+            return container.getBean(com.subscription.subscriptionservice.application.port.outbound.CachePort.class);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter createRateLimitFilter(
+            com.fasterxml.jackson.databind.ObjectMapper objectMapper, java.util.Map<String, Object> rateLimitConfig) {
+        int defaultLimit = rateLimitConfig.get("maxRequestsPerMinute") != null ?
+            ((Number) rateLimitConfig.get("maxRequestsPerMinute")).intValue() : 100;
+        int maxKeys = rateLimitConfig.get("maxKeys") != null ?
+            ((Number) rateLimitConfig.get("maxKeys")).intValue() : 100_000;
+        java.util.Map<String, Object> groupsConfig = rateLimitConfig.get("groups") != null ?
+            (java.util.Map<String, Object>) rateLimitConfig.get("groups") : java.util.Map.of();
+        
+        java.util.List<com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter.RouteGroup> groups =
+            new java.util.ArrayList<>();
+        for (java.util.Map.Entry<String, Object> entry : groupsConfig.entrySet()) {
+            java.util.Map<String, Object> groupConfig = (java.util.Map<String, Object>) entry.getValue();
+            java.util.List<String> prefixes = groupConfig.get("paths") != null ?
+                (java.util.List<String>) groupConfig.get("paths") : java.util.List.of();
+            int limit = groupConfig.get("requestsPerMinute") != null ?
+                ((Number) groupConfig.get("requestsPerMinute")).intValue() : defaultLimit;
+            int burst = groupConfig.get("burst") != null ? ((Number) groupConfig.get("burst")).intValue() : limit;
+            groups.add(new com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter.RouteGroup(
+                entry.getKey(), prefixes, limit, burst));
+        }
+        // Paths outside every group share maxRequestsPerMinute
+        groups.add(new com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter.RouteGroup(
+            "default", java.util.List.of(), defaultLimit, defaultLimit));
+        
+        com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter filter =
+            new com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter.RateLimitFilter(
+                objectMapper, groups, maxKeys);
+        com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+            .registerGauge("rateLimit", filter::getStats);
+        return filter;
+    }
+    
+    /**
+     * Entitlement token issuer. Nodes sharing Redis serve one cluster, where a token signed by one node
+     * must verify with the key published by any other, so the signing key pair has to be configured.
+     */
+    @SuppressWarnings("unchecked")
+    private static com.subscription.subscriptionservice.application.service.EntitlementTokenIssuer createEntitlementTokenIssuer(
+            Container container, com.subscription.subscriptionservice.application.service.EntitlementIndex entitlementIndex,
+            java.util.Map<String, Object> entitlementsConfig, boolean clustered) throws java.security.GeneralSecurityException {
+        java.util.Map<String, Object> tokenConfig = entitlementsConfig != null && entitlementsConfig.get("tokens") != null ?
+            (java.util.Map<String, Object>) entitlementsConfig.get("tokens") : java.util.Map.of();
+        long ttlMinutes = tokenConfig.get("ttlMinutes") != null ?
+            ((Number) tokenConfig.get("ttlMinutes")).longValue() : 60L;
+        long refreshBeforeMinutes = tokenConfig.get("refreshBeforeMinutes") != null ?
+            ((Number) tokenConfig.get("refreshBeforeMinutes")).longValue() : 10L;
+        String privateKey = (String) tokenConfig.get("privateKey");
+        String publicKey = (String) tokenConfig.get("publicKey");
+        if (clustered && (privateKey == null || privateKey.isBlank() || publicKey == null || publicKey.isBlank())) {
+            throw new IllegalStateException("entitlements.tokens.privateKey and publicKey must be configured when redis is enabled - "
+                + "an ephemeral key per node would make tokens verify only against the node that signed them");
+        }
+        
+        com.subscription.subscriptionservice.application.service.EntitlementTokenIssuer issuer =
+            new com.subscription.subscriptionservice.application.service.EntitlementTokenIssuer(
+                entitlementIndex,
+                new com.subscription.subscriptionservice.infrastructure.adapter.outbound.security.JwtEntitlementTokenAdapter(
+                    privateKey, publicKey),
+                ttlMinutes * 60_000, refreshBeforeMinutes * 60_000);
+        issuer.followChanges();
+        container.registerSingleton(
+            com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort.class, issuer);
+        com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+            .registerGauge("entitlementTokens", issuer::getStats);
+        return issuer;
+    }
+    
+    private static com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf.AsyncInvoiceRenderingAdapter createInvoiceRenderer(
+            Container container, java.util.Map<String, Object> invoiceConfig) throws java.io.IOException {
+        String outputDirectory = invoiceConfig.get("outputDirectory") != null ?
+            (String) invoiceConfig.get("outputDirectory") : "data/invoices";
+        String issuerName = invoiceConfig.get("issuerName") != null ?
+            (String) invoiceConfig.get("issuerName") : "Subscription Service";
+        int workers = invoiceConfig.get("workers") != null ?
+            ((Number) invoiceConfig.get("workers")).intValue() : 2;
+        int queueCapacity = invoiceConfig.get("queueCapacity") != null ?
+            ((Number) invoiceConfig.get("queueCapacity")).intValue() : 10000;
+        int batchSize = invoiceConfig.get("batchSize") != null ?
+            ((Number) invoiceConfig.get("batchSize")).intValue() : 100;
+        
+        com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf.AsyncInvoiceRenderingAdapter renderer =
+            new com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf.AsyncInvoiceRenderingAdapter(
+                container.getBean(com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort.class),
+                new com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf.InvoicePdfRenderer(issuerName),
+                java.nio.file.Paths.get(outputDirectory), workers, queueCapacity, batchSize);
+        container.getBean(com.subscription.subscriptionservice.application.service.BillingUseCase.class)
+            .setInvoiceRenderingPort(renderer);
+        com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+            .registerGauge("invoiceRendering", renderer::getStats);
+        return renderer;
+    }
+    
+    private static com.subscription.subscriptionservice.infrastructure.adapter.outbound.email.SmtpEmailAdapter createEmailAdapter(
+            Container container, java.util.Map<String, Object> emailConfig) throws javax.mail.MessagingException {
+        int port = emailConfig.get("port") != null ? ((Number) emailConfig.get("port")).intValue() : 587;
+        boolean startTls = emailConfig.get("startTls") == null || (Boolean) emailConfig.get("startTls");
+        int maxConnections = emailConfig.get("maxConnections") != null ?
+            ((Number) emailConfig.get("maxConnections")).intValue() : 4;
+        int batchSize = emailConfig.get("batchSize") != null ?
+            ((Number) emailConfig.get("batchSize")).intValue() : 50;
+        int maxAttempts = emailConfig.get("maxAttempts") != null ?
+            ((Number) emailConfig.get("maxAttempts")).intValue() : 4;
+        long initialBackoffMillis = emailConfig.get("initialBackoffMillis") != null ?
+            ((Number) emailConfig.get("initialBackoffMillis")).longValue() : 1000L;
+        long maxBackoffMillis = emailConfig.get("maxBackoffMillis") != null ?
+            ((Number) emailConfig.get("maxBackoffMillis")).longValue() : 30000L;
+        
+        com.subscription.subscriptionservice.infrastructure.adapter.outbound.email.SmtpEmailAdapter emailAdapter =
+            new com.subscription.subscriptionservice.infrastructure.adapter.outbound.email.SmtpEmailAdapter(
+                (String) emailConfig.get("host"), port, (String) emailConfig.get("username"),
+                (String) emailConfig.get("password"), (String) emailConfig.get("from"), startTls, maxConnections);
+        // One batch per pooled connection at a time
+        container.getBean(com.subscription.subscriptionservice.application.service.BillingUseCase.class)
+            .setInvoiceEmailDispatcher(new com.subscription.subscriptionservice.application.service.InvoiceEmailDispatcher(
+                container.getBean(com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort.class),
+                emailAdapter, batchSize, maxConnections, maxAttempts, initialBackoffMillis, maxBackoffMillis));
+        return emailAdapter;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static com.subscription.subscriptionservice.application.service.OutboxRelay createOutboxRelay(
+            Container container, java.util.Map<String, Object> outboxConfig) throws java.io.IOException {
+        int batchSize = outboxConfig.get("batchSize") != null ?
+            ((Number) outboxConfig.get("batchSize")).intValue() : 200;
+        long pollIntervalMillis = outboxConfig.get("pollIntervalMillis") != null ?
+            ((Number) outboxConfig.get("pollIntervalMillis")).longValue() : 1000L;
+        long retentionHours = outboxConfig.get("retentionHours") != null ?
+            ((Number) outboxConfig.get("retentionHours")).longValue() : 168L;
+        java.util.Map<String, Object> sinkConfig = outboxConfig.get("sinks") != null ?
+            (java.util.Map<String, Object>) outboxConfig.get("sinks") : java.util.Map.of();
+        
+        java.util.List<com.subscription.subscriptionservice.application.port.outbound.EventSinkPort> sinks =
+            new java.util.ArrayList<>();
+        java.util.Map<String, Object> memory = (java.util.Map<String, Object>) sinkConfig.get("memory");
+        if (memory != null && Boolean.TRUE.equals(memory.get("enabled"))) {
+            int capacity = memory.get("capacity") != null ? ((Number) memory.get("capacity")).intValue() : 1000;
+            sinks.add(new com.subscription.subscriptionservice.infrastructure.adapter.outbound.events.InMemoryEventSink(capacity));
+        }
+        java.util.Map<String, Object> file = (java.util.Map<String, Object>) sinkConfig.get("file");
+        if (file != null && Boolean.TRUE.equals(file.get("enabled"))) {
+            String directory = file.get("directory") != null ? (String) file.get("directory") : "data/events";
+            sinks.add(new com.subscription.subscriptionservice.infrastructure.adapter.outbound.events.NdjsonFileEventSink(
+                java.nio.file.Paths.get(directory)));
+        }
+        java.util.Map<String, Object> webhook = (java.util.Map<String, Object>) sinkConfig.get("webhook");
+        if (webhook != null && Boolean.TRUE.equals(webhook.get("enabled"))) {
+            long timeoutMillis = webhook.get("timeoutMillis") != null ?
+                ((Number) webhook.get("timeoutMillis")).longValue() : 5000L;
+            sinks.add(new com.subscription.subscriptionservice.infrastructure.adapter.outbound.events.WebhookEventSink(
+                (String) webhook.get("url"), timeoutMillis));
+        }
+        if (sinks.isEmpty()) {
+            // Events stay in the outbox until a sink is configured
+            System.out.println("Outbox relay not started: no event sinks enabled");
+            return null;
+        }
+        
+        com.subscription.subscriptionservice.application.service.OutboxRelay relay =
+            new com.subscription.subscriptionservice.application.service.OutboxRelay(
+                container.getBean(com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort.class),
+                sinks,
+                container.getBean(com.subscription.subscriptionservice.application.service.LeaseManager.class),
+                batchSize, pollIntervalMillis, java.time.Duration.ofHours(retentionHours));
+        relay.start();
+        com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector.getInstance()
+            .registerGauge("outboxRelay", relay::getStats);
+        return relay;
+    }
 }
@@ -18,5 +18,11 @@ public interface AuditLogServicePort {
     List<AuditLog> findFailed();
     List<AuditLog> search(String keyword);
     Map<String, Object> getStatistics();
+    
+    /**
+     * Delete audit logs older than {@code retentionDays}, in chunks
+     * @return number of audit logs deleted
+     */
+    int purgeOlderThan(int retentionDays);
 }
 
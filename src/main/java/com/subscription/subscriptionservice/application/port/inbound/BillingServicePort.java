@@ -1,6 +1,7 @@
 package com.subscription.subscriptionservice.application.port.inbound;
 
 import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,7 +15,31 @@ public interface BillingServicePort {
     List<Billing> findOverdue();
     void markAsPaid(Long id, String paymentMethod);
     void markAsOverdue(Long id);
-    void generateMonthlyBills();
-    void markOverdueBills();
+    
+    /**
+     * Run monthly billing to completion on the calling thread
+     */
+    BillingRun generateMonthlyBills();
+    
+    /**
+     * Record a monthly billing run and execute it in the background
+     */
+    BillingRun startMonthlyBillingRun();
+    
+    /**
+     * Continue an interrupted or failed billing run from its checkpoints in the background
+     */
+    BillingRun resumeBillingRun(Long runId);
+    
+    BillingRun findBillingRun(Long runId);
+    List<BillingRun> findRecentBillingRuns(int limit);
+    
+    int markOverdueBills();
+    
+    /**
+     * Email every rendered invoice that has not been sent yet
+     * @return number of invoices emailed
+     */
+    int sendPendingInvoiceEmails();
 }
 
@@ -0,0 +1,97 @@
+package com.subscription.subscriptionservice.application.port.inbound;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Port for the incremental change feed over users, devices, subscriptions, user subscriptions and user devices
+ */
+public interface ChangeFeedServicePort {
+    
+    /**
+     * Changes after the cursor, one entry per changed entity with its current state
+     */
+    ChangeBatch getChanges(long since, int limit);
+    
+    /**
+     * Like {@link #getChanges}, but completes only once changes arrive or the wait times out
+     * (with an empty batch). Does not block the caller.
+     */
+    CompletableFuture<ChangeBatch> awaitChanges(long since, int limit, long maxWaitMillis);
+    
+    int purgeOlderThan(int retentionDays);
+    
+    class Change {
+        private final long sequence;
+        private final String entityType;
+        private final long entityId;
+        private final Map<String, Object> data;
+        
+        public Change(long sequence, String entityType, long entityId, Map<String, Object> data) {
+            this.sequence = sequence;
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.data = data;
+        }
+        
+        public long getSequence() {
+            return sequence;
+        }
+        
+        public String getEntityType() {
+            return entityType;
+        }
+        
+        public long getEntityId() {
+            return entityId;
+        }
+        
+        /**
+         * Current state of the entity, null when it was deleted
+         */
+        public Map<String, Object> getData() {
+            return data;
+        }
+        
+        public boolean isDeleted() {
+            return data == null;
+        }
+    }
+    
+    class ChangeBatch {
+        private final long cursor;
+        private final List<Change> changes;
+        private final boolean hasMore;
+        private final boolean resync;
+        
+        public ChangeBatch(long cursor, List<Change> changes, boolean hasMore, boolean resync) {
+            this.cursor = cursor;
+            this.changes = changes;
+            this.hasMore = hasMore;
+            this.resync = resync;
+        }
+        
+        /**
+         * Cursor to pass as {@code since} on the next call
+         */
+        public long getCursor() {
+            return cursor;
+        }
+        
+        public List<Change> getChanges() {
+            return changes;
+        }
+        
+        public boolean isHasMore() {
+            return hasMore;
+        }
+        
+        /**
+         * The cursor is older than the retained feed - reload the collections, then continue from {@link #getCursor()}
+         */
+        public boolean isResync() {
+            return resync;
+        }
+    }
+}
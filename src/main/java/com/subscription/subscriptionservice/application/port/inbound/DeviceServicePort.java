@@ -16,6 +16,5 @@ public interface DeviceServicePort {
     void softDeleteDevice(Long id, Long deletedBy);
     void restoreDevice(Long id);
     String regenerateApiKey(Long id);
-    String getApiKey(Long id);
 }
 
@@ -0,0 +1,141 @@
+package com.subscription.subscriptionservice.application.port.inbound;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Port for device entitlement checks on the device check-in path
+ */
+public interface EntitlementServicePort {
+
+    /**
+     * Resolve the device by API key and decide whether the device serial is entitled to service.
+     * Throws AuthenticationException for an unknown API key, UserNotFoundException for an unknown
+     * serial and ForbiddenException when the serial is not entitled.
+     */
+    Entitlement verify(String apiKey, String deviceSerial);
+
+    /**
+     * Verify many serials behind one API key. The API key is checked once and fails the whole call
+     * like {@link #verify}; every serial then gets its own result. When feature codes are given,
+     * each verified result reports whether the serial is entitled to them.
+     */
+    List<SerialVerification> verifyAll(String apiKey, List<String> deviceSerials, List<String> featureCodes);
+
+    /**
+     * {@link #verifyAll} split in two for batches verified chunk by chunk: the API key is checked and
+     * the feature codes are resolved here, once, failing like {@code verifyAll}; the returned verifier
+     * then only looks up serials.
+     */
+    SerialVerifier verifier(String apiKey, List<String> featureCodes);
+
+    interface SerialVerifier {
+        List<SerialVerification> verify(List<String> deviceSerials);
+    }
+
+    class Entitlement {
+        private final long deviceId;
+        private final long userDeviceId;
+        private final long subscriptionId;
+        private final long userSubscriptionId;
+        private final String status;
+        private final LocalDate endDate;
+        private final List<Long> featureIds;
+
+        public Entitlement(long deviceId, long userDeviceId, long subscriptionId, long userSubscriptionId,
+                           String status, LocalDate endDate, List<Long> featureIds) {
+            this.deviceId = deviceId;
+            this.userDeviceId = userDeviceId;
+            this.subscriptionId = subscriptionId;
+            this.userSubscriptionId = userSubscriptionId;
+            this.status = status;
+            this.endDate = endDate;
+            this.featureIds = featureIds;
+        }
+
+        public long getDeviceId() {
+            return deviceId;
+        }
+
+        public long getUserDeviceId() {
+            return userDeviceId;
+        }
+
+        public long getSubscriptionId() {
+            return subscriptionId;
+        }
+
+        public long getUserSubscriptionId() {
+            return userSubscriptionId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public LocalDate getEndDate() {
+            return endDate;
+        }
+
+        public List<Long> getFeatureIds() {
+            return featureIds;
+        }
+    }
+
+    class SerialVerification {
+        public static final String NOT_FOUND = "NOT_FOUND";
+        public static final String FORBIDDEN = "FORBIDDEN";
+        public static final String INVALID = "INVALID";
+
+        private final String deviceSerial;
+        private final Entitlement entitlement;
+        private final Map<String, Boolean> features;
+        private final String error;
+        private final String message;
+
+        private SerialVerification(String deviceSerial, Entitlement entitlement, Map<String, Boolean> features,
+                                   String error, String message) {
+            this.deviceSerial = deviceSerial;
+            this.entitlement = entitlement;
+            this.features = features;
+            this.error = error;
+            this.message = message;
+        }
+
+        public static SerialVerification verified(String deviceSerial, Entitlement entitlement, Map<String, Boolean> features) {
+            return new SerialVerification(deviceSerial, entitlement, features, null, null);
+        }
+
+        public static SerialVerification denied(String deviceSerial, String error, String message) {
+            return new SerialVerification(deviceSerial, null, null, error, message);
+        }
+
+        public boolean isVerified() {
+            return entitlement != null;
+        }
+
+        public String getDeviceSerial() {
+            return deviceSerial;
+        }
+
+        public Entitlement getEntitlement() {
+            return entitlement;
+        }
+
+        /**
+         * Feature code to entitlement, in request order; null when no feature codes were requested
+         */
+        public Map<String, Boolean> getFeatures() {
+            return features;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
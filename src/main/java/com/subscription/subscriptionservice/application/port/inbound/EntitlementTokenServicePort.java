@@ -0,0 +1,116 @@
+package com.subscription.subscriptionservice.application.port.inbound;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Port for signed entitlement tokens that devices present offline and renew near expiry
+ */
+public interface EntitlementTokenServicePort {
+
+    /**
+     * Verify the serial like {@link EntitlementServicePort#verify} and return its current token,
+     * reusing the cached one while it is valid and outside the refresh window
+     */
+    EntitlementToken issueToken(String apiKey, String deviceSerial);
+
+    /**
+     * Revocations recorded after the given change sequence. A token is revoked when an entry
+     * matches one of its scope claims and the entry's sequence is greater than the token's seq.
+     */
+    RevocationList getRevocations(long sinceSequence);
+
+    Map<String, Object> getVerificationKey();
+
+    /**
+     * Drop cached tokens and revocations that have expired
+     */
+    void removeExpired();
+
+    class EntitlementToken {
+        private final String token;
+        private final String tokenId;
+        private final long issuedAt;
+        private final long expiresAt;
+        private final long refreshAfter;
+
+        public EntitlementToken(String token, String tokenId, long issuedAt, long expiresAt, long refreshAfter) {
+            this.token = token;
+            this.tokenId = tokenId;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+            this.refreshAfter = refreshAfter;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        /**
+         * Epoch millis after which the device should renew online
+         */
+        public long getRefreshAfter() {
+            return refreshAfter;
+        }
+    }
+
+    class Revocation {
+        private final String scope;
+        private final long id;
+        private final long sequence;
+
+        public Revocation(String scope, long id, long sequence) {
+            this.scope = scope;
+            this.id = id;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Change log entity type: device, userDevice, userSubscription or subscription
+         */
+        public String getScope() {
+            return scope;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+    }
+
+    class RevocationList {
+        private final long cursor;
+        private final List<Revocation> revocations;
+
+        public RevocationList(long cursor, List<Revocation> revocations) {
+            this.cursor = cursor;
+            this.revocations = revocations;
+        }
+
+        /**
+         * Pass as the next since - the list is complete up to this sequence
+         */
+        public long getCursor() {
+            return cursor;
+        }
+
+        public List<Revocation> getRevocations() {
+            return revocations;
+        }
+    }
+}
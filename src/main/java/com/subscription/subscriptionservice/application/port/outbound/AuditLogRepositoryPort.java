@@ -9,6 +9,7 @@ import java.util.Optional;
 
 public interface AuditLogRepositoryPort {
     AuditLog save(AuditLog auditLog);
+    void saveAll(List<AuditLog> auditLogs);
     Optional<AuditLog> findById(Long id);
     List<AuditLog> findAll(int page, int size);
     List<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId);
@@ -19,5 +20,11 @@ public interface AuditLogRepositoryPort {
     List<AuditLog> findFailed();
     List<AuditLog> search(String keyword);
     Map<String, Object> getStatistics();
+    
+    /**
+     * Delete up to {@code limit} of the oldest audit logs recorded before {@code cutoff}
+     * @return number of audit logs deleted
+     */
+    int deleteOlderThan(LocalDateTime cutoff, int limit);
 }
 
@@ -3,7 +3,9 @@ package com.subscription.subscriptionservice.application.port.outbound;
 import com.subscription.subscriptionservice.domain.model.Billing;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface BillingRepositoryPort {
@@ -16,5 +18,59 @@ public interface BillingRepositoryPort {
     List<Billing> findByStatus(Billing.BillingStatus status);
     List<Billing> findByDueDateBefore(LocalDate date);
     void delete(Long id);
+    
+    /**
+     * Mark up to {@code limit} PENDING bills due before {@code asOf} as OVERDUE
+     * with a single set-based UPDATE
+     * @return ids of the bills that were transitioned
+     */
+    List<Long> markOverdue(LocalDate asOf, int limit);
+    
+    /**
+     * Move the given bills from {@code fromStatus} to {@code toStatus} in one statement.
+     * Bills no longer in {@code fromStatus} are left untouched.
+     * @return number of bills updated
+     */
+    int updateStatus(List<Long> ids, Billing.BillingStatus fromStatus, Billing.BillingStatus toStatus);
+    
+    /**
+     * Insert the given bills with JDBC batching. Bills colliding with the unique
+     * (user_subscription_id, billing_period_start) constraint are skipped, so reruns are idempotent.
+     * @return the bills that were inserted, with ids populated
+     */
+    List<Billing> insertAll(List<Billing> billings);
+    
+    /**
+     * Open (PENDING or OVERDUE) bills without a rendered invoice PDF, in id order after {@code afterId}.
+     * Paid and cancelled bills are never rendered after the fact.
+     */
+    List<Billing> findWithoutPdf(long afterId, int limit);
+    
+    /**
+     * Set pdf_path for each bill id in a single JDBC batch
+     * @return number of bills updated
+     */
+    int updatePdfPaths(Map<Long, String> pdfPaths);
+    
+    /**
+     * Bills with a rendered invoice that has not been emailed or rejected yet, in id order after {@code afterId}
+     */
+    List<Billing> findUnsentInvoices(long afterId, int limit);
+    
+    /**
+     * Email address of the user each bill belongs to, keyed by billing id
+     */
+    Map<Long, String> findRecipientEmails(List<Long> billingIds);
+    
+    /**
+     * Set email_sent and email_sent_at for the given bills in one statement
+     * @return number of bills updated
+     */
+    int markEmailSent(List<Long> ids, LocalDateTime sentAt);
+    
+    /**
+     * Set email_rejected for bills whose invoice email failed permanently, so they are not sent again
+     * @return number of bills updated
+     */
+    int markEmailRejected(List<Long> ids);
 }
-
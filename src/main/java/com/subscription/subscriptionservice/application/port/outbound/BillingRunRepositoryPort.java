@@ -0,0 +1,30 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.BillingRunPartition;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BillingRunRepositoryPort {
+    BillingRun save(BillingRun billingRun);
+    Optional<BillingRun> findById(Long id);
+    List<BillingRun> findRecent(int limit);
+    
+    /**
+     * Runs in the given status, oldest first
+     */
+    List<BillingRun> findByStatus(BillingRun.RunStatus status);
+    
+    /**
+     * Insert the partition plan of a run in one batch
+     */
+    List<BillingRunPartition> savePartitions(List<BillingRunPartition> partitions);
+    
+    /**
+     * Persist a partition's status, counters and checkpoint
+     */
+    void updatePartition(BillingRunPartition partition);
+    
+    List<BillingRunPartition> findPartitions(Long billingRunId);
+}
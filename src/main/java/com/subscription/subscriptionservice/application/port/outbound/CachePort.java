@@ -1,5 +1,8 @@
 package com.subscription.subscriptionservice.application.port.outbound;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Port for caching operations
  */
@@ -26,12 +29,54 @@ public interface CachePort {
      */
     void put(String key, String value, long expirationSeconds);
     
+    /**
+     * Get several values in one round trip
+     * @param keys Cache keys
+     * @return Cached values by key; keys not found are absent
+     */
+    Map<String, String> getAll(Collection<String> keys);
+    
+    /**
+     * Put several values in one round trip
+     * @param values Values to cache by key
+     * @param expirationSeconds Expiration time in seconds, 0 for none
+     */
+    void putAll(Map<String, String> values, long expirationSeconds);
+    
+    /**
+     * Get a binary value, stored as raw bytes rather than a string
+     * @param key Cache key
+     * @return Cached bytes or null if not found
+     */
+    byte[] getBytes(String key);
+    
+    /**
+     * Put a binary value
+     * @param key Cache key
+     * @param value Bytes to cache
+     * @param expirationSeconds Expiration time in seconds, 0 for none
+     */
+    void putBytes(String key, byte[] value, long expirationSeconds);
+    
+    /**
+     * Put several binary values in one round trip
+     * @param values Bytes to cache by key
+     * @param expirationSeconds Expiration time in seconds, 0 for none
+     */
+    void putAllBytes(Map<String, byte[]> values, long expirationSeconds);
+    
     /**
      * Delete value from cache
      * @param key Cache key
      */
     void delete(String key);
     
+    /**
+     * Delete several values in one round trip
+     * @param keys Cache keys
+     */
+    void deleteAll(Collection<String> keys);
+    
     /**
      * Check if key exists in cache
      * @param key Cache key
@@ -46,9 +91,31 @@ public interface CachePort {
      */
     void expire(String key, long expirationSeconds);
     
+    /**
+     * Atomically increment a counter, starting from 0 when absent
+     * @param key Counter key
+     * @return The new value
+     */
+    long increment(String key);
+    
+    /**
+     * Remove every key starting with the prefix. May run in the background in small batches, so it
+     * is meant for cleaning up keys that are already unreachable.
+     * @param prefix Key prefix
+     */
+    void deleteByPrefix(String prefix);
+    
     /**
      * Clear all cache
      */
     void clear();
+    
+    /**
+     * Check that the cache backend can be reached
+     * @return true if the cache is usable
+     */
+    default boolean isAvailable() {
+        return true;
+    }
 }
 
@@ -0,0 +1,50 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ChangeFeedRepositoryPort {
+    
+    /**
+     * Change entries with a sequence greater than {@code afterSequence}, in sequence order
+     */
+    List<ChangeRecord> findAfter(long afterSequence, int limit);
+    
+    /**
+     * Highest recorded sequence, 0 when the feed is empty
+     */
+    long findLatestSequence();
+    
+    /**
+     * Lowest retained sequence, 0 when the feed is empty
+     */
+    long findOldestSequence();
+    
+    /**
+     * Lowest sequence changed at or after {@code since}, 0 when there is none
+     */
+    long findFirstSequenceSince(LocalDateTime since);
+    
+    /**
+     * Number of entries with a sequence in ({@code afterSequence}, {@code upToSequence}]
+     */
+    long countSequences(long afterSequence, long upToSequence);
+    
+    /**
+     * Fill a missing sequence with a {@link ChangeRecord#GAP} entry once its writer is known to have
+     * rolled back. Waits up to {@code timeoutSeconds} for a writer still holding the sequence.
+     * @return true when the gap entry was written; false when the writer committed or is still running
+     */
+    boolean closeGap(long sequence, int timeoutSeconds);
+    
+    /**
+     * Compact current state of the given entities keyed by id; entities that no longer exist are absent
+     */
+    Map<Long, Map<String, Object>> findEntityStates(String entityType, Collection<Long> ids);
+    
+    int deleteChangedBefore(LocalDateTime cutoff, int limit);
+}
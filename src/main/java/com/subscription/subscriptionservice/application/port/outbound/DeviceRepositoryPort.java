@@ -8,7 +8,7 @@ import java.util.Optional;
 public interface DeviceRepositoryPort {
     Device save(Device device);
     Optional<Device> findById(Long id);
-    Optional<Device> findByApiKey(String apiKey);
+    Optional<Device> findByApiKeyHash(String apiKeyHash);
     List<Device> findAll();
     List<Device> findActive();
     List<Device> findDeleted();
@@ -0,0 +1,25 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import com.subscription.subscriptionservice.domain.model.EmailMessage;
+
+import java.util.List;
+
+/**
+ * Outbound port for sending email
+ */
+public interface EmailPort {
+    
+    /**
+     * Send the messages over one pooled connection; blocks while every connection is in use
+     * @return the outcome of each message, in input order
+     */
+    List<DeliveryStatus> sendAll(List<EmailMessage> messages);
+    
+    enum DeliveryStatus {
+        SENT,
+        // Transient failure (connection, server busy) - worth retrying
+        RETRY,
+        // Permanent failure (invalid or rejected address)
+        REJECTED
+    }
+}
@@ -0,0 +1,16 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import java.util.Map;
+
+/**
+ * Port for signing offline entitlement tokens. Tokens are signed with a private key and verified
+ * by devices with the published public key, so no device ever holds a signing secret.
+ */
+public interface EntitlementTokenPort {
+    String sign(String tokenId, String subject, Map<String, Object> claims, long issuedAtMillis, long expiresAtMillis);
+
+    /**
+     * Key id, algorithm and encoded public key, for devices to verify tokens offline
+     */
+    Map<String, Object> getVerificationKey();
+}
@@ -0,0 +1,20 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Outbound port for publishing domain events to downstream consumers.
+ * Delivery is at-least-once: a batch may be published again after a failure, so consumers
+ * should de-duplicate on the event id.
+ */
+public interface EventSinkPort {
+    
+    String getName();
+    
+    /**
+     * Publish a batch of events in id order; throws if the batch could not be delivered
+     */
+    void publish(List<DomainEvent> events);
+}
@@ -0,0 +1,17 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import com.subscription.subscriptionservice.domain.model.Billing;
+
+import java.util.List;
+
+/**
+ * Outbound port for invoice rendering - renders bill PDFs off the request path
+ */
+public interface InvoiceRenderingPort {
+    
+    /**
+     * Queue newly created bills for rendering. Never blocks: bills that do not fit in the
+     * queue keep an empty pdf_path and are picked up again once the backlog drains.
+     */
+    void submit(List<Billing> billings);
+}
@@ -0,0 +1,28 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+/**
+ * Port for time-bounded, exclusive leases shared by all nodes (leader election and fencing)
+ */
+public interface JobLeaseRepositoryPort {
+    
+    /**
+     * Take the lease if it is free or expired, whoever held it before - including {@code owner},
+     * so a second acquisition by the same node waits for the first to be released like any
+     * other. A holder extends its lease with {@link #renew}. When {@code scheduledAt} is given
+     * the lease is only granted if that schedule slot has not run yet, so each slot runs on
+     * exactly one node.
+     * @return the new fencing token, or empty when another node holds the lease
+     */
+    OptionalLong tryAcquire(String name, String owner, LocalDateTime now, LocalDateTime leaseUntil, LocalDateTime scheduledAt);
+    
+    /**
+     * Extend a lease still held under {@code fencingToken}
+     * @return false when the lease was lost to another node
+     */
+    boolean renew(String name, String owner, long fencingToken, LocalDateTime leaseUntil);
+    
+    void release(String name, String owner, long fencingToken);
+}
@@ -0,0 +1,27 @@
+package com.subscription.subscriptionservice.application.port.outbound;
+
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxRepositoryPort {
+    
+    /**
+     * Record an event; joins the caller's transaction so the event commits or rolls back with the change
+     */
+    DomainEvent save(DomainEvent event);
+    
+    /**
+     * Oldest unpublished events, in id order
+     */
+    List<DomainEvent> findUnpublished(int limit);
+    
+    int markPublished(List<Long> ids, LocalDateTime publishedAt);
+    
+    /**
+     * Delete up to {@code limit} events published before {@code cutoff}
+     * @return number of events deleted
+     */
+    int deletePublishedBefore(LocalDateTime cutoff, int limit);
+}
@@ -1,21 +1,48 @@
 package com.subscription.subscriptionservice.application.port.outbound;
 
+import com.subscription.subscriptionservice.domain.model.AuthPrincipal;
 import com.subscription.subscriptionservice.domain.model.User;
 
+import java.util.List;
+
 /**
  * Port for security operations (password hashing, JWT, etc.)
  */
 public interface SecurityPort {
     String hashPassword(String plainPassword);
     boolean verifyPassword(String plainPassword, String hashedPassword);
+    
+    /**
+     * Whether the hash predates the configured hashing cost and should be replaced at the next login
+     */
+    boolean passwordNeedsRehash(String hashedPassword);
     String generateAccessToken(User user);
     String generateRefreshToken(User user);
+    
+    /**
+     * Verify the token's signature, expiry and revocation and read its claims, in one parse
+     *
+     * @throws com.subscription.subscriptionservice.domain.exception.AuthenticationException if the token is not valid
+     */
+    AuthPrincipal parseAndValidate(String token);
+    
     String getUsernameFromToken(String token);
     List<String> getRolesFromToken(String token);
     boolean validateToken(String token);
     boolean isTokenExpired(String token);
     void blacklistToken(String token, long expirationTimeMillis);
+    
+    /**
+     * Blacklist a refresh token that has been exchanged for a new pair. May be dropped under
+     * memory pressure, which never blocks logouts
+     */
+    void blacklistRotatedToken(String token, long expirationTimeMillis);
     boolean isTokenBlacklisted(String token);
     long getTokenExpirationTime(String token);
+    
+    /**
+     * Drop blacklist entries whose tokens have expired anyway
+     */
+    void removeExpiredTokens();
 }
 
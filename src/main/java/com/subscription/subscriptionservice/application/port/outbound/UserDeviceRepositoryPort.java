@@ -2,6 +2,7 @@ package com.subscription.subscriptionservice.application.port.outbound;
 
 import com.subscription.subscriptionservice.domain.model.UserDevice;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +10,11 @@ public interface UserDeviceRepositoryPort {
     UserDevice save(UserDevice userDevice);
     Optional<UserDevice> findById(Long id);
     Optional<UserDevice> findByDeviceSerial(String deviceSerial);
+    
+    /**
+     * User devices for the given serials in one query; unknown serials are absent
+     */
+    List<UserDevice> findByDeviceSerials(Collection<String> deviceSerials);
     List<UserDevice> findAll();
     List<UserDevice> findByUserId(Long userId);
     List<UserDevice> findByDeviceId(Long deviceId);
@@ -11,6 +11,10 @@ import java.util.Optional;
  */
 public interface UserRepositoryPort {
     User save(User user);
+    /**
+     * Replace only the stored password hash, leaving the rest of the row as it is
+     */
+    void updatePassword(Long id, String passwordHash);
     Optional<User> findById(Long id);
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
@@ -1,7 +1,9 @@
 package com.subscription.subscriptionservice.application.port.outbound;
 
+import com.subscription.subscriptionservice.domain.model.Billing;
 import com.subscription.subscriptionservice.domain.model.UserSubscription;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +16,23 @@ public interface UserSubscriptionRepositoryPort {
     List<UserSubscription> findActive();
     List<UserSubscription> findBySubscriptionId(Long subscriptionId);
     void delete(Long id);
+    
+    /**
+     * Lowest and highest id of ACTIVE subscriptions whose billing start date is on or before {@code asOf}
+     * @return {@code {minId, maxId}}, or empty when nothing is due
+     */
+    Optional<long[]> findDueForBillingIdRange(LocalDate asOf);
+    
+    /**
+     * Next page of ACTIVE subscriptions due for billing with {@code afterId < id <= maxId}, ordered by id
+     */
+    List<UserSubscription> findDueForBilling(LocalDate asOf, long afterId, long maxId, int limit);
+    
+    /**
+     * Move each billed subscription's billing start date to the end of the billed period.
+     * Subscriptions whose start date no longer matches the billed period start are left untouched.
+     * @return number of subscriptions advanced
+     */
+    int advanceBillingStartDates(List<Billing> billedPeriods);
 }
 
@@ -0,0 +1,172 @@
+package com.subscription.subscriptionservice.application.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-process cache of device API key hashes to the device they authenticate and its
+ * active flag, so authenticating a device costs at most one indexed read. Unknown keys are cached
+ * as well, for a shorter time, so repeated bad keys never reach the database. Entries are dropped
+ * when a device's key or state changes - locally by the device use case, and for writes made by
+ * other instances by the entitlement index as it follows the change log.
+ */
+public class ApiKeyCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_TTL_MILLIS = 600_000;
+    private static final long DEFAULT_NEGATIVE_TTL_MILLIS = 30_000;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, String> hashesByDevice = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ApiKeyCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    public ApiKeyCache(int maxEntries, long ttlMillis, long negativeTtlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+    }
+
+    /**
+     * The live entry for the key hash, or null when the database has to be read
+     */
+    public Entry get(String apiKeyHash) {
+        Entry entry = entries.get(apiKeyHash);
+        if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isUnknown()) {
+            negativeHits.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    public void putDevice(String apiKeyHash, long deviceId, boolean active) {
+        put(apiKeyHash, new Entry(deviceId, active, System.currentTimeMillis() + ttlMillis));
+        String previous = hashesByDevice.put(deviceId, apiKeyHash);
+        if (previous != null && !previous.equals(apiKeyHash)) {
+            entries.remove(previous);
+        }
+    }
+
+    /**
+     * Remember that no device has this key hash
+     */
+    public void putUnknown(String apiKeyHash) {
+        put(apiKeyHash, new Entry(-1, false, System.currentTimeMillis() + negativeTtlMillis));
+    }
+
+    private void put(String apiKeyHash, Entry entry) {
+        if (entries.size() >= maxEntries && !entries.containsKey(apiKeyHash)) {
+            evict();
+        }
+        entries.put(apiKeyHash, entry);
+    }
+
+    /**
+     * Drops expired entries, then arbitrary ones until a tenth of the capacity is free
+     */
+    private synchronized void evict() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        removeIf(entry -> entry.expiresAt <= now);
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        if (entries.size() > target) {
+            int[] remaining = {entries.size() - target};
+            removeIf(entry -> remaining[0]-- > 0);
+        }
+    }
+
+    private void removeIf(Predicate<Entry> condition) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> next = iterator.next();
+            if (condition.test(next.getValue())) {
+                iterator.remove();
+                evictions.increment();
+                if (!next.getValue().isUnknown()) {
+                    hashesByDevice.remove(next.getValue().deviceId, next.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget a key hash, e.g. a newly issued key that may be cached as unknown
+     */
+    public void invalidate(String apiKeyHash) {
+        Entry removed = entries.remove(apiKeyHash);
+        if (removed != null && !removed.isUnknown()) {
+            hashesByDevice.remove(removed.deviceId, apiKeyHash);
+        }
+    }
+
+    /**
+     * Forget the device's cached key, after its key, active flag or deleted state changed
+     */
+    public void invalidateDevice(long deviceId) {
+        String apiKeyHash = hashesByDevice.remove(deviceId);
+        if (apiKeyHash != null) {
+            entries.remove(apiKeyHash);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.sum());
+        stats.put("negativeHits", negativeHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    public static final class Entry {
+        private final long deviceId;
+        private final boolean active;
+        private final long expiresAt;
+
+        private Entry(long deviceId, boolean active, long expiresAt) {
+            this.deviceId = deviceId;
+            this.active = active;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Whether the key is known not to belong to any device
+         */
+        public boolean isUnknown() {
+            return deviceId < 0;
+        }
+
+        public long getDeviceId() {
+            return deviceId;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
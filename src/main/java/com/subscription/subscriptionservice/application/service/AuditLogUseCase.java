@@ -3,6 +3,7 @@ package com.subscription.subscriptionservice.application.service;
 import com.subscription.subscriptionservice.application.port.inbound.AuditLogServicePort;
 import com.subscription.subscriptionservice.application.port.outbound.AuditLogRepositoryPort;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
 import com.subscription.subscriptionservice.domain.model.AuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,9 @@ public class AuditLogUseCase implements AuditLogServicePort {
     
     private static final Logger logger = LoggerFactory.getLogger(AuditLogUseCase.class);
     
+    // Rows deleted per statement - keeps locks and undo small on large tables
+    private static final int PURGE_BATCH_SIZE = 1000;
+    
     private final AuditLogRepositoryPort auditLogRepository;
     
     public AuditLogUseCase(AuditLogRepositoryPort auditLogRepository) {
@@ -79,5 +83,20 @@ public class AuditLogUseCase implements AuditLogServicePort {
     public Map<String, Object> getStatistics() {
         return auditLogRepository.getStatistics();
     }
+    
+    @Override
+    public int purgeOlderThan(int retentionDays) {
+        if (retentionDays <= 0) {
+            throw new ValidationException("retentionDays", "must be positive");
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = auditLogRepository.deleteOlderThan(cutoff, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        logger.info("Purged {} audit logs older than {}", total, cutoff);
+        return total;
+    }
 }
-
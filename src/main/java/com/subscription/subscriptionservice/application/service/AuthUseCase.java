@@ -5,6 +5,7 @@ import com.subscription.subscriptionservice.application.port.outbound.SecurityPo
 import com.subscription.subscriptionservice.application.port.outbound.UserRepositoryPort;
 import com.subscription.subscriptionservice.domain.exception.AuthenticationException;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
+import com.subscription.subscriptionservice.domain.model.AuthPrincipal;
 import com.subscription.subscriptionservice.domain.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +47,7 @@ public class AuthUseCase implements AuthServicePort {
             logger.warn("Login failed: Invalid password for user - {}", username);
             throw new AuthenticationException("Invalid username or password");
         }
+        upgradePasswordHash(user, password);
         
         String accessToken = securityPort.generateAccessToken(user);
         String refreshToken = securityPort.generateRefreshToken(user);
@@ -79,6 +81,7 @@ public class AuthUseCase implements AuthServicePort {
             logger.warn("Login failed: Invalid password for mobile - {}", mobileNumber);
             throw new AuthenticationException("Invalid mobile number or password");
         }
+        upgradePasswordHash(user, password);
         
         String accessToken = securityPort.generateAccessToken(user);
         String refreshToken = securityPort.generateRefreshToken(user);
@@ -93,6 +96,24 @@ public class AuthUseCase implements AuthServicePort {
         return new AuthResult(accessToken, refreshToken, user, roles);
     }
     
+    /**
+     * Re-hash at the configured cost while the plain password is at hand; the login succeeds either way
+     */
+    private void upgradePasswordHash(User user, String password) {
+        if (!securityPort.passwordNeedsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            String upgraded = securityPort.hashPassword(password);
+            // Only the hash - a full save would write back every column as this login read it
+            userRepository.updatePassword(user.getId(), upgraded);
+            user.setPassword(upgraded);
+            logger.info("Upgraded password hash for user: userId={}", user.getId());
+        } catch (RuntimeException e) {
+            logger.warn("Could not upgrade password hash for user: userId={}", user.getId(), e);
+        }
+    }
+    
     @Override
     public User getCurrentUser(String username) {
         return userRepository.findByUsername(username)
@@ -103,26 +124,23 @@ public class AuthUseCase implements AuthServicePort {
     public AuthResult refreshToken(String refreshToken) {
         logger.info("Refreshing token");
         
-        if (securityPort.isTokenBlacklisted(refreshToken)) {
-            logger.warn("Token refresh failed: Token is blacklisted");
-            throw new AuthenticationException("Token is invalid");
-        }
-        
-        if (securityPort.isTokenExpired(refreshToken)) {
-            logger.warn("Token refresh failed: Token is expired");
-            throw new AuthenticationException("Token is expired");
+        AuthPrincipal principal;
+        try {
+            principal = securityPort.parseAndValidate(refreshToken);
+        } catch (AuthenticationException e) {
+            logger.warn("Token refresh failed: {}", e.getMessage());
+            throw e;
         }
         
-        String username = securityPort.getUsernameFromToken(refreshToken);
+        String username = principal.getUsername();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> {
                     logger.warn("Token refresh failed: User not found - {}", username);
                     return new UserNotFoundException("User not found");
                 });
         
-        // Blacklist old refresh token (token rotation)
-        securityPort.blacklistToken(refreshToken, 
-            System.currentTimeMillis() + 604800000); // 7 days
+        // Blacklist old refresh token (token rotation) until it would have expired anyway
+        securityPort.blacklistRotatedToken(refreshToken, securityPort.getTokenExpirationTime(refreshToken));
         
         String newAccessToken = securityPort.generateAccessToken(user);
         String newRefreshToken = securityPort.generateRefreshToken(user);
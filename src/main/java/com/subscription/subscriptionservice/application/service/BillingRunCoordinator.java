@@ -0,0 +1,240 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRunRepositoryPort;
+import com.subscription.subscriptionservice.domain.exception.BillingRunNotFoundException;
+import com.subscription.subscriptionservice.domain.exception.DuplicateEntityException;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.BillingRunPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the lifecycle of billing runs: records the run and its partition plan in
+ * billing_runs, executes it (in the background or inline), and resumes interrupted runs
+ * from their partition checkpoints. One run executes at a time across the cluster:
+ * locally via the active run slot, across nodes via the billing-run lease. Holding the lease
+ * also means no other node is executing a run, so runs still marked RUNNING at that point were
+ * left by a crash and are resumed before the requested one.
+ */
+public class BillingRunCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BillingRunCoordinator.class);
+
+    static final String LEASE_NAME = "billing-run";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+    private final BillingRunRepositoryPort billingRunRepository;
+    private final LeaseManager leaseManager;
+    private final ExecutorService runExecutor;
+    private final AtomicReference<Long> activeRunId = new AtomicReference<>();
+    private volatile MonthlyBillingEngine engine;
+
+    public BillingRunCoordinator(BillingRunRepositoryPort billingRunRepository, LeaseManager leaseManager,
+                                 MonthlyBillingEngine engine) {
+        this.billingRunRepository = billingRunRepository;
+        this.leaseManager = leaseManager;
+        this.engine = engine;
+        this.runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "billing-run-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void setEngine(MonthlyBillingEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Record a new run and execute it in the background
+     * @return the run as recorded, still RUNNING
+     */
+    public BillingRun start(LocalDate asOf) {
+        LeaseManager.Lease lease = claim(0L);
+        BillingRun run = create(asOf, lease);
+        runExecutor.execute(() -> execute(run, lease));
+        return run;
+    }
+
+    /**
+     * Record a new run and execute it on the calling thread
+     */
+    public BillingRun runNow(LocalDate asOf) {
+        LeaseManager.Lease lease = claim(0L);
+        BillingRun run = create(asOf, lease);
+        execute(run, lease);
+        return run;
+    }
+
+    /**
+     * Continue a FAILED or interrupted run from its partition checkpoints in the background.
+     * A run still marked RUNNING can be resumed when it is not executing in this process,
+     * e.g. after a crash.
+     */
+    public BillingRun resume(Long runId) {
+        BillingRun run = find(runId);
+        if (run.isCompleted()) {
+            throw new ValidationException("Billing run already completed: " + runId);
+        }
+        LeaseManager.Lease lease = claim(runId);
+        try {
+            run.setStatus(BillingRun.RunStatus.RUNNING);
+            run.setErrorMessage(null);
+            run.setFinishedAt(null);
+            billingRunRepository.save(run);
+        } catch (RuntimeException e) {
+            unclaim(lease);
+            throw e;
+        }
+        logger.info("Resuming billing run {} from checkpoints", runId);
+        runExecutor.execute(() -> execute(run, lease));
+        return run;
+    }
+
+    /**
+     * Run with its partitions and live totals
+     */
+    public BillingRun find(Long runId) {
+        BillingRun run = billingRunRepository.findById(runId)
+            .orElseThrow(() -> new BillingRunNotFoundException("Billing run not found with id: " + runId));
+        run.setPartitions(billingRunRepository.findPartitions(runId));
+        run.refreshTotals();
+        return run;
+    }
+
+    public List<BillingRun> findRecent(int limit) {
+        return billingRunRepository.findRecent(limit);
+    }
+
+    public Long getActiveRunId() {
+        return activeRunId.get();
+    }
+
+    public void shutdown() {
+        // Interrupted partitions keep their last committed checkpoint and can be resumed
+        runExecutor.shutdownNow();
+    }
+
+    private BillingRun create(LocalDate asOf, LeaseManager.Lease lease) {
+        try {
+            BillingRun run = new BillingRun();
+            run.setAsOf(asOf);
+            run.setStatus(BillingRun.RunStatus.RUNNING);
+            run.setStartedAt(LocalDateTime.now());
+            billingRunRepository.save(run);
+
+            List<BillingRunPartition> partitions = engine.plan(asOf);
+            for (BillingRunPartition partition : partitions) {
+                partition.setBillingRunId(run.getId());
+            }
+            run.setPartitions(billingRunRepository.savePartitions(partitions));
+            activeRunId.set(run.getId());
+            logger.info("Billing run {} created: asOf={}, partitions={}", run.getId(), asOf, partitions.size());
+            return run;
+        } catch (RuntimeException e) {
+            unclaim(lease);
+            throw e;
+        }
+    }
+
+    /**
+     * Take the local run slot and the cluster-wide lease. A new run reserves the slot
+     * with id 0 before its row exists; it is re-keyed to the run id once created.
+     */
+    private LeaseManager.Lease claim(Long runId) {
+        if (!activeRunId.compareAndSet(null, runId)) {
+            throw new DuplicateEntityException("A billing run is already in progress: " + activeRunId.get());
+        }
+        try {
+            return leaseManager.tryAcquire(LEASE_NAME, LEASE_TTL)
+                .orElseThrow(() -> new DuplicateEntityException("A billing run is already in progress on another node"));
+        } catch (RuntimeException e) {
+            activeRunId.set(null);
+            throw e;
+        }
+    }
+
+    private void unclaim(LeaseManager.Lease lease) {
+        lease.release();
+        activeRunId.set(null);
+    }
+
+    private void execute(BillingRun run, LeaseManager.Lease lease) {
+        lease.keepAlive();
+        try {
+            for (BillingRun stale : findStale(run.getId())) {
+                if (lease.isLost()) {
+                    break;
+                }
+                logger.warn("Resuming billing run {} left RUNNING by an earlier process", stale.getId());
+                complete(stale);
+            }
+            if (!lease.isLost()) {
+                complete(run);
+            }
+        } finally {
+            unclaim(lease);
+            // Clear an interrupt raised by a lost lease so it does not leak into the next task
+            Thread.interrupted();
+        }
+    }
+
+    private List<BillingRun> findStale(Long currentRunId) {
+        List<BillingRun> stale = new ArrayList<>();
+        try {
+            for (BillingRun candidate : billingRunRepository.findByStatus(BillingRun.RunStatus.RUNNING)) {
+                if (!candidate.getId().equals(currentRunId)) {
+                    stale.add(find(candidate.getId()));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to look up interrupted billing runs: {}", e.getMessage(), e);
+        }
+        return stale;
+    }
+
+    /**
+     * Execute the run's unfinished partitions and record its outcome
+     */
+    private void complete(BillingRun run) {
+        try {
+            engine.execute(run);
+            run.refreshTotals();
+            BillingRunPartition failed = run.getPartitions().stream()
+                .filter(partition -> !partition.isCompleted())
+                .findFirst()
+                .orElse(null);
+            if (failed == null) {
+                run.setStatus(BillingRun.RunStatus.COMPLETED);
+            } else {
+                run.setStatus(BillingRun.RunStatus.FAILED);
+                run.setErrorMessage("Partition " + failed.getPartitionIndex() + " failed: " + failed.getErrorMessage());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Billing run {} failed: {}", run.getId(), e.getMessage(), e);
+            run.refreshTotals();
+            run.setStatus(BillingRun.RunStatus.FAILED);
+            run.setErrorMessage(MonthlyBillingEngine.truncate(MonthlyBillingEngine.rootMessage(e)));
+        } finally {
+            run.setFinishedAt(LocalDateTime.now());
+            try {
+                billingRunRepository.save(run);
+            } catch (RuntimeException e) {
+                logger.error("Failed to record outcome of billing run {}", run.getId(), e);
+            }
+        }
+        logger.info("Billing run {} {}: {} subscriptions, {} bills created, {} duplicates skipped in {} ms ({} subscriptions/s)",
+            run.getId(), run.getStatus(), run.getSubscriptionsProcessed(), run.getBillsCreated(),
+            run.getDuplicatesSkipped(), run.getElapsedMillis(), String.format("%.1f", run.getThroughputPerSecond()));
+    }
+}
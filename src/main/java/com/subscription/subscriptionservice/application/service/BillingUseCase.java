@@ -1,57 +1,129 @@
 package com.subscription.subscriptionservice.application.service;
 
 import com.subscription.subscriptionservice.application.port.inbound.BillingServicePort;
+import com.subscription.subscriptionservice.application.port.outbound.AuditLogRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.BillingRunRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.InvoiceRenderingPort;
+import com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.TransactionManager;
 import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
+import com.subscription.subscriptionservice.domain.model.AuditLog;
 import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
 import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import com.subscription.subscriptionservice.infrastructure.util.CacheNamespace;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegion;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegions;
+import com.subscription.subscriptionservice.infrastructure.util.codec.UserSubscriptionCacheCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BillingUseCase implements BillingServicePort {
     
     private static final Logger logger = LoggerFactory.getLogger(BillingUseCase.class);
     
+    // Bills transitioned per transaction - keeps row locks short on large backlogs
+    private static final int OVERDUE_BATCH_SIZE = 500;
+    
+    // Monthly billing defaults - keep workers below the connection pool size
+    private static final int DEFAULT_BILLING_WORKERS = 4;
+    private static final int DEFAULT_BILLING_CHUNK_SIZE = 500;
+    
     private final BillingRepositoryPort billingRepository;
     private final UserSubscriptionRepositoryPort userSubscriptionRepository;
+    private final AuditLogRepositoryPort auditLogRepository;
+    private final BillingRunRepositoryPort billingRunRepository;
+    private final OutboxRepositoryPort outboxRepository;
     private final TransactionManager transactionManager;
+    private final BillingRunCoordinator billingRunCoordinator;
+    private final CacheRegion<UserSubscription> userSubscriptionCache;
+    private volatile InvoiceRenderingPort invoiceRenderingPort;
+    private volatile InvoiceEmailDispatcher invoiceEmailDispatcher;
     
     public BillingUseCase(BillingRepositoryPort billingRepository,
                          UserSubscriptionRepositoryPort userSubscriptionRepository,
-                         TransactionManager transactionManager) {
+                         AuditLogRepositoryPort auditLogRepository,
+                         BillingRunRepositoryPort billingRunRepository,
+                         LeaseManager leaseManager,
+                         OutboxRepositoryPort outboxRepository,
+                         TransactionManager transactionManager,
+                         CacheRegions cacheRegions) {
         this.billingRepository = billingRepository;
         this.userSubscriptionRepository = userSubscriptionRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.billingRunRepository = billingRunRepository;
+        this.outboxRepository = outboxRepository;
         this.transactionManager = transactionManager;
+        this.userSubscriptionCache = cacheRegions.region(CacheNamespace.USER_SUBSCRIPTIONS,
+            UserSubscriptionCacheCodec.INSTANCE);
+        this.billingRunCoordinator = new BillingRunCoordinator(billingRunRepository, leaseManager,
+            newBillingEngine(DEFAULT_BILLING_WORKERS, DEFAULT_BILLING_CHUNK_SIZE));
+    }
+    
+    /**
+     * Override the monthly billing worker count and chunk size (from the billing config block)
+     */
+    public void configureMonthlyBilling(int workers, int chunkSize) {
+        billingRunCoordinator.setEngine(newBillingEngine(workers, chunkSize));
+        logger.info("Monthly billing configured: workers={}, chunkSize={}", workers, chunkSize);
+    }
+    
+    /**
+     * Render invoice PDFs for bills created from now on (optional)
+     */
+    public void setInvoiceRenderingPort(InvoiceRenderingPort invoiceRenderingPort) {
+        this.invoiceRenderingPort = invoiceRenderingPort;
+    }
+    
+    /**
+     * Email rendered invoices through this dispatcher (optional - email is disabled without it)
+     */
+    public void setInvoiceEmailDispatcher(InvoiceEmailDispatcher invoiceEmailDispatcher) {
+        this.invoiceEmailDispatcher = invoiceEmailDispatcher;
+    }
+    
+    private MonthlyBillingEngine newBillingEngine(int workers, int chunkSize) {
+        return new MonthlyBillingEngine(billingRepository, userSubscriptionRepository, billingRunRepository,
+            transactionManager, workers, chunkSize, this::billsCreated);
+    }
+    
+    private void billsCreated(List<Billing> billings) {
+        // Billing advanced these subscriptions' billing start dates
+        List<String> keys = new ArrayList<>(billings.size());
+        for (Billing billing : billings) {
+            keys.add(userSubscriptionCache.key("userSubscription", billing.getUserSubscriptionId()));
+        }
+        userSubscriptionCache.evict(keys);
+        
+        InvoiceRenderingPort renderingPort = invoiceRenderingPort;
+        if (renderingPort != null && !billings.isEmpty()) {
+            renderingPort.submit(billings);
+        }
     }
     
     @Override
     public Billing generateBill(Long userSubscriptionId, LocalDate billingPeriodStart, LocalDate billingPeriodEnd) {
         logger.info("Generating bill: userSubscriptionId={}, period={} to {}", userSubscriptionId, billingPeriodStart, billingPeriodEnd);
         
-        return transactionManager.executeInTransaction(() -> {
+        Billing billing = transactionManager.executeInTransaction(() -> {
             UserSubscription userSubscription = userSubscriptionRepository.findById(userSubscriptionId)
                 .orElseThrow(() -> new UserNotFoundException("User subscription not found with id: " + userSubscriptionId));
             
-            Billing billing = new Billing();
-            billing.setUserSubscriptionId(userSubscriptionId);
-            billing.setBillingPeriodStart(billingPeriodStart);
-            billing.setBillingPeriodEnd(billingPeriodEnd);
-            billing.setBaseAmount(userSubscription.getNegotiatedPrice());
-            billing.setNegotiatedAmount(userSubscription.getNegotiatedPrice());
-            billing.setProRataAmount(BigDecimal.ZERO); // Calculate pro-rata if needed
-            billing.setTotalAmount(userSubscription.getNegotiatedPrice());
-            billing.setBillDate(LocalDate.now());
-            billing.setDueDate(LocalDate.now().plusDays(30)); // 30 days payment term
-            billing.setStatus(Billing.BillingStatus.PENDING);
-            
-            return billingRepository.save(billing);
+            return billingRepository.save(
+                Billing.forPeriod(userSubscription, billingPeriodStart, billingPeriodEnd, LocalDate.now()));
         });
+        billsCreated(List.of(billing));
+        return billing;
     }
     
     @Override
@@ -82,58 +154,103 @@ public class BillingUseCase implements BillingServicePort {
     
     @Override
     public void markAsPaid(Long id, String paymentMethod) {
-        Billing billing = findById(id);
-        billing.markAsPaid(paymentMethod);
-        billingRepository.save(billing);
+        transactionManager.executeInTransaction(() -> {
+            Billing billing = findById(id);
+            billing.markAsPaid(paymentMethod);
+            billingRepository.save(billing);
+            
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("billingId", billing.getId());
+            payload.put("userSubscriptionId", billing.getUserSubscriptionId());
+            payload.put("invoiceNumber", billing.invoiceNumber());
+            payload.put("totalAmount", billing.getTotalAmount() != null ? billing.getTotalAmount().toPlainString() : null);
+            payload.put("paymentMethod", billing.getPaymentMethod());
+            payload.put("paidDate", billing.getPaidDate() != null ? billing.getPaidDate().toString() : null);
+            outboxRepository.save(DomainEvent.of("Billing", billing.getId(), DomainEvent.BILLING_PAID, payload));
+        });
     }
     
     @Override
     public void markAsOverdue(Long id) {
         Billing billing = findById(id);
-        billing.markAsOverdue();
-        billingRepository.save(billing);
+        if (billing.isPending() && billing.getDueDate().isBefore(LocalDate.now())) {
+            billingRepository.updateStatus(List.of(id), Billing.BillingStatus.PENDING, Billing.BillingStatus.OVERDUE);
+        }
     }
     
     @Override
-    public void generateMonthlyBills() {
+    public BillingRun generateMonthlyBills() {
         logger.info("Generating monthly bills for all active subscriptions");
-        List<UserSubscription> activeSubscriptions = userSubscriptionRepository.findActive();
-        
-        for (UserSubscription subscription : activeSubscriptions) {
-            LocalDate billingStart = subscription.getBillingStartDate();
-            LocalDate now = LocalDate.now();
-            
-            // Generate bill if billing date has passed
-            if (billingStart.isBefore(now) || billingStart.equals(now)) {
-                LocalDate periodStart = billingStart;
-                LocalDate periodEnd = billingStart.plusMonths(1);
-                
-                // Check if bill already exists for this period
-                List<Billing> existingBills = billingRepository.findByUserSubscriptionId(subscription.getId());
-                boolean billExists = existingBills.stream()
-                    .anyMatch(b -> b.getBillingPeriodStart().equals(periodStart));
-                
-                if (!billExists) {
-                    generateBill(subscription.getId(), periodStart, periodEnd);
-                    // Update billing start date for next month
-                    subscription.setBillingStartDate(periodEnd);
-                    userSubscriptionRepository.save(subscription);
-                }
-            }
-        }
+        return billingRunCoordinator.runNow(LocalDate.now());
+    }
+    
+    @Override
+    public BillingRun startMonthlyBillingRun() {
+        logger.info("Starting monthly billing run in the background");
+        return billingRunCoordinator.start(LocalDate.now());
+    }
+    
+    @Override
+    public BillingRun resumeBillingRun(Long runId) {
+        return billingRunCoordinator.resume(runId);
+    }
+    
+    @Override
+    public BillingRun findBillingRun(Long runId) {
+        return billingRunCoordinator.find(runId);
     }
     
     @Override
-    public void markOverdueBills() {
-        logger.info("Marking overdue bills");
-        List<Billing> pendingBills = billingRepository.findPending();
+    public List<BillingRun> findRecentBillingRuns(int limit) {
+        return billingRunCoordinator.findRecent(limit);
+    }
+    
+    @Override
+    public int markOverdueBills() {
         LocalDate today = LocalDate.now();
+        logger.info("Marking overdue bills: asOf={}", today);
         
-        for (Billing billing : pendingBills) {
-            if (billing.getDueDate().isBefore(today)) {
-                markAsOverdue(billing.getId());
-            }
+        int total = 0;
+        List<Long> chunk;
+        do {
+            chunk = transactionManager.executeInTransaction(() -> {
+                List<Long> ids = billingRepository.markOverdue(today, OVERDUE_BATCH_SIZE);
+                auditLogRepository.saveAll(buildOverdueAuditLogs(ids, today));
+                return ids;
+            });
+            total += chunk.size();
+        } while (chunk.size() == OVERDUE_BATCH_SIZE);
+        
+        logger.info("Marked {} bills as overdue", total);
+        return total;
+    }
+    
+    @Override
+    public int sendPendingInvoiceEmails() {
+        InvoiceEmailDispatcher dispatcher = invoiceEmailDispatcher;
+        if (dispatcher == null) {
+            logger.debug("Invoice email is disabled, nothing sent");
+            return 0;
+        }
+        return dispatcher.dispatch();
+    }
+    
+    private List<AuditLog> buildOverdueAuditLogs(List<Long> billingIds, LocalDate asOf) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> auditLogs = new ArrayList<>(billingIds.size());
+        for (Long billingId : billingIds) {
+            AuditLog auditLog = new AuditLog();
+            auditLog.setEntityType("Billing");
+            auditLog.setEntityId(billingId);
+            auditLog.setAction(AuditLog.Action.UPDATE.name());
+            auditLog.setUsername("system");
+            auditLog.setDescription("Bill marked as overdue (due before " + asOf + ")");
+            auditLog.setOldValues("{\"status\":\"PENDING\"}");
+            auditLog.setNewValues("{\"status\":\"OVERDUE\"}");
+            auditLog.setTimestamp(now);
+            auditLogs.add(auditLog);
         }
+        return auditLogs;
     }
 }
 
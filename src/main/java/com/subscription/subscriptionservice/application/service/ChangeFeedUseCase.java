@@ -0,0 +1,272 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort;
+import com.subscription.subscriptionservice.application.port.outbound.ChangeFeedRepositoryPort;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the change feed. Each page is coalesced to one entry per entity carrying its current
+ * state, so a client replaying the feed converges on the database state.
+ * Long-polls are parked without a thread; a single poller watches the latest sequence and
+ * answers every waiter sharing a cursor with one query.
+ */
+public class ChangeFeedUseCase implements ChangeFeedServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedUseCase.class);
+
+    // A sequence gap younger than this is most likely a transaction about to commit - wait before probing it
+    static final Duration GAP_GRACE = Duration.ofSeconds(5);
+    // Longest a reader waits on the writer of a missing sequence before leaving the gap open
+    static final int GAP_PROBE_TIMEOUT_SECONDS = 1;
+    private static final long DEFAULT_POLL_INTERVAL_MILLIS = 250;
+    private static final int MAX_WAITERS = 10000;
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final ChangeFeedRepositoryPort changeFeedRepository;
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+    private volatile long pollIntervalMillis = DEFAULT_POLL_INTERVAL_MILLIS;
+    private ScheduledExecutorService poller;
+
+    public ChangeFeedUseCase(ChangeFeedRepositoryPort changeFeedRepository) {
+        this.changeFeedRepository = changeFeedRepository;
+    }
+
+    /**
+     * How often parked long-polls check for new changes (from the changes config block)
+     */
+    public void setPollIntervalMillis(long pollIntervalMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    @Override
+    public ChangeBatch getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new ValidationException("since", "must not be negative");
+        }
+        if (limit <= 0) {
+            throw new ValidationException("limit", "must be positive");
+        }
+        long oldest = changeFeedRepository.findOldestSequence();
+        if (oldest > 0 && since < oldest - 1) {
+            // Entries after the cursor were purged; a client replaying from here would miss them
+            return new ChangeBatch(changeFeedRepository.findLatestSequence(), List.of(), false, true);
+        }
+
+        List<ChangeRecord> records = changeFeedRepository.findAfter(since, limit);
+        int safe = safePrefixLength(records, since, LocalDateTime.now().minus(GAP_GRACE), changeFeedRepository);
+        if (safe == 0) {
+            return new ChangeBatch(since, List.of(), false, false);
+        }
+        List<ChangeRecord> page = records.subList(0, safe);
+        return new ChangeBatch(page.get(page.size() - 1).getSequence(), coalesce(page), safe == limit, false);
+    }
+
+    /**
+     * Number of leading records that can be served. Sequences are assigned at insert time but become
+     * visible at commit, so a missing sequence may still appear however old it is. The page stops
+     * before a gap until the gap is closed - which happens only once its writer has rolled back; a
+     * gap younger than the grace period is not even probed.
+     */
+    static int safePrefixLength(List<ChangeRecord> records, long since, LocalDateTime graceHorizon,
+                                ChangeFeedRepositoryPort changeFeedRepository) {
+        long previous = since;
+        for (int i = 0; i < records.size(); i++) {
+            ChangeRecord record = records.get(i);
+            if (record.getSequence() != previous + 1 && (record.getChangedAt().isAfter(graceHorizon)
+                    || !closeGaps(changeFeedRepository, previous + 1, record.getSequence()))) {
+                return i;
+            }
+            previous = record.getSequence();
+        }
+        return records.size();
+    }
+
+    /**
+     * Close the missing sequences from {@code first} up to (excluding) {@code end}, stopping at the first still held
+     */
+    static boolean closeGaps(ChangeFeedRepositoryPort changeFeedRepository, long first, long end) {
+        for (long sequence = first; sequence < end; sequence++) {
+            if (!changeFeedRepository.closeGap(sequence, GAP_PROBE_TIMEOUT_SECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One change per entity at its latest sequence, with the entity's current state
+     */
+    private List<Change> coalesce(List<ChangeRecord> page) {
+        Map<String, ChangeRecord> latest = new LinkedHashMap<>();
+        for (ChangeRecord record : page) {
+            if (ChangeRecord.GAP.equals(record.getEntityType())) {
+                continue;
+            }
+            String key = record.getEntityType() + ":" + record.getEntityId();
+            latest.remove(key);
+            latest.put(key, record);
+        }
+        Map<String, List<Long>> idsByType = new HashMap<>();
+        for (ChangeRecord record : latest.values()) {
+            idsByType.computeIfAbsent(record.getEntityType(), type -> new ArrayList<>()).add(record.getEntityId());
+        }
+        Map<String, Map<Long, Map<String, Object>>> states = new HashMap<>();
+        for (Map.Entry<String, List<Long>> entry : idsByType.entrySet()) {
+            states.put(entry.getKey(), changeFeedRepository.findEntityStates(entry.getKey(), entry.getValue()));
+        }
+
+        List<Change> changes = new ArrayList<>(latest.size());
+        for (ChangeRecord record : latest.values()) {
+            Map<String, Object> state = states.get(record.getEntityType()).get(record.getEntityId());
+            changes.add(new Change(record.getSequence(), record.getEntityType(), record.getEntityId(), state));
+        }
+        return changes;
+    }
+
+    @Override
+    public CompletableFuture<ChangeBatch> awaitChanges(long since, int limit, long maxWaitMillis) {
+        ChangeBatch batch = getChanges(since, limit);
+        if (batch.getCursor() > since || batch.isResync() || maxWaitMillis <= 0) {
+            return CompletableFuture.completedFuture(batch);
+        }
+        if (waiterCount.incrementAndGet() > MAX_WAITERS) {
+            // Too many parked requests - answer now and let the client poll again
+            waiterCount.decrementAndGet();
+            return CompletableFuture.completedFuture(batch);
+        }
+        Waiter waiter = new Waiter(since, limit, System.currentTimeMillis() + maxWaitMillis);
+        waiters.add(waiter);
+        ensurePollerStarted();
+        return waiter.future;
+    }
+
+    private synchronized void ensurePollerStarted() {
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollWaiters, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Change feed long-poll started: pollIntervalMillis={}", pollIntervalMillis);
+    }
+
+    private void pollWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long latest;
+        try {
+            latest = changeFeedRepository.findLatestSequence();
+        } catch (RuntimeException e) {
+            logger.warn("Change feed poll failed: {}", e.getMessage());
+            expireWaiters(now);
+            return;
+        }
+
+        // Waiters at the same cursor share one read
+        Map<List<Long>, ChangeBatch> batches = new HashMap<>();
+        for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+            Waiter waiter = iterator.next();
+            ChangeBatch batch = null;
+            if (waiter.since < latest) {
+                List<Long> key = List.of(waiter.since, (long) waiter.limit);
+                try {
+                    batch = batches.computeIfAbsent(key, k -> getChanges(waiter.since, waiter.limit));
+                } catch (RuntimeException e) {
+                    logger.warn("Change feed read failed for cursor {}: {}", waiter.since, e.getMessage());
+                }
+            }
+            // A page of closed gaps has no changes but still moves the cursor
+            if (batch != null && (batch.getCursor() > waiter.since || batch.isResync())) {
+                complete(iterator, waiter, batch);
+            } else if (now >= waiter.deadline) {
+                complete(iterator, waiter, new ChangeBatch(waiter.since, List.of(), false, false));
+            }
+        }
+    }
+
+    private void expireWaiters(long now) {
+        for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+            Waiter waiter = iterator.next();
+            if (now >= waiter.deadline) {
+                complete(iterator, waiter, new ChangeBatch(waiter.since, List.of(), false, false));
+            }
+        }
+    }
+
+    private void complete(Iterator<Waiter> iterator, Waiter waiter, ChangeBatch batch) {
+        iterator.remove();
+        waiterCount.decrementAndGet();
+        waiter.future.complete(batch);
+    }
+
+    @Override
+    public int purgeOlderThan(int retentionDays) {
+        if (retentionDays <= 0) {
+            throw new ValidationException("retentionDays", "must be positive");
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = changeFeedRepository.deleteChangedBefore(cutoff, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        logger.info("Purged {} change feed entries older than {}", total, cutoff);
+        return total;
+    }
+
+    public int getWaitingCount() {
+        return waiterCount.get();
+    }
+
+    /**
+     * Stop the poller and answer parked long-polls with empty batches
+     */
+    public synchronized void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+        for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+            Waiter waiter = iterator.next();
+            complete(iterator, waiter, new ChangeBatch(waiter.since, List.of(), false, false));
+        }
+    }
+
+    private static final class Waiter {
+        private final long since;
+        private final int limit;
+        private final long deadline;
+        private final CompletableFuture<ChangeBatch> future = new CompletableFuture<>();
+
+        private Waiter(long since, int limit, long deadline) {
+            this.since = since;
+            this.limit = limit;
+            this.deadline = deadline;
+        }
+    }
+}
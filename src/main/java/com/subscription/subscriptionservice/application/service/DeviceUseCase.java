@@ -2,21 +2,32 @@ package com.subscription.subscriptionservice.application.service;
 
 import com.subscription.subscriptionservice.application.port.inbound.DeviceServicePort;
 import com.subscription.subscriptionservice.application.port.outbound.DeviceRepositoryPort;
+import com.subscription.subscriptionservice.domain.exception.AuthenticationException;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
 import com.subscription.subscriptionservice.domain.model.Device;
+import com.subscription.subscriptionservice.infrastructure.util.ApiKeyUtil;
+import com.subscription.subscriptionservice.infrastructure.util.CacheNamespace;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegion;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegions;
+import com.subscription.subscriptionservice.infrastructure.util.codec.DeviceCacheCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Optional;
 
 public class DeviceUseCase implements DeviceServicePort {
     
     private static final Logger logger = LoggerFactory.getLogger(DeviceUseCase.class);
     
     private final DeviceRepositoryPort deviceRepository;
+    private final ApiKeyCache apiKeyCache;
+    private final CacheRegion<Device> deviceCache;
     
-    public DeviceUseCase(DeviceRepositoryPort deviceRepository) {
+    public DeviceUseCase(DeviceRepositoryPort deviceRepository, ApiKeyCache apiKeyCache, CacheRegions cacheRegions) {
         this.deviceRepository = deviceRepository;
+        this.apiKeyCache = apiKeyCache;
+        this.deviceCache = cacheRegions.region(CacheNamespace.DEVICES, DeviceCacheCodec.INSTANCE);
     }
     
     @Override
@@ -28,19 +39,62 @@ public class DeviceUseCase implements DeviceServicePort {
         device.setDeviceType(deviceType);
         device.setActive(true);
         device.setApiKey(deviceRepository.generateApiKey());
-        return deviceRepository.save(device);
+        Device saved = deviceRepository.save(device);
+        apiKeyCache.invalidate(saved.getApiKeyHash());
+        return saved;
     }
     
     @Override
     public Device findById(Long id) {
+        return deviceCache.get(deviceCache.key("device", id), () -> loadDevice(id));
+    }
+    
+    // Writes start from the database row, never from a cached copy
+    private Device loadDevice(Long id) {
         return deviceRepository.findById(id)
             .orElseThrow(() -> new UserNotFoundException("Device not found with id: " + id));
     }
     
+    private void evict(Long id) {
+        deviceCache.evict(deviceCache.key("device", id));
+    }
+    
     @Override
     public Device findByApiKey(String apiKey) {
-        return deviceRepository.findByApiKey(apiKey)
-            .orElseThrow(() -> new UserNotFoundException("Device not found with api key: " + apiKey));
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new AuthenticationException("Invalid API key");
+        }
+        String apiKeyHash = ApiKeyUtil.hash(apiKey);
+        ApiKeyCache.Entry cached = apiKeyCache.get(apiKeyHash);
+        if (cached != null) {
+            if (cached.isUnknown()) {
+                throw new AuthenticationException("Invalid API key");
+            }
+            // Hashes are unique, so a device that no longer has this hash means the key is gone
+            Optional<Device> device = findDevice(cached.getDeviceId())
+                .filter(d -> apiKeyHash.equals(d.getApiKeyHash()) && !Boolean.TRUE.equals(d.getDeleted()));
+            if (device.isEmpty()) {
+                apiKeyCache.invalidate(apiKeyHash);
+                apiKeyCache.putUnknown(apiKeyHash);
+                throw new AuthenticationException("Invalid API key");
+            }
+            return device.get();
+        }
+        Optional<Device> device = deviceRepository.findByApiKeyHash(apiKeyHash);
+        if (device.isEmpty()) {
+            apiKeyCache.putUnknown(apiKeyHash);
+            throw new AuthenticationException("Invalid API key");
+        }
+        apiKeyCache.putDevice(apiKeyHash, device.get().getId(), device.get().isActive());
+        return device.get();
+    }
+    
+    private Optional<Device> findDevice(Long id) {
+        try {
+            return Optional.of(findById(id));
+        } catch (UserNotFoundException e) {
+            return Optional.empty();
+        }
     }
     
     @Override
@@ -60,41 +114,46 @@ public class DeviceUseCase implements DeviceServicePort {
     
     @Override
     public Device updateDevice(Long id, String name, String description, String deviceType) {
-        Device device = findById(id);
+        Device device = loadDevice(id);
         device.setName(name);
         device.setDescription(description);
         device.setDeviceType(deviceType);
-        return deviceRepository.save(device);
+        Device saved = deviceRepository.save(device);
+        evict(id);
+        return saved;
     }
     
     @Override
     public void deleteDevice(Long id) {
         deviceRepository.delete(id);
+        evict(id);
+        apiKeyCache.invalidateDevice(id);
     }
     
     @Override
     public void softDeleteDevice(Long id, Long deletedBy) {
         deviceRepository.softDelete(id, deletedBy);
+        evict(id);
+        apiKeyCache.invalidateDevice(id);
     }
     
     @Override
     public void restoreDevice(Long id) {
         deviceRepository.restore(id);
+        evict(id);
+        apiKeyCache.invalidateDevice(id);
     }
     
     @Override
     public String regenerateApiKey(Long id) {
-        Device device = findById(id);
+        Device device = loadDevice(id);
         String newApiKey = deviceRepository.generateApiKey();
         device.setApiKey(newApiKey);
         deviceRepository.save(device);
+        evict(id);
+        apiKeyCache.invalidateDevice(id);
+        apiKeyCache.invalidate(device.getApiKeyHash());
         return newApiKey;
     }
-    
-    @Override
-    public String getApiKey(Long id) {
-        Device device = findById(id);
-        return device.getApiKey();
-    }
 }
 
@@ -0,0 +1,912 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort;
+import com.subscription.subscriptionservice.application.port.outbound.ChangeFeedRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.DeviceRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.FeatureRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.SubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.UserDeviceRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.exception.AuthenticationException;
+import com.subscription.subscriptionservice.domain.exception.ForbiddenException;
+import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+import com.subscription.subscriptionservice.domain.model.Device;
+import com.subscription.subscriptionservice.domain.model.Feature;
+import com.subscription.subscriptionservice.domain.model.Subscription;
+import com.subscription.subscriptionservice.domain.model.UserDevice;
+import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import com.subscription.subscriptionservice.domain.model.UserSubscription.SubscriptionStatus;
+import com.subscription.subscriptionservice.infrastructure.util.ApiKeyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory entitlement index for device check-ins. Devices (by API key digest), user devices
+ * (by serial), user subscriptions, features and subscription feature sets are held in
+ * primitive-keyed maps, so a verification is a few lock-free lookups. Feature ids map to dense bit
+ * positions and each subscription's features are a bitset, so a feature check is a single bit
+ * test. The index is loaded on start and kept fresh by tailing the change log, which every write
+ * to these tables appends to - including writes made by other instances. A lookup that misses (a
+ * row written since the last refresh) reads the database and fills the index; feature codes found
+ * to be unknown are remembered for a short time, so repeated bad codes never reach the database.
+ */
+public class EntitlementIndex implements EntitlementServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntitlementIndex.class);
+
+    private static final int REFRESH_BATCH_SIZE = 1000;
+    private static final long UNKNOWN_FEATURE_TTL_MILLIS = 30_000;
+    private static final int MAX_UNKNOWN_FEATURE_CODES = 10_000;
+
+    private final DeviceRepositoryPort deviceRepository;
+    private final UserDeviceRepositoryPort userDeviceRepository;
+    private final UserSubscriptionRepositoryPort userSubscriptionRepository;
+    private final SubscriptionRepositoryPort subscriptionRepository;
+    private final FeatureRepositoryPort featureRepository;
+    private final ChangeFeedRepositoryPort changeFeedRepository;
+    private final ApiKeyCache apiKeyCache;
+
+    private final LongKeyedMap<DeviceEntry> devicesByKey = new LongKeyedMap<>();
+    private final LongKeyedMap<DeviceEntry> devicesById = new LongKeyedMap<>();
+    private final LongKeyedMap<UserDeviceEntry> userDevicesBySerial = new LongKeyedMap<>();
+    private final LongKeyedMap<UserDeviceEntry> userDevicesById = new LongKeyedMap<>();
+    private final LongKeyedMap<UserSubscriptionEntry> userSubscriptions = new LongKeyedMap<>();
+    private final LongKeyedMap<FeatureSet> subscriptionFeatures = new LongKeyedMap<>();
+    private final LongKeyedMap<FeatureEntry> featuresById = new LongKeyedMap<>();
+    private final Map<String, FeatureEntry> featuresByCode = new ConcurrentHashMap<>();
+    // Codes no feature had when last read, until the entry expires or a feature with the code is indexed
+    private final Map<String, Long> unknownFeatureCodes = new ConcurrentHashMap<>();
+    // Bit positions are assigned on first sight and never reused, so a set built earlier stays valid
+    private final LongKeyedMap<Integer> featureBits = new LongKeyedMap<>();
+    private int nextFeatureBit;
+
+    // Index writes are serialized so a fill from the database never overwrites a newer refresh
+    private final Object writeLock = new Object();
+    private volatile long cursor;
+    private ScheduledExecutorService refresher;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EntitlementIndex(DeviceRepositoryPort deviceRepository,
+                            UserDeviceRepositoryPort userDeviceRepository,
+                            UserSubscriptionRepositoryPort userSubscriptionRepository,
+                            SubscriptionRepositoryPort subscriptionRepository,
+                            FeatureRepositoryPort featureRepository,
+                            ChangeFeedRepositoryPort changeFeedRepository,
+                            ApiKeyCache apiKeyCache) {
+        this.deviceRepository = deviceRepository;
+        this.userDeviceRepository = userDeviceRepository;
+        this.userSubscriptionRepository = userSubscriptionRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.featureRepository = featureRepository;
+        this.changeFeedRepository = changeFeedRepository;
+        this.apiKeyCache = apiKeyCache;
+    }
+
+    @Override
+    public Entitlement verify(String apiKey, String deviceSerial) {
+        SerialVerification result = verifyAll(apiKey, Collections.singletonList(deviceSerial), null).get(0);
+        if (result.isVerified()) {
+            return result.getEntitlement();
+        }
+        switch (result.getError()) {
+            case SerialVerification.INVALID:
+                throw new ValidationException("deviceSerial", result.getMessage());
+            case SerialVerification.NOT_FOUND:
+                throw new UserNotFoundException(result.getMessage());
+            default:
+                throw new ForbiddenException(result.getMessage());
+        }
+    }
+
+    @Override
+    public List<SerialVerification> verifyAll(String apiKey, List<String> deviceSerials, List<String> featureCodes) {
+        return verifier(apiKey, featureCodes).verify(deviceSerials);
+    }
+
+    @Override
+    public SerialVerifier verifier(String apiKey, List<String> featureCodes) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new AuthenticationException("API key is required");
+        }
+        boolean[] missed = new boolean[1];
+        try {
+            DeviceEntry device = findDevice(apiKey, missed);
+            if (device == null) {
+                throw new AuthenticationException("Invalid API key");
+            }
+            if (!device.active) {
+                throw new ForbiddenException("Device is disabled");
+            }
+            return new DeviceVerifier(device, resolveFeatureCodes(featureCodes, missed), missed[0]);
+        } catch (RuntimeException e) {
+            (missed[0] ? misses : hits).increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Serial lookups for one resolved device and feature set. Each call counts as one lookup; a miss
+     * while resolving is counted with the first.
+     */
+    private final class DeviceVerifier implements SerialVerifier {
+        private final DeviceEntry device;
+        private final Map<String, Integer> requestedFeatures;
+        private boolean resolveMissed;
+
+        private DeviceVerifier(DeviceEntry device, Map<String, Integer> requestedFeatures, boolean resolveMissed) {
+            this.device = device;
+            this.requestedFeatures = requestedFeatures;
+            this.resolveMissed = resolveMissed;
+        }
+
+        @Override
+        public List<SerialVerification> verify(List<String> deviceSerials) {
+            boolean[] missed = {resolveMissed};
+            resolveMissed = false;
+            try {
+                Map<String, UserDeviceEntry> userDevices = findUserDevices(deviceSerials, missed);
+                List<SerialVerification> results = new ArrayList<>(deviceSerials.size());
+                for (String serial : deviceSerials) {
+                    results.add(evaluate(device, serial, userDevices.get(serial), requestedFeatures, missed));
+                }
+                return results;
+            } finally {
+                (missed[0] ? misses : hits).increment();
+            }
+        }
+    }
+
+    private SerialVerification evaluate(DeviceEntry device, String serial, UserDeviceEntry userDevice,
+                                        Map<String, Integer> requestedFeatures, boolean[] missed) {
+        if (serial == null || serial.isEmpty()) {
+            return SerialVerification.denied(serial, SerialVerification.INVALID, "Device serial is required");
+        }
+        if (userDevice == null) {
+            return SerialVerification.denied(serial, SerialVerification.NOT_FOUND, "Device serial is not registered: " + serial);
+        }
+        if (userDevice.deviceId != device.deviceId) {
+            return SerialVerification.denied(serial, SerialVerification.FORBIDDEN, "Device serial does not belong to this device");
+        }
+        if (!userDevice.active) {
+            return SerialVerification.denied(serial, SerialVerification.FORBIDDEN, "Device is not active");
+        }
+        UserSubscriptionEntry subscription = userDevice.userSubscriptionId != 0
+            ? findUserSubscription(userDevice.userSubscriptionId, missed) : null;
+        if (subscription == null) {
+            return SerialVerification.denied(serial, SerialVerification.FORBIDDEN, "No subscription is assigned to this device");
+        }
+        if (subscription.status != SubscriptionStatus.ACTIVE) {
+            return SerialVerification.denied(serial, SerialVerification.FORBIDDEN,
+                "Subscription is " + subscription.status.name().toLowerCase());
+        }
+        if (subscription.endDate != null && !subscription.endDate.isAfter(LocalDate.now())) {
+            return SerialVerification.denied(serial, SerialVerification.FORBIDDEN, "Subscription has expired");
+        }
+
+        FeatureSet features = findFeatures(subscription.subscriptionId, missed);
+        List<Long> featureIds = new ArrayList<>(features.featureIds.length);
+        for (long featureId : features.featureIds) {
+            featureIds.add(featureId);
+        }
+        Map<String, Boolean> entitledFeatures = null;
+        if (requestedFeatures != null) {
+            entitledFeatures = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> feature : requestedFeatures.entrySet()) {
+                entitledFeatures.put(feature.getKey(), feature.getValue() != null && features.contains(feature.getValue()));
+            }
+        }
+        Entitlement entitlement = new Entitlement(device.deviceId, userDevice.userDeviceId, subscription.subscriptionId,
+            userDevice.userSubscriptionId, subscription.status.name(), subscription.endDate, featureIds);
+        return SerialVerification.verified(serial, entitlement, entitledFeatures);
+    }
+
+    /**
+     * Feature code to bit position, null for inactive features; null when no codes were requested
+     */
+    private Map<String, Integer> resolveFeatureCodes(List<String> featureCodes, boolean[] missed) {
+        if (featureCodes == null || featureCodes.isEmpty()) {
+            return null;
+        }
+        Map<String, Integer> features = new LinkedHashMap<>();
+        for (String featureCode : featureCodes) {
+            if (featureCode == null) {
+                throw new ValidationException("featureCodes", "Feature codes must be strings");
+            }
+            if (features.containsKey(featureCode)) {
+                continue;
+            }
+            FeatureEntry feature = findFeature(featureCode, missed);
+            if (feature == null) {
+                throw new ValidationException("featureCodes", "Unknown feature code: " + featureCode);
+            }
+            features.put(featureCode, feature.active ? feature.bit : null);
+        }
+        return features;
+    }
+
+    private FeatureEntry findFeature(String featureCode, boolean[] missed) {
+        FeatureEntry entry = featuresByCode.get(featureCode);
+        if (entry != null) {
+            return entry;
+        }
+        Long unknownUntil = unknownFeatureCodes.get(featureCode);
+        if (unknownUntil != null && unknownUntil > System.currentTimeMillis()) {
+            return null;
+        }
+        missed[0] = true;
+        long seen = cursor;
+        Optional<Feature> feature = featureRepository.findByFeatureCode(featureCode)
+            .filter(f -> !Boolean.TRUE.equals(f.getDeleted()));
+        if (feature.isEmpty()) {
+            // Skipped when a refresh ran meanwhile - it may have indexed a feature with this code
+            fill(seen, () -> putUnknownFeatureCode(featureCode));
+            return null;
+        }
+        FeatureEntry loaded = new FeatureEntry(feature.get(), featureBit(feature.get().getId()));
+        fill(seen, () -> {
+            if (featuresById.get(loaded.featureId) == null) {
+                indexFeature(loaded);
+            }
+        });
+        return loaded;
+    }
+
+    private void putUnknownFeatureCode(String featureCode) {
+        long now = System.currentTimeMillis();
+        if (unknownFeatureCodes.size() >= MAX_UNKNOWN_FEATURE_CODES) {
+            unknownFeatureCodes.values().removeIf(expiresAt -> expiresAt <= now);
+            if (unknownFeatureCodes.size() >= MAX_UNKNOWN_FEATURE_CODES) {
+                return;
+            }
+        }
+        unknownFeatureCodes.put(featureCode, now + UNKNOWN_FEATURE_TTL_MILLIS);
+    }
+
+    /**
+     * Code of a feature by id, or null when it no longer exists
+     */
+    String featureCode(long featureId) {
+        FeatureEntry entry = featuresById.get(featureId);
+        if (entry != null) {
+            return entry.code;
+        }
+        misses.increment();
+        long seen = cursor;
+        Optional<Feature> feature = featureRepository.findById(featureId)
+            .filter(f -> !Boolean.TRUE.equals(f.getDeleted()));
+        if (feature.isEmpty()) {
+            return null;
+        }
+        FeatureEntry loaded = new FeatureEntry(feature.get(), featureBit(featureId));
+        fill(seen, () -> {
+            if (featuresById.get(featureId) == null) {
+                indexFeature(loaded);
+            }
+        });
+        return loaded.code;
+    }
+
+    private int featureBit(long featureId) {
+        Integer bit = featureBits.get(featureId);
+        if (bit != null) {
+            return bit;
+        }
+        synchronized (featureBits) {
+            bit = featureBits.get(featureId);
+            if (bit == null) {
+                bit = nextFeatureBit++;
+                featureBits.put(featureId, bit);
+            }
+            return bit;
+        }
+    }
+
+    private DeviceEntry findDevice(String apiKey, boolean[] missed) {
+        byte[] digest = ApiKeyUtil.digest(apiKey);
+        DeviceEntry entry = devicesByKey.get(keyHash(digest));
+        if (entry != null && MessageDigest.isEqual(entry.apiKeyDigest, digest)) {
+            return entry;
+        }
+        // Every device is indexed, so only keys cached as unknown are settled without a read
+        String apiKeyHash = ApiKeyUtil.toHex(digest);
+        ApiKeyCache.Entry cached = apiKeyCache.get(apiKeyHash);
+        if (cached != null && cached.isUnknown()) {
+            return null;
+        }
+        missed[0] = true;
+        long seen = cursor;
+        Optional<Device> device = deviceRepository.findByApiKeyHash(apiKeyHash);
+        if (device.isEmpty()) {
+            apiKeyCache.putUnknown(apiKeyHash);
+            return null;
+        }
+        DeviceEntry loaded = new DeviceEntry(device.get());
+        fill(seen, () -> {
+            if (devicesById.get(loaded.deviceId) == null) {
+                indexDevice(loaded);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Index lookups, with the serials the index does not know read in one query
+     */
+    private Map<String, UserDeviceEntry> findUserDevices(List<String> serials, boolean[] missed) {
+        Map<String, UserDeviceEntry> found = new HashMap<>();
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String serial : serials) {
+            if (serial == null || serial.isEmpty()) {
+                continue;
+            }
+            UserDeviceEntry entry = userDevicesBySerial.get(serialHash(serial));
+            if (entry != null && entry.serial.equals(serial)) {
+                found.put(serial, entry);
+            } else {
+                unknown.add(serial);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return found;
+        }
+        missed[0] = true;
+        long seen = cursor;
+        List<UserDeviceEntry> loaded = new ArrayList<>();
+        for (UserDevice userDevice : userDeviceRepository.findByDeviceSerials(unknown)) {
+            UserDeviceEntry entry = new UserDeviceEntry(userDevice);
+            found.put(entry.serial, entry);
+            loaded.add(entry);
+        }
+        fill(seen, () -> {
+            for (UserDeviceEntry entry : loaded) {
+                if (userDevicesById.get(entry.userDeviceId) == null) {
+                    indexUserDevice(entry);
+                }
+            }
+        });
+        return found;
+    }
+
+    private UserSubscriptionEntry findUserSubscription(long id, boolean[] missed) {
+        UserSubscriptionEntry entry = userSubscriptions.get(id);
+        if (entry != null) {
+            return entry;
+        }
+        missed[0] = true;
+        long seen = cursor;
+        Optional<UserSubscription> userSubscription = userSubscriptionRepository.findById(id);
+        if (userSubscription.isEmpty()) {
+            return null;
+        }
+        UserSubscriptionEntry loaded = new UserSubscriptionEntry(userSubscription.get());
+        fill(seen, () -> userSubscriptions.putIfAbsent(id, loaded));
+        return loaded;
+    }
+
+    private FeatureSet findFeatures(long subscriptionId, boolean[] missed) {
+        FeatureSet features = subscriptionFeatures.get(subscriptionId);
+        if (features != null) {
+            return features;
+        }
+        missed[0] = true;
+        long seen = cursor;
+        Optional<Subscription> subscription = subscriptionRepository.findById(subscriptionId);
+        if (subscription.isEmpty()) {
+            return FeatureSet.EMPTY;
+        }
+        FeatureSet loaded = toFeatureSet(subscription.get());
+        fill(seen, () -> subscriptionFeatures.putIfAbsent(subscriptionId, loaded));
+        return loaded;
+    }
+
+    /**
+     * Cache a row read on a miss, unless a refresh ran meanwhile - the refresh may have applied a
+     * newer version of the row, or removed it
+     */
+    private void fill(long seenCursor, Runnable update) {
+        synchronized (writeLock) {
+            if (cursor == seenCursor) {
+                update.run();
+            }
+        }
+    }
+
+    /**
+     * Change log sequence the index reflects at least
+     */
+    long cursor() {
+        return cursor;
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Register a listener that keeps state across changes, first replaying to it every entitlement
+     * change recorded since {@code replaySince} up to the cursor. The index does not know which of
+     * those altered an entitlement, so all of them are replayed. Holding the write lock keeps the
+     * refresher from applying a change between the replay and the registration.
+     */
+    public void addChangeListener(ChangeListener listener, LocalDateTime replaySince) {
+        synchronized (writeLock) {
+            long since = changeFeedRepository.findFirstSequenceSince(replaySince) - 1;
+            int replayed = 0;
+            while (since >= 0 && since < cursor) {
+                List<ChangeRecord> records = changeFeedRepository.findAfter(since, REFRESH_BATCH_SIZE);
+                for (ChangeRecord record : records) {
+                    if (record.getSequence() > cursor) {
+                        break;
+                    }
+                    if (affectsEntitlements(record.getEntityType())) {
+                        listener.entitlementChanged(record.getEntityType(), record.getEntityId(), record.getSequence());
+                        replayed++;
+                    }
+                }
+                if (records.size() < REFRESH_BATCH_SIZE) {
+                    break;
+                }
+                since = records.get(records.size() - 1).getSequence();
+            }
+            listeners.add(listener);
+            logger.info("Replayed {} entitlement changes up to sequence {} to a new change listener", replayed, cursor);
+        }
+    }
+
+    private static boolean affectsEntitlements(String entityType) {
+        return ChangeRecord.DEVICE.equals(entityType) || ChangeRecord.USER_DEVICE.equals(entityType)
+            || ChangeRecord.USER_SUBSCRIPTION.equals(entityType) || ChangeRecord.SUBSCRIPTION.equals(entityType);
+    }
+
+    /**
+     * Load the index and start following the change log
+     */
+    public synchronized void start(long refreshIntervalMillis) {
+        if (refresher != null) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        // Taken before the load: everything up to it has committed, so the load below includes it
+        long startCursor = settledSequence();
+
+        List<Device> devices = deviceRepository.findAll();
+        List<UserDevice> userDevices = userDeviceRepository.findAll();
+        List<UserSubscription> allUserSubscriptions = userSubscriptionRepository.findAll();
+        List<Subscription> subscriptions = subscriptionRepository.findAll();
+        List<Feature> features = featureRepository.findAll();
+        // Ascending ids, so bit positions follow feature creation order
+        features.sort(Comparator.comparing(Feature::getId));
+        synchronized (writeLock) {
+            for (Feature feature : features) {
+                if (!Boolean.TRUE.equals(feature.getDeleted())) {
+                    indexFeature(new FeatureEntry(feature, featureBit(feature.getId())));
+                }
+            }
+            for (Device device : devices) {
+                if (!Boolean.TRUE.equals(device.getDeleted())) {
+                    indexDevice(new DeviceEntry(device));
+                }
+            }
+            for (UserDevice userDevice : userDevices) {
+                indexUserDevice(new UserDeviceEntry(userDevice));
+            }
+            for (UserSubscription userSubscription : allUserSubscriptions) {
+                userSubscriptions.put(userSubscription.getId(), new UserSubscriptionEntry(userSubscription));
+            }
+            for (Subscription subscription : subscriptions) {
+                subscriptionFeatures.put(subscription.getId(), toFeatureSet(subscription));
+            }
+            cursor = startCursor;
+        }
+        logger.info("Entitlement index loaded in {} ms: devices={}, userDevices={}, userSubscriptions={}, subscriptions={}, features={}",
+            System.currentTimeMillis() - startTime, devices.size(), userDevices.size(),
+            allUserSubscriptions.size(), subscriptions.size(), features.size());
+
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entitlement-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Highest sequence with no open gap at or below it. Counting against the primary key finds the
+     * missing sequences without reading the log; rolled-back ones are closed on the way, and the first
+     * one still held by a running transaction ends the settled prefix, so it is replayed once it commits.
+     */
+    long settledSequence() {
+        long latest = changeFeedRepository.findLatestSequence();
+        long settled = Math.max(changeFeedRepository.findOldestSequence() - 1, 0);
+        while (settled < latest) {
+            if (changeFeedRepository.countSequences(settled, latest) == latest - settled) {
+                return latest;
+            }
+            // Lowest missing sequence: (settled, low] is complete, (low, high] is not
+            long low = settled;
+            long high = latest;
+            while (high - low > 1) {
+                long mid = (low + high) >>> 1;
+                if (changeFeedRepository.countSequences(low, mid) == mid - low) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            if (!ChangeFeedUseCase.closeGaps(changeFeedRepository, high, high + 1)) {
+                return high - 1;
+            }
+            settled = high;
+        }
+        return latest;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.warn("Entitlement index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the rows named by new change log entries, stopping before a sequence gap that may
+     * still be filled by an in-flight transaction
+     * @return number of change entries applied
+     */
+    int refresh() {
+        int applied = 0;
+        while (true) {
+            long since = cursor;
+            List<ChangeRecord> records = changeFeedRepository.findAfter(since, REFRESH_BATCH_SIZE);
+            int safe = ChangeFeedUseCase.safePrefixLength(records, since,
+                LocalDateTime.now().minus(ChangeFeedUseCase.GAP_GRACE), changeFeedRepository);
+            if (safe == 0) {
+                return applied;
+            }
+            List<ChangeRecord> page = records.subList(0, safe);
+
+            // Rows are read outside the lock; only applying them is serialized with fills
+            Map<String, ChangeRecord> latest = new LinkedHashMap<>();
+            for (ChangeRecord record : page) {
+                latest.put(record.getEntityType() + ":" + record.getEntityId(), record);
+            }
+            List<Runnable> updates = new ArrayList<>();
+            List<ChangeRecord> changed = new ArrayList<>();
+            for (ChangeRecord record : latest.values()) {
+                updates.add(reload(record, changed));
+            }
+            synchronized (writeLock) {
+                for (Runnable update : updates) {
+                    update.run();
+                }
+                // Listeners see a change before the cursor moves past it
+                for (ChangeRecord record : changed) {
+                    for (ChangeListener listener : listeners) {
+                        listener.entitlementChanged(record.getEntityType(), record.getEntityId(), record.getSequence());
+                    }
+                }
+                cursor = page.get(page.size() - 1).getSequence();
+            }
+            applied += safe;
+            if (safe < REFRESH_BATCH_SIZE) {
+                return applied;
+            }
+        }
+    }
+
+    /**
+     * @param changed collects the records whose reload changes an entitlement the index had served
+     */
+    private Runnable reload(ChangeRecord record, List<ChangeRecord> changed) {
+        long id = record.getEntityId();
+        switch (record.getEntityType()) {
+            case ChangeRecord.DEVICE: {
+                Device device = deviceRepository.findById(id)
+                    .filter(d -> !Boolean.TRUE.equals(d.getDeleted()))
+                    .orElse(null);
+                // Drops keys this instance cached before the write, including a new key cached as unknown
+                apiKeyCache.invalidateDevice(id);
+                if (device != null && device.getApiKeyHash() != null) {
+                    apiKeyCache.invalidate(device.getApiKeyHash());
+                }
+                DeviceEntry loaded = device != null ? new DeviceEntry(device) : null;
+                return () -> {
+                    DeviceEntry previous = devicesById.get(id);
+                    if (previous != null && (loaded == null || previous.active != loaded.active)) {
+                        changed.add(record);
+                    }
+                    if (loaded != null) {
+                        indexDevice(loaded);
+                    } else {
+                        removeDevice(id);
+                    }
+                };
+            }
+            case ChangeRecord.USER_DEVICE: {
+                UserDeviceEntry loaded = userDeviceRepository.findById(id).map(UserDeviceEntry::new).orElse(null);
+                return () -> {
+                    UserDeviceEntry previous = userDevicesById.get(id);
+                    if (previous != null && (loaded == null || !previous.sameEntitlement(loaded))) {
+                        changed.add(record);
+                    }
+                    if (loaded != null) {
+                        indexUserDevice(loaded);
+                    } else {
+                        removeUserDevice(id);
+                    }
+                };
+            }
+            case ChangeRecord.USER_SUBSCRIPTION: {
+                UserSubscriptionEntry loaded = userSubscriptionRepository.findById(id)
+                    .map(UserSubscriptionEntry::new)
+                    .orElse(null);
+                return () -> {
+                    UserSubscriptionEntry previous = loaded != null
+                        ? userSubscriptions.put(id, loaded) : userSubscriptions.remove(id);
+                    if (previous != null && (loaded == null || !previous.sameEntitlement(loaded))) {
+                        changed.add(record);
+                    }
+                };
+            }
+            case ChangeRecord.SUBSCRIPTION: {
+                // Rebuilds only this subscription's set - addFeature and removeFeature land here
+                FeatureSet loaded = subscriptionRepository.findById(id).map(this::toFeatureSet).orElse(null);
+                return () -> {
+                    FeatureSet previous = loaded != null
+                        ? subscriptionFeatures.put(id, loaded) : subscriptionFeatures.remove(id);
+                    if (previous != null && (loaded == null || !Arrays.equals(previous.featureIds, loaded.featureIds))) {
+                        changed.add(record);
+                    }
+                };
+            }
+            case ChangeRecord.FEATURE: {
+                FeatureEntry loaded = featureRepository.findById(id)
+                    .filter(f -> !Boolean.TRUE.equals(f.getDeleted()))
+                    .map(f -> new FeatureEntry(f, featureBit(id)))
+                    .orElse(null);
+                return () -> {
+                    if (loaded != null) {
+                        indexFeature(loaded);
+                    } else {
+                        removeFeature(id);
+                    }
+                };
+            }
+            default:
+                return () -> { };
+        }
+    }
+
+    private void indexDevice(DeviceEntry entry) {
+        removeDevice(entry.deviceId);
+        devicesById.put(entry.deviceId, entry);
+        if (entry.apiKeyDigest != null) {
+            devicesByKey.put(entry.keyHash, entry);
+        }
+    }
+
+    private void removeDevice(long deviceId) {
+        DeviceEntry previous = devicesById.remove(deviceId);
+        if (previous != null && devicesByKey.get(previous.keyHash) == previous) {
+            devicesByKey.remove(previous.keyHash);
+        }
+    }
+
+    private void indexUserDevice(UserDeviceEntry entry) {
+        removeUserDevice(entry.userDeviceId);
+        userDevicesById.put(entry.userDeviceId, entry);
+        if (entry.serial != null) {
+            userDevicesBySerial.put(entry.serialHash, entry);
+        }
+    }
+
+    private void removeUserDevice(long userDeviceId) {
+        UserDeviceEntry previous = userDevicesById.remove(userDeviceId);
+        if (previous != null && userDevicesBySerial.get(previous.serialHash) == previous) {
+            userDevicesBySerial.remove(previous.serialHash);
+        }
+    }
+
+    private void indexFeature(FeatureEntry entry) {
+        removeFeature(entry.featureId);
+        featuresById.put(entry.featureId, entry);
+        if (entry.code != null) {
+            featuresByCode.put(entry.code, entry);
+            unknownFeatureCodes.remove(entry.code);
+        }
+    }
+
+    private void removeFeature(long featureId) {
+        FeatureEntry previous = featuresById.remove(featureId);
+        if (previous != null && previous.code != null) {
+            featuresByCode.remove(previous.code, previous);
+        }
+    }
+
+    private FeatureSet toFeatureSet(Subscription subscription) {
+        List<Long> featureIds = subscription.getFeatureIds() != null ? subscription.getFeatureIds() : List.of();
+        long[] ids = new long[featureIds.size()];
+        int[] bits = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = featureIds.get(i);
+        }
+        Arrays.sort(ids);
+        for (int i = 0; i < ids.length; i++) {
+            bits[i] = featureBit(ids[i]);
+        }
+        return new FeatureSet(ids, bits);
+    }
+
+    private static long keyHash(byte[] digest) {
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xff);
+        }
+        return hash;
+    }
+
+    /**
+     * 64-bit FNV-1a; entries keep the serial, so a collision only costs a database read
+     */
+    static long serialHash(String serial) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < serial.length(); i++) {
+            hash ^= serial.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("devices", devicesById.size());
+        stats.put("userDevices", userDevicesById.size());
+        stats.put("userSubscriptions", userSubscriptions.size());
+        stats.put("subscriptions", subscriptionFeatures.size());
+        stats.put("features", featuresById.size());
+        stats.put("unknownFeatureCodes", unknownFeatureCodes.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("cursor", cursor);
+        return stats;
+    }
+
+    public synchronized void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    private static final class DeviceEntry {
+        private final long deviceId;
+        private final byte[] apiKeyDigest;
+        private final long keyHash;
+        private final boolean active;
+
+        private DeviceEntry(Device device) {
+            this.deviceId = device.getId();
+            this.apiKeyDigest = ApiKeyUtil.fromHex(device.getApiKeyHash());
+            this.keyHash = apiKeyDigest != null ? keyHash(apiKeyDigest) : 0;
+            this.active = device.isActive();
+        }
+    }
+
+    private static final class UserDeviceEntry {
+        private final long userDeviceId;
+        private final String serial;
+        private final long serialHash;
+        private final long deviceId;
+        private final long userSubscriptionId;
+        private final boolean active;
+
+        private UserDeviceEntry(UserDevice userDevice) {
+            this.userDeviceId = userDevice.getId();
+            this.serial = userDevice.getDeviceSerial();
+            this.serialHash = serial != null ? serialHash(serial) : 0;
+            this.deviceId = userDevice.getDeviceId() != null ? userDevice.getDeviceId() : 0;
+            this.userSubscriptionId = userDevice.getUserSubscriptionId() != null ? userDevice.getUserSubscriptionId() : 0;
+            this.active = Boolean.TRUE.equals(userDevice.getActive());
+        }
+
+        private boolean sameEntitlement(UserDeviceEntry other) {
+            return deviceId == other.deviceId && userSubscriptionId == other.userSubscriptionId
+                && active == other.active && Objects.equals(serial, other.serial);
+        }
+    }
+
+    private static final class UserSubscriptionEntry {
+        private final long subscriptionId;
+        private final SubscriptionStatus status;
+        private final LocalDate endDate;
+
+        private UserSubscriptionEntry(UserSubscription userSubscription) {
+            this.subscriptionId = userSubscription.getSubscriptionId() != null ? userSubscription.getSubscriptionId() : 0;
+            this.status = userSubscription.getStatus();
+            this.endDate = userSubscription.getEndDate();
+        }
+
+        private boolean sameEntitlement(UserSubscriptionEntry other) {
+            return subscriptionId == other.subscriptionId && status == other.status
+                && Objects.equals(endDate, other.endDate);
+        }
+    }
+
+    private static final class FeatureEntry {
+        private final long featureId;
+        private final String code;
+        private final boolean active;
+        private final int bit;
+
+        private FeatureEntry(Feature feature, int bit) {
+            this.featureId = feature.getId();
+            this.code = feature.getFeatureCode();
+            this.active = feature.isActive();
+            this.bit = bit;
+        }
+    }
+
+    /**
+     * A subscription's features: sorted ids for listing, and a bitset over feature bit positions
+     */
+    static final class FeatureSet {
+        static final FeatureSet EMPTY = new FeatureSet(new long[0], new int[0]);
+
+        private final long[] featureIds;
+        private final long[] words;
+
+        FeatureSet(long[] featureIds, int[] bits) {
+            this.featureIds = featureIds;
+            int max = -1;
+            for (int bit : bits) {
+                max = Math.max(max, bit);
+            }
+            this.words = new long[max < 0 ? 0 : (max >>> 6) + 1];
+            for (int bit : bits) {
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        boolean contains(int bit) {
+            int word = bit >>> 6;
+            return word < words.length && (words[word] & (1L << bit)) != 0;
+        }
+    }
+
+    /**
+     * Notified, on the refresh thread, when a change log entry alters an entitlement the index
+     * had already served - a device disabled, a user device deactivated or moved, a subscription
+     * cancelled, suspended or re-dated, or a plan's feature set changed
+     */
+    public interface ChangeListener {
+        void entitlementChanged(String entityType, long id, long sequence);
+    }
+}
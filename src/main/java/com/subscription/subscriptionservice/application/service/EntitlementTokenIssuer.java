@@ -0,0 +1,217 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort.Entitlement;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort;
+import com.subscription.subscriptionservice.application.port.outbound.EntitlementTokenPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues signed entitlement tokens so devices can check entitlements offline and only come back
+ * near expiry. One token is cached per user device and reused until its refresh window opens.
+ * <p>
+ * Every token carries the change log sequence its entitlement was read at. When the entitlement
+ * index applies a change that alters an entitlement (a device deactivated, a subscription
+ * cancelled, ...) the entity is added to the revocation list with that change's sequence, which
+ * revokes every older token in its scope. All instances follow the same change log, so a token
+ * issued by any of them is revoked by the list served from every other. The list lives in memory
+ * and is rebuilt from the change log when the issuer starts following the index, so a restarted
+ * instance still serves the revocations of every token that has not expired yet.
+ */
+public class EntitlementTokenIssuer implements EntitlementTokenServicePort, EntitlementIndex.ChangeListener {
+
+    // Covers instances whose index lags behind and may still issue a token the entry revokes
+    private static final long REVOCATION_GRACE_MILLIS = 60_000;
+
+    private final EntitlementIndex entitlementIndex;
+    private final EntitlementTokenPort tokenPort;
+    private final long ttlMillis;
+    private final long refreshBeforeMillis;
+
+    private final ConcurrentMap<Long, IssuedToken> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RevocationEntry> revocations = new ConcurrentHashMap<>();
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    public EntitlementTokenIssuer(EntitlementIndex entitlementIndex, EntitlementTokenPort tokenPort,
+                                  long ttlMillis, long refreshBeforeMillis) {
+        this.entitlementIndex = entitlementIndex;
+        this.tokenPort = tokenPort;
+        this.ttlMillis = ttlMillis;
+        this.refreshBeforeMillis = refreshBeforeMillis;
+    }
+
+    /**
+     * Start receiving the index's changes, replaying those recent enough to revoke a live token
+     */
+    public void followChanges() {
+        entitlementIndex.addChangeListener(this,
+            LocalDateTime.now().minus(Duration.ofMillis(ttlMillis + REVOCATION_GRACE_MILLIS)));
+    }
+
+    @Override
+    public EntitlementToken issueToken(String apiKey, String deviceSerial) {
+        // Read before verifying - the entitlement reflects at least this sequence
+        long sequence = entitlementIndex.cursor();
+        Entitlement entitlement = entitlementIndex.verify(apiKey, deviceSerial);
+        long now = System.currentTimeMillis();
+
+        IssuedToken current = tokens.get(entitlement.getUserDeviceId());
+        if (current != null && current.token.getRefreshAfter() > now
+                && current.matches(entitlement, deviceSerial) && !isRevoked(current)) {
+            reused.increment();
+            return current.token;
+        }
+        IssuedToken fresh = sign(entitlement, deviceSerial, sequence, now);
+        tokens.put(entitlement.getUserDeviceId(), fresh);
+        issued.increment();
+        return fresh.token;
+    }
+
+    private IssuedToken sign(Entitlement entitlement, String deviceSerial, long sequence, long now) {
+        long expiresAt = now + ttlMillis;
+        if (entitlement.getEndDate() != null) {
+            // The subscription counts as expired from the start of its end date
+            expiresAt = Math.min(expiresAt,
+                entitlement.getEndDate().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        long refreshAfter = expiresAt - Math.min(refreshBeforeMillis, (expiresAt - now) / 2);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("type", "entitlement");
+        claims.put(ChangeRecord.DEVICE, entitlement.getDeviceId());
+        claims.put(ChangeRecord.USER_DEVICE, entitlement.getUserDeviceId());
+        claims.put(ChangeRecord.USER_SUBSCRIPTION, entitlement.getUserSubscriptionId());
+        claims.put(ChangeRecord.SUBSCRIPTION, entitlement.getSubscriptionId());
+        claims.put("features", resolveFeatureCodes(entitlement.getFeatureIds()));
+        claims.put("endDate", entitlement.getEndDate() != null ? entitlement.getEndDate().toString() : null);
+        claims.put("seq", sequence);
+
+        String tokenId = UUID.randomUUID().toString();
+        String token = tokenPort.sign(tokenId, deviceSerial, claims, now, expiresAt);
+        return new IssuedToken(new EntitlementToken(token, tokenId, now, expiresAt, refreshAfter),
+            entitlement, deviceSerial, sequence);
+    }
+
+    private List<String> resolveFeatureCodes(List<Long> featureIds) {
+        List<String> resolved = new ArrayList<>(featureIds.size());
+        for (Long featureId : featureIds) {
+            String code = entitlementIndex.featureCode(featureId);
+            if (code != null) {
+                resolved.add(code);
+            }
+        }
+        return resolved;
+    }
+
+    private boolean isRevoked(IssuedToken token) {
+        return isRevoked(ChangeRecord.DEVICE, token.entitlement.getDeviceId(), token.sequence)
+            || isRevoked(ChangeRecord.USER_DEVICE, token.entitlement.getUserDeviceId(), token.sequence)
+            || isRevoked(ChangeRecord.USER_SUBSCRIPTION, token.entitlement.getUserSubscriptionId(), token.sequence)
+            || isRevoked(ChangeRecord.SUBSCRIPTION, token.entitlement.getSubscriptionId(), token.sequence);
+    }
+
+    private boolean isRevoked(String scope, long id, long sequence) {
+        RevocationEntry entry = revocations.get(scope + ":" + id);
+        return entry != null && entry.revocation.getSequence() > sequence;
+    }
+
+    @Override
+    public void entitlementChanged(String entityType, long id, long sequence) {
+        RevocationEntry entry = new RevocationEntry(new Revocation(entityType, id, sequence),
+            System.currentTimeMillis() + ttlMillis + REVOCATION_GRACE_MILLIS);
+        revocations.merge(entityType + ":" + id, entry,
+            (previous, next) -> next.revocation.getSequence() >= previous.revocation.getSequence() ? next : previous);
+        if (ChangeRecord.USER_DEVICE.equals(entityType)) {
+            tokens.remove(id);
+        }
+    }
+
+    @Override
+    public RevocationList getRevocations(long sinceSequence) {
+        // The index records revocations before moving its cursor, and replayed the log up to it when
+        // this issuer started following, so the list is complete up to it
+        long cursor = entitlementIndex.cursor();
+        List<Revocation> result = new ArrayList<>();
+        for (RevocationEntry entry : revocations.values()) {
+            long sequence = entry.revocation.getSequence();
+            if (sequence > sinceSequence && sequence <= cursor) {
+                result.add(entry.revocation);
+            }
+        }
+        result.sort(Comparator.comparingLong(Revocation::getSequence));
+        return new RevocationList(cursor, result);
+    }
+
+    @Override
+    public Map<String, Object> getVerificationKey() {
+        return tokenPort.getVerificationKey();
+    }
+
+    @Override
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(token -> token.token.getExpiresAt() <= now);
+        revocations.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cachedTokens", tokens.size());
+        stats.put("revocations", revocations.size());
+        stats.put("issued", issued.sum());
+        stats.put("reused", reused.sum());
+        return stats;
+    }
+
+    private static final class IssuedToken {
+        private final EntitlementToken token;
+        private final Entitlement entitlement;
+        private final String deviceSerial;
+        private final long sequence;
+
+        private IssuedToken(EntitlementToken token, Entitlement entitlement, String deviceSerial, long sequence) {
+            this.token = token;
+            this.entitlement = entitlement;
+            this.deviceSerial = deviceSerial;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Whether the token still states the current entitlement
+         */
+        private boolean matches(Entitlement current, String serial) {
+            return deviceSerial.equals(serial)
+                && entitlement.getDeviceId() == current.getDeviceId()
+                && entitlement.getUserSubscriptionId() == current.getUserSubscriptionId()
+                && entitlement.getSubscriptionId() == current.getSubscriptionId()
+                && Objects.equals(entitlement.getEndDate(), current.getEndDate())
+                && entitlement.getFeatureIds().equals(current.getFeatureIds());
+        }
+    }
+
+    private static final class RevocationEntry {
+        private final Revocation revocation;
+        private final long expiresAt;
+
+        private RevocationEntry(Revocation revocation, long expiresAt) {
+            this.revocation = revocation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
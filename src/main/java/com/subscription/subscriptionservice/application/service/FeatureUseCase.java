@@ -5,9 +5,15 @@ import com.subscription.subscriptionservice.application.port.outbound.FeatureRep
 import com.subscription.subscriptionservice.domain.exception.DuplicateEntityException;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
 import com.subscription.subscriptionservice.domain.model.Feature;
+import com.subscription.subscriptionservice.infrastructure.util.CacheNamespace;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegion;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegions;
+import com.subscription.subscriptionservice.infrastructure.util.codec.FeatureCacheCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class FeatureUseCase implements FeatureServicePort {
@@ -15,9 +21,11 @@ public class FeatureUseCase implements FeatureServicePort {
     private static final Logger logger = LoggerFactory.getLogger(FeatureUseCase.class);
     
     private final FeatureRepositoryPort featureRepository;
+    private final CacheRegion<Feature> featureCache;
     
-    public FeatureUseCase(FeatureRepositoryPort featureRepository) {
+    public FeatureUseCase(FeatureRepositoryPort featureRepository, CacheRegions cacheRegions) {
         this.featureRepository = featureRepository;
+        this.featureCache = cacheRegions.region(CacheNamespace.FEATURES, FeatureCacheCodec.INSTANCE);
     }
     
     @Override
@@ -41,20 +49,41 @@ public class FeatureUseCase implements FeatureServicePort {
     
     @Override
     public Feature findById(Long id) {
-        return featureRepository.findById(id)
-            .orElseThrow(() -> new UserNotFoundException("Feature not found with id: " + id));
+        return featureCache.get(featureCache.key("feature", id),
+            () -> featureRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("Feature not found with id: " + id)),
+            this::otherKeys);
     }
     
     @Override
     public Feature findByName(String name) {
-        return featureRepository.findByName(name)
-            .orElseThrow(() -> new UserNotFoundException("Feature not found with name: " + name));
+        return featureCache.get(featureCache.key("feature:name", name),
+            () -> featureRepository.findByName(name)
+                .orElseThrow(() -> new UserNotFoundException("Feature not found with name: " + name)),
+            this::otherKeys);
     }
     
     @Override
     public Feature findByFeatureCode(String featureCode) {
-        return featureRepository.findByFeatureCode(featureCode)
-            .orElseThrow(() -> new UserNotFoundException("Feature not found with code: " + featureCode));
+        return featureCache.get(featureCache.key("feature:code", featureCode),
+            () -> featureRepository.findByFeatureCode(featureCode)
+                .orElseThrow(() -> new UserNotFoundException("Feature not found with code: " + featureCode)),
+            this::otherKeys);
+    }
+    
+    // A feature is cached under its id, name and code whichever one it was looked up by
+    private Collection<String> otherKeys(Feature feature) {
+        List<String> keys = new ArrayList<>(3);
+        if (feature.getId() != null) {
+            keys.add(featureCache.key("feature", feature.getId()));
+        }
+        if (feature.getName() != null) {
+            keys.add(featureCache.key("feature:name", feature.getName()));
+        }
+        if (feature.getFeatureCode() != null) {
+            keys.add(featureCache.key("feature:code", feature.getFeatureCode()));
+        }
+        return keys;
     }
     
     @Override
@@ -70,6 +99,8 @@ public class FeatureUseCase implements FeatureServicePort {
     @Override
     public void deleteFeature(Long id) {
         featureRepository.delete(id);
+        // The name and code keys are unknown here; features are few, so drop the region
+        featureCache.invalidateAll();
     }
 }
 
@@ -0,0 +1,209 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.EmailPort;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.EmailMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Emails rendered invoices that have not been sent yet. Unsent bills are read page by page;
+ * each page is split into batches sent concurrently (one pooled SMTP connection per batch).
+ * Transient failures are retried with exponential backoff, and every attempt marks its
+ * delivered bills as sent with a single UPDATE. Rejected recipients are marked as such and
+ * never retried.
+ */
+public class InvoiceEmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceEmailDispatcher.class);
+
+    private final BillingRepositoryPort billingRepository;
+    private final EmailPort emailPort;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public InvoiceEmailDispatcher(BillingRepositoryPort billingRepository,
+                                  EmailPort emailPort,
+                                  int batchSize,
+                                  int concurrency,
+                                  int maxAttempts,
+                                  long initialBackoffMillis,
+                                  long maxBackoffMillis) {
+        if (batchSize <= 0 || concurrency <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("batchSize, concurrency and maxAttempts must be positive");
+        }
+        this.billingRepository = billingRepository;
+        this.emailPort = emailPort;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Send every pending invoice email once (with retries). Bills that still fail are left
+     * unsent and picked up by the next dispatch.
+     * @return number of invoices emailed
+     */
+    public int dispatch() {
+        long startTime = System.currentTimeMillis();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, namedThreads());
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Billing> page = billingRepository.findUnsentInvoices(afterId, batchSize * concurrency);
+                if (page.isEmpty()) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getId();
+
+                List<Future<?>> futures = new ArrayList<>();
+                for (List<EmailMessage> batch : toBatches(page, failed)) {
+                    futures.add(executor.submit(() -> sendWithRetry(batch, sent, failed)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                if (page.size() < batchSize * concurrency) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Invoice email dispatch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Invoice email dispatch failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (sent.get() > 0 || failed.get() > 0) {
+            logger.info("Invoice emails dispatched: sent={}, failed={} in {} ms",
+                sent.get(), failed.get(), System.currentTimeMillis() - startTime);
+        }
+        return sent.get();
+    }
+
+    private List<List<EmailMessage>> toBatches(List<Billing> page, AtomicInteger failed) {
+        List<Long> ids = new ArrayList<>(page.size());
+        for (Billing billing : page) {
+            ids.add(billing.getId());
+        }
+        Map<Long, String> recipients = billingRepository.findRecipientEmails(ids);
+
+        List<List<EmailMessage>> batches = new ArrayList<>();
+        List<EmailMessage> batch = new ArrayList<>(batchSize);
+        for (Billing billing : page) {
+            String to = recipients.get(billing.getId());
+            if (to == null || to.isBlank()) {
+                logger.warn("No email address for billing {}, skipping", billing.getId());
+                failed.incrementAndGet();
+                continue;
+            }
+            batch.add(toMessage(billing, to));
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private void sendWithRetry(List<EmailMessage> batch, AtomicInteger sent, AtomicInteger failed) {
+        List<EmailMessage> pending = batch;
+        for (int attempt = 1; ; attempt++) {
+            List<EmailPort.DeliveryStatus> statuses = emailPort.sendAll(pending);
+            List<Long> delivered = new ArrayList<>();
+            List<Long> rejected = new ArrayList<>();
+            List<EmailMessage> retry = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                EmailMessage message = pending.get(i);
+                switch (statuses.get(i)) {
+                    case SENT:
+                        delivered.add(message.getReferenceId());
+                        break;
+                    case RETRY:
+                        retry.add(message);
+                        break;
+                    default:
+                        logger.warn("Invoice email for billing {} rejected: {}", message.getReferenceId(), message.getTo());
+                        rejected.add(message.getReferenceId());
+                        failed.incrementAndGet();
+                }
+            }
+            billingRepository.markEmailSent(delivered, LocalDateTime.now());
+            billingRepository.markEmailRejected(rejected);
+            sent.addAndGet(delivered.size());
+
+            if (retry.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                logger.warn("{} invoice emails still failing after {} attempts, leaving them for the next dispatch",
+                    retry.size(), attempt);
+                failed.addAndGet(retry.size());
+                return;
+            }
+            sleep(backoffMillis(attempt));
+            pending = retry;
+        }
+    }
+
+    /**
+     * Exponential backoff, randomized between half and the full delay so parallel batches do not retry in lockstep
+     */
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Invoice email dispatch interrupted", e);
+        }
+    }
+
+    private static EmailMessage toMessage(Billing billing, String to) {
+        String subject = "Invoice " + billing.invoiceNumber();
+        String body = "Dear customer,\n\n"
+            + "Please find attached invoice " + billing.invoiceNumber()
+            + " for the period " + billing.getBillingPeriodStart() + " to " + billing.getBillingPeriodEnd() + ".\n"
+            + "Amount due: " + billing.getTotalAmount() + "\n"
+            + "Due date: " + billing.getDueDate() + "\n";
+        return new EmailMessage(billing.getId(), to, subject, body, billing.getPdfPath());
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "invoice-mailer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.JobLeaseRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acquires cluster-wide leases through {@link JobLeaseRepositoryPort} and keeps them alive
+ * with a heartbeat while work runs. When a heartbeat finds the lease taken over, the holder
+ * thread is interrupted so it stops writing under a stale fencing token.
+ */
+public class LeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseManager.class);
+
+    private final JobLeaseRepositoryPort jobLeaseRepository;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeat;
+
+    public LeaseManager(JobLeaseRepositoryPort jobLeaseRepository, String nodeId) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.nodeId = nodeId;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Host name and pid of this JVM, e.g. {@code 12345@billing-node-1}
+     */
+    public static String defaultNodeId() {
+        return ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        return tryAcquire(name, ttl, null);
+    }
+
+    /**
+     * Acquire the lease for one schedule slot; fails if that slot already ran on any node
+     */
+    public Optional<Lease> tryAcquire(String name, Duration ttl, LocalDateTime scheduledAt) {
+        LocalDateTime now = LocalDateTime.now();
+        OptionalLong token = jobLeaseRepository.tryAcquire(name, nodeId, now, now.plus(ttl), scheduledAt);
+        if (token.isEmpty()) {
+            return Optional.empty();
+        }
+        logger.debug("Lease acquired: name={}, owner={}, token={}", name, nodeId, token.getAsLong());
+        return Optional.of(new Lease(name, ttl, token.getAsLong()));
+    }
+
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    /**
+     * A held lease. Call {@link #keepAlive()} from the thread doing the work and
+     * {@link #release()} when it is done.
+     */
+    public class Lease {
+        private final String name;
+        private final Duration ttl;
+        private final long fencingToken;
+        private volatile boolean lost;
+        private ScheduledFuture<?> renewal;
+
+        private Lease(String name, Duration ttl, long fencingToken) {
+            this.name = name;
+            this.ttl = ttl;
+            this.fencingToken = fencingToken;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        public boolean isLost() {
+            return lost;
+        }
+
+        /**
+         * Renew every third of the TTL until released; interrupts the calling thread if the lease is lost
+         */
+        public synchronized void keepAlive() {
+            if (renewal != null) {
+                return;
+            }
+            Thread holder = Thread.currentThread();
+            long periodMillis = Math.max(1000, ttl.toMillis() / 3);
+            renewal = heartbeat.scheduleAtFixedRate(() -> {
+                try {
+                    if (!jobLeaseRepository.renew(name, nodeId, fencingToken, LocalDateTime.now().plus(ttl))) {
+                        lost = true;
+                        logger.error("Lease lost: name={}, token={} - stopping holder thread {}", name, fencingToken, holder.getName());
+                        holder.interrupt();
+                        throw new IllegalStateException("Lease lost: " + name);
+                    }
+                } catch (IllegalStateException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    // Transient database error - the lease stays valid until it expires
+                    logger.warn("Lease renewal failed: name={}: {}", name, e.getMessage());
+                }
+            }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+
+        public synchronized void release() {
+            if (renewal != null) {
+                renewal.cancel(false);
+                renewal = null;
+            }
+            if (!lost) {
+                try {
+                    jobLeaseRepository.release(name, nodeId, fencingToken);
+                } catch (RuntimeException e) {
+                    logger.warn("Lease release failed: name={}: {} - it will expire", name, e.getMessage());
+                }
+            }
+        }
+    }
+}
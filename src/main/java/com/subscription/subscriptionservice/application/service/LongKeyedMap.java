@@ -0,0 +1,213 @@
+package com.subscription.subscriptionservice.application.service;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map keyed by primitive longs, for read-mostly indexes. Keys are spread over
+ * lock-striped segments, each an open-addressing table; reads are optimistic and lock-free,
+ * falling back to a read lock only when they raced with a write to the same segment.
+ * Null values are not supported.
+ */
+final class LongKeyedMap<V> {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    LongKeyedMap() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        long hash = hash(key);
+        return (V) segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * @return the previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        long hash = hash(key);
+        return (V) segmentFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * @return the current value when present (and left unchanged), otherwise null
+     */
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        long hash = hash(key);
+        return (V) segmentFor(hash).put(key, hash, value, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        long hash = hash(key);
+        return (V) segmentFor(hash).remove(key, hash);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    /**
+     * Murmur3 finalizer - sequential ids spread over both the segment and the slot bits
+     */
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_CAPACITY);
+        private volatile int size;
+
+        Object get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            Object value = table.find(key, hash);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = table.find(key, hash);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        Object put(long key, long hash, Object value, boolean replace) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int mask = current.keys.length - 1;
+                int index = (int) hash & mask;
+                while (current.values[index] != null) {
+                    if (current.keys[index] == key) {
+                        Object previous = current.values[index];
+                        if (replace) {
+                            current.values[index] = value;
+                        }
+                        return previous;
+                    }
+                    index = (index + 1) & mask;
+                }
+                current.keys[index] = key;
+                current.values[index] = value;
+                size++;
+                // Linear probing degrades quickly past half full
+                if (size * 2 > current.keys.length) {
+                    table = current.resize();
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Object remove(long key, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int mask = current.keys.length - 1;
+                int index = (int) hash & mask;
+                while (current.keys[index] != key) {
+                    if (current.values[index] == null) {
+                        return null;
+                    }
+                    index = (index + 1) & mask;
+                }
+                Object previous = current.values[index];
+                if (previous == null) {
+                    return null;
+                }
+                // Shift later entries of the probe run back so lookups never stop at the hole
+                int gap = index;
+                for (int next = (gap + 1) & mask; current.values[next] != null; next = (next + 1) & mask) {
+                    int home = (int) hash(current.keys[next]) & mask;
+                    if (((next - home) & mask) >= ((next - gap) & mask)) {
+                        current.keys[gap] = current.keys[next];
+                        current.values[gap] = current.values[next];
+                        gap = next;
+                    }
+                }
+                current.values[gap] = null;
+                size--;
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * An empty slot has a null value. Lookups never probe more than the table length, so a read
+     * racing with a write terminates and is then discarded by the stamp validation.
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        Object find(long key, long hash) {
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        Table resize() {
+            Table resized = new Table(keys.length * 2);
+            int mask = resized.keys.length - 1;
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] == null) {
+                    continue;
+                }
+                int index = (int) hash(keys[i]) & mask;
+                while (resized.values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                resized.keys[index] = keys[i];
+                resized.values[index] = values[i];
+            }
+            return resized;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.BillingRunRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.TransactionManager;
+import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.BillingRunPartition;
+import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Generates monthly bills for all due subscriptions.
+ * The due id range is split into partitions processed by a worker pool; each partition is
+ * walked in id order, one transaction per chunk, with batched inserts. The partition checkpoint
+ * is written in the same transaction as its chunk, so an interrupted run resumes exactly where
+ * it stopped. Idempotency comes from the unique (user_subscription_id, billing_period_start)
+ * constraint on billings.
+ */
+public class MonthlyBillingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyBillingEngine.class);
+
+    // More partitions than workers so a dense id range does not leave one worker behind
+    private static final int PARTITIONS_PER_WORKER = 4;
+
+    private final BillingRepositoryPort billingRepository;
+    private final UserSubscriptionRepositoryPort userSubscriptionRepository;
+    private final BillingRunRepositoryPort billingRunRepository;
+    private final TransactionManager transactionManager;
+    private final int workers;
+    private final int chunkSize;
+    private final Consumer<List<Billing>> billsCreatedListener;
+
+    public MonthlyBillingEngine(BillingRepositoryPort billingRepository,
+                                UserSubscriptionRepositoryPort userSubscriptionRepository,
+                                BillingRunRepositoryPort billingRunRepository,
+                                TransactionManager transactionManager,
+                                int workers,
+                                int chunkSize,
+                                Consumer<List<Billing>> billsCreatedListener) {
+        if (workers <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("workers and chunkSize must be positive");
+        }
+        this.billingRepository = billingRepository;
+        this.userSubscriptionRepository = userSubscriptionRepository;
+        this.billingRunRepository = billingRunRepository;
+        this.transactionManager = transactionManager;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.billsCreatedListener = billsCreatedListener;
+    }
+
+    /**
+     * Partition plan for the subscriptions due as of {@code asOf}; empty when nothing is due
+     */
+    public List<BillingRunPartition> plan(LocalDate asOf) {
+        Optional<long[]> idRange = userSubscriptionRepository.findDueForBillingIdRange(asOf);
+        if (idRange.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<long[]> ranges = partition(idRange.get()[0], idRange.get()[1], workers * PARTITIONS_PER_WORKER);
+        List<BillingRunPartition> partitions = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            BillingRunPartition partition = new BillingRunPartition();
+            partition.setPartitionIndex(i);
+            partition.setLowerId(ranges.get(i)[0]);
+            partition.setUpperId(ranges.get(i)[1]);
+            partition.setLastProcessedId(ranges.get(i)[0]);
+            partitions.add(partition);
+        }
+        return partitions;
+    }
+
+    /**
+     * Process every partition of {@code run} that is not completed yet, starting from its checkpoint
+     */
+    public void execute(BillingRun run) {
+        List<BillingRunPartition> pending = new ArrayList<>();
+        for (BillingRunPartition partition : run.getPartitions()) {
+            if (!partition.isCompleted()) {
+                pending.add(partition);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        logger.info("Billing run {} started: asOf={}, partitions={}/{}, workers={}, chunkSize={}",
+            run.getId(), run.getAsOf(), pending.size(), run.getPartitions().size(), workers, chunkSize);
+
+        Progress progress = new Progress(run.getId(), pending.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, pending.size()), namedThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (BillingRunPartition partition : pending) {
+                futures.add(executor.submit(() -> processPartition(run.getAsOf(), partition, progress)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Billing run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Billing run partition failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Walk the partition from its checkpoint chunk by chunk. A failed chunk is rolled back
+     * together with its checkpoint and stops the partition, so a resume retries it.
+     */
+    private void processPartition(LocalDate asOf, BillingRunPartition partition, Progress progress) {
+        long attemptStart = System.currentTimeMillis();
+        if (partition.getStartedAt() == null) {
+            partition.setStartedAt(LocalDateTime.now());
+        }
+        partition.setStatus(BillingRunPartition.PartitionStatus.RUNNING);
+        partition.setErrorMessage(null);
+        billingRunRepository.updatePartition(partition);
+
+        try {
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Billing run interrupted");
+                }
+                List<UserSubscription> chunk = userSubscriptionRepository.findDueForBilling(
+                    asOf, partition.getLastProcessedId(), partition.getUpperId(), chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Checkpoint checkpoint = new Checkpoint(partition);
+                List<Billing> created;
+                try {
+                    created = transactionManager.executeInTransaction(() -> {
+                        List<Billing> inserted = billChunk(chunk, asOf);
+                        partition.recordChunk(chunk.get(chunk.size() - 1).getId(), chunk.size(), inserted.size());
+                        billingRunRepository.updatePartition(partition);
+                        return inserted;
+                    });
+                } catch (RuntimeException e) {
+                    checkpoint.restore(partition);
+                    throw e;
+                }
+                // Only committed bills are handed on
+                billsCreatedListener.accept(created);
+                progress.chunkDone(chunk.size());
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            partition.setStatus(BillingRunPartition.PartitionStatus.COMPLETED);
+            partition.setFinishedAt(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.error("Billing run partition {} failed after user subscription {}: {}",
+                partition.getPartitionIndex(), partition.getLastProcessedId(), e.getMessage(), e);
+            partition.setStatus(BillingRunPartition.PartitionStatus.FAILED);
+            partition.setErrorMessage(truncate(rootMessage(e)));
+        }
+        partition.setElapsedMillis(partition.getElapsedMillis() + System.currentTimeMillis() - attemptStart);
+        billingRunRepository.updatePartition(partition);
+        progress.partitionDone();
+    }
+
+    private List<Billing> billChunk(List<UserSubscription> chunk, LocalDate billDate) {
+        List<Billing> bills = new ArrayList<>(chunk.size());
+        for (UserSubscription subscription : chunk) {
+            LocalDate periodStart = subscription.getBillingStartDate();
+            bills.add(Billing.forPeriod(subscription, periodStart, periodStart.plusMonths(1), billDate));
+        }
+        List<Billing> created = billingRepository.insertAll(bills);
+        // Advance every billed period, including ones a previous run already inserted
+        userSubscriptionRepository.advanceBillingStartDates(bills);
+        return created;
+    }
+
+    /**
+     * Split {@code [minId, maxId]} into at most {@code count} contiguous ranges,
+     * each expressed as {@code {afterId (exclusive), maxId (inclusive)}}
+     */
+    static List<long[]> partition(long minId, long maxId, int count) {
+        long span = maxId - minId + 1;
+        int partitions = (int) Math.max(1, Math.min(count, span));
+        long width = (span + partitions - 1) / partitions;
+        List<long[]> ranges = new ArrayList<>(partitions);
+        for (long lower = minId - 1; lower < maxId; lower += width) {
+            ranges.add(new long[] {lower, Math.min(lower + width, maxId)});
+        }
+        return ranges;
+    }
+
+    static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "billing-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Partition counters before a chunk, restored when the chunk's transaction rolls back
+     */
+    private static class Checkpoint {
+        private final long lastProcessedId;
+        private final long subscriptionsProcessed;
+        private final long billsCreated;
+        private final long duplicatesSkipped;
+
+        Checkpoint(BillingRunPartition partition) {
+            this.lastProcessedId = partition.getLastProcessedId();
+            this.subscriptionsProcessed = partition.getSubscriptionsProcessed();
+            this.billsCreated = partition.getBillsCreated();
+            this.duplicatesSkipped = partition.getDuplicatesSkipped();
+        }
+
+        void restore(BillingRunPartition partition) {
+            partition.setLastProcessedId(lastProcessedId);
+            partition.setSubscriptionsProcessed(subscriptionsProcessed);
+            partition.setBillsCreated(billsCreated);
+            partition.setDuplicatesSkipped(duplicatesSkipped);
+        }
+    }
+
+    private static class Progress {
+        private final Long runId;
+        private final int totalPartitions;
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicInteger completedPartitions = new AtomicInteger();
+        private final AtomicLong subscriptions = new AtomicLong();
+
+        Progress(Long runId, int totalPartitions) {
+            this.runId = runId;
+            this.totalPartitions = totalPartitions;
+        }
+
+        void chunkDone(int size) {
+            subscriptions.addAndGet(size);
+        }
+
+        void partitionDone() {
+            int completed = completedPartitions.incrementAndGet();
+            long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+            logger.info("Billing run {} progress: {}/{} partitions, {} subscriptions ({} subscriptions/s)",
+                runId, completed, totalPartitions, subscriptions.get(),
+                String.format("%.1f", subscriptions.get() * 1000.0 / elapsed));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.EventSinkPort;
+import com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes outbox events to the configured sinks. One node in the cluster relays at a time
+ * (the "outbox-relay" lease), reading unpublished events in id order and handing each batch to
+ * every sink before marking it published. A failed batch is retried with exponential backoff,
+ * so delivery is at-least-once; consumers de-duplicate on the event id. Ordering is best-effort
+ * id order only: ids are assigned at insert, and with concurrent writers a lower id can commit
+ * after a higher one has been relayed, so consumers must not rely on it.
+ */
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String LEASE_NAME = "outbox-relay";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(30);
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+    private static final long CLEANUP_INTERVAL_MILLIS = 3600000;
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+
+    private final OutboxRepositoryPort outboxRepository;
+    private final List<EventSinkPort> sinks;
+    private final LeaseManager leaseManager;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final Duration retention;
+    private volatile boolean running;
+    private volatile boolean leader;
+    private Thread thread;
+    private long nextCleanupAt;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile int consecutiveFailures;
+    private volatile String lastError;
+
+    public OutboxRelay(OutboxRepositoryPort outboxRepository,
+                       List<EventSinkPort> sinks,
+                       LeaseManager leaseManager,
+                       int batchSize,
+                       long pollIntervalMillis,
+                       Duration retention) {
+        if (batchSize <= 0 || pollIntervalMillis <= 0) {
+            throw new IllegalArgumentException("batchSize and pollIntervalMillis must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.sinks = List.copyOf(sinks);
+        this.leaseManager = leaseManager;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retention = retention;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Outbox relay started: sinks={}, batchSize={}, pollIntervalMillis={}",
+            sinkNames(), batchSize, pollIntervalMillis);
+    }
+
+    private void run() {
+        while (running) {
+            Optional<LeaseManager.Lease> lease;
+            try {
+                lease = leaseManager.tryAcquire(LEASE_NAME, LEASE_TTL);
+            } catch (RuntimeException e) {
+                logger.warn("Outbox relay could not acquire its lease: {}", e.getMessage());
+                lease = Optional.empty();
+            }
+            if (lease.isEmpty()) {
+                // Another node is relaying - check again once its lease could have expired
+                pause(LEASE_TTL.toMillis() / 3);
+                continue;
+            }
+            leader = true;
+            lease.get().keepAlive();
+            try {
+                relayWhileHeld(lease.get());
+            } finally {
+                leader = false;
+                lease.get().release();
+                // An interrupt from a lost lease must not end the relay
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void relayWhileHeld(LeaseManager.Lease lease) {
+        while (running && !lease.isLost()) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                recordFailure(e);
+                if (!pause(backoffMillis(consecutiveFailures))) {
+                    return;
+                }
+                continue;
+            }
+            if (relayed == batchSize) {
+                // Backlog - keep draining without waiting
+                continue;
+            }
+            cleanupIfDue();
+            if (!pause(pollIntervalMillis)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publish the oldest unpublished batch to every sink and mark it published
+     * @return number of events relayed
+     */
+    int relayBatch() {
+        List<DomainEvent> events = outboxRepository.findUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (EventSinkPort sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Sink " + sink.getName() + " failed: " + e.getMessage(), e);
+            }
+        }
+        List<Long> ids = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            ids.add(event.getId());
+        }
+        outboxRepository.markPublished(ids, LocalDateTime.now());
+        published.addAndGet(events.size());
+        if (consecutiveFailures > 0) {
+            logger.info("Outbox relay recovered after {} failed attempts", consecutiveFailures);
+            consecutiveFailures = 0;
+        }
+        return events.size();
+    }
+
+    private void recordFailure(RuntimeException e) {
+        failures.incrementAndGet();
+        consecutiveFailures++;
+        lastError = e.getMessage();
+        logger.warn("Outbox relay attempt {} failed: {}", consecutiveFailures, e.getMessage());
+    }
+
+    /**
+     * Exponential backoff from the poll interval up to 30 seconds
+     */
+    long backoffMillis(int attempt) {
+        return Math.min(MAX_BACKOFF_MILLIS, pollIntervalMillis << Math.min(attempt - 1, 20));
+    }
+
+    private void cleanupIfDue() {
+        long now = System.currentTimeMillis();
+        if (now < nextCleanupAt) {
+            return;
+        }
+        nextCleanupAt = now + CLEANUP_INTERVAL_MILLIS;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+            int deleted = 0;
+            int batch;
+            do {
+                batch = outboxRepository.deletePublishedBefore(cutoff, CLEANUP_BATCH_SIZE);
+                deleted += batch;
+            } while (batch == CLEANUP_BATCH_SIZE && running);
+            if (deleted > 0) {
+                logger.info("Deleted {} published outbox events older than {}", deleted, cutoff);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Outbox cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sleep; false when interrupted by shutdown or a lost lease
+     */
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private List<String> sinkNames() {
+        List<String> names = new ArrayList<>();
+        for (EventSinkPort sink : sinks) {
+            names.add(sink.getName());
+        }
+        return names;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sinks", sinkNames());
+        stats.put("leader", leader);
+        stats.put("published", published.get());
+        stats.put("failures", failures.get());
+        stats.put("consecutiveFailures", consecutiveFailures);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    public void shutdown() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+        }
+        if (current == null) {
+            return;
+        }
+        current.interrupt();
+        try {
+            current.join(10000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Outbox relay stopped: published={}", published.get());
+    }
+}
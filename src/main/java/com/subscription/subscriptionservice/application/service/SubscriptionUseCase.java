@@ -6,6 +6,10 @@ import com.subscription.subscriptionservice.application.port.outbound.FeatureRep
 import com.subscription.subscriptionservice.application.port.outbound.SubscriptionRepositoryPort;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
 import com.subscription.subscriptionservice.domain.model.Subscription;
+import com.subscription.subscriptionservice.infrastructure.util.CacheNamespace;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegion;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegions;
+import com.subscription.subscriptionservice.infrastructure.util.codec.SubscriptionCacheCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,13 +23,16 @@ public class SubscriptionUseCase implements SubscriptionServicePort {
     private final SubscriptionRepositoryPort subscriptionRepository;
     private final DeviceRepositoryPort deviceRepository;
     private final FeatureRepositoryPort featureRepository;
+    private final CacheRegion<Subscription> subscriptionCache;
     
     public SubscriptionUseCase(SubscriptionRepositoryPort subscriptionRepository,
                               DeviceRepositoryPort deviceRepository,
-                              FeatureRepositoryPort featureRepository) {
+                              FeatureRepositoryPort featureRepository,
+                              CacheRegions cacheRegions) {
         this.subscriptionRepository = subscriptionRepository;
         this.deviceRepository = deviceRepository;
         this.featureRepository = featureRepository;
+        this.subscriptionCache = cacheRegions.region(CacheNamespace.SUBSCRIPTIONS, SubscriptionCacheCodec.INSTANCE);
     }
     
     @Override
@@ -61,10 +68,19 @@ public class SubscriptionUseCase implements SubscriptionServicePort {
     
     @Override
     public Subscription findById(Long id) {
+        return subscriptionCache.get(subscriptionCache.key("subscription", id), () -> loadSubscription(id));
+    }
+    
+    // Writes start from the database row, never from a cached copy
+    private Subscription loadSubscription(Long id) {
         return subscriptionRepository.findById(id)
             .orElseThrow(() -> new UserNotFoundException("Subscription not found with id: " + id));
     }
     
+    private void evict(Long id) {
+        subscriptionCache.evict(subscriptionCache.key("subscription", id));
+    }
+    
     @Override
     public List<Subscription> findAll() {
         return subscriptionRepository.findAll();
@@ -88,46 +104,53 @@ public class SubscriptionUseCase implements SubscriptionServicePort {
     @Override
     public Subscription updateSubscription(Long id, String name, String description, BigDecimal basePrice,
                                          Subscription.SubscriptionLevel level, Subscription.BillingCycle billingCycle) {
-        Subscription subscription = findById(id);
+        Subscription subscription = loadSubscription(id);
         subscription.setName(name);
         subscription.setDescription(description);
         subscription.setBasePrice(basePrice);
         subscription.setLevel(level);
         subscription.setBillingCycle(billingCycle);
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        evict(id);
+        return saved;
     }
     
     @Override
     public void deleteSubscription(Long id) {
         subscriptionRepository.delete(id);
+        evict(id);
     }
     
     @Override
     public void softDeleteSubscription(Long id, Long deletedBy) {
         subscriptionRepository.softDelete(id, deletedBy);
+        evict(id);
     }
     
     @Override
     public void restoreSubscription(Long id) {
         subscriptionRepository.restore(id);
+        evict(id);
     }
     
     @Override
     public void addFeatures(Long subscriptionId, List<Long> featureIds) {
-        Subscription subscription = findById(subscriptionId);
+        loadSubscription(subscriptionId); // Validate subscription exists
         for (Long featureId : featureIds) {
             featureRepository.findById(featureId)
                 .orElseThrow(() -> new UserNotFoundException("Feature not found with id: " + featureId));
             subscriptionRepository.addFeature(subscriptionId, featureId);
         }
+        evict(subscriptionId);
     }
     
     @Override
     public void removeFeatures(Long subscriptionId, List<Long> featureIds) {
-        findById(subscriptionId); // Validate subscription exists
+        loadSubscription(subscriptionId); // Validate subscription exists
         for (Long featureId : featureIds) {
             subscriptionRepository.removeFeature(subscriptionId, featureId);
         }
+        evict(subscriptionId);
     }
 }
 
@@ -2,18 +2,22 @@ package com.subscription.subscriptionservice.application.service;
 
 import com.subscription.subscriptionservice.application.port.inbound.UserDeviceServicePort;
 import com.subscription.subscriptionservice.application.port.outbound.DeviceRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.TransactionManager;
 import com.subscription.subscriptionservice.application.port.outbound.UserDeviceRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.UserRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
 import com.subscription.subscriptionservice.domain.exception.DuplicateEntityException;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
 import com.subscription.subscriptionservice.domain.model.UserDevice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class UserDeviceUseCase implements UserDeviceServicePort {
     
@@ -23,17 +27,20 @@ public class UserDeviceUseCase implements UserDeviceServicePort {
     private final UserRepositoryPort userRepository;
     private final DeviceRepositoryPort deviceRepository;
     private final UserSubscriptionRepositoryPort userSubscriptionRepository;
+    private final OutboxRepositoryPort outboxRepository;
     private final TransactionManager transactionManager;
     
     public UserDeviceUseCase(UserDeviceRepositoryPort userDeviceRepository,
                             UserRepositoryPort userRepository,
                             DeviceRepositoryPort deviceRepository,
                             UserSubscriptionRepositoryPort userSubscriptionRepository,
+                            OutboxRepositoryPort outboxRepository,
                             TransactionManager transactionManager) {
         this.userDeviceRepository = userDeviceRepository;
         this.userRepository = userRepository;
         this.deviceRepository = deviceRepository;
         this.userSubscriptionRepository = userSubscriptionRepository;
+        this.outboxRepository = outboxRepository;
         this.transactionManager = transactionManager;
     }
     
@@ -106,9 +113,19 @@ public class UserDeviceUseCase implements UserDeviceServicePort {
     
     @Override
     public void deactivateDevice(Long id) {
-        UserDevice userDevice = findById(id);
-        userDevice.deactivate();
-        userDeviceRepository.save(userDevice);
+        transactionManager.executeInTransaction(() -> {
+            UserDevice userDevice = findById(id);
+            userDevice.deactivate();
+            userDeviceRepository.save(userDevice);
+            
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("userDeviceId", userDevice.getId());
+            payload.put("userId", userDevice.getUserId());
+            payload.put("deviceId", userDevice.getDeviceId());
+            payload.put("userSubscriptionId", userDevice.getUserSubscriptionId());
+            payload.put("deviceSerial", userDevice.getDeviceSerial());
+            outboxRepository.save(DomainEvent.of("UserDevice", userDevice.getId(), DomainEvent.USER_DEVICE_DEACTIVATED, payload));
+        });
     }
     
     @Override
@@ -1,18 +1,26 @@
 package com.subscription.subscriptionservice.application.service;
 
 import com.subscription.subscriptionservice.application.port.inbound.UserSubscriptionServicePort;
+import com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.SubscriptionRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.TransactionManager;
 import com.subscription.subscriptionservice.application.port.outbound.UserRepositoryPort;
 import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
 import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import com.subscription.subscriptionservice.infrastructure.util.CacheNamespace;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegion;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegions;
+import com.subscription.subscriptionservice.infrastructure.util.codec.UserSubscriptionCacheCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class UserSubscriptionUseCase implements UserSubscriptionServicePort {
     
@@ -21,16 +29,23 @@ public class UserSubscriptionUseCase implements UserSubscriptionServicePort {
     private final UserSubscriptionRepositoryPort userSubscriptionRepository;
     private final UserRepositoryPort userRepository;
     private final SubscriptionRepositoryPort subscriptionRepository;
+    private final OutboxRepositoryPort outboxRepository;
     private final TransactionManager transactionManager;
+    private final CacheRegion<UserSubscription> userSubscriptionCache;
     
     public UserSubscriptionUseCase(UserSubscriptionRepositoryPort userSubscriptionRepository,
                                   UserRepositoryPort userRepository,
                                   SubscriptionRepositoryPort subscriptionRepository,
-                                  TransactionManager transactionManager) {
+                                  OutboxRepositoryPort outboxRepository,
+                                  TransactionManager transactionManager,
+                                  CacheRegions cacheRegions) {
         this.userSubscriptionRepository = userSubscriptionRepository;
         this.userRepository = userRepository;
         this.subscriptionRepository = subscriptionRepository;
+        this.outboxRepository = outboxRepository;
         this.transactionManager = transactionManager;
+        this.userSubscriptionCache = cacheRegions.region(CacheNamespace.USER_SUBSCRIPTIONS,
+            UserSubscriptionCacheCodec.INSTANCE);
     }
     
     @Override
@@ -61,16 +76,28 @@ public class UserSubscriptionUseCase implements UserSubscriptionServicePort {
                 userSubscription.setEndDate(LocalDate.now().plusMonths(durationMonths));
             }
             
-            return userSubscriptionRepository.save(userSubscription);
+            UserSubscription saved = userSubscriptionRepository.save(userSubscription);
+            recordEvent(saved, DomainEvent.USER_SUBSCRIPTION_ASSIGNED);
+            return saved;
         });
     }
     
     @Override
     public UserSubscription findById(Long id) {
+        return userSubscriptionCache.get(userSubscriptionCache.key("userSubscription", id),
+            () -> loadUserSubscription(id));
+    }
+    
+    // Writes start from the database row, never from a cached copy
+    private UserSubscription loadUserSubscription(Long id) {
         return userSubscriptionRepository.findById(id)
             .orElseThrow(() -> new UserNotFoundException("User subscription not found with id: " + id));
     }
     
+    private void evict(Long id) {
+        userSubscriptionCache.evict(userSubscriptionCache.key("userSubscription", id));
+    }
+    
     @Override
     public List<UserSubscription> findAll() {
         return userSubscriptionRepository.findAll();
@@ -98,16 +125,23 @@ public class UserSubscriptionUseCase implements UserSubscriptionServicePort {
     
     @Override
     public UserSubscription updateNegotiatedPrice(Long id, BigDecimal negotiatedPrice) {
-        UserSubscription userSubscription = findById(id);
+        UserSubscription userSubscription = loadUserSubscription(id);
         userSubscription.setNegotiatedPrice(negotiatedPrice);
-        return userSubscriptionRepository.save(userSubscription);
+        UserSubscription saved = userSubscriptionRepository.save(userSubscription);
+        evict(id);
+        return saved;
     }
     
     @Override
     public void cancelSubscription(Long id) {
-        UserSubscription userSubscription = findById(id);
-        userSubscription.cancel();
-        userSubscriptionRepository.save(userSubscription);
+        transactionManager.executeInTransaction(() -> {
+            UserSubscription userSubscription = loadUserSubscription(id);
+            userSubscription.cancel();
+            userSubscriptionRepository.save(userSubscription);
+            recordEvent(userSubscription, DomainEvent.USER_SUBSCRIPTION_CANCELLED);
+        });
+        // After commit, so a concurrent read cannot cache the pre-cancel row again
+        evict(id);
     }
     
     @Override
@@ -121,5 +155,20 @@ public class UserSubscriptionUseCase implements UserSubscriptionServicePort {
         }
         throw new UserNotFoundException("Active subscription not found for user: " + userId + ", subscription: " + subscriptionId);
     }
+    
+    /**
+     * Write the lifecycle event to the outbox; must run inside the transaction that changed the subscription
+     */
+    private void recordEvent(UserSubscription userSubscription, String eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userSubscriptionId", userSubscription.getId());
+        payload.put("userId", userSubscription.getUserId());
+        payload.put("subscriptionId", userSubscription.getSubscriptionId());
+        payload.put("status", userSubscription.getStatus().name());
+        payload.put("negotiatedPrice", userSubscription.getNegotiatedPrice() != null
+            ? userSubscription.getNegotiatedPrice().toPlainString() : null);
+        payload.put("startDate", userSubscription.getStartDate() != null ? userSubscription.getStartDate().toString() : null);
+        payload.put("endDate", userSubscription.getEndDate() != null ? userSubscription.getEndDate().toString() : null);
+        outboxRepository.save(DomainEvent.of("UserSubscription", userSubscription.getId(), eventType, payload));
+    }
 }
-
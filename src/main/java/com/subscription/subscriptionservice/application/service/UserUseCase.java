@@ -1,14 +1,16 @@
 package com.subscription.subscriptionservice.application.service;
 
 import com.subscription.subscriptionservice.application.port.inbound.UserServicePort;
-import com.subscription.subscriptionservice.application.port.outbound.CachePort;
 import com.subscription.subscriptionservice.application.port.outbound.SecurityPort;
 import com.subscription.subscriptionservice.application.port.outbound.TransactionManager;
 import com.subscription.subscriptionservice.application.port.outbound.UserRepositoryPort;
 import com.subscription.subscriptionservice.domain.exception.DuplicateEntityException;
 import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
 import com.subscription.subscriptionservice.domain.model.User;
-import com.subscription.subscriptionservice.infrastructure.util.CacheUtil;
+import com.subscription.subscriptionservice.infrastructure.util.CacheNamespace;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegion;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegions;
+import com.subscription.subscriptionservice.infrastructure.util.codec.UserCacheCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,19 +29,14 @@ public class UserUseCase implements UserServicePort {
     private final UserRepositoryPort userRepository;
     private final SecurityPort securityPort;
     private final TransactionManager transactionManager;
-    private CachePort cachePort; // Optional - can be null
+    private final CacheRegion<User> userCache;
 
     public UserUseCase(UserRepositoryPort userRepository, SecurityPort securityPort, 
-                       TransactionManager transactionManager) {
+                       TransactionManager transactionManager, CacheRegions cacheRegions) {
         this.userRepository = userRepository;
         this.securityPort = securityPort;
         this.transactionManager = transactionManager;
-        this.cachePort = null; // Will be set if cache adapter is registered
-    }
-    
-    // Set cache port if available (called by container)
-    public void setCachePort(CachePort cachePort) {
-        this.cachePort = cachePort;
+        this.userCache = cacheRegions.region(CacheNamespace.USERS, UserCacheCodec.INSTANCE);
     }
 
     @Override
@@ -73,11 +70,7 @@ public class UserUseCase implements UserServicePort {
             User savedUser = userRepository.save(user);
             logger.info("User registered successfully: userId={}, username={}", savedUser.getId(), username);
             
-            // Invalidate cache
-            if (cachePort != null) {
-                cachePort.delete(CacheUtil.buildKey("user", savedUser.getId()));
-                cachePort.delete(CacheUtil.buildKey("user:username", username));
-            }
+            evict(savedUser);
             
             return savedUser;
         });
@@ -98,32 +91,20 @@ public class UserUseCase implements UserServicePort {
         user.setEnabled(true);
         user.setDeleted(false);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        evict(saved);
+        return saved;
     }
 
     @Override
     public User findByUsername(String username) {
-        // Try cache first
-        String cacheKey = CacheUtil.buildKey("user:username", username);
-        User cachedUser = CacheUtil.get(cachePort, cacheKey, User.class);
-        if (cachedUser != null) {
-            logger.debug("User found in cache: username={}", username);
-            return cachedUser;
-        }
-        
-        // Cache miss - get from repository
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
-        
-        // Cache for 5 minutes
-        CacheUtil.put(cachePort, cacheKey, user, 300);
-        // Also cache by ID
-        if (user.getId() != null) {
-            CacheUtil.put(cachePort, CacheUtil.buildKey("user", user.getId()), user, 300);
-        }
-        logger.debug("User cached: username={}", username);
-        
-        return user;
+        // Cached by username and by ID
+        return userCache.get(userCache.key("user:username", username),
+            () -> userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username)),
+            user -> user.getId() != null
+                ? List.of(userCache.key("user", user.getId()))
+                : List.of());
     }
 
     @Override
@@ -140,43 +121,43 @@ public class UserUseCase implements UserServicePort {
 
     @Override
     public User findById(Long id) {
-        // Try cache first
-        String cacheKey = CacheUtil.buildKey("user", id);
-        User cachedUser = CacheUtil.get(cachePort, cacheKey, User.class);
-        if (cachedUser != null) {
-            logger.debug("User found in cache: id={}", id);
-            return cachedUser;
-        }
-        
-        // Cache miss - get from repository
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
-        
-        // Cache for 5 minutes
-        CacheUtil.put(cachePort, cacheKey, user, 300);
-        logger.debug("User cached: id={}", id);
-        
-        return user;
+        return userCache.get(userCache.key("user", id), () -> loadUser(id));
+    }
+
+    // Writes start from the database row, never from a cached copy
+    private User loadUser(Long id) {
+        return userRepository.findById(id)
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+    }
+
+    private User saveAndEvict(User user) {
+        User saved = userRepository.save(user);
+        evict(saved);
+        return saved;
+    }
+
+    private void evict(User user) {
+        userCache.evict(userCache.key("user", user.getId()), userCache.key("user:username", user.getUsername()));
     }
 
     @Override
     public User softDeleteUser(Long userId, Long deletedBy) {
-        User user = findById(userId);
+        User user = loadUser(userId);
         user.setDeleted(true);
         user.setDeletedAt(LocalDateTime.now());
         user.setDeletedBy(deletedBy);
         user.setEnabled(false);
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 
     @Override
     public User restoreUser(Long userId) {
-        User user = findById(userId);
+        User user = loadUser(userId);
         user.setDeleted(false);
         user.setDeletedAt(null);
         user.setDeletedBy(null);
         user.setEnabled(true);
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 
     @Override
@@ -192,7 +173,7 @@ public class UserUseCase implements UserServicePort {
     @Override
     public User updateUserProfile(Long userId, String email, String phoneNumber, String address,
                                   String city, String state, String zipCode, String country) {
-        User user = findById(userId);
+        User user = loadUser(userId);
         if (email != null) user.setEmail(email);
         if (phoneNumber != null) user.setPhoneNumber(phoneNumber);
         if (address != null) user.setAddress(address);
@@ -200,7 +181,7 @@ public class UserUseCase implements UserServicePort {
         if (state != null) user.setState(state);
         if (zipCode != null) user.setZipCode(zipCode);
         if (country != null) user.setCountry(country);
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 }
 
@@ -0,0 +1,7 @@
+package com.subscription.subscriptionservice.domain.exception;
+
+public class BillingRunNotFoundException extends ApiException {
+    public BillingRunNotFoundException(String message) {
+        super(404, "BILLING_RUN_NOT_FOUND", message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.subscription.subscriptionservice.domain.exception;
+
+/**
+ * Exception for 503 Service Unavailable errors (overload - the client should retry later)
+ */
+public class ServiceUnavailableException extends ApiException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(503, "SERVICE_UNAVAILABLE", message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
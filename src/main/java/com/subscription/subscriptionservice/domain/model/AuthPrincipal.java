@@ -0,0 +1,47 @@
+package com.subscription.subscriptionservice.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The authenticated caller as read from a verified token - immutable, so it can be shared freely
+ */
+public final class AuthPrincipal {
+    private final String username;
+    private final Long userId;
+    private final List<String> roles;
+    private final Instant expiresAt;
+
+    public AuthPrincipal(String username, Long userId, List<String> roles, Instant expiresAt) {
+        this.username = username;
+        this.userId = userId;
+        this.roles = roles != null ? List.copyOf(roles) : List.of();
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthPrincipal{username=" + username + ", userId=" + userId + ", roles=" + roles
+            + ", expiresAt=" + expiresAt + "}";
+    }
+}
@@ -15,6 +15,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Billing {
+    public static final int PAYMENT_TERM_DAYS = 30;
+
     private Long id;
     private Long userSubscriptionId;
     private LocalDate billingPeriodStart;
@@ -41,7 +43,29 @@ public class Billing {
         CANCELLED
     }
 
+    /**
+     * New PENDING bill for one period of a user subscription at its negotiated price
+     */
+    public static Billing forPeriod(UserSubscription userSubscription, LocalDate periodStart, LocalDate periodEnd, LocalDate billDate) {
+        Billing billing = new Billing();
+        billing.setUserSubscriptionId(userSubscription.getId());
+        billing.setBillingPeriodStart(periodStart);
+        billing.setBillingPeriodEnd(periodEnd);
+        billing.setBaseAmount(userSubscription.getNegotiatedPrice());
+        billing.setNegotiatedAmount(userSubscription.getNegotiatedPrice());
+        billing.setProRataAmount(BigDecimal.ZERO); // Calculate pro-rata if needed
+        billing.setTotalAmount(userSubscription.getNegotiatedPrice());
+        billing.setBillDate(billDate);
+        billing.setDueDate(billDate.plusDays(PAYMENT_TERM_DAYS));
+        billing.setStatus(BillingStatus.PENDING);
+        return billing;
+    }
+
     // Domain methods
+    public String invoiceNumber() {
+        return String.format("INV-%08d", id);
+    }
+    
     public boolean isPending() {
         return status == BillingStatus.PENDING;
     }
@@ -0,0 +1,73 @@
+package com.subscription.subscriptionservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Domain model for a monthly billing run - Pure POJO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillingRun {
+    private Long id;
+    private LocalDate asOf;
+    private RunStatus status = RunStatus.RUNNING;
+    private long subscriptionsProcessed;
+    private long billsCreated;
+    private long duplicatesSkipped;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<BillingRunPartition> partitions = new ArrayList<>();
+
+    public enum RunStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Domain methods
+    public boolean isCompleted() {
+        return status == RunStatus.COMPLETED;
+    }
+
+    /**
+     * Roll partition counters up into the run totals
+     */
+    public void refreshTotals() {
+        long subscriptions = 0;
+        long bills = 0;
+        long duplicates = 0;
+        for (BillingRunPartition partition : partitions) {
+            subscriptions += partition.getSubscriptionsProcessed();
+            bills += partition.getBillsCreated();
+            duplicates += partition.getDuplicatesSkipped();
+        }
+        this.subscriptionsProcessed = subscriptions;
+        this.billsCreated = bills;
+        this.duplicatesSkipped = duplicates;
+    }
+
+    public long getElapsedMillis() {
+        if (startedAt == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public double getThroughputPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? subscriptionsProcessed * 1000.0 / elapsed : subscriptionsProcessed;
+    }
+}
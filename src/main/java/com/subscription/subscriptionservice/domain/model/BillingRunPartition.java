@@ -0,0 +1,53 @@
+package com.subscription.subscriptionservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain model for one id-range partition of a billing run and its checkpoint - Pure POJO.
+ * Covers user subscriptions with {@code lowerId < id <= upperId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillingRunPartition {
+    private Long id;
+    private Long billingRunId;
+    private int partitionIndex;
+    private long lowerId;
+    private long upperId;
+    private long lastProcessedId;
+    private PartitionStatus status = PartitionStatus.PENDING;
+    private long subscriptionsProcessed;
+    private long billsCreated;
+    private long duplicatesSkipped;
+    private long elapsedMillis;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum PartitionStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Domain methods
+    public boolean isCompleted() {
+        return status == PartitionStatus.COMPLETED;
+    }
+
+    /**
+     * Advance the checkpoint past a committed chunk
+     */
+    public void recordChunk(long lastId, int subscriptions, int billsCreated) {
+        this.lastProcessedId = lastId;
+        this.subscriptionsProcessed += subscriptions;
+        this.billsCreated += billsCreated;
+        this.duplicatesSkipped += subscriptions - billsCreated;
+    }
+}
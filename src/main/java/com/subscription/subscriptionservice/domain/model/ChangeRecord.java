@@ -0,0 +1,30 @@
+package com.subscription.subscriptionservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed - Pure POJO.
+ * Records that an entity was written; the feed reads its current state when serving the change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeRecord {
+    public static final String USER = "user";
+    public static final String SUBSCRIPTION = "subscription";
+    public static final String USER_SUBSCRIPTION = "userSubscription";
+    public static final String USER_DEVICE = "userDevice";
+    public static final String DEVICE = "device";
+    public static final String FEATURE = "feature";
+    // Marks a sequence whose writer rolled back, so readers can move past it
+    public static final String GAP = "gap";
+
+    private Long sequence;
+    private String entityType;
+    private Long entityId;
+    private LocalDateTime changedAt;
+}
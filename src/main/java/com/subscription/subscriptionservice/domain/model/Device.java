@@ -21,7 +21,9 @@ public class Device {
     private Boolean deleted = false;
     private LocalDateTime deletedAt;
     private Long deletedBy;
+    // Plain key, only set when one is issued - the database stores apiKeyHash
     private String apiKey;
+    private String apiKeyHash;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
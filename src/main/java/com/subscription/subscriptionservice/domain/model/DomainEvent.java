@@ -0,0 +1,40 @@
+package com.subscription.subscriptionservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Domain event recorded in the outbox - Pure POJO.
+ * Payload values are plain strings, numbers and booleans so every sink can serialize them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEvent {
+    public static final String USER_SUBSCRIPTION_ASSIGNED = "UserSubscriptionAssigned";
+    public static final String USER_SUBSCRIPTION_CANCELLED = "UserSubscriptionCancelled";
+    public static final String USER_DEVICE_DEACTIVATED = "UserDeviceDeactivated";
+    public static final String BILLING_PAID = "BillingPaid";
+
+    private Long id;
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+    private Map<String, Object> payload;
+    private LocalDateTime occurredAt;
+    private LocalDateTime publishedAt;
+
+    public static DomainEvent of(String aggregateType, Long aggregateId, String eventType, Map<String, Object> payload) {
+        DomainEvent event = new DomainEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setPayload(payload);
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,19 @@
+package com.subscription.subscriptionservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outgoing email - Pure POJO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailMessage {
+    private Long referenceId;
+    private String to;
+    private String subject;
+    private String body;
+    private String attachmentPath;
+}
@@ -5,8 +5,12 @@ import com.framework.core.http.HttpRequest;
 import com.framework.core.http.HttpResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.application.port.inbound.*;
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
 import com.subscription.subscriptionservice.domain.model.*;
+import com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.dto.DeviceResponse;
 import com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector;
+import com.subscription.subscriptionservice.infrastructure.util.CacheNamespace;
 import com.subscription.subscriptionservice.infrastructure.util.RoleChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -164,7 +168,7 @@ public class AdminController {
             List<Device> devices = deviceService.findDeleted();
             
             Map<String, Object> response = new HashMap<>();
-            response.put("devices", devices);
+            response.put("devices", DeviceResponse.from(devices));
             response.put("count", devices.size());
             
             recordMetrics("GET", "/api/admin/devices/deleted", System.currentTimeMillis() - startTime, 200);
@@ -397,6 +401,37 @@ public class AdminController {
         }
     }
     
+    public HttpResponse invalidateCacheRegion(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        try {
+            RoleChecker.requireAnyRole(request, "ROLE_ADMIN");
+            String region = request.getPathParams().get("region");
+            if (!CacheNamespace.REGIONS.contains(region)) {
+                throw new ValidationException("region", "must be one of " + CacheNamespace.REGIONS);
+            }
+            CachePort cachePort;
+            try {
+                cachePort = container.getBean(CachePort.class);
+            } catch (Exception e) {
+                cachePort = null;
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            if (cachePort != null) {
+                new CacheNamespace(cachePort, region).invalidateAll();
+                response.put("message", "Cache region invalidated: " + region);
+            } else {
+                response.put("message", "Cache not configured");
+            }
+            
+            recordMetrics("POST", "/api/admin/cache/{region}/invalidate", System.currentTimeMillis() - startTime, 200);
+            return HttpResponse.ok(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            recordMetrics("POST", "/api/admin/cache/{region}/invalidate", System.currentTimeMillis() - startTime, 500);
+            return errorHandler.handleException(e, request.getPath());
+        }
+    }
+    
     private void recordMetrics(String method, String path, long responseTime, int statusCode) {
         metricsCollector.recordRequest(path, method, responseTime);
         metricsCollector.recordError(path, method, statusCode);
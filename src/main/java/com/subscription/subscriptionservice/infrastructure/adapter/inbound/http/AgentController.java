@@ -6,6 +6,7 @@ import com.framework.core.http.HttpResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.application.port.inbound.*;
 import com.subscription.subscriptionservice.domain.model.*;
+import com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.dto.DeviceResponse;
 import com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector;
 import com.subscription.subscriptionservice.infrastructure.util.RoleChecker;
 import org.slf4j.Logger;
@@ -46,34 +47,13 @@ public class AgentController {
             );
             
             recordMetrics("POST", "/api/agent/devices", System.currentTimeMillis() - startTime, 200);
-            return HttpResponse.ok(objectMapper.writeValueAsString(device));
+            return HttpResponse.ok(objectMapper.writeValueAsString(DeviceResponse.from(device)));
         } catch (Exception e) {
             recordMetrics("POST", "/api/agent/devices", System.currentTimeMillis() - startTime, 500);
             return errorHandler.handleException(e, request.getPath());
         }
     }
     
-    public HttpResponse getDeviceApiKey(HttpRequest request) {
-        long startTime = System.currentTimeMillis();
-        try {
-            RoleChecker.requireAnyRole(request, "ROLE_ADMIN", "ROLE_AGENT");
-            String idStr = request.getPathParams().get("id");
-            Long id = Long.parseLong(idStr);
-            
-            DeviceServicePort deviceService = container.getBean(DeviceServicePort.class);
-            String apiKey = deviceService.getApiKey(id);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("apiKey", apiKey);
-            
-            recordMetrics("GET", "/api/agent/devices/{id}/api-key", System.currentTimeMillis() - startTime, 200);
-            return HttpResponse.ok(objectMapper.writeValueAsString(response));
-        } catch (Exception e) {
-            recordMetrics("GET", "/api/agent/devices/{id}/api-key", System.currentTimeMillis() - startTime, 500);
-            return errorHandler.handleException(e, request.getPath());
-        }
-    }
-    
     public HttpResponse regenerateApiKey(HttpRequest request) {
         long startTime = System.currentTimeMillis();
         try {
@@ -104,7 +84,7 @@ public class AgentController {
             List<Device> devices = deviceService.findAll();
             
             Map<String, Object> response = new HashMap<>();
-            response.put("devices", devices);
+            response.put("devices", DeviceResponse.from(devices));
             response.put("count", devices.size());
             
             recordMetrics("GET", "/api/agent/devices", System.currentTimeMillis() - startTime, 200);
@@ -123,7 +103,7 @@ public class AgentController {
             List<Device> devices = deviceService.findActive();
             
             Map<String, Object> response = new HashMap<>();
-            response.put("devices", devices);
+            response.put("devices", DeviceResponse.from(devices));
             response.put("count", devices.size());
             
             recordMetrics("GET", "/api/agent/devices/active", System.currentTimeMillis() - startTime, 200);
@@ -145,7 +125,7 @@ public class AgentController {
             Device device = deviceService.findById(id);
             
             recordMetrics("GET", "/api/agent/devices/{id}", System.currentTimeMillis() - startTime, 200);
-            return HttpResponse.ok(objectMapper.writeValueAsString(device));
+            return HttpResponse.ok(objectMapper.writeValueAsString(DeviceResponse.from(device)));
         } catch (Exception e) {
             recordMetrics("GET", "/api/agent/devices/{id}", System.currentTimeMillis() - startTime, 500);
             return errorHandler.handleException(e, request.getPath());
@@ -170,7 +150,7 @@ public class AgentController {
             );
             
             recordMetrics("PUT", "/api/agent/devices/{id}", System.currentTimeMillis() - startTime, 200);
-            return HttpResponse.ok(objectMapper.writeValueAsString(device));
+            return HttpResponse.ok(objectMapper.writeValueAsString(DeviceResponse.from(device)));
         } catch (Exception e) {
             recordMetrics("PUT", "/api/agent/devices/{id}", System.currentTimeMillis() - startTime, 500);
             return errorHandler.handleException(e, request.getPath());
@@ -6,13 +6,17 @@ import com.framework.core.http.HttpResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.application.port.inbound.BillingServicePort;
 import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.BillingRunPartition;
 import com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector;
 import com.subscription.subscriptionservice.infrastructure.util.RoleChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,15 +41,86 @@ public class BillingController {
         try {
             RoleChecker.requireAnyRole(request, "ROLE_ADMIN", "ROLE_AGENT");
             BillingServicePort billingService = container.getBean(BillingServicePort.class);
-            billingService.generateMonthlyBills();
+            BillingRun run = billingService.startMonthlyBillingRun();
+            
+            Map<String, Object> response = runToMap(run);
+            response.put("message", "Monthly billing run started");
+            response.put("statusUrl", "/api/billing/runs/" + run.getId());
+            
+            recordMetrics("POST", "/api/billing/generate-monthly", System.currentTimeMillis() - startTime, 202);
+            return HttpResponse.accepted(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            recordMetrics("POST", "/api/billing/generate-monthly", System.currentTimeMillis() - startTime, 500);
+            return errorHandler.handleException(e, request.getPath());
+        }
+    }
+    
+    public HttpResponse getBillingRun(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        try {
+            RoleChecker.requireAnyRole(request, "ROLE_ADMIN", "ROLE_AGENT");
+            Long runId = Long.parseLong(request.getPathParams().get("runId"));
+            
+            BillingServicePort billingService = container.getBean(BillingServicePort.class);
+            BillingRun run = billingService.findBillingRun(runId);
+            
+            Map<String, Object> response = runToMap(run);
+            List<Map<String, Object>> partitions = new ArrayList<>();
+            for (BillingRunPartition partition : run.getPartitions()) {
+                partitions.add(partitionToMap(partition));
+            }
+            response.put("partitions", partitions);
+            
+            recordMetrics("GET", "/api/billing/runs/{runId}", System.currentTimeMillis() - startTime, 200);
+            return HttpResponse.ok(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            recordMetrics("GET", "/api/billing/runs/{runId}", System.currentTimeMillis() - startTime, 500);
+            return errorHandler.handleException(e, request.getPath());
+        }
+    }
+    
+    public HttpResponse getBillingRuns(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        try {
+            RoleChecker.requireAnyRole(request, "ROLE_ADMIN", "ROLE_AGENT");
+            String limitParam = request.getQueryParams().get("limit");
+            int limit = limitParam != null ? Math.min(Math.max(Integer.parseInt(limitParam), 1), 100) : 20;
+            
+            BillingServicePort billingService = container.getBean(BillingServicePort.class);
+            List<Map<String, Object>> runs = new ArrayList<>();
+            for (BillingRun run : billingService.findRecentBillingRuns(limit)) {
+                runs.add(runToMap(run));
+            }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Monthly bills generated successfully");
+            response.put("runs", runs);
+            response.put("count", runs.size());
             
-            recordMetrics("POST", "/api/billing/generate-monthly", System.currentTimeMillis() - startTime, 200);
+            recordMetrics("GET", "/api/billing/runs", System.currentTimeMillis() - startTime, 200);
             return HttpResponse.ok(objectMapper.writeValueAsString(response));
         } catch (Exception e) {
-            recordMetrics("POST", "/api/billing/generate-monthly", System.currentTimeMillis() - startTime, 500);
+            recordMetrics("GET", "/api/billing/runs", System.currentTimeMillis() - startTime, 500);
+            return errorHandler.handleException(e, request.getPath());
+        }
+    }
+    
+    public HttpResponse resumeBillingRun(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        try {
+            RoleChecker.requireAnyRole(request, "ROLE_ADMIN", "ROLE_AGENT");
+            Long runId = Long.parseLong(request.getPathParams().get("runId"));
+            
+            BillingServicePort billingService = container.getBean(BillingServicePort.class);
+            BillingRun run = billingService.resumeBillingRun(runId);
+            
+            Map<String, Object> response = runToMap(run);
+            response.put("message", "Billing run resumed");
+            response.put("statusUrl", "/api/billing/runs/" + run.getId());
+            
+            recordMetrics("POST", "/api/billing/runs/{runId}/resume", System.currentTimeMillis() - startTime, 202);
+            return HttpResponse.accepted(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            recordMetrics("POST", "/api/billing/runs/{runId}/resume", System.currentTimeMillis() - startTime, 500);
             return errorHandler.handleException(e, request.getPath());
         }
     }
@@ -165,10 +240,11 @@ public class BillingController {
         try {
             RoleChecker.requireAnyRole(request, "ROLE_ADMIN", "ROLE_AGENT");
             BillingServicePort billingService = container.getBean(BillingServicePort.class);
-            billingService.markOverdueBills();
+            int marked = billingService.markOverdueBills();
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Overdue bills marked successfully");
+            response.put("count", marked);
             
             recordMetrics("POST", "/api/billing/mark-overdue", System.currentTimeMillis() - startTime, 200);
             return HttpResponse.ok(objectMapper.writeValueAsString(response));
@@ -178,6 +254,37 @@ public class BillingController {
         }
     }
     
+    private Map<String, Object> runToMap(BillingRun run) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("runId", run.getId());
+        map.put("asOf", String.valueOf(run.getAsOf()));
+        map.put("status", run.getStatus().name());
+        map.put("subscriptionsProcessed", run.getSubscriptionsProcessed());
+        map.put("billsCreated", run.getBillsCreated());
+        map.put("duplicatesSkipped", run.getDuplicatesSkipped());
+        map.put("errorMessage", run.getErrorMessage());
+        map.put("startedAt", run.getStartedAt() != null ? run.getStartedAt().toString() : null);
+        map.put("finishedAt", run.getFinishedAt() != null ? run.getFinishedAt().toString() : null);
+        map.put("elapsedMillis", run.getElapsedMillis());
+        map.put("subscriptionsPerSecond", run.getThroughputPerSecond());
+        return map;
+    }
+    
+    private Map<String, Object> partitionToMap(BillingRunPartition partition) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("index", partition.getPartitionIndex());
+        map.put("lowerId", partition.getLowerId());
+        map.put("upperId", partition.getUpperId());
+        map.put("lastProcessedId", partition.getLastProcessedId());
+        map.put("status", partition.getStatus().name());
+        map.put("subscriptionsProcessed", partition.getSubscriptionsProcessed());
+        map.put("billsCreated", partition.getBillsCreated());
+        map.put("duplicatesSkipped", partition.getDuplicatesSkipped());
+        map.put("elapsedMillis", partition.getElapsedMillis());
+        map.put("errorMessage", partition.getErrorMessage());
+        return map;
+    }
+    
     private void recordMetrics(String method, String path, long responseTime, int statusCode) {
         metricsCollector.recordRequest(path, method, responseTime);
         metricsCollector.recordError(path, method, statusCode);
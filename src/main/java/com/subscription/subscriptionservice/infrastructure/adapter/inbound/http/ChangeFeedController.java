@@ -0,0 +1,119 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.http;
+
+import com.framework.core.di.Container;
+import com.framework.core.http.HttpRequest;
+import com.framework.core.http.HttpResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort.Change;
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort.ChangeBatch;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
+import com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector;
+import com.subscription.subscriptionservice.infrastructure.util.RoleChecker;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Change feed endpoint. {@code GET /api/changes?since=<cursor>&limit=<n>&wait=<seconds>} returns the
+ * entities changed after the cursor; with {@code wait} the request is parked (no server thread held)
+ * until changes arrive or the wait elapses.
+ */
+public class ChangeFeedController {
+    
+    private static final int DEFAULT_LIMIT = 500;
+    private static final int MAX_LIMIT = 1000;
+    // Below Jetty's default 30s idle timeout
+    private static final int MAX_WAIT_SECONDS = 25;
+    
+    private final Container container;
+    private final ObjectMapper objectMapper;
+    private final ErrorHandler errorHandler;
+    private final MetricsCollector metricsCollector;
+    
+    public ChangeFeedController(Container container) {
+        this.container = container;
+        this.objectMapper = new ObjectMapper();
+        this.errorHandler = new ErrorHandler(objectMapper);
+        this.metricsCollector = MetricsCollector.getInstance();
+    }
+    
+    public HttpResponse getChanges(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        try {
+            RoleChecker.requireAnyRole(request, "ROLE_ADMIN", "ROLE_AGENT");
+            long since = parseLong(request.getQueryParam("since"), "since", 0);
+            int limit = (int) Math.min(parseLong(request.getQueryParam("limit"), "limit", DEFAULT_LIMIT), MAX_LIMIT);
+            long waitSeconds = Math.min(parseLong(request.getQueryParam("wait"), "wait", 0), MAX_WAIT_SECONDS);
+            
+            ChangeFeedServicePort changeFeedService = container.getBean(ChangeFeedServicePort.class);
+            if (waitSeconds <= 0) {
+                HttpResponse response = HttpResponse.ok(toJson(changeFeedService.getChanges(since, limit)));
+                recordMetrics(System.currentTimeMillis() - startTime, 200);
+                return response;
+            }
+            return HttpResponse.deferred(changeFeedService.awaitChanges(since, limit, waitSeconds * 1000)
+                .thenApply(batch -> {
+                    try {
+                        recordMetrics(System.currentTimeMillis() - startTime, 200);
+                        return HttpResponse.ok(toJson(batch));
+                    } catch (JsonProcessingException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionally(e -> {
+                    recordMetrics(System.currentTimeMillis() - startTime, 500);
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return errorHandler.handleException(
+                        cause instanceof Exception ? (Exception) cause : new RuntimeException(cause), request.getPath());
+                }));
+        } catch (Exception e) {
+            recordMetrics(System.currentTimeMillis() - startTime, 500);
+            return errorHandler.handleException(e, request.getPath());
+        }
+    }
+    
+    private String toJson(ChangeBatch batch) throws JsonProcessingException {
+        List<Map<String, Object>> changes = new ArrayList<>(batch.getChanges().size());
+        for (Change change : batch.getChanges()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("seq", change.getSequence());
+            entry.put("type", change.getEntityType());
+            entry.put("id", change.getEntityId());
+            if (change.isDeleted()) {
+                entry.put("deleted", true);
+            } else {
+                entry.put("data", change.getData());
+            }
+            changes.add(entry);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("cursor", batch.getCursor());
+        response.put("hasMore", batch.isHasMore());
+        if (batch.isResync()) {
+            response.put("resync", true);
+        }
+        response.put("changes", changes);
+        return objectMapper.writeValueAsString(response);
+    }
+    
+    private static long parseLong(String value, String name, long defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException(name, "must be a number");
+        }
+    }
+    
+    private void recordMetrics(long responseTime, int statusCode) {
+        metricsCollector.recordRequest("/api/changes", "GET", responseTime);
+        metricsCollector.recordError("/api/changes", "GET", statusCode);
+    }
+}
@@ -3,76 +3,375 @@ package com.subscription.subscriptionservice.infrastructure.adapter.inbound.http
 import com.framework.core.di.Container;
 import com.framework.core.http.HttpRequest;
 import com.framework.core.http.HttpResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.application.port.inbound.DeviceServicePort;
-import com.subscription.subscriptionservice.application.port.inbound.UserDeviceServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort.SerialVerification;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort.SerialVerifier;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort.EntitlementToken;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort.RevocationList;
+import com.subscription.subscriptionservice.domain.exception.UserNotFoundException;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
 import com.subscription.subscriptionservice.domain.model.Device;
-import com.subscription.subscriptionservice.domain.model.UserDevice;
 import com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.dto.ErrorResponse;
 import com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class DeviceVerificationController {
     
     private static final Logger logger = LoggerFactory.getLogger(DeviceVerificationController.class);
     
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int CHUNK_SIZE = 100;
+    private static final int MAX_FEATURE_CODES = 50;
+    
     private final Container container;
     private final ObjectMapper objectMapper;
     private final MetricsCollector metricsCollector;
+    private final ErrorHandler errorHandler;
+    private final EntitlementServicePort entitlementService;
+    private final EntitlementTokenServicePort entitlementTokenService;
     
     public DeviceVerificationController(Container container) {
         this.container = container;
         this.objectMapper = new ObjectMapper();
         this.metricsCollector = MetricsCollector.getInstance();
+        this.errorHandler = new ErrorHandler(objectMapper);
+        this.entitlementService = container.getBean(EntitlementServicePort.class);
+        this.entitlementTokenService = container.getBean(EntitlementTokenServicePort.class);
     }
     
     public HttpResponse verifySubscription(HttpRequest request) {
         long startTime = System.currentTimeMillis();
+        String path = "/api/device/verify-subscription";
         try {
             String apiKey = request.getHeader("X-API-Key");
             if (apiKey == null) {
                 return HttpResponse.unauthorized("{\"error\":\"API key is required\"}");
             }
+            String deviceSerial = readDeviceSerial(request.getBody());
+            if (deviceSerial == null) {
+                return HttpResponse.badRequest("{\"error\":\"Device serial is required\"}");
+            }
             
-            DeviceServicePort deviceService = container.getBean(DeviceServicePort.class);
-            Device device = deviceService.findByApiKey(apiKey);
+            EntitlementServicePort.Entitlement entitlement = entitlementService.verify(apiKey, deviceSerial);
             
-            Map<String, String> body = objectMapper.readValue(request.getBody(), Map.class);
-            String deviceSerial = body.get("deviceSerial");
+            Map<String, Object> response = new HashMap<>();
+            response.put("verified", true);
+            response.put("deviceId", entitlement.getDeviceId());
+            response.put("subscriptionId", entitlement.getSubscriptionId());
+            response.put("userSubscriptionId", entitlement.getUserSubscriptionId());
+            response.put("status", entitlement.getStatus());
+            response.put("endDate", entitlement.getEndDate() != null ? entitlement.getEndDate().toString() : null);
+            response.put("featureIds", entitlement.getFeatureIds());
+            response.put("active", true);
             
-            if (deviceSerial == null) {
+            recordMetrics("POST", path, System.currentTimeMillis() - startTime, 200);
+            return HttpResponse.ok(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            HttpResponse response = errorHandler.handleException(e, path);
+            recordMetrics("POST", path, System.currentTimeMillis() - startTime, response.getStatusCode());
+            return response;
+        }
+    }
+    
+    /**
+     * Verify a batch of serials behind one API key. The API key and feature codes are resolved once
+     * and the first chunk is verified before responding, so their errors get a proper status; the
+     * rest is verified chunk by chunk while the response streams, one database round trip per chunk
+     * at most.
+     */
+    public HttpResponse verifySubscriptions(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        String path = "/api/device/verify-subscriptions";
+        try {
+            String apiKey = request.getHeader("X-API-Key");
+            if (apiKey == null) {
+                return HttpResponse.unauthorized("{\"error\":\"API key is required\"}");
+            }
+            JsonNode body = readBody(request.getBody());
+            List<String> serials = readStrings(body.get("deviceSerials"), "deviceSerials", MAX_BATCH_SIZE);
+            if (serials == null || serials.isEmpty()) {
+                return HttpResponse.badRequest("{\"error\":\"Device serials are required\"}");
+            }
+            List<String> featureCodes = readStrings(body.get("featureCodes"), "featureCodes", MAX_FEATURE_CODES);
+            
+            SerialVerifier verifier = entitlementService.verifier(apiKey, featureCodes);
+            List<SerialVerification> firstChunk = verifier.verify(serials.subList(0, Math.min(CHUNK_SIZE, serials.size())));
+            
+            return HttpResponse.streaming(out -> {
+                JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+                json.writeStartObject();
+                json.writeNumberField("count", serials.size());
+                json.writeArrayFieldStart("results");
+                writeVerifications(json, firstChunk);
+                for (int from = CHUNK_SIZE; from < serials.size(); from += CHUNK_SIZE) {
+                    json.flush();
+                    writeVerifications(json, verifier.verify(serials.subList(from, Math.min(from + CHUNK_SIZE, serials.size()))));
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+                json.flush();
+                recordMetrics("POST", path, System.currentTimeMillis() - startTime, 200);
+            });
+        } catch (Exception e) {
+            HttpResponse response = errorHandler.handleException(e, path);
+            recordMetrics("POST", path, System.currentTimeMillis() - startTime, response.getStatusCode());
+            return response;
+        }
+    }
+    
+    /**
+     * Whether a device serial is entitled to one feature: {@code GET /api/device/features/{featureCode}?deviceSerial=}
+     */
+    public HttpResponse checkFeature(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        String path = "/api/device/features/{featureCode}";
+        try {
+            String apiKey = request.getHeader("X-API-Key");
+            if (apiKey == null) {
+                return HttpResponse.unauthorized("{\"error\":\"API key is required\"}");
+            }
+            String deviceSerial = request.getQueryParam("deviceSerial");
+            if (deviceSerial == null || deviceSerial.isEmpty()) {
                 return HttpResponse.badRequest("{\"error\":\"Device serial is required\"}");
             }
+            String featureCode = request.getPathParam("featureCode");
             
-            UserDeviceServicePort userDeviceService = container.getBean(UserDeviceServicePort.class);
-            UserDevice userDevice = userDeviceService.findByDeviceSerial(deviceSerial);
+            Map<String, Object> response = checkFeatures(apiKey, deviceSerial, List.of(featureCode));
+            @SuppressWarnings("unchecked")
+            Map<String, Boolean> features = (Map<String, Boolean>) response.remove("features");
+            response.put("featureCode", featureCode);
+            response.put("entitled", features.get(featureCode));
             
-            if (!userDevice.isActive()) {
-                return HttpResponse.forbidden("{\"error\":\"Device is not active\"}");
+            recordMetrics("GET", path, System.currentTimeMillis() - startTime, 200);
+            return HttpResponse.ok(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            HttpResponse response = errorHandler.handleException(e, path);
+            recordMetrics("GET", path, System.currentTimeMillis() - startTime, response.getStatusCode());
+            return response;
+        }
+    }
+    
+    /**
+     * Feature checks for one device serial: {@code {"deviceSerial": "...", "featureCodes": [...]}}
+     */
+    public HttpResponse checkFeatures(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        String path = "/api/device/features";
+        try {
+            String apiKey = request.getHeader("X-API-Key");
+            if (apiKey == null) {
+                return HttpResponse.unauthorized("{\"error\":\"API key is required\"}");
+            }
+            JsonNode body = readBody(request.getBody());
+            JsonNode serial = body.get("deviceSerial");
+            if (serial == null || !serial.isTextual() || serial.asText().isEmpty()) {
+                return HttpResponse.badRequest("{\"error\":\"Device serial is required\"}");
+            }
+            List<String> featureCodes = readStrings(body.get("featureCodes"), "featureCodes", MAX_FEATURE_CODES);
+            if (featureCodes == null || featureCodes.isEmpty()) {
+                return HttpResponse.badRequest("{\"error\":\"Feature codes are required\"}");
+            }
+            
+            Map<String, Object> response = checkFeatures(apiKey, serial.asText(), featureCodes);
+            
+            recordMetrics("POST", path, System.currentTimeMillis() - startTime, 200);
+            return HttpResponse.ok(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            HttpResponse response = errorHandler.handleException(e, path);
+            recordMetrics("POST", path, System.currentTimeMillis() - startTime, response.getStatusCode());
+            return response;
+        }
+    }
+    
+    /**
+     * A serial without an entitled subscription has none of the features; unknown serials are 404
+     */
+    private Map<String, Object> checkFeatures(String apiKey, String deviceSerial, List<String> featureCodes) {
+        SerialVerification verification = entitlementService.verifyAll(apiKey, List.of(deviceSerial), featureCodes).get(0);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("deviceSerial", deviceSerial);
+        if (verification.isVerified()) {
+            response.put("features", verification.getFeatures());
+            return response;
+        }
+        if (SerialVerification.NOT_FOUND.equals(verification.getError())) {
+            throw new UserNotFoundException(verification.getMessage());
+        }
+        Map<String, Boolean> features = new LinkedHashMap<>();
+        for (String featureCode : featureCodes) {
+            features.put(featureCode, false);
+        }
+        response.put("features", features);
+        response.put("reason", verification.getMessage());
+        return response;
+    }
+    
+    /**
+     * Signed entitlement token for offline checks; the device renews it after refreshAfter
+     */
+    public HttpResponse issueEntitlementToken(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        String path = "/api/device/entitlement-token";
+        try {
+            String apiKey = request.getHeader("X-API-Key");
+            if (apiKey == null) {
+                return HttpResponse.unauthorized("{\"error\":\"API key is required\"}");
             }
+            String deviceSerial = readDeviceSerial(request.getBody());
+            if (deviceSerial == null) {
+                return HttpResponse.badRequest("{\"error\":\"Device serial is required\"}");
+            }
+            
+            EntitlementToken token = entitlementTokenService.issueToken(apiKey, deviceSerial);
             
             Map<String, Object> response = new HashMap<>();
-            response.put("verified", true);
-            response.put("deviceId", userDevice.getDeviceId());
-            response.put("subscriptionId", userDevice.getSubscriptionId());
-            response.put("active", userDevice.isActive());
+            response.put("token", token.getToken());
+            response.put("tokenId", token.getTokenId());
+            response.put("issuedAt", token.getIssuedAt());
+            response.put("expiresAt", token.getExpiresAt());
+            response.put("refreshAfter", token.getRefreshAfter());
             
-            recordMetrics("POST", "/api/device/verify-subscription", System.currentTimeMillis() - startTime, 200);
+            recordMetrics("POST", path, System.currentTimeMillis() - startTime, 200);
             return HttpResponse.ok(objectMapper.writeValueAsString(response));
         } catch (Exception e) {
-            logger.error("Device verification failed", e);
-            recordMetrics("POST", "/api/device/verify-subscription", System.currentTimeMillis() - startTime, 500);
+            HttpResponse response = errorHandler.handleException(e, path);
+            recordMetrics("POST", path, System.currentTimeMillis() - startTime, response.getStatusCode());
+            return response;
+        }
+    }
+    
+    /**
+     * Entitlement token revocations after {@code since}; poll with the returned cursor
+     */
+    public HttpResponse getEntitlementRevocations(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        String path = "/api/device/entitlement-revocations";
+        try {
+            String since = request.getQueryParam("since");
+            long sinceSequence;
             try {
-                return HttpResponse.internalServerError(objectMapper.writeValueAsString(
-                    new ErrorResponse(500, "VERIFICATION_ERROR", e.getMessage())));
-            } catch (Exception ex) {
-                return HttpResponse.internalServerError("{\"error\":\"Device verification failed\"}");
+                sinceSequence = since != null ? Long.parseLong(since) : 0;
+            } catch (NumberFormatException e) {
+                throw new ValidationException("since", "must be a number");
+            }
+            
+            RevocationList revocations = entitlementTokenService.getRevocations(sinceSequence);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("cursor", revocations.getCursor());
+            response.put("revocations", revocations.getRevocations());
+            
+            recordMetrics("GET", path, System.currentTimeMillis() - startTime, 200);
+            return HttpResponse.ok(objectMapper.writeValueAsString(response));
+        } catch (Exception e) {
+            HttpResponse response = errorHandler.handleException(e, path);
+            recordMetrics("GET", path, System.currentTimeMillis() - startTime, response.getStatusCode());
+            return response;
+        }
+    }
+    
+    public HttpResponse getEntitlementKey(HttpRequest request) {
+        long startTime = System.currentTimeMillis();
+        String path = "/api/device/entitlement-key";
+        try {
+            HttpResponse response = HttpResponse.ok(objectMapper.writeValueAsString(entitlementTokenService.getVerificationKey()));
+            recordMetrics("GET", path, System.currentTimeMillis() - startTime, 200);
+            return response;
+        } catch (Exception e) {
+            HttpResponse response = errorHandler.handleException(e, path);
+            recordMetrics("GET", path, System.currentTimeMillis() - startTime, response.getStatusCode());
+            return response;
+        }
+    }
+    
+    private void writeVerifications(JsonGenerator json, List<SerialVerification> verifications) throws IOException {
+        for (SerialVerification verification : verifications) {
+            json.writeStartObject();
+            json.writeStringField("deviceSerial", verification.getDeviceSerial());
+            json.writeBooleanField("verified", verification.isVerified());
+            if (verification.isVerified()) {
+                EntitlementServicePort.Entitlement entitlement = verification.getEntitlement();
+                json.writeNumberField("deviceId", entitlement.getDeviceId());
+                json.writeNumberField("subscriptionId", entitlement.getSubscriptionId());
+                json.writeNumberField("userSubscriptionId", entitlement.getUserSubscriptionId());
+                json.writeStringField("status", entitlement.getStatus());
+                json.writeStringField("endDate", entitlement.getEndDate() != null ? entitlement.getEndDate().toString() : null);
+                json.writeArrayFieldStart("featureIds");
+                for (Long featureId : entitlement.getFeatureIds()) {
+                    json.writeNumber(featureId);
+                }
+                json.writeEndArray();
+                if (verification.getFeatures() != null) {
+                    json.writeObjectFieldStart("features");
+                    for (Map.Entry<String, Boolean> feature : verification.getFeatures().entrySet()) {
+                        json.writeBooleanField(feature.getKey(), feature.getValue());
+                    }
+                    json.writeEndObject();
+                }
+            } else {
+                json.writeStringField("error", verification.getError());
+                json.writeStringField("message", verification.getMessage());
             }
+            json.writeEndObject();
+        }
+    }
+    
+    private JsonNode readBody(String body) {
+        if (body == null || body.isBlank()) {
+            throw new ValidationException("Request body is required");
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Invalid request body");
+        }
+    }
+    
+    /**
+     * Optional array of strings; entries that are not strings are kept as null
+     */
+    private static List<String> readStrings(JsonNode node, String field, int max) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (!node.isArray()) {
+            throw new ValidationException(field, "must be an array");
+        }
+        if (node.size() > max) {
+            throw new ValidationException(field, "at most " + max + " entries per request");
+        }
+        List<String> values = new ArrayList<>(node.size());
+        for (JsonNode value : node) {
+            values.add(value.isTextual() ? value.asText() : null);
+        }
+        return values;
+    }
+    
+    private String readDeviceSerial(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        JsonNode serial;
+        try {
+            serial = objectMapper.readTree(body).get("deviceSerial");
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Invalid request body");
         }
+        return serial != null && serial.isTextual() && !serial.asText().isEmpty() ? serial.asText() : null;
     }
     
     public HttpResponse deviceHealth(HttpRequest request) {
@@ -2,6 +2,7 @@ package com.subscription.subscriptionservice.infrastructure.adapter.inbound.http
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.domain.exception.ApiException;
+import com.subscription.subscriptionservice.domain.exception.ServiceUnavailableException;
 import com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.dto.ErrorResponse;
 import com.framework.core.http.HttpResponse;
 import org.slf4j.Logger;
@@ -32,10 +33,15 @@ public class ErrorHandler {
                 
                 logger.warn("API Exception: {} - {}", apiException.getErrorCode(), apiException.getMessage());
                 
-                return new HttpResponse(
+                HttpResponse response = new HttpResponse(
                     apiException.getStatusCode(),
                     objectMapper.writeValueAsString(errorResponse)
                 );
+                if (apiException instanceof ServiceUnavailableException) {
+                    response.setHeader("Retry-After",
+                        String.valueOf(((ServiceUnavailableException) apiException).getRetryAfterSeconds()));
+                }
+                return response;
             } else {
                 // Generic exception - don't expose internal details
                 logger.error("Unexpected error: {}", e.getMessage(), e);
@@ -6,6 +6,7 @@ import com.framework.core.http.HttpResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.application.port.inbound.*;
 import com.subscription.subscriptionservice.domain.model.*;
+import com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.dto.DeviceResponse;
 import com.subscription.subscriptionservice.infrastructure.metrics.MetricsCollector;
 import com.subscription.subscriptionservice.infrastructure.util.RoleChecker;
 import org.slf4j.Logger;
@@ -69,7 +70,7 @@ public class MigrationController {
             );
             
             recordMetrics("POST", "/api/admin/migration/devices", System.currentTimeMillis() - startTime, 200);
-            return HttpResponse.ok(objectMapper.writeValueAsString(device));
+            return HttpResponse.ok(objectMapper.writeValueAsString(DeviceResponse.from(device)));
         } catch (Exception e) {
             recordMetrics("POST", "/api/admin/migration/devices", System.currentTimeMillis() - startTime, 500);
             return errorHandler.handleException(e, request.getPath());
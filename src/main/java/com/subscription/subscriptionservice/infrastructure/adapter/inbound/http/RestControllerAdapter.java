@@ -41,6 +41,7 @@ public class RestControllerAdapter {
     private final DeviceVerificationController deviceVerificationController;
     private final AuditLogController auditLogController;
     private final MigrationController migrationController;
+    private final ChangeFeedController changeFeedController;
     
     public RestControllerAdapter(Container container) {
         this.container = container;
@@ -58,6 +59,7 @@ public class RestControllerAdapter {
         this.deviceVerificationController = new DeviceVerificationController(container);
         this.auditLogController = new AuditLogController(container);
         this.migrationController = new MigrationController(container);
+        this.changeFeedController = new ChangeFeedController(container);
     }
     
     public void registerRoutes() {
@@ -106,12 +108,12 @@ public class RestControllerAdapter {
         httpServer.addRoute("GET", "/api/admin/features/active", adminController::getActiveFeatures);
         httpServer.addRoute("POST", "/api/admin/subscriptions/{subscriptionId}/features", adminController::addFeaturesToSubscription);
         httpServer.addRoute("DELETE", "/api/admin/subscriptions/{subscriptionId}/features", adminController::removeFeaturesFromSubscription);
+        httpServer.addRoute("POST", "/api/admin/cache/{region}/invalidate", adminController::invalidateCacheRegion);
         httpServer.addRoute("POST", "/api/admin/subscriptions", adminController::createSubscription);
         httpServer.addRoute("POST", "/api/admin/user-subscriptions/assign", adminController::assignSubscriptionToUser);
         
         // Agent Controller routes
         httpServer.addRoute("POST", "/api/agent/devices", agentController::createDevice);
-        httpServer.addRoute("GET", "/api/agent/devices/{id}/api-key", agentController::getDeviceApiKey);
         httpServer.addRoute("POST", "/api/agent/devices/{id}/regenerate-api-key", agentController::regenerateApiKey);
         httpServer.addRoute("GET", "/api/agent/devices", agentController::getAllDevices);
         httpServer.addRoute("GET", "/api/agent/devices/active", agentController::getActiveDevices);
@@ -134,6 +136,9 @@ public class RestControllerAdapter {
         
         // Billing Controller routes
         httpServer.addRoute("POST", "/api/billing/generate-monthly", billingController::generateMonthlyBills);
+        httpServer.addRoute("GET", "/api/billing/runs", billingController::getBillingRuns);
+        httpServer.addRoute("GET", "/api/billing/runs/{runId}", billingController::getBillingRun);
+        httpServer.addRoute("POST", "/api/billing/runs/{runId}/resume", billingController::resumeBillingRun);
         httpServer.addRoute("POST", "/api/billing/generate/{userSubscriptionId}", billingController::generateBill);
         httpServer.addRoute("GET", "/api/billing/pending", billingController::getPendingBills);
         httpServer.addRoute("GET", "/api/billing/user-subscription/{userSubscriptionId}", billingController::getBillsBySubscription);
@@ -143,6 +148,12 @@ public class RestControllerAdapter {
         
         // Device Verification Controller routes
         httpServer.addRoute("POST", "/api/device/verify-subscription", deviceVerificationController::verifySubscription);
+        httpServer.addRoute("POST", "/api/device/verify-subscriptions", deviceVerificationController::verifySubscriptions);
+        httpServer.addRoute("GET", "/api/device/features/{featureCode}", deviceVerificationController::checkFeature);
+        httpServer.addRoute("POST", "/api/device/features", deviceVerificationController::checkFeatures);
+        httpServer.addRoute("POST", "/api/device/entitlement-token", deviceVerificationController::issueEntitlementToken);
+        httpServer.addRoute("GET", "/api/device/entitlement-revocations", deviceVerificationController::getEntitlementRevocations);
+        httpServer.addRoute("GET", "/api/device/entitlement-key", deviceVerificationController::getEntitlementKey);
         httpServer.addRoute("GET", "/api/device/health", deviceVerificationController::deviceHealth);
         httpServer.addRoute("GET", "/api/device/info", deviceVerificationController::deviceInfo);
         
@@ -166,7 +177,10 @@ public class RestControllerAdapter {
         httpServer.addRoute("POST", "/api/admin/migration/user-devices", migrationController::importUserDevice);
         httpServer.addRoute("POST", "/api/admin/migration/bulk/users", migrationController::bulkImportUsers);
         
-        logger.info("REST routes registered successfully - Total: 75 endpoints");
+        // Change feed (long-poll)
+        httpServer.addRoute("GET", "/api/changes", changeFeedController::getChanges);
+        
+        logger.info("REST routes registered successfully - Total: 82 endpoints");
     }
     
     private HttpResponse healthCheck(HttpRequest request) {
@@ -0,0 +1,55 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.dto;
+
+import com.subscription.subscriptionservice.domain.model.Device;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for device data - never carries the stored API key hash
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private String deviceType;
+    private Boolean active;
+    private Boolean deleted;
+    private LocalDateTime deletedAt;
+    private Long deletedBy;
+    // Plain key, only set in the response that issues it
+    private String apiKey;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static DeviceResponse from(Device device) {
+        DeviceResponse response = new DeviceResponse();
+        response.setId(device.getId());
+        response.setName(device.getName());
+        response.setDescription(device.getDescription());
+        response.setDeviceType(device.getDeviceType());
+        response.setActive(device.getActive());
+        response.setDeleted(device.getDeleted());
+        response.setDeletedAt(device.getDeletedAt());
+        response.setDeletedBy(device.getDeletedBy());
+        response.setApiKey(device.getApiKey());
+        response.setCreatedAt(device.getCreatedAt());
+        response.setUpdatedAt(device.getUpdatedAt());
+        return response;
+    }
+
+    public static List<DeviceResponse> from(List<Device> devices) {
+        List<DeviceResponse> responses = new ArrayList<>(devices.size());
+        for (Device device : devices) {
+            responses.add(from(device));
+        }
+        return responses;
+    }
+}
@@ -16,15 +16,20 @@ public class ErrorResponse {
     private int statusCode;
     private String errorCode;
     private String message;
-    private LocalDateTime timestamp;
+    // ISO-8601 text - the shared ObjectMapper has no java.time support
+    private String timestamp;
     private String path;
     
+    public ErrorResponse(int statusCode, String errorCode, String message) {
+        this(statusCode, errorCode, message, null);
+    }
+    
     public ErrorResponse(int statusCode, String errorCode, String message, String path) {
         this.statusCode = statusCode;
         this.errorCode = errorCode;
         this.message = message;
         this.path = path;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = LocalDateTime.now().toString();
     }
 }
 
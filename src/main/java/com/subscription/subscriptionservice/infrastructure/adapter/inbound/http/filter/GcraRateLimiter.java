@@ -0,0 +1,172 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key rate limiter using the generic cell rate algorithm (a token bucket expressed as one
+ * timestamp). Each key's whole state is its theoretical arrival time in a single AtomicLong,
+ * updated with compare-and-set, so decisions stay exact under contention without locks.
+ * <p>
+ * A key whose arrival time has passed is indistinguishable from a new one, so idle keys are
+ * dropped at no cost to accuracy - swept once per period, and whenever the map is full. Past that,
+ * arbitrary keys are dropped until a tenth of the capacity is free, which only ever makes the
+ * limiter more lenient for those clients.
+ */
+final class GcraRateLimiter {
+
+    private final long limit;
+    private final long periodNanos;
+    private final long emissionIntervalNanos;
+    // How far ahead of now the arrival time may run - the burst capacity
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    GcraRateLimiter(long limit, long periodNanos, long burst, int maxKeys) {
+        this(limit, periodNanos, burst, maxKeys, System::nanoTime);
+    }
+
+    GcraRateLimiter(long limit, long periodNanos, long burst, int maxKeys, LongSupplier clock) {
+        if (limit <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit and burst must be positive");
+        }
+        this.limit = limit;
+        this.periodNanos = periodNanos;
+        this.emissionIntervalNanos = Math.max(1, periodNanos / limit);
+        this.toleranceNanos = emissionIntervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    Decision acquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival == null) {
+            maintain(now);
+            arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long tat = arrival.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long allowAt = newTat - toleranceNanos;
+            if (now < allowAt) {
+                limited.increment();
+                return new Decision(false, limit, 0, Math.max(tat, now) - now, allowAt - now);
+            }
+            if (arrival.compareAndSet(tat, newTat)) {
+                allowed.increment();
+                long remaining = (toleranceNanos - (newTat - now)) / emissionIntervalNanos;
+                return new Decision(true, limit, remaining, newTat - now, 0);
+            }
+        }
+    }
+
+    private void maintain(long now) {
+        long swept = lastSweep.get();
+        if (arrivals.size() >= maxKeys || now - swept >= periodNanos && lastSweep.compareAndSet(swept, now)) {
+            evict(now);
+        }
+    }
+
+    /**
+     * Drops idle keys, then arbitrary ones if the map is still full
+     */
+    private synchronized void evict(long now) {
+        removeIdle(now);
+        int target = maxKeys - Math.max(1, maxKeys / 10);
+        if (arrivals.size() > target) {
+            int excess = arrivals.size() - target;
+            Iterator<AtomicLong> iterator = arrivals.values().iterator();
+            while (excess-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private void removeIdle(long now) {
+        Iterator<Map.Entry<String, AtomicLong>> iterator = arrivals.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, AtomicLong> entry = iterator.next();
+            if (entry.getValue().get() <= now) {
+                arrivals.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    int size() {
+        return arrivals.size();
+    }
+
+    long getAllowed() {
+        return allowed.sum();
+    }
+
+    long getLimited() {
+        return limited.sum();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Outcome of one request, with what the RateLimit headers report
+     */
+    static final class Decision {
+        private final boolean allowed;
+        private final long limit;
+        private final long remaining;
+        private final long resetNanos;
+        private final long retryAfterNanos;
+
+        private Decision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetNanos = resetNanos;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        boolean isAllowed() {
+            return allowed;
+        }
+
+        long getLimit() {
+            return limit;
+        }
+
+        long getRemaining() {
+            return remaining;
+        }
+
+        /**
+         * Until the key's allowance is back to full
+         */
+        long getResetNanos() {
+            return resetNanos;
+        }
+
+        /**
+         * Until a limited key's next request would be allowed
+         */
+        long getRetryAfterNanos() {
+            return retryAfterNanos;
+        }
+    }
+}
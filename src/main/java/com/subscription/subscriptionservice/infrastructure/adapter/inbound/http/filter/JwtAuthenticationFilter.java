@@ -7,6 +7,7 @@ import com.framework.core.http.HttpResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.application.port.outbound.SecurityPort;
 import com.subscription.subscriptionservice.domain.exception.AuthenticationException;
+import com.subscription.subscriptionservice.domain.model.AuthPrincipal;
 import com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.dto.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +15,6 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -41,6 +41,11 @@ public class JwtAuthenticationFilter implements Filter {
             "/api/auth/login/mobile",
             "/api/auth/refresh",
             "/api/device/verify-subscription",
+            "/api/device/verify-subscriptions",
+            "/api/device/features",
+            "/api/device/entitlement-token",
+            "/api/device/entitlement-revocations",
+            "/api/device/entitlement-key",
             "/api/device/health",
             "/api/device/info"
         ));
@@ -66,31 +71,28 @@ public class JwtAuthenticationFilter implements Filter {
         
         String token = authHeader.substring(7);
         
+        AuthPrincipal principal;
         try {
-            // Validate token
-            if (!securityPort.validateToken(token)) {
-                logger.warn("Invalid or expired token for path: {}", path);
-                sendUnauthorizedResponse(response, "Invalid or expired token");
-                return;
-            }
-            
-            // Extract username and roles from token
-            String username = securityPort.getUsernameFromToken(token);
-            List<String> roles = securityPort.getRolesFromToken(token);
-            
-            // Store username and roles in request for use in handlers
-            request.getHeaders().put("X-Username", username);
-            request.getHeaders().put("X-Roles", String.join(",", roles));
-            
-            logger.debug("Authenticated user: {} with roles: {} for path: {}", username, roles, path);
-            
-            // Continue to next filter or handler
-            chain.doFilter(request, response);
-            
+            // Signature, expiry, revocation and claims in a single parse
+            principal = securityPort.parseAndValidate(token);
+        } catch (AuthenticationException e) {
+            logger.warn("Invalid or expired token for path: {}", path);
+            sendUnauthorizedResponse(response, "Invalid or expired token");
+            return;
         } catch (Exception e) {
             logger.error("Error validating token", e);
             sendUnauthorizedResponse(response, "Token validation failed");
+            return;
         }
+        
+        // Store username and roles in request for use in handlers
+        request.getHeaders().put("X-Username", principal.getUsername());
+        request.getHeaders().put("X-Roles", String.join(",", principal.getRoles()));
+        
+        logger.debug("Authenticated user: {} with roles: {} for path: {}", principal.getUsername(), principal.getRoles(), path);
+        
+        // Continue to next filter or handler
+        chain.doFilter(request, response);
     }
     
     private boolean isPublicPath(String path) {
@@ -9,25 +9,50 @@ import com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Rate Limiting Filter
- * Limits requests per IP address
+ * Limits requests per IP address and route group, e.g. tighter on /api/auth/ than elsewhere.
+ * Every response carries the RateLimit-Limit, -Remaining, -Reset and -Policy headers.
  */
 public class RateLimitFilter implements Filter {
     
     private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
     
+    private static final long WINDOW_SECONDS = 60;
+    
     private final ObjectMapper objectMapper;
-    private final int maxRequestsPerMinute;
-    private final Map<String, RateLimitInfo> rateLimitMap = new ConcurrentHashMap<>();
+    private final List<Group> groups = new ArrayList<>();
+    private final Group defaultGroup;
     
-    public RateLimitFilter(ObjectMapper objectMapper, int maxRequestsPerMinute) {
+    /**
+     * @param routeGroups checked in order, the first with a matching path prefix applies; the
+     *                    first group without prefixes covers every other path and is required
+     * @param maxKeys     clients tracked per group before idle and then arbitrary ones are dropped
+     */
+    public RateLimitFilter(ObjectMapper objectMapper, List<RouteGroup> routeGroups, int maxKeys) {
         this.objectMapper = objectMapper;
-        this.maxRequestsPerMinute = maxRequestsPerMinute;
+        Group fallback = null;
+        for (RouteGroup routeGroup : routeGroups) {
+            Group group = new Group(routeGroup, new GcraRateLimiter(routeGroup.getRequestsPerMinute(),
+                TimeUnit.SECONDS.toNanos(WINDOW_SECONDS), routeGroup.getBurst(), maxKeys));
+            if (routeGroup.getPathPrefixes().isEmpty()) {
+                if (fallback == null) {
+                    fallback = group;
+                }
+            } else {
+                groups.add(group);
+            }
+        }
+        if (fallback == null) {
+            throw new IllegalArgumentException("A rate limit group without path prefixes is required");
+        }
+        this.defaultGroup = fallback;
     }
     
     @Override
@@ -41,29 +66,40 @@ public class RateLimitFilter implements Filter {
             return;
         }
         
-        RateLimitInfo info = rateLimitMap.computeIfAbsent(clientIp, k -> new RateLimitInfo());
+        Group group = groupFor(path);
+        GcraRateLimiter.Decision decision = group.limiter.acquire(clientIp);
         
-        long currentTime = System.currentTimeMillis();
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.getLimit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.getResetNanos())));
+        response.setHeader("RateLimit-Policy", decision.getLimit() + ";w=" + WINDOW_SECONDS);
         
-        // Reset counter if minute has passed
-        if (currentTime - info.getWindowStart() > 60000) {
-            info.reset(currentTime);
-        }
-        
-        // Check if limit exceeded
-        if (info.getCount().get() >= maxRequestsPerMinute) {
-            logger.warn("Rate limit exceeded for IP: {}, path: {}", clientIp, path);
-            sendRateLimitResponse(response);
+        if (!decision.isAllowed()) {
+            logger.warn("Rate limit exceeded for IP: {}, path: {}, group: {}", clientIp, path, group.routeGroup.getName());
+            sendRateLimitResponse(response, toSeconds(decision.getRetryAfterNanos()));
             return;
         }
         
-        // Increment counter
-        info.getCount().incrementAndGet();
-        
         // Continue to next filter
         chain.doFilter(request, response);
     }
     
+    private Group groupFor(String path) {
+        for (Group group : groups) {
+            for (String prefix : group.routeGroup.getPathPrefixes()) {
+                if (path.startsWith(prefix)) {
+                    return group;
+                }
+            }
+        }
+        return defaultGroup;
+    }
+    
+    // Whole seconds, rounded up so a client waiting that long is never turned away again
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+    
     private String getClientIp(HttpRequest request) {
         // Try X-Forwarded-For header first (for proxies)
         String forwardedFor = request.getHeader("X-Forwarded-For");
@@ -82,11 +118,11 @@ public class RateLimitFilter implements Filter {
         return remoteAddr != null ? remoteAddr : "unknown";
     }
     
-    private void sendRateLimitResponse(HttpResponse response) {
+    private void sendRateLimitResponse(HttpResponse response, long retryAfterSeconds) {
         try {
             response.setStatusCode(429);
             response.setHeader("Content-Type", "application/json");
-            response.setHeader("Retry-After", "60");
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, retryAfterSeconds)));
             
             ErrorResponse errorResponse = new ErrorResponse(
                 429,
@@ -103,27 +139,66 @@ public class RateLimitFilter implements Filter {
         }
     }
     
-    private static class RateLimitInfo {
-        private long windowStart;
-        private final AtomicInteger count;
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        List<Group> all = new ArrayList<>(groups);
+        all.add(defaultGroup);
+        for (Group group : all) {
+            Map<String, Object> groupStats = new LinkedHashMap<>();
+            groupStats.put("requestsPerMinute", group.routeGroup.getRequestsPerMinute());
+            groupStats.put("burst", group.routeGroup.getBurst());
+            groupStats.put("clients", group.limiter.size());
+            groupStats.put("allowed", group.limiter.getAllowed());
+            groupStats.put("limited", group.limiter.getLimited());
+            groupStats.put("evictions", group.limiter.getEvictions());
+            stats.put(group.routeGroup.getName(), groupStats);
+        }
+        return stats;
+    }
+    
+    private static class Group {
+        private final RouteGroup routeGroup;
+        private final GcraRateLimiter limiter;
+        
+        Group(RouteGroup routeGroup, GcraRateLimiter limiter) {
+            this.routeGroup = routeGroup;
+            this.limiter = limiter;
+        }
+    }
+    
+    /**
+     * Limit shared by the routes under a set of path prefixes
+     */
+    public static final class RouteGroup {
+        private final String name;
+        private final List<String> pathPrefixes;
+        private final int requestsPerMinute;
+        private final int burst;
         
-        public RateLimitInfo() {
-            this.windowStart = System.currentTimeMillis();
-            this.count = new AtomicInteger(0);
+        /**
+         * @param burst requests a client may make at once before being held to the steady rate
+         */
+        public RouteGroup(String name, List<String> pathPrefixes, int requestsPerMinute, int burst) {
+            this.name = name;
+            this.pathPrefixes = List.copyOf(pathPrefixes);
+            this.requestsPerMinute = requestsPerMinute;
+            this.burst = burst;
         }
         
-        public void reset(long newWindowStart) {
-            this.windowStart = newWindowStart;
-            this.count.set(0);
+        public String getName() {
+            return name;
         }
         
-        public long getWindowStart() {
-            return windowStart;
+        public List<String> getPathPrefixes() {
+            return pathPrefixes;
         }
         
-        public AtomicInteger getCount() {
-            return count;
+        public int getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+        
+        public int getBurst() {
+            return burst;
         }
     }
 }
-
@@ -0,0 +1,140 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.scheduler;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Five-field cron expression: minute hour day-of-month month day-of-week.
+ * Supports {@code *}, {@code ?}, lists, ranges and steps ({@code 0 2 * * *}, {@code *}{@code /15 * * * 1-5}).
+ * Day-of-week is 0-7 with both 0 and 7 meaning Sunday. As in classic cron, when both
+ * day fields are restricted a day matches if either one does.
+ */
+public class CronExpression {
+
+    // Give up after this many years without a match (e.g. "0 0 31 2 *")
+    private static final int MAX_YEARS_AHEAD = 5;
+
+    private final String expression;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean dayOfMonthRestricted;
+    private final boolean dayOfWeekRestricted;
+
+    public CronExpression(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Cron expression is required");
+        }
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression must have 5 fields: " + expression);
+        }
+        this.expression = expression.trim();
+        this.minutes = parseField(fields[0], 0, 59);
+        this.hours = parseField(fields[1], 0, 23);
+        this.daysOfMonth = parseField(fields[2], 1, 31);
+        this.months = parseField(fields[3], 1, 12);
+        this.daysOfWeek = parseField(fields[4], 0, 7);
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+        }
+        this.dayOfMonthRestricted = !isWildcard(fields[2]);
+        this.dayOfWeekRestricted = !isWildcard(fields[4]);
+    }
+
+    /**
+     * First matching minute strictly after {@code after}
+     */
+    public LocalDateTime next(LocalDateTime after) {
+        LocalDateTime time = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDateTime limit = time.plusYears(MAX_YEARS_AHEAD);
+        while (time.isBefore(limit)) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+                continue;
+            }
+            if (!dayMatches(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+                continue;
+            }
+            if (!hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                continue;
+            }
+            if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1);
+                continue;
+            }
+            return time;
+        }
+        throw new IllegalStateException("Cron expression never fires: " + expression);
+    }
+
+    private boolean dayMatches(LocalDateTime time) {
+        boolean domMatch = daysOfMonth.get(time.getDayOfMonth());
+        // DayOfWeek is 1 (Monday) - 7 (Sunday); cron uses 0 for Sunday
+        boolean dowMatch = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+        if (dayOfMonthRestricted && dayOfWeekRestricted) {
+            return domMatch || dowMatch;
+        }
+        return domMatch && dowMatch;
+    }
+
+    private static boolean isWildcard(String field) {
+        return "*".equals(field) || "?".equals(field);
+    }
+
+    private static BitSet parseField(String field, int min, int max) {
+        BitSet bits = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseNumber(part.substring(slash + 1), 1, max, part);
+                range = part.substring(0, slash);
+            }
+            int start;
+            int end;
+            if (isWildcard(range)) {
+                start = min;
+                end = max;
+            } else if (range.contains("-")) {
+                String[] bounds = range.split("-", 2);
+                start = parseNumber(bounds[0], min, max, part);
+                end = parseNumber(bounds[1], min, max, part);
+                if (start > end) {
+                    throw new IllegalArgumentException("Invalid cron range: " + part);
+                }
+            } else {
+                start = parseNumber(range, min, max, part);
+                // "5/15" means every 15 starting at 5
+                end = slash >= 0 ? max : start;
+            }
+            for (int value = start; value <= end; value += step) {
+                bits.set(value);
+            }
+        }
+        return bits;
+    }
+
+    private static int parseNumber(String value, int min, int max, String part) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number < min || number > max) {
+                throw new IllegalArgumentException("Cron value out of range " + min + "-" + max + ": " + part);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cron field: " + part, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,127 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.scheduler;
+
+import com.subscription.subscriptionservice.application.service.LeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process cron scheduler. Exclusive jobs take a per-slot lease in job_leases before
+ * running, so each firing runs on exactly one node; non-exclusive jobs run on every node.
+ * A job is rescheduled only after it finishes, so it never overlaps itself.
+ */
+public class JobScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobScheduler.class);
+
+    private static final String LEASE_PREFIX = "job:";
+
+    private final LeaseManager leaseManager;
+    private final ScheduledExecutorService executor;
+    private final List<ScheduledJob> jobs = new ArrayList<>();
+    private volatile boolean running;
+
+    public JobScheduler(LeaseManager leaseManager, int threads) {
+        this.leaseManager = leaseManager;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void register(String name, CronExpression cron, boolean exclusive, Duration leaseTtl, Runnable task) {
+        if (running) {
+            throw new IllegalStateException("Scheduler already started");
+        }
+        jobs.add(new ScheduledJob(name, cron, exclusive, leaseTtl, task));
+        logger.info("Scheduled job registered: {} cron='{}' exclusive={}", name, cron, exclusive);
+    }
+
+    public void start() {
+        running = true;
+        for (ScheduledJob job : jobs) {
+            scheduleNext(job);
+        }
+        logger.info("Job scheduler started on node {} with {} jobs", leaseManager.getNodeId(), jobs.size());
+    }
+
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+        logger.info("Job scheduler stopped");
+    }
+
+    private void scheduleNext(ScheduledJob job) {
+        if (!running) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime slot = job.cron.next(now);
+        long delayMillis = Math.max(0, Duration.between(now, slot).toMillis());
+        executor.schedule(() -> fire(job, slot), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire(ScheduledJob job, LocalDateTime slot) {
+        try {
+            if (!job.exclusive) {
+                run(job, slot);
+                return;
+            }
+            Optional<LeaseManager.Lease> lease = leaseManager.tryAcquire(LEASE_PREFIX + job.name, job.leaseTtl, slot);
+            if (lease.isEmpty()) {
+                logger.debug("Job {} slot {} owned by another node, skipping", job.name, slot);
+                return;
+            }
+            lease.get().keepAlive();
+            try {
+                run(job, slot);
+            } finally {
+                lease.get().release();
+                // Clear an interrupt raised by a lost lease before the thread is reused
+                Thread.interrupted();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Job {} could not be started for slot {}: {}", job.name, slot, e.getMessage(), e);
+        } finally {
+            scheduleNext(job);
+        }
+    }
+
+    private void run(ScheduledJob job, LocalDateTime slot) {
+        long startTime = System.currentTimeMillis();
+        logger.info("Job {} started (slot {})", job.name, slot);
+        try {
+            job.task.run();
+            logger.info("Job {} finished in {} ms", job.name, System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            logger.error("Job {} failed after {} ms: {}", job.name, System.currentTimeMillis() - startTime, e.getMessage(), e);
+        }
+    }
+
+    private static class ScheduledJob {
+        private final String name;
+        private final CronExpression cron;
+        private final boolean exclusive;
+        private final Duration leaseTtl;
+        private final Runnable task;
+
+        ScheduledJob(String name, CronExpression cron, boolean exclusive, Duration leaseTtl, Runnable task) {
+            this.name = name;
+            this.cron = cron;
+            this.exclusive = exclusive;
+            this.leaseTtl = leaseTtl;
+            this.task = task;
+        }
+    }
+}
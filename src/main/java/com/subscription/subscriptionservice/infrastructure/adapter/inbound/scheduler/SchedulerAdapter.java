@@ -0,0 +1,100 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.scheduler;
+
+import com.framework.core.di.Container;
+import com.subscription.subscriptionservice.application.port.inbound.AuditLogServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.BillingServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort;
+import com.subscription.subscriptionservice.application.port.outbound.SecurityPort;
+import com.subscription.subscriptionservice.application.service.LeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Scheduler adapter - registers the scheduled jobs configured under {@code scheduler.jobs}
+ * in application.yml and drives the application services on their cron schedules
+ */
+public class SchedulerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerAdapter.class);
+
+    private static final long DEFAULT_LEASE_SECONDS = 300;
+    private static final int DEFAULT_AUDIT_RETENTION_DAYS = 365;
+    private static final int DEFAULT_CHANGE_FEED_RETENTION_DAYS = 7;
+
+    private final Container container;
+    private final Map<String, Object> schedulerConfig;
+    private JobScheduler jobScheduler;
+
+    public SchedulerAdapter(Container container, Map<String, Object> schedulerConfig) {
+        this.container = container;
+        this.schedulerConfig = schedulerConfig;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void start() {
+        int threads = schedulerConfig.get("threads") != null ?
+            ((Number) schedulerConfig.get("threads")).intValue() : 2;
+        jobScheduler = new JobScheduler(container.getBean(LeaseManager.class), threads);
+
+        Map<String, Object> jobs = (Map<String, Object>) schedulerConfig.get("jobs");
+        if (jobs != null) {
+            for (Map.Entry<String, Object> entry : jobs.entrySet()) {
+                registerJob(entry.getKey(), (Map<String, Object>) entry.getValue());
+            }
+        }
+        jobScheduler.start();
+    }
+
+    public void stop() {
+        if (jobScheduler != null) {
+            jobScheduler.stop();
+        }
+    }
+
+    private void registerJob(String name, Map<String, Object> jobConfig) {
+        Boolean enabled = (Boolean) jobConfig.get("enabled");
+        if (enabled != null && !enabled) {
+            logger.info("Skipping disabled job: {}", name);
+            return;
+        }
+        Runnable task = createTask(name, jobConfig);
+        if (task == null) {
+            logger.warn("Unknown scheduled job '{}', skipping", name);
+            return;
+        }
+        CronExpression cron = new CronExpression((String) jobConfig.get("cron"));
+        boolean exclusive = jobConfig.get("exclusive") == null || (Boolean) jobConfig.get("exclusive");
+        long leaseSeconds = jobConfig.get("leaseSeconds") != null ?
+            ((Number) jobConfig.get("leaseSeconds")).longValue() : DEFAULT_LEASE_SECONDS;
+        jobScheduler.register(name, cron, exclusive, Duration.ofSeconds(leaseSeconds), task);
+    }
+
+    private Runnable createTask(String name, Map<String, Object> jobConfig) {
+        switch (name) {
+            case "monthlyBilling":
+                return () -> container.getBean(BillingServicePort.class).generateMonthlyBills();
+            case "overdueMarking":
+                return () -> container.getBean(BillingServicePort.class).markOverdueBills();
+            case "invoiceEmails":
+                return () -> container.getBean(BillingServicePort.class).sendPendingInvoiceEmails();
+            case "tokenBlacklistCleanup":
+                return () -> container.getBean(SecurityPort.class).removeExpiredTokens();
+            case "entitlementTokenCleanup":
+                return () -> container.getBean(EntitlementTokenServicePort.class).removeExpired();
+            case "auditRetention":
+                int retentionDays = jobConfig.get("retentionDays") != null ?
+                    ((Number) jobConfig.get("retentionDays")).intValue() : DEFAULT_AUDIT_RETENTION_DAYS;
+                return () -> container.getBean(AuditLogServicePort.class).purgeOlderThan(retentionDays);
+            case "changeFeedRetention":
+                int changeRetentionDays = jobConfig.get("retentionDays") != null ?
+                    ((Number) jobConfig.get("retentionDays")).intValue() : DEFAULT_CHANGE_FEED_RETENTION_DAYS;
+                return () -> container.getBean(ChangeFeedServicePort.class).purgeOlderThan(changeRetentionDays);
+            default:
+                return null;
+        }
+    }
+}
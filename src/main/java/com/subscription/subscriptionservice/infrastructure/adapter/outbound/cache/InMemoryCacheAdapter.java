@@ -0,0 +1,337 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache;
+
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process implementation of CachePort for single-node deployments and tests, and the fallback
+ * when Redis is disabled or unreachable. Entries live in a concurrent map with per-entry expiry
+ * and the total weight (characters of keys and string values, bytes of binary values) is bounded.
+ * <p>
+ * Admission and eviction follow TinyLFU: reads and writes are counted in a frequency sketch, and
+ * when the cache is full a new key is only admitted if it is used more often than the victim -
+ * the least frequent of a few entries sampled by a clock hand. One-off keys therefore cannot flush
+ * out the hot set. A background sweeper removes expired entries.
+ */
+public class InMemoryCacheAdapter implements CachePort, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryCacheAdapter.class);
+
+    private static final int SAMPLE_SIZE = 8;
+    // Average entry weight assumed when sizing the frequency sketch
+    private static final int EXPECTED_ENTRY_WEIGHT = 256;
+
+    private final long maxWeight;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final FrequencySketch sketch;
+    private final ScheduledExecutorService sweeper;
+
+    // Guards the clock hand and victim selection
+    private final Object evictionLock = new Object();
+    private Iterator<Map.Entry<String, Entry>> clockHand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public InMemoryCacheAdapter(long maxWeight, long sweepIntervalSeconds) {
+        this.maxWeight = maxWeight;
+        this.sketch = new FrequencySketch((int) Math.min(1 << 22, Math.max(1024, maxWeight / EXPECTED_ENTRY_WEIGHT)));
+        if (sweepIntervalSeconds > 0) {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "cache-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweeper.scheduleWithFixedDelay(this::removeExpired, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.sweeper = null;
+        }
+        logger.info("In-memory cache adapter initialized: maxWeight={}, sweepIntervalSeconds={}", maxWeight, sweepIntervalSeconds);
+    }
+
+    @Override
+    public String get(String key) {
+        Object value = lookup(key);
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Binary values are stored and returned as is, so callers must not modify them
+     */
+    @Override
+    public byte[] getBytes(String key) {
+        Object value = lookup(key);
+        return value instanceof byte[] ? (byte[]) value : null;
+    }
+
+    private Object lookup(String key) {
+        sketch.increment(key);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (remove(key, entry)) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    @Override
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> found = new HashMap<>();
+        for (String key : keys) {
+            String value = get(key);
+            if (value != null) {
+                found.put(key, value);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void put(String key, String value) {
+        put(key, value, 0);
+    }
+
+    @Override
+    public void putAll(Map<String, String> values, long expirationSeconds) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue(), expirationSeconds);
+        }
+    }
+
+    @Override
+    public void put(String key, String value, long expirationSeconds) {
+        store(key, value, value.length(), expirationSeconds);
+    }
+
+    @Override
+    public void putBytes(String key, byte[] value, long expirationSeconds) {
+        store(key, value, value.length, expirationSeconds);
+    }
+
+    @Override
+    public void putAllBytes(Map<String, byte[]> values, long expirationSeconds) {
+        for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+            putBytes(entry.getKey(), entry.getValue(), expirationSeconds);
+        }
+    }
+
+    private void store(String key, Object value, int valueWeight, long expirationSeconds) {
+        sketch.increment(key);
+        int entryWeight = key.length() + valueWeight;
+        if (entryWeight > maxWeight || (!entries.containsKey(key) && !makeRoom(key, entryWeight))) {
+            // The stale value must not outlive a rejected write
+            delete(key);
+            rejections.increment();
+            return;
+        }
+        long expiresAt = expirationSeconds > 0 ? System.currentTimeMillis() + expirationSeconds * 1000 : 0;
+        Entry previous = entries.put(key, new Entry(value, entryWeight, expiresAt));
+        weight.addAndGet(entryWeight - (previous != null ? previous.weight : 0));
+        if (weight.get() > maxWeight) {
+            // Concurrent writers admitted at once - shed the overflow without admission checks
+            synchronized (evictionLock) {
+                while (weight.get() > maxWeight && evictOne(null, Integer.MAX_VALUE)) {
+                    // keep evicting
+                }
+            }
+        }
+    }
+
+    /**
+     * Evict until the candidate fits, or reject it when a sampled victim is used at least as often
+     */
+    private boolean makeRoom(String candidate, int candidateWeight) {
+        if (weight.get() + candidateWeight <= maxWeight) {
+            return true;
+        }
+        int candidateFrequency = sketch.frequency(candidate);
+        synchronized (evictionLock) {
+            while (weight.get() + candidateWeight > maxWeight) {
+                if (!evictOne(candidate, candidateFrequency)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Sample entries from the clock hand and evict the least frequent, unless it is used at least
+     * as often as the candidate. Expired entries are always evicted.
+     */
+    private boolean evictOne(String candidate, int candidateFrequency) {
+        long now = System.currentTimeMillis();
+        String victimKey = null;
+        Entry victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SAMPLE_SIZE && !entries.isEmpty(); i++) {
+            if (clockHand == null || !clockHand.hasNext()) {
+                clockHand = entries.entrySet().iterator();
+                if (!clockHand.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<String, Entry> sampled = clockHand.next();
+            if (sampled.getKey().equals(candidate)) {
+                continue;
+            }
+            if (sampled.getValue().isExpired(now)) {
+                if (remove(sampled.getKey(), sampled.getValue())) {
+                    expirations.increment();
+                }
+                return true;
+            }
+            int frequency = sketch.frequency(sampled.getKey());
+            if (frequency < victimFrequency) {
+                victimKey = sampled.getKey();
+                victim = sampled.getValue();
+                victimFrequency = frequency;
+            }
+        }
+        if (victim == null || victimFrequency >= candidateFrequency) {
+            return false;
+        }
+        if (remove(victimKey, victim)) {
+            evictions.increment();
+        }
+        return true;
+    }
+
+    private boolean remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void delete(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            weight.addAndGet(-previous.weight);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        for (String key : keys) {
+            delete(key);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && !entry.isExpired(System.currentTimeMillis());
+    }
+
+    @Override
+    public void expire(String key, long expirationSeconds) {
+        long expiresAt = System.currentTimeMillis() + expirationSeconds * 1000;
+        entries.computeIfPresent(key, (k, entry) -> new Entry(entry.value, entry.weight, expiresAt));
+    }
+
+    @Override
+    public long increment(String key) {
+        long now = System.currentTimeMillis();
+        Entry updated = entries.compute(key, (k, previous) -> {
+            boolean live = previous != null && !previous.isExpired(now) && previous.value instanceof String;
+            String value = Long.toString(live ? Long.parseLong((String) previous.value) + 1 : 1);
+            Entry entry = new Entry(value, k.length() + value.length(), live ? previous.expiresAt : 0);
+            weight.addAndGet(entry.weight - (previous != null ? previous.weight : 0));
+            return entry;
+        });
+        return Long.parseLong((String) updated.value);
+    }
+
+    @Override
+    public void deleteByPrefix(String prefix) {
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            remove(entry.getKey(), entry.getValue());
+        }
+        logger.info("Cleared in-memory cache");
+    }
+
+    void removeExpired() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().isExpired(now) && remove(entry.getKey(), entry.getValue())) {
+                expirations.increment();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("weight", weight.get());
+        stats.put("maxWeight", maxWeight);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("rejections", rejections.sum());
+        return stats;
+    }
+
+    /**
+     * Stop the expiry sweeper
+     */
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private static final class Entry {
+        // String or byte[]
+        private final Object value;
+        private final int weight;
+        private final long expiresAt;
+
+        private Entry(Object value, int weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt > 0 && expiresAt <= now;
+        }
+    }
+}
@@ -6,18 +6,38 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Redis implementation of CachePort
  */
-public class RedisCacheAdapter implements CachePort {
+public class RedisCacheAdapter implements CachePort, AutoCloseable {
     
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheAdapter.class);
     
+    private static final int SCAN_BATCH_SIZE = 500;
+    
     private final JedisPool jedisPool;
     private final String keyPrefix;
+    private final ExecutorService cleanupExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "cache-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     public RedisCacheAdapter(String host, int port, String password, String keyPrefix, int maxConnections) {
         this.keyPrefix = keyPrefix != null ? keyPrefix : "subscription:";
@@ -26,8 +46,7 @@ public class RedisCacheAdapter implements CachePort {
         poolConfig.setMaxTotal(maxConnections);
         poolConfig.setMaxIdle(10);
         poolConfig.setMinIdle(2);
-        poolConfig.setTestOnBorrow(true);
-        poolConfig.setTestOnReturn(true);
+        // Idle connections are validated by the evictor instead of pinging on every borrow and return
         poolConfig.setTestWhileIdle(true);
         poolConfig.setMinEvictableIdleTimeMillis(Duration.ofSeconds(60).toMillis());
         poolConfig.setTimeBetweenEvictionRunsMillis(Duration.ofSeconds(30).toMillis());
@@ -45,6 +64,10 @@ public class RedisCacheAdapter implements CachePort {
         return keyPrefix + key;
     }
     
+    private byte[] buildBinaryKey(String key) {
+        return buildKey(key).getBytes(StandardCharsets.UTF_8);
+    }
+    
     @Override
     public String get(String key) {
         String fullKey = buildKey(key);
@@ -84,6 +107,103 @@ public class RedisCacheAdapter implements CachePort {
         }
     }
     
+    @Override
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> found = new HashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        String[] fullKeys = new String[keyList.size()];
+        for (int i = 0; i < fullKeys.length; i++) {
+            fullKeys[i] = buildKey(keyList.get(i));
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            List<String> values = jedis.mget(fullKeys);
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    found.put(keyList.get(i), values.get(i));
+                }
+            }
+            logger.debug("Cache multi-get: keys={}, hits={}", keyList.size(), found.size());
+        } catch (Exception e) {
+            logger.error("Error getting values from cache: keys={}", keyList.size(), e);
+            // Fail gracefully - report every key as missing
+        }
+        return found;
+    }
+    
+    @Override
+    public void putAll(Map<String, String> values, long expirationSeconds) {
+        if (values.isEmpty()) {
+            return;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (expirationSeconds > 0) {
+                    pipeline.setex(buildKey(entry.getKey()), expirationSeconds, entry.getValue());
+                } else {
+                    pipeline.set(buildKey(entry.getKey()), entry.getValue());
+                }
+            }
+            pipeline.sync();
+            logger.debug("Cached values: keys={}, expiration={}s", values.size(), expirationSeconds);
+        } catch (Exception e) {
+            logger.error("Error putting values in cache: keys={}", values.size(), e);
+            // Fail gracefully
+        }
+    }
+    
+    @Override
+    public byte[] getBytes(String key) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            byte[] value = jedis.get(buildBinaryKey(key));
+            logger.debug("Cache {}: key={}", value != null ? "hit" : "miss", key);
+            return value;
+        } catch (Exception e) {
+            logger.error("Error getting value from cache: key={}", key, e);
+            return null; // Fail gracefully - return null on error
+        }
+    }
+    
+    @Override
+    public void putBytes(String key, byte[] value, long expirationSeconds) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            if (expirationSeconds > 0) {
+                jedis.setex(buildBinaryKey(key), expirationSeconds, value);
+            } else {
+                jedis.set(buildBinaryKey(key), value);
+            }
+            logger.debug("Cached value: key={}, bytes={}, expiration={}s", key, value.length, expirationSeconds);
+        } catch (Exception e) {
+            logger.error("Error putting value in cache: key={}", key, e);
+            // Fail gracefully
+        }
+    }
+    
+    @Override
+    public void putAllBytes(Map<String, byte[]> values, long expirationSeconds) {
+        if (values.isEmpty()) {
+            return;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+                if (expirationSeconds > 0) {
+                    pipeline.setex(buildBinaryKey(entry.getKey()), expirationSeconds, entry.getValue());
+                } else {
+                    pipeline.set(buildBinaryKey(entry.getKey()), entry.getValue());
+                }
+            }
+            pipeline.sync();
+            logger.debug("Cached values: keys={}, expiration={}s", values.size(), expirationSeconds);
+        } catch (Exception e) {
+            logger.error("Error putting values in cache: keys={}", values.size(), e);
+            // Fail gracefully
+        }
+    }
+    
     @Override
     public void delete(String key) {
         String fullKey = buildKey(key);
@@ -96,6 +216,21 @@ public class RedisCacheAdapter implements CachePort {
         }
     }
     
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        String[] fullKeys = keys.stream().map(this::buildKey).toArray(String[]::new);
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.del(fullKeys);
+            logger.debug("Deleted from cache: keys={}", fullKeys.length);
+        } catch (Exception e) {
+            logger.error("Error deleting values from cache: keys={}", fullKeys.length, e);
+            // Fail gracefully
+        }
+    }
+    
     @Override
     public boolean exists(String key) {
         String fullKey = buildKey(key);
@@ -119,26 +254,97 @@ public class RedisCacheAdapter implements CachePort {
         }
     }
     
+    @Override
+    public long increment(String key) {
+        // Not swallowed like the other errors - a lost increment is a lost invalidation
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.incr(buildKey(key));
+        }
+    }
+    
+    @Override
+    public void deleteByPrefix(String prefix) {
+        try {
+            cleanupExecutor.execute(() -> {
+                long deleted = scanAndUnlink(escapePattern(buildKey(prefix)) + "*");
+                logger.debug("Removed cache keys in the background: prefix={}, keys={}", prefix, deleted);
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cache cleanup skipped, adapter closed: prefix={}", prefix);
+        }
+    }
+    
     @Override
     public void clear() {
+        long deleted = scanAndUnlink(escapePattern(keyPrefix) + "*");
+        logger.info("Cleared cache: {} keys deleted", deleted);
+    }
+    
+    /**
+     * Delete the matching keys batch by batch. SCAN and UNLINK each do a bounded amount of work, so
+     * unlike KEYS and one large DEL they never hold up other clients for long.
+     */
+    private long scanAndUnlink(String pattern) {
+        long deleted = 0;
+        ScanParams params = new ScanParams().match(pattern).count(SCAN_BATCH_SIZE);
+        String cursor = ScanParams.SCAN_POINTER_START;
         try (Jedis jedis = jedisPool.getResource()) {
-            // Delete all keys with prefix
-            String pattern = keyPrefix + "*";
-            var keys = jedis.keys(pattern);
-            if (!keys.isEmpty()) {
-                jedis.del(keys.toArray(new String[0]));
-                logger.info("Cleared cache: {} keys deleted", keys.size());
-            }
+            do {
+                ScanResult<String> batch = jedis.scan(cursor, params);
+                if (!batch.getResult().isEmpty()) {
+                    deleted += jedis.unlink(batch.getResult().toArray(new String[0]));
+                }
+                cursor = batch.getCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        } catch (Exception e) {
+            logger.error("Error deleting cache keys: pattern={}", pattern, e);
+            // Fail gracefully - keys left behind still expire
+        }
+        return deleted;
+    }
+    
+    private static String escapePattern(String literal) {
+        return literal.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+    
+    @Override
+    public boolean isAvailable() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return "PONG".equals(jedis.ping());
         } catch (Exception e) {
-            logger.error("Error clearing cache", e);
+            logger.warn("Redis is not reachable: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Publish a message on a channel under the key prefix
+     */
+    public void publish(String channel, String message) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.publish(buildKey(channel), message);
+        } catch (Exception e) {
+            logger.error("Error publishing to channel: channel={}", channel, e);
             // Fail gracefully
         }
     }
     
     /**
-     * Close the connection pool
+     * Subscribe to a channel under the key prefix. Blocks until the subscriber unsubscribes or the
+     * connection fails, which is thrown to the caller.
      */
+    public void subscribe(JedisPubSub subscriber, String channel) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.subscribe(subscriber, buildKey(channel));
+        }
+    }
+    
+    /**
+     * Stop background cleanup and close the connection pool
+     */
+    @Override
     public void close() {
+        cleanupExecutor.shutdownNow();
         if (jedisPool != null && !jedisPool.isClosed()) {
             jedisPool.close();
             logger.info("Redis connection pool closed");
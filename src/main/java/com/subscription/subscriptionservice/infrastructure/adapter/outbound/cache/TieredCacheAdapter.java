@@ -0,0 +1,401 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache;
+
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPubSub;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-tier implementation of CachePort: a size-bounded, TTL-aware on-heap L1 in front of Redis (L2).
+ * Reads are served from L1 when present; a miss reads Redis and fills L1. Binary values are held in L1
+ * as the same byte arrays that are returned, so callers must not modify them. Writes go to Redis and drop
+ * the local copy, and are published on a Redis channel so every other instance drops its copy too.
+ * L1 entries also expire after a short TTL, which bounds staleness if an invalidation is missed.
+ */
+public class TieredCacheAdapter implements CachePort, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCacheAdapter.class);
+
+    private static final int DEFAULT_L1_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_L1_TTL_SECONDS = 30;
+    static final String INVALIDATION_CHANNEL = "l1-invalidate";
+    private static final String ALL_KEYS = "*";
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    private final RedisCacheAdapter redis;
+    private final LocalTier l1;
+    private final long l1TtlMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+    private final LongAdder invalidationsPublished = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+
+    private final InvalidationSubscriber subscriber = new InvalidationSubscriber();
+    private volatile boolean running = true;
+
+    public TieredCacheAdapter(String host, int port, String password, String keyPrefix, int maxConnections) {
+        this(host, port, password, keyPrefix, maxConnections, DEFAULT_L1_MAX_ENTRIES, DEFAULT_L1_TTL_SECONDS);
+    }
+
+    public TieredCacheAdapter(String host, int port, String password, String keyPrefix, int maxConnections,
+                              int l1MaxEntries, long l1TtlSeconds) {
+        this(new RedisCacheAdapter(host, port, password, keyPrefix, maxConnections), l1MaxEntries, l1TtlSeconds);
+        Thread thread = new Thread(this::listen, "cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    TieredCacheAdapter(RedisCacheAdapter redis, int l1MaxEntries, long l1TtlSeconds) {
+        this.redis = redis;
+        this.l1 = new LocalTier(l1MaxEntries);
+        this.l1TtlMillis = l1TtlSeconds * 1000;
+        logger.info("Tiered cache adapter initialized: l1MaxEntries={}, l1TtlSeconds={}", l1MaxEntries, l1TtlSeconds);
+    }
+
+    @Override
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+        Object cached = l1.get(key, now);
+        if (cached instanceof String) {
+            l1Hits.increment();
+            return (String) cached;
+        }
+        l1Misses.increment();
+
+        // An invalidation while Redis is read means the value may already be stale - don't keep it
+        long version = l1.version();
+        String value = redis.get(key);
+        if (value == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.putIfUnchanged(key, value, now + l1TtlMillis, version);
+        return value;
+    }
+
+    @Override
+    public byte[] getBytes(String key) {
+        long now = System.currentTimeMillis();
+        Object cached = l1.get(key, now);
+        if (cached instanceof byte[]) {
+            l1Hits.increment();
+            return (byte[]) cached;
+        }
+        l1Misses.increment();
+
+        long version = l1.version();
+        byte[] value = redis.getBytes(key);
+        if (value == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.putIfUnchanged(key, value, now + l1TtlMillis, version);
+        return value;
+    }
+
+    @Override
+    public Map<String, String> getAll(Collection<String> keys) {
+        long now = System.currentTimeMillis();
+        Map<String, String> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            Object cached = l1.get(key, now);
+            if (cached instanceof String) {
+                found.put(key, (String) cached);
+            } else {
+                missing.add(key);
+            }
+        }
+        l1Hits.add(found.size());
+        l1Misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long version = l1.version();
+        Map<String, String> loaded = redis.getAll(missing);
+        l2Hits.add(loaded.size());
+        l2Misses.add(missing.size() - loaded.size());
+        for (Map.Entry<String, String> entry : loaded.entrySet()) {
+            l1.putIfUnchanged(entry.getKey(), entry.getValue(), now + l1TtlMillis, version);
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    @Override
+    public void put(String key, String value) {
+        put(key, value, 0);
+    }
+
+    @Override
+    public void put(String key, String value, long expirationSeconds) {
+        redis.put(key, value, expirationSeconds);
+        invalidate(Collections.singletonList(key));
+    }
+
+    @Override
+    public void putAll(Map<String, String> values, long expirationSeconds) {
+        redis.putAll(values, expirationSeconds);
+        invalidate(values.keySet());
+    }
+
+    @Override
+    public void putBytes(String key, byte[] value, long expirationSeconds) {
+        redis.putBytes(key, value, expirationSeconds);
+        invalidate(Collections.singletonList(key));
+    }
+
+    @Override
+    public void putAllBytes(Map<String, byte[]> values, long expirationSeconds) {
+        redis.putAllBytes(values, expirationSeconds);
+        invalidate(values.keySet());
+    }
+
+    @Override
+    public void delete(String key) {
+        redis.delete(key);
+        invalidate(Collections.singletonList(key));
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        redis.deleteAll(keys);
+        invalidate(keys);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return l1.get(key, System.currentTimeMillis()) != null || redis.exists(key);
+    }
+
+    @Override
+    public void expire(String key, long expirationSeconds) {
+        redis.expire(key, expirationSeconds);
+        invalidate(Collections.singletonList(key));
+    }
+
+    @Override
+    public long increment(String key) {
+        long value = redis.increment(key);
+        invalidate(Collections.singletonList(key));
+        return value;
+    }
+
+    /**
+     * Local copies under the prefix are left to age out - callers only remove unreachable keys
+     */
+    @Override
+    public void deleteByPrefix(String prefix) {
+        redis.deleteByPrefix(prefix);
+    }
+
+    @Override
+    public void clear() {
+        redis.clear();
+        invalidate(Collections.singletonList(ALL_KEYS));
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return redis.isAvailable();
+    }
+
+    /**
+     * Drop the local copies and tell the other instances to drop theirs, in one message
+     */
+    private void invalidate(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder(nodeId);
+        for (String key : keys) {
+            applyInvalidation(key);
+            message.append('\n').append(key);
+        }
+        redis.publish(INVALIDATION_CHANNEL, message.toString());
+        invalidationsPublished.increment();
+    }
+
+    private void applyInvalidation(String key) {
+        if (ALL_KEYS.equals(key)) {
+            l1.clear();
+        } else {
+            l1.remove(key);
+        }
+    }
+
+    /**
+     * Subscriber loop. Messages sent while disconnected are lost, so L1 is emptied on every
+     * (re)subscribe.
+     */
+    private void listen() {
+        long delay = 1000;
+        while (running) {
+            try {
+                redis.subscribe(subscriber, INVALIDATION_CHANNEL);
+                delay = 1000;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cache invalidation subscription lost, retrying in {}ms: {}", delay, e.getMessage());
+                l1.clear();
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Message is the sender's node id followed by the invalidated keys, one per line
+     */
+    void onInvalidation(String message) {
+        String[] parts = message.split("\n");
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        invalidationsReceived.increment();
+        for (int i = 1; i < parts.length; i++) {
+            applyInvalidation(parts[i]);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> l1Stats = new HashMap<>();
+        l1Stats.put("entries", l1.size());
+        l1Stats.put("hits", l1Hits.sum());
+        l1Stats.put("misses", l1Misses.sum());
+        l1Stats.put("evictions", l1.evictions.sum());
+        l1Stats.put("expirations", l1.expirations.sum());
+        Map<String, Object> l2Stats = new HashMap<>();
+        l2Stats.put("hits", l2Hits.sum());
+        l2Stats.put("misses", l2Misses.sum());
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("l1", l1Stats);
+        stats.put("l2", l2Stats);
+        stats.put("invalidationsPublished", invalidationsPublished.sum());
+        stats.put("invalidationsReceived", invalidationsReceived.sum());
+        return stats;
+    }
+
+    /**
+     * Stop the subscriber and close the connection pool
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (subscriber.isSubscribed()) {
+            subscriber.unsubscribe();
+        }
+        redis.close();
+    }
+
+    private final class InvalidationSubscriber extends JedisPubSub {
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            l1.clear();
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            onInvalidation(message);
+        }
+    }
+
+    /**
+     * Access-ordered LRU map. The version counts invalidations, so a fill that raced one is dropped.
+     */
+    private static final class LocalTier {
+        private final int maxEntries;
+        private final LinkedHashMap<String, Entry> entries;
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+        private long version;
+
+        private LocalTier(int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > LocalTier.this.maxEntries) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * The cached string or bytes
+         */
+        synchronized Object get(String key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= now) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized void putIfUnchanged(String key, Object value, long expiresAt, long seenVersion) {
+            if (version == seenVersion) {
+                entries.put(key, new Entry(value, expiresAt));
+            }
+        }
+
+        synchronized void remove(String key) {
+            version++;
+            entries.remove(key);
+        }
+
+        synchronized void clear() {
+            version++;
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
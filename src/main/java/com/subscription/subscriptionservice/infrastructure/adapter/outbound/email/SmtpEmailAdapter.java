@@ -0,0 +1,168 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.email;
+
+import com.subscription.subscriptionservice.application.port.outbound.EmailPort;
+import com.subscription.subscriptionservice.domain.model.EmailMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * SMTP adapter with a fixed pool of reusable Transport connections. A batch checks out one
+ * connection and sends all its messages over it; the pool size caps concurrent SMTP sessions.
+ */
+public class SmtpEmailAdapter implements EmailPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpEmailAdapter.class);
+
+    private static final int TIMEOUT_MILLIS = 10000;
+
+    private final Session session;
+    private final InternetAddress from;
+    private final String username;
+    private final String password;
+    private final BlockingQueue<Transport> pool;
+
+    public SmtpEmailAdapter(String host, int port, String username, String password, String from,
+                            boolean startTls, int maxConnections) throws MessagingException {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections must be positive");
+        }
+        Properties properties = new Properties();
+        properties.put("mail.smtp.host", host);
+        properties.put("mail.smtp.port", String.valueOf(port));
+        properties.put("mail.smtp.auth", String.valueOf(username != null && !username.isEmpty()));
+        properties.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(TIMEOUT_MILLIS));
+        properties.put("mail.smtp.timeout", String.valueOf(TIMEOUT_MILLIS));
+        properties.put("mail.smtp.writetimeout", String.valueOf(TIMEOUT_MILLIS));
+        this.session = Session.getInstance(properties);
+        this.from = new InternetAddress(from != null && !from.isEmpty() ? from : username);
+        this.username = username;
+        this.password = password;
+
+        // Connections are opened lazily and kept open between batches
+        this.pool = new ArrayBlockingQueue<>(maxConnections);
+        for (int i = 0; i < maxConnections; i++) {
+            pool.add(session.getTransport("smtp"));
+        }
+        logger.info("SMTP email adapter configured: {}:{}, maxConnections={}", host, port, maxConnections);
+    }
+
+    @Override
+    public List<DeliveryStatus> sendAll(List<EmailMessage> messages) {
+        Transport transport;
+        try {
+            transport = pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for an SMTP connection", e);
+        }
+        List<DeliveryStatus> statuses = new ArrayList<>(messages.size());
+        try {
+            boolean connectionLost = false;
+            for (EmailMessage message : messages) {
+                if (connectionLost) {
+                    // Leave the rest of the batch to the caller's backoff instead of reconnecting per message
+                    statuses.add(DeliveryStatus.RETRY);
+                    continue;
+                }
+                MimeMessage mimeMessage;
+                try {
+                    mimeMessage = toMimeMessage(message);
+                } catch (AddressException e) {
+                    logger.warn("Invalid recipient address {}: {}", message.getTo(), e.getMessage());
+                    statuses.add(DeliveryStatus.REJECTED);
+                    continue;
+                } catch (MessagingException | IOException e) {
+                    logger.error("Could not build email {}: {}", message.getReferenceId(), e.getMessage(), e);
+                    statuses.add(DeliveryStatus.RETRY);
+                    continue;
+                }
+                DeliveryStatus status = send(transport, message, mimeMessage);
+                statuses.add(status);
+                connectionLost = status == DeliveryStatus.RETRY && !transport.isConnected();
+            }
+        } finally {
+            pool.add(transport);
+        }
+        return statuses;
+    }
+
+    private DeliveryStatus send(Transport transport, EmailMessage message, MimeMessage mimeMessage) {
+        try {
+            if (!transport.isConnected()) {
+                transport.connect(username, password);
+            }
+            transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            return DeliveryStatus.SENT;
+        } catch (SendFailedException e) {
+            Address[] invalid = e.getInvalidAddresses();
+            if (invalid != null && invalid.length > 0) {
+                logger.warn("Recipient {} rejected: {}", message.getTo(), e.getMessage());
+                return DeliveryStatus.REJECTED;
+            }
+            logger.warn("Sending email {} failed: {}", message.getReferenceId(), e.getMessage());
+            return DeliveryStatus.RETRY;
+        } catch (MessagingException e) {
+            logger.warn("Sending email {} failed: {}", message.getReferenceId(), e.getMessage());
+            // The connection may be broken - reconnect on the next message
+            closeQuietly(transport);
+            return DeliveryStatus.RETRY;
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage message) throws MessagingException, IOException {
+        MimeMessage mimeMessage = new MimeMessage(session);
+        mimeMessage.setFrom(from);
+        mimeMessage.setRecipients(Message.RecipientType.TO, InternetAddress.parse(message.getTo(), true));
+        mimeMessage.setSubject(message.getSubject(), "UTF-8");
+
+        MimeMultipart content = new MimeMultipart();
+        MimeBodyPart text = new MimeBodyPart();
+        text.setText(message.getBody(), "UTF-8");
+        content.addBodyPart(text);
+        if (message.getAttachmentPath() != null) {
+            File file = new File(message.getAttachmentPath());
+            if (!file.isFile()) {
+                throw new IOException("Attachment not found: " + file);
+            }
+            MimeBodyPart attachment = new MimeBodyPart();
+            attachment.attachFile(file);
+            content.addBodyPart(attachment);
+        }
+        mimeMessage.setContent(content);
+        return mimeMessage;
+    }
+
+    public void shutdown() {
+        for (Transport transport : pool) {
+            closeQuietly(transport);
+        }
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire format shared by the event sinks: one flat JSON object per event
+ */
+final class EventJson {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EventJson() {
+    }
+
+    static Map<String, Object> toMap(DomainEvent event) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", event.getId());
+        map.put("aggregateType", event.getAggregateType());
+        map.put("aggregateId", event.getAggregateId());
+        map.put("eventType", event.getEventType());
+        map.put("occurredAt", event.getOccurredAt() != null ? event.getOccurredAt().toString() : null);
+        map.put("payload", event.getPayload());
+        return map;
+    }
+
+    static String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(toMap(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing event " + event.getId(), e);
+        }
+    }
+
+    static String toJsonArray(List<DomainEvent> events) {
+        List<Map<String, Object>> maps = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            maps.add(toMap(event));
+        }
+        try {
+            return objectMapper.writeValueAsString(maps);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing event batch", e);
+        }
+    }
+}
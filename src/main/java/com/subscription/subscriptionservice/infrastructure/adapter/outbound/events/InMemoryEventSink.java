@@ -0,0 +1,54 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.events;
+
+import com.subscription.subscriptionservice.application.port.outbound.EventSinkPort;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent events in memory - for local development and tests
+ */
+public class InMemoryEventSink implements EventSinkPort {
+
+    private final int capacity;
+    private final Deque<DomainEvent> events;
+    private long published;
+
+    public InMemoryEventSink(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void publish(List<DomainEvent> batch) {
+        for (DomainEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+        published += batch.size();
+    }
+
+    /**
+     * Most recent events, oldest first
+     */
+    public synchronized List<DomainEvent> getRecentEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized long getPublishedCount() {
+        return published;
+    }
+}
@@ -0,0 +1,52 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.events;
+
+import com.subscription.subscriptionservice.application.port.outbound.EventSinkPort;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Appends events as newline-delimited JSON to one file per day (events-yyyy-MM-dd.ndjson).
+ * A batch is written with a single append and forced to disk before publish returns.
+ */
+public class NdjsonFileEventSink implements EventSinkPort {
+
+    private final Path directory;
+
+    public NdjsonFileEventSink(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(List<DomainEvent> events) {
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+        for (DomainEvent event : events) {
+            lines.append(EventJson.toJson(event)).append('\n');
+        }
+        Path file = directory.resolve("events-" + LocalDate.now() + ".ndjson");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error appending events to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.events;
+
+import com.subscription.subscriptionservice.application.port.outbound.EventSinkPort;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to a webhook endpoint; any non-2xx response fails the batch
+ */
+public class WebhookEventSink implements EventSinkPort {
+
+    private final HttpClient httpClient;
+    private final URI url;
+    private final Duration timeout;
+
+    public WebhookEventSink(String url, long timeoutMillis) {
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        HttpRequest request = HttpRequest.newBuilder(url)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(EventJson.toJsonArray(events)))
+            .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new IllegalStateException("Webhook " + url + " unreachable: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted publishing events to " + url, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Webhook " + url + " returned HTTP " + response.statusCode());
+        }
+    }
+}
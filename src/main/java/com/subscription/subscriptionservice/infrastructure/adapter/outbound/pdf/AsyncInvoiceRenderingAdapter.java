@@ -0,0 +1,294 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.InvoiceRenderingPort;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invoice rendering pipeline. Bills are queued in a bounded queue and rendered by a dedicated
+ * worker pool; each worker drains a batch, writes the PDFs through a FileChannel and records all
+ * pdf_path values of the batch in one JDBC batch. A full queue drops the bill instead of blocking
+ * the caller - dropped bills are re-read from the database once the queue has drained. A bill
+ * whose render fails is retried by the sweep up to {@value #MAX_RENDER_ATTEMPTS} times.
+ */
+public class AsyncInvoiceRenderingAdapter implements InvoiceRenderingPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncInvoiceRenderingAdapter.class);
+
+    private static final DateTimeFormatter MONTH_DIRECTORY = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+    static final int MAX_RENDER_ATTEMPTS = 3;
+
+    private final BillingRepositoryPort billingRepository;
+    private final InvoicePdfRenderer renderer;
+    private final Path outputDirectory;
+    private final int batchSize;
+    private final BlockingQueue<Billing> queue;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService monitor;
+    private volatile boolean running = true;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    // Ids of bills queued or being rendered - a bill is queued at most once until its render is done
+    private final Set<Long> claimed = ConcurrentHashMap.newKeySet();
+    // Failed render attempts per bill; the sweep skips bills that reached MAX_RENDER_ATTEMPTS
+    private final Map<Long, Integer> renderFailures = new ConcurrentHashMap<>();
+    // Lowest id the next backlog sweep starts after; Long.MAX_VALUE means no sweep is needed
+    private final AtomicLong sweepAfterId = new AtomicLong();
+    private long lastReportedCount;
+    private volatile double invoicesPerSecond;
+
+    public AsyncInvoiceRenderingAdapter(BillingRepositoryPort billingRepository,
+                                        InvoicePdfRenderer renderer,
+                                        Path outputDirectory,
+                                        int workerCount,
+                                        int queueCapacity,
+                                        int batchSize) throws IOException {
+        if (workerCount <= 0 || queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("workers, queueCapacity and batchSize must be positive");
+        }
+        this.billingRepository = billingRepository;
+        this.renderer = renderer;
+        this.outputDirectory = Files.createDirectories(outputDirectory);
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "invoice-renderer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::renderLoop);
+        }
+        this.monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invoice-renderer-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::report, REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        // Starts with a sweep: bills created while the service was down have no PDF yet
+        monitor.scheduleWithFixedDelay(this::sweepBacklog, 0, SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        logger.info("Invoice rendering started: directory={}, workers={}, queueCapacity={}, batchSize={}",
+            this.outputDirectory, workerCount, queueCapacity, batchSize);
+    }
+
+    @Override
+    public void submit(List<Billing> billings) {
+        for (Billing billing : billings) {
+            if (billing.getId() == null || !claimed.add(billing.getId())) {
+                continue;
+            }
+            if (!queue.offer(billing)) {
+                claimed.remove(billing.getId());
+                dropped.incrementAndGet();
+                requeueLater(billing.getId());
+            }
+        }
+    }
+
+    private void renderLoop() {
+        List<Billing> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Billing first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                try {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    renderBatch(batch);
+                } finally {
+                    batch.clear();
+                    inFlight.decrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Invoice rendering batch failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void renderBatch(List<Billing> batch) {
+        Map<Long, String> pdfPaths = new LinkedHashMap<>();
+        try {
+            for (Billing billing : batch) {
+                try {
+                    Path file = write(billing, renderer.render(billing));
+                    pdfPaths.put(billing.getId(), file.toString());
+                } catch (IOException | RuntimeException e) {
+                    failed.incrementAndGet();
+                    logger.error("Failed to render invoice for billing {}: {}", billing.getId(), e.getMessage(), e);
+                    retryLater(billing.getId());
+                }
+            }
+            try {
+                billingRepository.updatePdfPaths(pdfPaths);
+            } catch (RuntimeException e) {
+                // The files exist but are not linked yet - let the next sweep re-render them
+                for (Billing billing : batch) {
+                    requeueLater(billing.getId());
+                }
+                throw e;
+            }
+            rendered.addAndGet(pdfPaths.size());
+            pdfPaths.keySet().forEach(renderFailures::remove);
+        } finally {
+            for (Billing billing : batch) {
+                claimed.remove(billing.getId());
+            }
+        }
+    }
+
+    private void retryLater(long billingId) {
+        int attempts = renderFailures.merge(billingId, 1, Integer::sum);
+        if (attempts < MAX_RENDER_ATTEMPTS) {
+            requeueLater(billingId);
+        } else {
+            abandoned.incrementAndGet();
+            logger.error("Giving up on invoice for billing {} after {} failed attempts", billingId, attempts);
+        }
+    }
+
+    /**
+     * Write to a uniquely named temp file and move it into place, so a reader never sees a partial
+     * PDF and two writers of the same invoice never share a temp file
+     */
+    private Path write(Billing billing, byte[] pdf) throws IOException {
+        Path directory = outputDirectory.resolve(billing.getBillDate().format(MONTH_DIRECTORY));
+        Files.createDirectories(directory);
+        Path target = directory.resolve(billing.invoiceNumber() + ".pdf");
+        Path temp = Files.createTempFile(directory, target.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(pdf);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            return Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private void report() {
+        long total = rendered.get();
+        long delta = total - lastReportedCount;
+        lastReportedCount = total;
+        invoicesPerSecond = delta / (double) REPORT_INTERVAL_SECONDS;
+        if (delta > 0) {
+            logger.info("Invoice rendering: {} invoices/s, rendered={}, failed={}, dropped={}, abandoned={}, queued={}",
+                String.format("%.1f", invoicesPerSecond), total, failed.get(), dropped.get(), abandoned.get(),
+                queue.size());
+        }
+    }
+
+    /**
+     * Re-queue open bills that are still missing a PDF. Runs only while the pipeline is idle, so
+     * the sweep does not compete with fresh bills; bills already queued or being rendered are
+     * skipped through their claim, not through the idle check.
+     */
+    private void sweepBacklog() {
+        long afterId = sweepAfterId.get();
+        if (afterId == Long.MAX_VALUE || !queue.isEmpty() || inFlight.get() > 0) {
+            return;
+        }
+        List<Billing> missing;
+        try {
+            missing = billingRepository.findWithoutPdf(afterId, queue.remainingCapacity());
+        } catch (RuntimeException e) {
+            logger.error("Invoice backlog sweep failed: {}", e.getMessage(), e);
+            return;
+        }
+        if (missing.isEmpty()) {
+            sweepAfterId.compareAndSet(afterId, Long.MAX_VALUE);
+            return;
+        }
+        long lastId = missing.get(missing.size() - 1).getId();
+        // A drop during the sweep may have lowered the cursor - keep the lower value
+        sweepAfterId.accumulateAndGet(lastId, (current, next) -> current < afterId ? current : next);
+        logger.info("Re-queueing {} bills without invoice PDF", missing.size());
+        for (Billing billing : missing) {
+            if (renderFailures.getOrDefault(billing.getId(), 0) >= MAX_RENDER_ATTEMPTS
+                    || !claimed.add(billing.getId())) {
+                continue;
+            }
+            if (!queue.offer(billing)) {
+                claimed.remove(billing.getId());
+                requeueLater(billing.getId());
+                break;
+            }
+        }
+    }
+
+    private void requeueLater(long billingId) {
+        sweepAfterId.accumulateAndGet(billingId - 1, Math::min);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("invoicesPerSecond", String.format("%.1f", invoicesPerSecond));
+        stats.put("rendered", rendered.get());
+        stats.put("failed", failed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("abandoned", abandoned.get());
+        stats.put("queued", queue.size());
+        stats.put("inFlight", inFlight.get());
+        return stats;
+    }
+
+    public void shutdown() {
+        running = false;
+        monitor.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Invoice rendering stopped: rendered={}, failed={}, {} bills left for the next start",
+            rendered.get(), failed.get(), queue.size());
+    }
+}
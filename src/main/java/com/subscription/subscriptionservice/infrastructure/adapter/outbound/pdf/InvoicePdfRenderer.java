@@ -0,0 +1,129 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.layout.Canvas;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.subscription.subscriptionservice.domain.model.Billing;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Renders a bill into an invoice PDF. The letterhead page and the font programs are built once;
+ * each invoice stamps its details onto a copy of the template, so rendering is thread-safe.
+ */
+public class InvoicePdfRenderer {
+
+    private static final float MARGIN = 50f;
+    private static final float HEADER_HEIGHT = 110f;
+    private static final float FOOTER_HEIGHT = 60f;
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private final FontProgram regularFont;
+    private final FontProgram boldFont;
+    private final byte[] template;
+
+    public InvoicePdfRenderer(String issuerName) throws IOException {
+        this.regularFont = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        this.boldFont = FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        this.template = buildTemplate(issuerName);
+    }
+
+    public byte[] render(Billing billing) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(template)), new PdfWriter(out))) {
+            // PdfFont instances belong to one document; the parsed font programs are shared
+            PdfFont regular = PdfFontFactory.createFont(regularFont, PdfEncodings.WINANSI);
+            PdfFont bold = PdfFontFactory.createFont(boldFont, PdfEncodings.WINANSI);
+
+            PdfPage page = pdf.getFirstPage();
+            Rectangle pageSize = page.getPageSize();
+            Rectangle body = new Rectangle(MARGIN, MARGIN + FOOTER_HEIGHT,
+                pageSize.getWidth() - 2 * MARGIN, pageSize.getHeight() - 2 * MARGIN - HEADER_HEIGHT - FOOTER_HEIGHT);
+            try (Canvas canvas = new Canvas(new PdfCanvas(page), body)) {
+                canvas.add(new Paragraph("Invoice " + billing.invoiceNumber()).setFont(bold).setFontSize(16));
+                canvas.add(details(billing, regular, bold));
+                canvas.add(amounts(billing, regular, bold).setMarginTop(20));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error rendering invoice for billing " + billing.getId(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private Table details(Billing billing, PdfFont regular, PdfFont bold) {
+        Table table = new Table(UnitValue.createPercentArray(new float[] {35, 65})).useAllAvailableWidth();
+        row(table, "Subscription", String.valueOf(billing.getUserSubscriptionId()), regular, bold);
+        row(table, "Billing period", billing.getBillingPeriodStart() + " to " + billing.getBillingPeriodEnd(), regular, bold);
+        row(table, "Bill date", String.valueOf(billing.getBillDate()), regular, bold);
+        row(table, "Due date", String.valueOf(billing.getDueDate()), regular, bold);
+        row(table, "Status", billing.getStatus().name(), regular, bold);
+        return table;
+    }
+
+    private Table amounts(Billing billing, PdfFont regular, PdfFont bold) {
+        Table table = new Table(UnitValue.createPercentArray(new float[] {70, 30})).useAllAvailableWidth();
+        amountRow(table, "Base amount", billing.getBaseAmount(), regular);
+        amountRow(table, "Negotiated amount", billing.getNegotiatedAmount(), regular);
+        amountRow(table, "Pro-rata adjustment", billing.getProRataAmount(), regular);
+        amountRow(table, "Total due", billing.getTotalAmount(), bold);
+        return table;
+    }
+
+    private static void row(Table table, String label, String value, PdfFont regular, PdfFont bold) {
+        table.addCell(new Cell().add(new Paragraph(label).setFont(bold).setFontSize(10)));
+        table.addCell(new Cell().add(new Paragraph(value).setFont(regular).setFontSize(10)));
+    }
+
+    private static void amountRow(Table table, String label, BigDecimal amount, PdfFont font) {
+        String value = amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toPlainString() : "0.00";
+        table.addCell(new Cell().add(new Paragraph(label).setFont(font).setFontSize(10)));
+        table.addCell(new Cell().add(new Paragraph(value).setFont(font).setFontSize(10)
+            .setTextAlignment(TextAlignment.RIGHT)));
+    }
+
+    private byte[] buildTemplate(String issuerName) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(out));
+             Document document = new Document(pdf, PageSize.A4)) {
+            PdfFont regular = PdfFontFactory.createFont(regularFont, PdfEncodings.WINANSI);
+            PdfFont bold = PdfFontFactory.createFont(boldFont, PdfEncodings.WINANSI);
+            Rectangle pageSize = PageSize.A4;
+            float width = pageSize.getWidth() - 2 * MARGIN;
+
+            document.add(new Paragraph(issuerName).setFont(bold).setFontSize(20)
+                .setFixedPosition(MARGIN, pageSize.getHeight() - MARGIN - 30, width));
+            document.add(new Paragraph("INVOICE").setFont(regular).setFontSize(12)
+                .setFixedPosition(MARGIN, pageSize.getHeight() - MARGIN - 55, width));
+            document.add(new Paragraph("Payment is due within " + Billing.PAYMENT_TERM_DAYS
+                + " days of the bill date. Please quote the invoice number with your payment.")
+                .setFont(regular).setFontSize(8)
+                .setFixedPosition(MARGIN, MARGIN, width));
+
+            PdfCanvas canvas = new PdfCanvas(pdf.getFirstPage());
+            float ruleY = pageSize.getHeight() - MARGIN - HEADER_HEIGHT + 20;
+            canvas.moveTo(MARGIN, ruleY).lineTo(MARGIN + width, ruleY).setLineWidth(0.5f).stroke();
+        }
+        return out.toByteArray();
+    }
+}
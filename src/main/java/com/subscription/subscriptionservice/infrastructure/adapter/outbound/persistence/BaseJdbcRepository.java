@@ -2,7 +2,10 @@ package com.subscription.subscriptionservice.infrastructure.adapter.outbound.per
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 
 /**
  * Base class for JDBC repositories with common connection management
@@ -40,5 +43,30 @@ public abstract class BaseJdbcRepository {
             }
         }
     }
+    
+    /**
+     * Append a change feed entry on the write's connection, so it commits or rolls back with the write
+     */
+    protected void recordChange(Connection conn, String entityType, Long entityId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+            "INSERT INTO change_log (entity_type, entity_id, changed_at) VALUES (?, ?, ?)")) {
+            stmt.setString(1, entityType);
+            stmt.setLong(2, entityId);
+            stmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * True when the error (or a chained batch error) is a unique key violation
+     */
+    protected boolean isDuplicateKey(SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            // 23505: unique_violation (PostgreSQL, H2), 1062: ER_DUP_ENTRY (MySQL)
+            if ("23505".equals(current.getSQLState()) || current.getErrorCode() == 1062) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
-
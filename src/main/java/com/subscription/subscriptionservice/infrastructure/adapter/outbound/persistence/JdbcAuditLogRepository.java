@@ -7,6 +7,7 @@ import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -86,6 +87,45 @@ public class JdbcAuditLogRepository extends BaseJdbcRepository implements AuditL
         }
     }
 
+    @Override
+    public void saveAll(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO audit_logs (entity_type, entity_id, action, user_id, username, user_role, " +
+                   "description, old_values, new_values, ip_address, request_method, request_path, " +
+                   "timestamp, success, error_message) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (AuditLog auditLog : auditLogs) {
+                stmt.setString(1, auditLog.getEntityType());
+                stmt.setObject(2, auditLog.getEntityId(), Types.BIGINT);
+                stmt.setString(3, auditLog.getAction());
+                stmt.setObject(4, auditLog.getUserId(), Types.BIGINT);
+                stmt.setString(5, auditLog.getUsername());
+                stmt.setString(6, auditLog.getUserRole());
+                stmt.setString(7, auditLog.getDescription());
+                stmt.setString(8, auditLog.getOldValues());
+                stmt.setString(9, auditLog.getNewValues());
+                stmt.setString(10, auditLog.getIpAddress());
+                stmt.setString(11, auditLog.getRequestMethod());
+                stmt.setString(12, auditLog.getRequestPath());
+                stmt.setTimestamp(13, Timestamp.valueOf(
+                    auditLog.getTimestamp() != null ? auditLog.getTimestamp() : LocalDateTime.now()));
+                stmt.setBoolean(14, auditLog.getSuccess() != null ? auditLog.getSuccess() : true);
+                stmt.setString(15, auditLog.getErrorMessage());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving audit logs", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
     @Override
     public Optional<AuditLog> findById(Long id) {
         String sql = "SELECT * FROM audit_logs WHERE id = ?";
@@ -306,6 +346,42 @@ public class JdbcAuditLogRepository extends BaseJdbcRepository implements AuditL
         return stats;
     }
 
+    @Override
+    public int deleteOlderThan(LocalDateTime cutoff, int limit) {
+        // Select then delete by id: DELETE ... LIMIT and LIMIT in IN-subqueries are not portable
+        String selectSql = "SELECT id FROM audit_logs WHERE timestamp < ? ORDER BY id LIMIT ?";
+        List<Long> ids = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM audit_logs WHERE id IN (" + placeholders + ")")) {
+                int index = 1;
+                for (Long id : ids) {
+                    stmt.setLong(index++, id);
+                }
+                return stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting old audit logs", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
     private List<AuditLog> findAuditLogs(String sql) {
         List<AuditLog> logs = new ArrayList<>();
         Connection conn = getConnection();
@@ -8,11 +8,19 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class JdbcBillingRepository extends BaseJdbcRepository implements BillingRepositoryPort {
 
+    private static final String INSERT_SQL = "INSERT INTO billings (user_subscription_id, billing_period_start, billing_period_end, " +
+            "base_amount, negotiated_amount, pro_rata_amount, total_amount, bill_date, due_date, " +
+            "paid_date, payment_method, status, pdf_path, email_sent, email_sent_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     public JdbcBillingRepository(DataSource dataSource) {
         super(dataSource);
     }
@@ -24,37 +32,8 @@ public class JdbcBillingRepository extends BaseJdbcRepository implements Billing
         
         try {
             if (billing.getId() == null) {
-                String sql = "INSERT INTO billings (user_subscription_id, billing_period_start, billing_period_end, " +
-                           "base_amount, negotiated_amount, pro_rata_amount, total_amount, bill_date, due_date, " +
-                           "paid_date, payment_method, status, pdf_path, email_sent, email_sent_at, created_at, updated_at) " +
-                           "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                    stmt.setLong(1, billing.getUserSubscriptionId());
-                    stmt.setDate(2, Date.valueOf(billing.getBillingPeriodStart()));
-                    stmt.setDate(3, Date.valueOf(billing.getBillingPeriodEnd()));
-                    stmt.setBigDecimal(4, billing.getBaseAmount());
-                    stmt.setBigDecimal(5, billing.getNegotiatedAmount());
-                    stmt.setBigDecimal(6, billing.getProRataAmount());
-                    stmt.setBigDecimal(7, billing.getTotalAmount());
-                    stmt.setDate(8, Date.valueOf(billing.getBillDate()));
-                    stmt.setDate(9, Date.valueOf(billing.getDueDate()));
-                    if (billing.getPaidDate() != null) {
-                        stmt.setDate(10, Date.valueOf(billing.getPaidDate()));
-                    } else {
-                        stmt.setNull(10, Types.DATE);
-                    }
-                    stmt.setString(11, billing.getPaymentMethod());
-                    stmt.setString(12, billing.getStatus().name());
-                    stmt.setString(13, billing.getPdfPath());
-                    stmt.setBoolean(14, billing.getEmailSent() != null ? billing.getEmailSent() : false);
-                    if (billing.getEmailSentAt() != null) {
-                        stmt.setTimestamp(15, Timestamp.valueOf(billing.getEmailSentAt()));
-                    } else {
-                        stmt.setNull(15, Types.TIMESTAMP);
-                    }
-                    stmt.setTimestamp(16, Timestamp.valueOf(LocalDateTime.now()));
-                    stmt.setTimestamp(17, Timestamp.valueOf(LocalDateTime.now()));
-                    
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    bindInsert(stmt, billing);
                     stmt.executeUpdate();
                     try (ResultSet rs = stmt.getGeneratedKeys()) {
                         if (rs.next()) {
@@ -224,6 +203,315 @@ public class JdbcBillingRepository extends BaseJdbcRepository implements Billing
         }
     }
 
+    @Override
+    public List<Long> markOverdue(LocalDate asOf, int limit) {
+        // Lock the chunk first so the returned ids are exactly the rows this call transitioned
+        String sql = "SELECT id FROM billings WHERE status = 'PENDING' AND due_date < ? ORDER BY id LIMIT ? FOR UPDATE";
+        List<Long> ids = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(asOf));
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong("id"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error selecting overdue billings", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+
+        if (!ids.isEmpty()) {
+            updateStatus(ids, Billing.BillingStatus.PENDING, Billing.BillingStatus.OVERDUE);
+        }
+        return ids;
+    }
+
+    @Override
+    public int updateStatus(List<Long> ids, Billing.BillingStatus fromStatus, Billing.BillingStatus toStatus) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "UPDATE billings SET status = ?, updated_at = ? WHERE status = ? AND id IN (" + placeholders + ")";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, toStatus.name());
+            stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setString(3, fromStatus.name());
+            int index = 4;
+            for (Long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating billing status", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public List<Billing> insertAll(List<Billing> billings) {
+        if (billings.isEmpty()) {
+            return billings;
+        }
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try {
+            // Savepoint lets a failed batch be undone without aborting the surrounding transaction
+            Savepoint savepoint = conn.getAutoCommit() ? null : conn.setSavepoint();
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Billing billing : billings) {
+                    bindInsert(stmt, billing);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    int index = 0;
+                    while (rs.next() && index < billings.size()) {
+                        billings.get(index++).setId(rs.getLong(1));
+                    }
+                }
+                return billings;
+            } catch (BatchUpdateException e) {
+                if (!isDuplicateKey(e)) {
+                    throw e;
+                }
+                // Part of the chunk was already billed - fall back to row by row and skip the duplicates
+                if (savepoint != null) {
+                    conn.rollback(savepoint);
+                }
+                return insertEach(conn, billings);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error batch inserting billings", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public List<Billing> findWithoutPdf(long afterId, int limit) {
+        String sql = "SELECT * FROM billings WHERE pdf_path IS NULL AND status IN ('PENDING', 'OVERDUE') " +
+                     "AND id > ? ORDER BY id LIMIT ?";
+        List<Billing> billings = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    billings.add(mapRowToBilling(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding billings without pdf", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return billings;
+    }
+
+    @Override
+    public int updatePdfPaths(Map<Long, String> pdfPaths) {
+        if (pdfPaths.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE billings SET pdf_path = ?, updated_at = ? WHERE id = ?";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (Map.Entry<Long, String> entry : pdfPaths.entrySet()) {
+                stmt.setString(1, entry.getValue());
+                stmt.setTimestamp(2, now);
+                stmt.setLong(3, entry.getKey());
+                stmt.addBatch();
+            }
+            int updated = 0;
+            for (int count : stmt.executeBatch()) {
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+            return updated;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating billing pdf paths", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public List<Billing> findUnsentInvoices(long afterId, int limit) {
+        String sql = "SELECT * FROM billings WHERE email_sent = FALSE AND email_rejected = FALSE " +
+                     "AND pdf_path IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+        List<Billing> billings = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    billings.add(mapRowToBilling(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding unsent invoices", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return billings;
+    }
+
+    @Override
+    public Map<Long, String> findRecipientEmails(List<Long> billingIds) {
+        Map<Long, String> emails = new HashMap<>();
+        if (billingIds.isEmpty()) {
+            return emails;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(billingIds.size(), "?"));
+        String sql = "SELECT b.id, u.email FROM billings b " +
+                     "JOIN user_subscriptions us ON us.id = b.user_subscription_id " +
+                     "JOIN users u ON u.id = us.user_id " +
+                     "WHERE b.id IN (" + placeholders + ")";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Long id : billingIds) {
+                stmt.setLong(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    emails.put(rs.getLong("id"), rs.getString("email"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding invoice recipients", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return emails;
+    }
+
+    @Override
+    public int markEmailSent(List<Long> ids, LocalDateTime sentAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "UPDATE billings SET email_sent = TRUE, email_sent_at = ?, updated_at = ? WHERE id IN (" + placeholders + ")";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(sentAt));
+            stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            int index = 3;
+            for (Long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error marking billing emails as sent", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public int markEmailRejected(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "UPDATE billings SET email_rejected = TRUE, updated_at = ? WHERE id IN (" + placeholders + ")";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            int index = 2;
+            for (Long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error marking billing emails as rejected", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    private List<Billing> insertEach(Connection conn, List<Billing> billings) throws SQLException {
+        List<Billing> inserted = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Billing billing : billings) {
+                Savepoint savepoint = conn.getAutoCommit() ? null : conn.setSavepoint();
+                try {
+                    bindInsert(stmt, billing);
+                    stmt.executeUpdate();
+                } catch (SQLException e) {
+                    if (!isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    if (savepoint != null) {
+                        conn.rollback(savepoint);
+                    }
+                    continue;
+                }
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        billing.setId(rs.getLong(1));
+                    }
+                }
+                inserted.add(billing);
+            }
+        }
+        return inserted;
+    }
+
+    private void bindInsert(PreparedStatement stmt, Billing billing) throws SQLException {
+        stmt.setLong(1, billing.getUserSubscriptionId());
+        stmt.setDate(2, Date.valueOf(billing.getBillingPeriodStart()));
+        stmt.setDate(3, Date.valueOf(billing.getBillingPeriodEnd()));
+        stmt.setBigDecimal(4, billing.getBaseAmount());
+        stmt.setBigDecimal(5, billing.getNegotiatedAmount());
+        stmt.setBigDecimal(6, billing.getProRataAmount());
+        stmt.setBigDecimal(7, billing.getTotalAmount());
+        stmt.setDate(8, Date.valueOf(billing.getBillDate()));
+        stmt.setDate(9, Date.valueOf(billing.getDueDate()));
+        if (billing.getPaidDate() != null) {
+            stmt.setDate(10, Date.valueOf(billing.getPaidDate()));
+        } else {
+            stmt.setNull(10, Types.DATE);
+        }
+        stmt.setString(11, billing.getPaymentMethod());
+        stmt.setString(12, billing.getStatus().name());
+        stmt.setString(13, billing.getPdfPath());
+        stmt.setBoolean(14, billing.getEmailSent() != null ? billing.getEmailSent() : false);
+        if (billing.getEmailSentAt() != null) {
+            stmt.setTimestamp(15, Timestamp.valueOf(billing.getEmailSentAt()));
+        } else {
+            stmt.setNull(15, Types.TIMESTAMP);
+        }
+        stmt.setTimestamp(16, Timestamp.valueOf(LocalDateTime.now()));
+        stmt.setTimestamp(17, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
     private List<Billing> findBillings(String sql) {
         List<Billing> billings = new ArrayList<>();
         Connection conn = getConnection();
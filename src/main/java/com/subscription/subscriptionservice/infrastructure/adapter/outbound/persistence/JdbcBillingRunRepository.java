@@ -0,0 +1,270 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRunRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.BillingRunPartition;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class JdbcBillingRunRepository extends BaseJdbcRepository implements BillingRunRepositoryPort {
+
+    public JdbcBillingRunRepository(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public BillingRun save(BillingRun billingRun) {
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try {
+            if (billingRun.getId() == null) {
+                String sql = "INSERT INTO billing_runs (as_of, status, subscriptions_processed, bills_created, " +
+                           "duplicates_skipped, error_message, started_at, finished_at, created_at, updated_at) " +
+                           "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    bindRun(stmt, billingRun);
+                    stmt.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.setTimestamp(10, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.executeUpdate();
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        if (rs.next()) {
+                            billingRun.setId(rs.getLong(1));
+                        }
+                    }
+                }
+            } else {
+                String sql = "UPDATE billing_runs SET as_of=?, status=?, subscriptions_processed=?, bills_created=?, " +
+                           "duplicates_skipped=?, error_message=?, started_at=?, finished_at=?, updated_at=? WHERE id=?";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    bindRun(stmt, billingRun);
+                    stmt.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.setLong(10, billingRun.getId());
+                    stmt.executeUpdate();
+                }
+            }
+            return billingRun;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving billing run", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public Optional<BillingRun> findById(Long id) {
+        String sql = "SELECT * FROM billing_runs WHERE id = ?";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapRowToBillingRun(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding billing run by id", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<BillingRun> findRecent(int limit) {
+        String sql = "SELECT * FROM billing_runs ORDER BY id DESC LIMIT ?";
+        List<BillingRun> runs = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    runs.add(mapRowToBillingRun(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding recent billing runs", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return runs;
+    }
+
+    @Override
+    public List<BillingRun> findByStatus(BillingRun.RunStatus status) {
+        String sql = "SELECT * FROM billing_runs WHERE status = ? ORDER BY id";
+        List<BillingRun> runs = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, status.name());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    runs.add(mapRowToBillingRun(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding billing runs by status", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return runs;
+    }
+
+    @Override
+    public List<BillingRunPartition> savePartitions(List<BillingRunPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return partitions;
+        }
+        String sql = "INSERT INTO billing_run_partitions (billing_run_id, partition_index, lower_id, upper_id, " +
+                   "last_processed_id, status, subscriptions_processed, bills_created, duplicates_skipped, " +
+                   "elapsed_millis, error_message, started_at, finished_at) " +
+                   "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (BillingRunPartition partition : partitions) {
+                stmt.setLong(1, partition.getBillingRunId());
+                stmt.setInt(2, partition.getPartitionIndex());
+                stmt.setLong(3, partition.getLowerId());
+                stmt.setLong(4, partition.getUpperId());
+                bindProgress(stmt, partition, 5);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                int index = 0;
+                while (rs.next() && index < partitions.size()) {
+                    partitions.get(index++).setId(rs.getLong(1));
+                }
+            }
+            return partitions;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving billing run partitions", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public void updatePartition(BillingRunPartition partition) {
+        String sql = "UPDATE billing_run_partitions SET last_processed_id=?, status=?, subscriptions_processed=?, " +
+                   "bills_created=?, duplicates_skipped=?, elapsed_millis=?, error_message=?, started_at=?, " +
+                   "finished_at=? WHERE id=?";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bindProgress(stmt, partition, 1);
+            stmt.setLong(10, partition.getId());
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating billing run partition", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public List<BillingRunPartition> findPartitions(Long billingRunId) {
+        String sql = "SELECT * FROM billing_run_partitions WHERE billing_run_id = ? ORDER BY partition_index";
+        List<BillingRunPartition> partitions = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, billingRunId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(mapRowToPartition(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding billing run partitions", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return partitions;
+    }
+
+    private void bindRun(PreparedStatement stmt, BillingRun billingRun) throws SQLException {
+        stmt.setDate(1, Date.valueOf(billingRun.getAsOf()));
+        stmt.setString(2, billingRun.getStatus().name());
+        stmt.setLong(3, billingRun.getSubscriptionsProcessed());
+        stmt.setLong(4, billingRun.getBillsCreated());
+        stmt.setLong(5, billingRun.getDuplicatesSkipped());
+        stmt.setString(6, billingRun.getErrorMessage());
+        setTimestamp(stmt, 7, billingRun.getStartedAt());
+        setTimestamp(stmt, 8, billingRun.getFinishedAt());
+    }
+
+    private void bindProgress(PreparedStatement stmt, BillingRunPartition partition, int start) throws SQLException {
+        stmt.setLong(start, partition.getLastProcessedId());
+        stmt.setString(start + 1, partition.getStatus().name());
+        stmt.setLong(start + 2, partition.getSubscriptionsProcessed());
+        stmt.setLong(start + 3, partition.getBillsCreated());
+        stmt.setLong(start + 4, partition.getDuplicatesSkipped());
+        stmt.setLong(start + 5, partition.getElapsedMillis());
+        stmt.setString(start + 6, partition.getErrorMessage());
+        setTimestamp(stmt, start + 7, partition.getStartedAt());
+        setTimestamp(stmt, start + 8, partition.getFinishedAt());
+    }
+
+    private void setTimestamp(PreparedStatement stmt, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            stmt.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            stmt.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    private BillingRun mapRowToBillingRun(ResultSet rs) throws SQLException {
+        BillingRun billingRun = new BillingRun();
+        billingRun.setId(rs.getLong("id"));
+        billingRun.setAsOf(rs.getDate("as_of").toLocalDate());
+        billingRun.setStatus(BillingRun.RunStatus.valueOf(rs.getString("status")));
+        billingRun.setSubscriptionsProcessed(rs.getLong("subscriptions_processed"));
+        billingRun.setBillsCreated(rs.getLong("bills_created"));
+        billingRun.setDuplicatesSkipped(rs.getLong("duplicates_skipped"));
+        billingRun.setErrorMessage(rs.getString("error_message"));
+        billingRun.setStartedAt(toLocalDateTime(rs.getTimestamp("started_at")));
+        billingRun.setFinishedAt(toLocalDateTime(rs.getTimestamp("finished_at")));
+        billingRun.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        billingRun.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return billingRun;
+    }
+
+    private BillingRunPartition mapRowToPartition(ResultSet rs) throws SQLException {
+        BillingRunPartition partition = new BillingRunPartition();
+        partition.setId(rs.getLong("id"));
+        partition.setBillingRunId(rs.getLong("billing_run_id"));
+        partition.setPartitionIndex(rs.getInt("partition_index"));
+        partition.setLowerId(rs.getLong("lower_id"));
+        partition.setUpperId(rs.getLong("upper_id"));
+        partition.setLastProcessedId(rs.getLong("last_processed_id"));
+        partition.setStatus(BillingRunPartition.PartitionStatus.valueOf(rs.getString("status")));
+        partition.setSubscriptionsProcessed(rs.getLong("subscriptions_processed"));
+        partition.setBillsCreated(rs.getLong("bills_created"));
+        partition.setDuplicatesSkipped(rs.getLong("duplicates_skipped"));
+        partition.setElapsedMillis(rs.getLong("elapsed_millis"));
+        partition.setErrorMessage(rs.getString("error_message"));
+        partition.setStartedAt(toLocalDateTime(rs.getTimestamp("started_at")));
+        partition.setFinishedAt(toLocalDateTime(rs.getTimestamp("finished_at")));
+        return partition;
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
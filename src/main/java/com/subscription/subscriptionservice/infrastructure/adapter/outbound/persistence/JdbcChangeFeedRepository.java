@@ -0,0 +1,272 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
+
+import com.subscription.subscriptionservice.application.port.outbound.ChangeFeedRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JdbcChangeFeedRepository extends BaseJdbcRepository implements ChangeFeedRepositoryPort {
+
+    // Only the columns clients sync - no credentials, audit or billing bookkeeping
+    private static final Map<String, String> STATE_QUERIES = Map.of(
+        ChangeRecord.USER,
+        "SELECT id, username, email, mobile_number, enabled, deleted FROM users WHERE id IN (%s)",
+        ChangeRecord.SUBSCRIPTION,
+        "SELECT id, name, device_id, base_price, subscription_level, billing_cycle, active, deleted " +
+        "FROM subscriptions WHERE id IN (%s)",
+        ChangeRecord.USER_SUBSCRIPTION,
+        "SELECT id, user_id, subscription_id, negotiated_price, start_date, end_date, status " +
+        "FROM user_subscriptions WHERE id IN (%s)",
+        ChangeRecord.USER_DEVICE,
+        "SELECT id, user_id, device_id, subscription_id, user_subscription_id, device_serial, active " +
+        "FROM user_devices WHERE id IN (%s)",
+        ChangeRecord.DEVICE,
+        "SELECT id, name, device_type, active, deleted FROM devices WHERE id IN (%s)",
+        ChangeRecord.FEATURE,
+        "SELECT id, name, feature_code, active, deleted FROM features WHERE id IN (%s)"
+    );
+
+    public JdbcChangeFeedRepository(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public List<ChangeRecord> findAfter(long afterSequence, int limit) {
+        String sql = "SELECT seq, entity_type, entity_id, changed_at FROM change_log WHERE seq > ? ORDER BY seq LIMIT ?";
+        List<ChangeRecord> records = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterSequence);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    records.add(new ChangeRecord(rs.getLong("seq"), rs.getString("entity_type"),
+                        rs.getLong("entity_id"), rs.getTimestamp("changed_at").toLocalDateTime()));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading change feed", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return records;
+    }
+
+    @Override
+    public long findLatestSequence() {
+        return querySequence("SELECT MAX(seq) FROM change_log");
+    }
+
+    @Override
+    public long findOldestSequence() {
+        return querySequence("SELECT MIN(seq) FROM change_log");
+    }
+
+    @Override
+    public long findFirstSequenceSince(LocalDateTime since) {
+        return querySequence("SELECT MIN(seq) FROM change_log WHERE changed_at >= ?", Timestamp.valueOf(since));
+    }
+
+    @Override
+    public long countSequences(long afterSequence, long upToSequence) {
+        return querySequence("SELECT COUNT(*) FROM change_log WHERE seq > ? AND seq <= ?", afterSequence, upToSequence);
+    }
+
+    /**
+     * Inserting the missing sequence waits on the unique key for a writer that still holds it: a
+     * duplicate means it committed, success means it rolled back and the gap entry is kept
+     */
+    @Override
+    public boolean closeGap(long sequence, int timeoutSeconds) {
+        String sql = "INSERT INTO change_log (seq, entity_type, entity_id, changed_at) VALUES (?, ?, ?, ?)";
+        // A connection of its own - the probe must not join, or wait inside, the caller's transaction
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setQueryTimeout(timeoutSeconds);
+                stmt.setLong(1, sequence);
+                stmt.setString(2, ChangeRecord.GAP);
+                stmt.setLong(3, 0);
+                stmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                stmt.executeUpdate();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                // A duplicate key: the writer committed. Anything else, usually the lock wait timing
+                // out: it may still be running. Either way the gap stays open.
+                rollbackQuietly(conn);
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error closing change feed gap", e);
+        }
+    }
+
+    private long querySequence(String sql, Object... params) {
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading change feed sequence", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            // A timed-out statement may have closed the connection; the pool discards it
+        }
+    }
+
+    @Override
+    public Map<Long, Map<String, Object>> findEntityStates(String entityType, Collection<Long> ids) {
+        String query = STATE_QUERIES.get(entityType);
+        if (query == null) {
+            throw new IllegalArgumentException("Unknown change feed entity type: " + entityType);
+        }
+        Map<Long, Map<String, Object>> states = new HashMap<>();
+        if (ids.isEmpty()) {
+            return states;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(String.format(query, placeholders))) {
+                int index = 1;
+                for (Long id : ids) {
+                    stmt.setLong(index++, id);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    while (rs.next()) {
+                        states.put(rs.getLong("id"), mapRow(rs, metaData));
+                    }
+                }
+            }
+            if (ChangeRecord.SUBSCRIPTION.equals(entityType) && !states.isEmpty()) {
+                addFeatureIds(conn, states);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading " + entityType + " state for change feed", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return states;
+    }
+
+    private void addFeatureIds(Connection conn, Map<Long, Map<String, Object>> subscriptions) throws SQLException {
+        for (Map<String, Object> subscription : subscriptions.values()) {
+            subscription.put("featureIds", new ArrayList<Long>());
+        }
+        String placeholders = String.join(", ", Collections.nCopies(subscriptions.size(), "?"));
+        String sql = "SELECT subscription_id, feature_id FROM subscription_features WHERE subscription_id IN (" +
+                   placeholders + ") ORDER BY subscription_id, feature_id";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Long id : subscriptions.keySet()) {
+                stmt.setLong(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    @SuppressWarnings("unchecked")
+                    List<Long> featureIds = (List<Long>) subscriptions.get(rs.getLong(1)).get("featureIds");
+                    featureIds.add(rs.getLong(2));
+                }
+            }
+        }
+    }
+
+    /**
+     * Row as camelCase keys; nulls are left out and dates become ISO strings to keep deltas small
+     */
+    private static Map<String, Object> mapRow(ResultSet rs, ResultSetMetaData metaData) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            Object value = rs.getObject(i);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Date) {
+                value = ((Date) value).toLocalDate().toString();
+            } else if (value instanceof Timestamp) {
+                value = ((Timestamp) value).toLocalDateTime().toString();
+            }
+            row.put(toCamelCase(metaData.getColumnLabel(i)), value);
+        }
+        return row;
+    }
+
+    private static String toCamelCase(String column) {
+        String lower = column.toLowerCase();
+        StringBuilder name = new StringBuilder(lower.length());
+        boolean upperNext = false;
+        for (char c : lower.toCharArray()) {
+            if (c == '_') {
+                upperNext = true;
+            } else {
+                name.append(upperNext ? Character.toUpperCase(c) : c);
+                upperNext = false;
+            }
+        }
+        return name.toString();
+    }
+
+    @Override
+    public int deleteChangedBefore(LocalDateTime cutoff, int limit) {
+        // Select then delete by seq: DELETE ... LIMIT and LIMIT in IN-subqueries are not portable
+        String selectSql = "SELECT seq FROM change_log WHERE changed_at < ? ORDER BY seq LIMIT ?";
+        List<Long> sequences = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        sequences.add(rs.getLong(1));
+                    }
+                }
+            }
+            if (sequences.isEmpty()) {
+                return 0;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(sequences.size(), "?"));
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM change_log WHERE seq IN (" + placeholders + ")")) {
+                int index = 1;
+                for (Long seq : sequences) {
+                    stmt.setLong(index++, seq);
+                }
+                return stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting old change feed entries", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+}
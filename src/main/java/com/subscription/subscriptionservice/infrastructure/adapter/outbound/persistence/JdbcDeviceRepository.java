@@ -1,7 +1,9 @@
 package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
 
 import com.subscription.subscriptionservice.application.port.outbound.DeviceRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
 import com.subscription.subscriptionservice.domain.model.Device;
+import com.subscription.subscriptionservice.infrastructure.util.ApiKeyUtil;
 
 import javax.sql.DataSource;
 import java.sql.*;
@@ -25,7 +27,7 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
         try {
             if (device.getId() == null) {
                 // Insert
-                String sql = "INSERT INTO devices (name, description, device_type, active, deleted, deleted_at, deleted_by, api_key, created_at, updated_at) " +
+                String sql = "INSERT INTO devices (name, description, device_type, active, deleted, deleted_at, deleted_by, api_key_hash, created_at, updated_at) " +
                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
                 try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                     stmt.setString(1, device.getName());
@@ -39,11 +41,10 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
                         stmt.setNull(6, Types.TIMESTAMP);
                     }
                     stmt.setObject(7, device.getDeletedBy(), Types.BIGINT);
-                    String apiKey = device.getApiKey();
-                    if (apiKey == null) {
-                        apiKey = generateApiKey();
+                    if (device.getApiKey() == null && device.getApiKeyHash() == null) {
+                        device.setApiKey(generateApiKey());
                     }
-                    stmt.setString(8, apiKey);
+                    stmt.setString(8, apiKeyHash(device));
                     stmt.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
                     stmt.setTimestamp(10, Timestamp.valueOf(LocalDateTime.now()));
                     
@@ -56,7 +57,7 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
                 }
             } else {
                 // Update
-                String sql = "UPDATE devices SET name=?, description=?, device_type=?, active=?, deleted=?, deleted_at=?, deleted_by=?, updated_at=? WHERE id=?";
+                String sql = "UPDATE devices SET name=?, description=?, device_type=?, active=?, deleted=?, deleted_at=?, deleted_by=?, api_key_hash=?, updated_at=? WHERE id=?";
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setString(1, device.getName());
                     stmt.setString(2, device.getDescription());
@@ -69,12 +70,14 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
                         stmt.setNull(6, Types.TIMESTAMP);
                     }
                     stmt.setObject(7, device.getDeletedBy(), Types.BIGINT);
-                    stmt.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now()));
-                    stmt.setLong(9, device.getId());
+                    stmt.setString(8, apiKeyHash(device));
+                    stmt.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.setLong(10, device.getId());
                     
                     stmt.executeUpdate();
                 }
             }
+            recordChange(conn, ChangeRecord.DEVICE, device.getId());
             return device;
         } catch (SQLException e) {
             throw new RuntimeException("Error saving device", e);
@@ -105,13 +108,13 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
     }
 
     @Override
-    public Optional<Device> findByApiKey(String apiKey) {
-        String sql = "SELECT * FROM devices WHERE api_key = ? AND (deleted IS NULL OR deleted = false)";
+    public Optional<Device> findByApiKeyHash(String apiKeyHash) {
+        String sql = "SELECT * FROM devices WHERE api_key_hash = ? AND (deleted IS NULL OR deleted = false)";
         Connection conn = getConnection();
         boolean shouldClose = shouldCloseConnection();
         
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, apiKey);
+            stmt.setString(1, apiKeyHash);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     return Optional.of(mapRowToDevice(rs));
@@ -169,6 +172,7 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
         try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM devices WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.DEVICE, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting device", e);
         } finally {
@@ -187,6 +191,7 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
             stmt.setLong(2, deletedBy);
             stmt.setLong(3, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.DEVICE, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error soft deleting device", e);
         } finally {
@@ -203,6 +208,7 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
             "UPDATE devices SET deleted = false, deleted_at = NULL, deleted_by = NULL WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.DEVICE, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error restoring device", e);
         } finally {
@@ -215,6 +221,16 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
         return UUID.randomUUID().toString().replace("-", "");
     }
 
+    /**
+     * Hash of a newly issued key, or the stored hash when the key is unchanged
+     */
+    private static String apiKeyHash(Device device) {
+        if (device.getApiKey() != null) {
+            device.setApiKeyHash(ApiKeyUtil.hash(device.getApiKey()));
+        }
+        return device.getApiKeyHash();
+    }
+
     private Device mapRowToDevice(ResultSet rs) throws SQLException {
         Device device = new Device();
         device.setId(rs.getLong("id"));
@@ -231,7 +247,7 @@ public class JdbcDeviceRepository extends BaseJdbcRepository implements DeviceRe
         if (!rs.wasNull()) {
             device.setDeletedBy(deletedBy);
         }
-        device.setApiKey(rs.getString("api_key"));
+        device.setApiKeyHash(rs.getString("api_key_hash"));
         Timestamp createdAt = rs.getTimestamp("created_at");
         if (createdAt != null) {
             device.setCreatedAt(createdAt.toLocalDateTime());
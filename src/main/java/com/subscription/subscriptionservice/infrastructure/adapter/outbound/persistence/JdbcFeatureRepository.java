@@ -1,6 +1,7 @@
 package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
 
 import com.subscription.subscriptionservice.application.port.outbound.FeatureRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
 import com.subscription.subscriptionservice.domain.model.Feature;
 
 import javax.sql.DataSource;
@@ -54,6 +55,7 @@ public class JdbcFeatureRepository extends BaseJdbcRepository implements Feature
                     stmt.executeUpdate();
                 }
             }
+            recordChange(conn, ChangeRecord.FEATURE, feature.getId());
             return feature;
         } catch (SQLException e) {
             throw new RuntimeException("Error saving feature", e);
@@ -145,6 +147,7 @@ public class JdbcFeatureRepository extends BaseJdbcRepository implements Feature
         try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM features WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.FEATURE, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting feature", e);
         } finally {
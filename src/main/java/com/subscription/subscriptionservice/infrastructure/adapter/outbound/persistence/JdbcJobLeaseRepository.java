@@ -0,0 +1,132 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
+
+import com.subscription.subscriptionservice.application.port.outbound.JobLeaseRepositoryPort;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+public class JdbcJobLeaseRepository extends BaseJdbcRepository implements JobLeaseRepositoryPort {
+
+    public JdbcJobLeaseRepository(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public OptionalLong tryAcquire(String name, String owner, LocalDateTime now, LocalDateTime leaseUntil, LocalDateTime scheduledAt) {
+        // Conditional update wins the lease atomically; only one node can match an expired row
+        String sql = "UPDATE job_leases SET owner = ?, lease_until = ?, fencing_token = fencing_token + 1, " +
+                   "last_scheduled_at = " + (scheduledAt != null ? "?" : "last_scheduled_at") + ", updated_at = ? " +
+                   "WHERE job_name = ? AND lease_until < ?" +
+                   (scheduledAt != null ? " AND (last_scheduled_at IS NULL OR last_scheduled_at < ?)" : "");
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try {
+            int updated;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                stmt.setString(index++, owner);
+                stmt.setTimestamp(index++, Timestamp.valueOf(leaseUntil));
+                if (scheduledAt != null) {
+                    stmt.setTimestamp(index++, Timestamp.valueOf(scheduledAt));
+                }
+                stmt.setTimestamp(index++, Timestamp.valueOf(now));
+                stmt.setString(index++, name);
+                stmt.setTimestamp(index++, Timestamp.valueOf(now));
+                if (scheduledAt != null) {
+                    stmt.setTimestamp(index, Timestamp.valueOf(scheduledAt));
+                }
+                updated = stmt.executeUpdate();
+            }
+            if (updated == 1) {
+                return OptionalLong.of(findFencingToken(conn, name));
+            }
+            return insertLease(conn, name, owner, now, leaseUntil, scheduledAt);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error acquiring job lease: " + name, e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public boolean renew(String name, String owner, long fencingToken, LocalDateTime leaseUntil) {
+        String sql = "UPDATE job_leases SET lease_until = ?, updated_at = ? WHERE job_name = ? AND owner = ? AND fencing_token = ?";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(leaseUntil));
+            stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setString(3, name);
+            stmt.setString(4, owner);
+            stmt.setLong(5, fencingToken);
+            return stmt.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error renewing job lease: " + name, e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public void release(String name, String owner, long fencingToken) {
+        String sql = "UPDATE job_leases SET lease_until = ?, updated_at = ? WHERE job_name = ? AND owner = ? AND fencing_token = ?";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            LocalDateTime now = LocalDateTime.now();
+            // Expire just before now so the next acquisition does not wait for the full lease
+            stmt.setTimestamp(1, Timestamp.valueOf(now.minusSeconds(1)));
+            stmt.setTimestamp(2, Timestamp.valueOf(now));
+            stmt.setString(3, name);
+            stmt.setString(4, owner);
+            stmt.setLong(5, fencingToken);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error releasing job lease: " + name, e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    private OptionalLong insertLease(Connection conn, String name, String owner, LocalDateTime now,
+                                     LocalDateTime leaseUntil, LocalDateTime scheduledAt) throws SQLException {
+        String sql = "INSERT INTO job_leases (job_name, owner, lease_until, fencing_token, last_scheduled_at, updated_at) " +
+                   "VALUES (?, ?, ?, 1, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, name);
+            stmt.setString(2, owner);
+            stmt.setTimestamp(3, Timestamp.valueOf(leaseUntil));
+            if (scheduledAt != null) {
+                stmt.setTimestamp(4, Timestamp.valueOf(scheduledAt));
+            } else {
+                stmt.setNull(4, Types.TIMESTAMP);
+            }
+            stmt.setTimestamp(5, Timestamp.valueOf(now));
+            stmt.executeUpdate();
+            return OptionalLong.of(1);
+        } catch (SQLException e) {
+            if (isDuplicateKey(e)) {
+                // Row exists and is held by another node (or the slot already ran)
+                return OptionalLong.empty();
+            }
+            throw e;
+        }
+    }
+
+    private long findFencingToken(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT fencing_token FROM job_leases WHERE job_name = ?")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        }
+        throw new SQLException("Job lease disappeared: " + name);
+    }
+}
@@ -0,0 +1,159 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class JdbcOutboxRepository extends BaseJdbcRepository implements OutboxRepositoryPort {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public JdbcOutboxRepository(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public DomainEvent save(DomainEvent event) {
+        String sql = "INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload, occurred_at) " +
+                   "VALUES (?, ?, ?, ?, ?)";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            if (event.getOccurredAt() == null) {
+                event.setOccurredAt(LocalDateTime.now());
+            }
+            stmt.setString(1, event.getAggregateType());
+            stmt.setLong(2, event.getAggregateId());
+            stmt.setString(3, event.getEventType());
+            stmt.setString(4, event.getPayload() != null ? objectMapper.writeValueAsString(event.getPayload()) : null);
+            stmt.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    event.setId(rs.getLong(1));
+                }
+            }
+            return event;
+        } catch (SQLException | JsonProcessingException e) {
+            throw new RuntimeException("Error saving outbox event", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public List<DomainEvent> findUnpublished(int limit) {
+        String sql = "SELECT * FROM outbox WHERE published_at IS NULL ORDER BY id LIMIT ?";
+        List<DomainEvent> events = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(mapRowToEvent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding unpublished outbox events", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return events;
+    }
+
+    @Override
+    public int markPublished(List<Long> ids, LocalDateTime publishedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "UPDATE outbox SET published_at = ? WHERE id IN (" + placeholders + ")";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(publishedAt));
+            int index = 2;
+            for (Long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error marking outbox events as published", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    @Override
+    public int deletePublishedBefore(LocalDateTime cutoff, int limit) {
+        // Select then delete by id: DELETE ... LIMIT and LIMIT in IN-subqueries are not portable
+        String selectSql = "SELECT id FROM outbox WHERE published_at IS NOT NULL AND published_at < ? ORDER BY id LIMIT ?";
+        List<Long> ids = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM outbox WHERE id IN (" + placeholders + ")")) {
+                int index = 1;
+                for (Long id : ids) {
+                    stmt.setLong(index++, id);
+                }
+                return stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting published outbox events", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
+    private DomainEvent mapRowToEvent(ResultSet rs) throws SQLException {
+        DomainEvent event = new DomainEvent();
+        event.setId(rs.getLong("id"));
+        event.setAggregateType(rs.getString("aggregate_type"));
+        event.setAggregateId(rs.getLong("aggregate_id"));
+        event.setEventType(rs.getString("event_type"));
+        String payload = rs.getString("payload");
+        if (payload != null) {
+            try {
+                event.setPayload(objectMapper.readValue(payload, PAYLOAD_TYPE));
+            } catch (JsonProcessingException e) {
+                throw new SQLException("Invalid outbox payload for event " + event.getId(), e);
+            }
+        }
+        Timestamp occurredAt = rs.getTimestamp("occurred_at");
+        event.setOccurredAt(occurredAt != null ? occurredAt.toLocalDateTime() : null);
+        Timestamp publishedAt = rs.getTimestamp("published_at");
+        event.setPublishedAt(publishedAt != null ? publishedAt.toLocalDateTime() : null);
+        return event;
+    }
+}
@@ -1,6 +1,7 @@
 package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
 
 import com.subscription.subscriptionservice.application.port.outbound.SubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
 import com.subscription.subscriptionservice.domain.model.Subscription;
 
 import javax.sql.DataSource;
@@ -80,6 +81,7 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
                     stmt.executeUpdate();
                 }
             }
+            recordChange(conn, ChangeRecord.SUBSCRIPTION, subscription.getId());
             
             // Load features
             subscription.setFeatureIds(findFeatureIds(subscription.getId(), conn));
@@ -164,6 +166,7 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
         try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM subscriptions WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.SUBSCRIPTION, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting subscription", e);
         } finally {
@@ -182,6 +185,7 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
             stmt.setLong(2, deletedBy);
             stmt.setLong(3, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.SUBSCRIPTION, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error soft deleting subscription", e);
         } finally {
@@ -198,6 +202,7 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
             "UPDATE subscriptions SET deleted = false, deleted_at = NULL, deleted_by = NULL WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.SUBSCRIPTION, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error restoring subscription", e);
         } finally {
@@ -215,6 +220,7 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
             stmt.setLong(1, subscriptionId);
             stmt.setLong(2, featureId);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.SUBSCRIPTION, subscriptionId);
         } catch (SQLException e) {
             throw new RuntimeException("Error adding feature to subscription", e);
         } finally {
@@ -232,6 +238,7 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
             stmt.setLong(1, subscriptionId);
             stmt.setLong(2, featureId);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.SUBSCRIPTION, subscriptionId);
         } catch (SQLException e) {
             throw new RuntimeException("Error removing feature from subscription", e);
         } finally {
@@ -241,13 +248,21 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
 
     @Override
     public List<Long> findFeatureIds(Long subscriptionId) {
-        return findFeatureIds(subscriptionId, getConnection());
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try {
+            return findFeatureIds(subscriptionId, conn);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
     }
 
+    /**
+     * Reads on the caller's connection and leaves closing it to the caller
+     */
     private List<Long> findFeatureIds(Long subscriptionId, Connection conn) {
         List<Long> featureIds = new ArrayList<>();
-        boolean shouldClose = shouldCloseConnection();
-        
         try (PreparedStatement stmt = conn.prepareStatement(
             "SELECT feature_id FROM subscription_features WHERE subscription_id = ?")) {
             stmt.setLong(1, subscriptionId);
@@ -258,8 +273,6 @@ public class JdbcSubscriptionRepository extends BaseJdbcRepository implements Su
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error finding feature IDs", e);
-        } finally {
-            closeConnectionIfNeeded(conn, shouldClose);
         }
         return featureIds;
     }
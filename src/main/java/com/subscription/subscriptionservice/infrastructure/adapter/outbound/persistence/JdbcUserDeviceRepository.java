@@ -1,6 +1,7 @@
 package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
 
 import com.subscription.subscriptionservice.application.port.outbound.UserDeviceRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
 import com.subscription.subscriptionservice.domain.model.UserDevice;
 
 import javax.sql.DataSource;
@@ -8,6 +9,8 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -61,6 +64,7 @@ public class JdbcUserDeviceRepository extends BaseJdbcRepository implements User
                     stmt.executeUpdate();
                 }
             }
+            recordChange(conn, ChangeRecord.USER_DEVICE, userDevice.getId());
             return userDevice;
         } catch (SQLException e) {
             throw new RuntimeException("Error saving user device", e);
@@ -111,6 +115,35 @@ public class JdbcUserDeviceRepository extends BaseJdbcRepository implements User
         return Optional.empty();
     }
 
+    @Override
+    public List<UserDevice> findByDeviceSerials(Collection<String> deviceSerials) {
+        List<UserDevice> userDevices = new ArrayList<>();
+        if (deviceSerials.isEmpty()) {
+            return userDevices;
+        }
+        String sql = "SELECT * FROM user_devices WHERE device_serial IN (" +
+                     String.join(", ", Collections.nCopies(deviceSerials.size(), "?")) + ")";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (String deviceSerial : deviceSerials) {
+                stmt.setString(index++, deviceSerial);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    userDevices.add(mapRowToUserDevice(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding user devices by serials", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return userDevices;
+    }
+
     @Override
     public List<UserDevice> findAll() {
         String sql = "SELECT * FROM user_devices";
@@ -166,6 +199,7 @@ public class JdbcUserDeviceRepository extends BaseJdbcRepository implements User
         try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM user_devices WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.USER_DEVICE, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting user device", e);
         } finally {
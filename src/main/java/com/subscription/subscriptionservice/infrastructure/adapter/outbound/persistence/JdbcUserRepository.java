@@ -1,6 +1,7 @@
 package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
 
 import com.subscription.subscriptionservice.application.port.outbound.UserRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
 import com.subscription.subscriptionservice.domain.model.Role;
 import com.subscription.subscriptionservice.domain.model.User;
 
@@ -18,12 +19,10 @@ import java.util.*;
  * JDBC implementation of UserRepositoryPort
  * This is an outbound adapter (infrastructure layer)
  */
-public class JdbcUserRepository implements UserRepositoryPort {
-
-    private final DataSource dataSource;
+public class JdbcUserRepository extends BaseJdbcRepository implements UserRepositoryPort {
 
     public JdbcUserRepository(DataSource dataSource) {
-        this.dataSource = dataSource;
+        super(dataSource);
     }
 
     @Override
@@ -96,6 +95,7 @@ public class JdbcUserRepository implements UserRepositoryPort {
 
             // Save user roles using the same connection
             saveUserRoles(conn, user);
+            recordChange(conn, ChangeRecord.USER, user.getId());
 
             return user;
         } catch (SQLException e) {
@@ -111,6 +111,23 @@ public class JdbcUserRepository implements UserRepositoryPort {
         }
     }
 
+    @Override
+    public void updatePassword(Long id, String passwordHash) {
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        // No change log entry - the password is not part of the state the change feed serves
+        try (PreparedStatement stmt = conn.prepareStatement("UPDATE users SET password = ? WHERE id = ?")) {
+            stmt.setString(1, passwordHash);
+            stmt.setLong(2, id);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating user password", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
     private void saveUserRoles(Connection conn, User user) throws SQLException {
         // Delete existing roles
         try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM user_roles WHERE user_id = ?")) {
@@ -165,32 +182,6 @@ public class JdbcUserRepository implements UserRepositoryPort {
         }
         return Optional.empty();
     }
-    
-    private Connection getConnection() {
-        Connection conn = JdbcTransactionManager.getCurrentConnection();
-        if (conn != null) {
-            return conn;
-        }
-        try {
-            return dataSource.getConnection();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get database connection", e);
-        }
-    }
-    
-    private boolean shouldCloseConnection() {
-        return JdbcTransactionManager.getCurrentConnection() == null;
-    }
-    
-    private void closeConnectionIfNeeded(Connection conn, boolean shouldClose) {
-        if (shouldClose && conn != null) {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                // Log but don't throw
-            }
-        }
-    }
 
     @Override
     public Optional<User> findByUsername(String username) {
@@ -297,12 +288,17 @@ public class JdbcUserRepository implements UserRepositoryPort {
 
     @Override
     public void delete(Long id) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("DELETE FROM users WHERE id = ?")) {
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+        
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM users WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.USER, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting user", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
         }
     }
 
@@ -1,6 +1,8 @@
 package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
 
 import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
 import com.subscription.subscriptionservice.domain.model.UserSubscription;
 
 import javax.sql.DataSource;
@@ -82,6 +84,7 @@ public class JdbcUserSubscriptionRepository extends BaseJdbcRepository implement
                     stmt.executeUpdate();
                 }
             }
+            recordChange(conn, ChangeRecord.USER_SUBSCRIPTION, userSubscription.getId());
             return userSubscription;
         } catch (SQLException e) {
             throw new RuntimeException("Error saving user subscription", e);
@@ -166,6 +169,7 @@ public class JdbcUserSubscriptionRepository extends BaseJdbcRepository implement
         try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM user_subscriptions WHERE id = ?")) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            recordChange(conn, ChangeRecord.USER_SUBSCRIPTION, id);
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting user subscription", e);
         } finally {
@@ -173,6 +177,89 @@ public class JdbcUserSubscriptionRepository extends BaseJdbcRepository implement
         }
     }
 
+    @Override
+    public Optional<long[]> findDueForBillingIdRange(LocalDate asOf) {
+        String sql = "SELECT MIN(id), MAX(id) FROM user_subscriptions WHERE status = 'ACTIVE' AND billing_start_date <= ?";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(asOf));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    long minId = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        return Optional.of(new long[] {minId, rs.getLong(2)});
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding user subscription id range due for billing", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<UserSubscription> findDueForBilling(LocalDate asOf, long afterId, long maxId, int limit) {
+        String sql = "SELECT * FROM user_subscriptions WHERE status = 'ACTIVE' AND billing_start_date <= ? " +
+                   "AND id > ? AND id <= ? ORDER BY id LIMIT ?";
+        List<UserSubscription> subscriptions = new ArrayList<>();
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(asOf));
+            stmt.setLong(2, afterId);
+            stmt.setLong(3, maxId);
+            stmt.setInt(4, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    subscriptions.add(mapRowToUserSubscription(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding user subscriptions due for billing", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+        return subscriptions;
+    }
+
+    @Override
+    public int advanceBillingStartDates(List<Billing> billedPeriods) {
+        if (billedPeriods.isEmpty()) {
+            return 0;
+        }
+        // Guarded on the old start date so a concurrent or repeated run cannot advance twice
+        String sql = "UPDATE user_subscriptions SET billing_start_date = ?, updated_at = ? " +
+                   "WHERE id = ? AND billing_start_date = ?";
+        Connection conn = getConnection();
+        boolean shouldClose = shouldCloseConnection();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (Billing billing : billedPeriods) {
+                stmt.setDate(1, Date.valueOf(billing.getBillingPeriodEnd()));
+                stmt.setTimestamp(2, now);
+                stmt.setLong(3, billing.getUserSubscriptionId());
+                stmt.setDate(4, Date.valueOf(billing.getBillingPeriodStart()));
+                stmt.addBatch();
+            }
+            int advanced = 0;
+            for (int count : stmt.executeBatch()) {
+                // SUCCESS_NO_INFO (-2) means the driver did not report a count
+                advanced += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+            return advanced;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error advancing billing start dates", e);
+        } finally {
+            closeConnectionIfNeeded(conn, shouldClose);
+        }
+    }
+
     private List<UserSubscription> findUserSubscriptions(String sql) {
         List<UserSubscription> subscriptions = new ArrayList<>();
         Connection conn = getConnection();
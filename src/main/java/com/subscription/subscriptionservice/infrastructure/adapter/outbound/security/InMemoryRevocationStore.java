@@ -0,0 +1,143 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.domain.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Revocation store for a single node, or when Redis is not available. Holds digests rather than
+ * whole tokens, drops them once their token has expired (on the scheduled cleanup, and whenever
+ * the store is full), and is bounded: when it is still full of live revocations, new ones are
+ * refused with a 503 and an error is logged. A live revocation is never dropped to make room,
+ * since that would make its token valid again.
+ * <p>
+ * Rotated refresh tokens are kept apart, in their own bounded space where the oldest is evicted
+ * when it is full, so a client refreshing in a loop cannot fill the store and block logouts.
+ * An evicted rotation only lets an already replaced refresh token be used once more.
+ */
+public class InMemoryRevocationStore implements RevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryRevocationStore.class);
+
+    private static final int DEFAULT_MAX_ENTRIES = 100_000;
+    private static final long RETRY_AFTER_SECONDS = 60;
+
+    private final int maxEntries;
+    private final int maxRotatedEntries;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Map<String, Long> rotated;
+
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InMemoryRevocationStore() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public InMemoryRevocationStore(int maxEntries) {
+        this(maxEntries, maxEntries);
+    }
+
+    public InMemoryRevocationStore(int maxEntries, int maxRotatedEntries) {
+        this(maxEntries, maxRotatedEntries, System::currentTimeMillis);
+    }
+
+    InMemoryRevocationStore(int maxEntries, int maxRotatedEntries, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.maxRotatedEntries = maxRotatedEntries;
+        this.clock = clock;
+        this.rotated = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() <= maxRotatedEntries) {
+                    return false;
+                }
+                evictions.increment();
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public void revoke(String tokenDigest, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        if (revoked.size() >= maxEntries && !revoked.containsKey(tokenDigest) && !makeRoom()) {
+            overflows.increment();
+            logger.error("Token revocation list full ({} live entries), refusing a revocation - raise jwt.revocation.expectedEntries or enable Redis",
+                maxEntries);
+            throw new ServiceUnavailableException("Token revocation is unavailable, try again later", RETRY_AFTER_SECONDS);
+        }
+        revoked.merge(tokenDigest, expiresAtMillis, Math::max);
+    }
+
+    @Override
+    public void revokeRotated(String tokenDigest, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        rotated.merge(tokenDigest, expiresAtMillis, Math::max);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenDigest) {
+        long now = clock.getAsLong();
+        Long expiresAt = revoked.get(tokenDigest);
+        if (expiresAt != null && expiresAt > now) {
+            return true;
+        }
+        Long rotatedUntil = rotated.get(tokenDigest);
+        return rotatedUntil != null && rotatedUntil > now;
+    }
+
+    @Override
+    public void removeExpired() {
+        long now = clock.getAsLong();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        expirations.add(Math.max(0, before - revoked.size()));
+        synchronized (rotated) {
+            int rotatedBefore = rotated.size();
+            rotated.values().removeIf(expiresAt -> expiresAt <= now);
+            expirations.add(rotatedBefore - rotated.size());
+        }
+    }
+
+    /**
+     * Drops expired entries
+     * @return whether there is room for another entry
+     */
+    private synchronized boolean makeRoom() {
+        if (revoked.size() < maxEntries) {
+            return true;
+        }
+        removeExpired();
+        return revoked.size() < maxEntries;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("store", "memory");
+        stats.put("entries", revoked.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("expirations", expirations.sum());
+        stats.put("overflows", overflows.sum());
+        stats.put("rotatedEntries", rotated.size());
+        stats.put("maxRotatedEntries", maxRotatedEntries);
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,85 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.application.port.outbound.EntitlementTokenPort;
+import io.jsonwebtoken.Jwts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entitlement token signer using JWT with ES256. The key pair comes from configuration; without
+ * one an ephemeral pair is generated, which is only suitable for a single development node since
+ * tokens then stop verifying after a restart.
+ */
+public class JwtEntitlementTokenAdapter implements EntitlementTokenPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtEntitlementTokenAdapter.class);
+
+    private static final String ALGORITHM = "ES256";
+
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final String keyId;
+
+    /**
+     * @param privateKey base64 PKCS#8 EC P-256 private key, or null
+     * @param publicKey base64 X.509 public key of the same pair, or null - exactly when privateKey is
+     */
+    public JwtEntitlementTokenAdapter(String privateKey, String publicKey) throws GeneralSecurityException {
+        if (isBlank(privateKey) != isBlank(publicKey)) {
+            throw new IllegalArgumentException("Entitlement signing needs both the private and the public key, or neither");
+        }
+        if (isBlank(privateKey)) {
+            logger.warn("No entitlement signing key configured - generating an ephemeral key pair");
+            KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+            this.privateKey = keyPair.getPrivate();
+            this.publicKey = keyPair.getPublic();
+        } else {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            this.privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey.trim())));
+            this.publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey.trim())));
+        }
+        // Devices pick the key by id, so keys can be rotated with both published for a while
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(this.publicKey.getEncoded());
+        this.keyId = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+    }
+
+    @Override
+    public String sign(String tokenId, String subject, Map<String, Object> claims, long issuedAtMillis, long expiresAtMillis) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .id(tokenId)
+                .subject(subject)
+                .claims(claims)
+                .issuedAt(new Date(issuedAtMillis))
+                .expiration(new Date(expiresAtMillis))
+                .signWith(privateKey, Jwts.SIG.ES256)
+                .compact();
+    }
+
+    @Override
+    public Map<String, Object> getVerificationKey() {
+        Map<String, Object> key = new LinkedHashMap<>();
+        key.put("kid", keyId);
+        key.put("alg", ALGORITHM);
+        key.put("publicKey", Base64.getEncoder().encodeToString(publicKey.getEncoded()));
+        return key;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
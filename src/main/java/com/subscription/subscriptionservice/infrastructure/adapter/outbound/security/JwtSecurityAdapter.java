@@ -1,17 +1,21 @@
 package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
 
 import com.subscription.subscriptionservice.application.port.outbound.SecurityPort;
+import com.subscription.subscriptionservice.domain.exception.AuthenticationException;
+import com.subscription.subscriptionservice.domain.model.AuthPrincipal;
 import com.subscription.subscriptionservice.domain.model.User;
+import com.subscription.subscriptionservice.infrastructure.util.ApiKeyUtil;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import org.mindrot.jbcrypt.BCrypt;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * JWT and password security adapter
@@ -19,25 +23,67 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class JwtSecurityAdapter implements SecurityPort {
 
-    private final String secretKey;
+    // Built once - both are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
-    private final ConcurrentMap<String, Long> blacklist = new ConcurrentHashMap<>();
+    private final PasswordHasher passwordHasher;
+    private final VerifiedTokenCache verifiedTokens;
+    private final RevocationStore revocations;
 
     public JwtSecurityAdapter(String secretKey, long accessTokenExpiration, long refreshTokenExpiration) {
-        this.secretKey = secretKey;
+        this(secretKey, accessTokenExpiration, refreshTokenExpiration, new PasswordHasher());
+    }
+
+    public JwtSecurityAdapter(String secretKey, long accessTokenExpiration, long refreshTokenExpiration,
+                              PasswordHasher passwordHasher) {
+        this(secretKey, accessTokenExpiration, refreshTokenExpiration, passwordHasher, new VerifiedTokenCache());
+    }
+
+    public JwtSecurityAdapter(String secretKey, long accessTokenExpiration, long refreshTokenExpiration,
+                              PasswordHasher passwordHasher, VerifiedTokenCache verifiedTokens) {
+        this(secretKey, accessTokenExpiration, refreshTokenExpiration, passwordHasher, verifiedTokens,
+            new InMemoryRevocationStore());
+    }
+
+    public JwtSecurityAdapter(String secretKey, long accessTokenExpiration, long refreshTokenExpiration,
+                              PasswordHasher passwordHasher, VerifiedTokenCache verifiedTokens,
+                              RevocationStore revocations) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.passwordHasher = passwordHasher;
+        this.verifiedTokens = verifiedTokens;
+        this.revocations = revocations;
     }
 
     @Override
     public String hashPassword(String plainPassword) {
-        return BCrypt.hashpw(plainPassword, BCrypt.gensalt());
+        return passwordHasher.hash(plainPassword);
     }
 
     @Override
     public boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return BCrypt.checkpw(plainPassword, hashedPassword);
+        return passwordHasher.verify(plainPassword, hashedPassword);
+    }
+
+    @Override
+    public boolean passwordNeedsRehash(String hashedPassword) {
+        return passwordHasher.needsRehash(hashedPassword);
+    }
+
+    public PasswordHasher getPasswordHasher() {
+        return passwordHasher;
+    }
+
+    public VerifiedTokenCache getVerifiedTokenCache() {
+        return verifiedTokens;
+    }
+
+    public RevocationStore getRevocationStore() {
+        return revocations;
     }
 
     @Override
@@ -66,40 +112,77 @@ public class JwtSecurityAdapter implements SecurityPort {
     }
 
     private String createToken(Map<String, Object> claims, String subject, long expirationMillis) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationMillis))
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
 
+    @Override
+    public AuthPrincipal parseAndValidate(String token) {
+        if (token == null) {
+            throw new AuthenticationException("Invalid or expired token");
+        }
+        // Revocation is checked first, so a principal cached before a logout elsewhere is not served
+        String digest = ApiKeyUtil.hash(token);
+        if (revocations.isRevoked(digest)) {
+            throw new AuthenticationException("Invalid or expired token");
+        }
+        // A token seen before costs one digest and a lookup instead of HMAC and claim decoding
+        AuthPrincipal cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims;
+        try {
+            claims = getAllClaimsFromToken(token);
+        } catch (ExpiredJwtException e) {
+            throw new AuthenticationException("Token is expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new AuthenticationException("Invalid or expired token");
+        }
+        Object userId = claims.get("userId");
+        Date expiration = claims.getExpiration();
+        AuthPrincipal principal = new AuthPrincipal(
+            claims.getSubject(),
+            userId instanceof Number ? ((Number) userId).longValue() : null,
+            rolesFrom(claims),
+            expiration != null ? expiration.toInstant() : null);
+        verifiedTokens.put(digest, principal);
+        return principal;
+    }
+
     @Override
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
     
     @Override
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            Object rolesObj = claims.get("roles");
-            if (rolesObj instanceof List) {
-                return (List<String>) rolesObj;
-            }
-            return new ArrayList<>();
+            return rolesFrom(getAllClaimsFromToken(token));
         } catch (Exception e) {
             return new ArrayList<>();
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<String> rolesFrom(Claims claims) {
+        Object rolesObj = claims.get("roles");
+        if (rolesObj instanceof List) {
+            return (List<String>) rolesObj;
+        }
+        return new ArrayList<>();
+    }
+
     @Override
     public boolean validateToken(String token) {
         try {
-            return !isTokenExpired(token) && !isTokenBlacklisted(token);
+            parseAndValidate(token);
+            return true;
         } catch (Exception e) {
             return false;
         }
@@ -113,12 +196,21 @@ public class JwtSecurityAdapter implements SecurityPort {
 
     @Override
     public void blacklistToken(String token, long expirationTimeMillis) {
-        blacklist.put(token, expirationTimeMillis);
+        String digest = ApiKeyUtil.hash(token);
+        revocations.revoke(digest, expirationTimeMillis);
+        verifiedTokens.invalidate(digest);
+    }
+
+    @Override
+    public void blacklistRotatedToken(String token, long expirationTimeMillis) {
+        String digest = ApiKeyUtil.hash(token);
+        revocations.revokeRotated(digest, expirationTimeMillis);
+        verifiedTokens.invalidate(digest);
     }
 
     @Override
     public boolean isTokenBlacklisted(String token) {
-        return blacklist.containsKey(token);
+        return revocations.isRevoked(ApiKeyUtil.hash(token));
     }
     
     @Override
@@ -138,17 +230,13 @@ public class JwtSecurityAdapter implements SecurityPort {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
+    @Override
     public void removeExpiredTokens() {
-        long now = System.currentTimeMillis();
-        blacklist.entrySet().removeIf(entry -> entry.getValue() <= now);
+        revocations.removeExpired();
+        verifiedTokens.removeExpired();
     }
 }
 
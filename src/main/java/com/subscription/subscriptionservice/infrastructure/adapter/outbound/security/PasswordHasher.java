@@ -0,0 +1,159 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.domain.exception.ServiceUnavailableException;
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt on a small dedicated pool, so a burst of logins queues there instead of holding every
+ * request thread on CPU-bound hashing. The queue is bounded: when it is full, or a hash waits past the
+ * timeout, the caller gets a 503 straight away.
+ */
+public class PasswordHasher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    public static final int DEFAULT_COST = 10;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+    private static final long RETRY_AFTER_SECONDS = 1;
+    // Hashing serves registration and password changes as well as logins
+    private static final String BUSY_MESSAGE = "Too many password requests in progress, try again shortly";
+
+    private final int cost;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public PasswordHasher() {
+        this(DEFAULT_COST, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param cost          BCrypt log2 rounds for new hashes (4-31)
+     * @param workers       hashing threads - at most the CPU count is useful
+     * @param queueCapacity hashes that may wait for a thread before callers are turned away
+     * @param timeoutMillis longest a caller waits for its hash, queueing included
+     */
+    public PasswordHasher(int cost, int workers, int queueCapacity, long timeoutMillis) {
+        if (cost < 4 || cost > 31) {
+            throw new IllegalArgumentException("BCrypt cost must be between 4 and 31: " + cost);
+        }
+        this.cost = cost;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), r -> {
+                Thread thread = new Thread(r, "password-hasher-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("Password hasher initialized: cost={}, workers={}, queueCapacity={}", cost, workers, queueCapacity);
+    }
+
+    public String hash(String plainPassword) {
+        String hashed = run(() -> BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost)));
+        hashes.increment();
+        return hashed;
+    }
+
+    public boolean verify(String plainPassword, String hashedPassword) {
+        if (hashedPassword == null) {
+            return false; // OAuth accounts have no password
+        }
+        boolean matches = run(() -> BCrypt.checkpw(plainPassword, hashedPassword));
+        verifications.increment();
+        return matches;
+    }
+
+    /**
+     * Whether the hash was made with another cost than the configured one
+     */
+    public boolean needsRehash(String hashedPassword) {
+        return hashedPassword != null && costOf(hashedPassword) != cost;
+    }
+
+    /**
+     * Cost of a {@code $2a$10$...} hash, or -1 when it is not a BCrypt hash
+     */
+    static int costOf(String hashedPassword) {
+        if (hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$' || hashedPassword.charAt(3) != '$'
+                || hashedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = hashedPassword.charAt(4);
+        char units = hashedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE,
+                RETRY_AFTER_SECONDS);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE,
+                RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cost", cost);
+        stats.put("workers", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("hashes", hashes.sum());
+        stats.put("verifications", verifications.sum());
+        stats.put("rejections", rejections.sum());
+        stats.put("timeouts", timeouts.sum());
+        return stats;
+    }
+
+    /**
+     * Stop the hashing threads
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,249 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.infrastructure.util.ApiKeyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cluster-wide revocation store. Each revocation is a Redis key that expires with its token, and
+ * is announced on a channel so every node adds the digest to a local Bloom filter. A token the
+ * filter has never seen - nearly every request - is known not to be revoked without a network
+ * call; only filter hits are confirmed against Redis, and fail closed if Redis cannot answer.
+ * <p>
+ * Announcements sent while a node is disconnected are lost, so the filter is rebuilt from the
+ * keys in Redis on every (re)subscribe. The scheduled cleanup rebuilds it too, which drops
+ * expired digests and keeps the false positive rate near the configured one.
+ */
+public class RedisRevocationStore implements RevocationStore, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRevocationStore.class);
+
+    static final String KEY_PREFIX = "revoked:";
+    static final String CHANNEL = "token-revoked";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    private final JedisPool jedisPool;
+    private final String keyPrefix;
+    private final long expectedRevocations;
+
+    private volatile BloomFilter filter;
+    // Revocations during a rebuild go into the filter being built as well
+    private volatile BloomFilter rebuilding;
+    private final Object rebuildLock = new Object();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+    private final LongAdder failedChecks = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    private final RevocationSubscriber subscriber = new RevocationSubscriber();
+    private volatile boolean running = true;
+
+    public RedisRevocationStore(String host, int port, String password, String keyPrefix, int maxConnections,
+                                long expectedRevocations) {
+        this.keyPrefix = keyPrefix != null ? keyPrefix : "subscription:";
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(maxConnections);
+        poolConfig.setTestWhileIdle(true);
+        if (password != null && !password.isEmpty()) {
+            this.jedisPool = new JedisPool(poolConfig, host, port, 2000, password);
+        } else {
+            this.jedisPool = new JedisPool(poolConfig, host, port, 2000);
+        }
+
+        Thread thread = new Thread(this::listen, "token-revocations");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Redis revocation store initialized: host={}, port={}, expectedRevocations={}, filterBytes={}",
+            host, port, expectedRevocations, filter.sizeInBytes());
+    }
+
+    /**
+     * Not swallowed - a revocation that did not reach Redis would not hold on the other nodes
+     */
+    @Override
+    public void revoke(String tokenDigest, long expiresAtMillis) {
+        long ttlSeconds = (expiresAtMillis - System.currentTimeMillis() + 999) / 1000;
+        if (ttlSeconds <= 0) {
+            return;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            // Key first: a rebuild that starts after the filter update below then scans it
+            jedis.set(keyPrefix + KEY_PREFIX + tokenDigest, "1", SetParams.setParams().ex(ttlSeconds));
+            addToFilter(ApiKeyUtil.fromHex(tokenDigest));
+            jedis.publish(keyPrefix + CHANNEL, tokenDigest);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenDigest) {
+        lookups.increment();
+        byte[] digest = ApiKeyUtil.fromHex(tokenDigest);
+        if (digest == null || !filter.mightContain(digest)) {
+            return false;
+        }
+        filterHits.increment();
+        try (Jedis jedis = jedisPool.getResource()) {
+            boolean revoked = jedis.exists(keyPrefix + KEY_PREFIX + tokenDigest);
+            if (revoked) {
+                revokedHits.increment();
+            }
+            return revoked;
+        } catch (Exception e) {
+            failedChecks.increment();
+            logger.warn("Could not confirm token revocation, rejecting the token: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void removeExpired() {
+        rebuild();
+    }
+
+    /**
+     * Callers add a digest only once its key is in Redis, so a rebuild that starts later scans it.
+     * One already running either is seen through {@code rebuilding}, or has swapped its filter in
+     * by the time it is checked again.
+     */
+    private void addToFilter(byte[] digest) {
+        if (digest == null) {
+            return;
+        }
+        BloomFilter current = filter;
+        current.put(digest);
+        BloomFilter pending = rebuilding;
+        if (pending != null) {
+            pending.put(digest);
+        }
+        BloomFilter latest = filter;
+        if (latest != current) {
+            latest.put(digest);
+        }
+    }
+
+    /**
+     * Replace the filter with one holding exactly the revocations still in Redis
+     */
+    void rebuild() {
+        synchronized (rebuildLock) {
+            BloomFilter pending = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+            rebuilding = pending;
+            try (Jedis jedis = jedisPool.getResource()) {
+                String prefix = keyPrefix + KEY_PREFIX;
+                ScanParams params = new ScanParams().match(prefix.replaceAll("([*?\\[\\]\\\\])", "\\\\$1") + "*")
+                    .count(SCAN_BATCH_SIZE);
+                String cursor = ScanParams.SCAN_POINTER_START;
+                do {
+                    ScanResult<String> batch = jedis.scan(cursor, params);
+                    for (String key : batch.getResult()) {
+                        byte[] digest = ApiKeyUtil.fromHex(key.substring(prefix.length()));
+                        if (digest != null) {
+                            pending.put(digest);
+                        }
+                    }
+                    cursor = batch.getCursor();
+                } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+                filter = pending;
+                rebuilds.increment();
+                if (pending.additions() > expectedRevocations) {
+                    logger.warn("Token revocations ({}) exceed the expected {}, more lookups will reach Redis",
+                        pending.additions(), expectedRevocations);
+                }
+            } catch (Exception e) {
+                // Keep the old filter - it only ever has extra digests, never missing ones
+                logger.warn("Could not rebuild the token revocation filter: {}", e.getMessage());
+            } finally {
+                rebuilding = null;
+            }
+        }
+    }
+
+    public boolean isAvailable() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return "PONG".equals(jedis.ping());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Subscriber loop, reconnecting with backoff
+     */
+    private void listen() {
+        long delay = 1000;
+        while (running) {
+            try (Jedis jedis = jedisPool.getResource()) {
+                jedis.subscribe(subscriber, keyPrefix + CHANNEL);
+                delay = 1000;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Token revocation subscription lost, retrying in {}ms: {}", delay, e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MILLIS);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("store", "redis");
+        stats.put("filterEntries", filter.additions());
+        stats.put("filterBytes", filter.sizeInBytes());
+        stats.put("lookups", lookups.sum());
+        stats.put("filterHits", filterHits.sum());
+        stats.put("revokedHits", revokedHits.sum());
+        stats.put("failedChecks", failedChecks.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        return stats;
+    }
+
+    /**
+     * Stop the subscriber and close the connection pool
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (subscriber.isSubscribed()) {
+            subscriber.unsubscribe();
+        }
+        jedisPool.close();
+    }
+
+    private final class RevocationSubscriber extends JedisPubSub {
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            rebuild();
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            addToFilter(ApiKeyUtil.fromHex(message));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import java.util.Map;
+
+/**
+ * Revoked tokens, keyed by the hex SHA-256 digest of the token. Entries only need to live until
+ * the token would have expired anyway.
+ */
+public interface RevocationStore {
+
+    void revoke(String tokenDigest, long expiresAtMillis);
+
+    /**
+     * Revoke a refresh token that has just been replaced by a new one. Unlike {@link #revoke},
+     * a bounded store may evict these to make room rather than refuse them.
+     */
+    default void revokeRotated(String tokenDigest, long expiresAtMillis) {
+        revoke(tokenDigest, expiresAtMillis);
+    }
+
+    boolean isRevoked(String tokenDigest);
+
+    /**
+     * Forget revocations of tokens that have expired since
+     */
+    void removeExpired();
+
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,121 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.domain.model.AuthPrincipal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of tokens that already passed signature and expiry checks, keyed by the token's
+ * SHA-256 digest, so repeat requests in a session skip HMAC verification and claim decoding. An
+ * entry lives exactly as long as its token and is dropped as soon as the token is revoked.
+ */
+public class VerifiedTokenCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final int maxEntries;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The principal of a verified, unexpired token, or null when the token has to be parsed
+     */
+    public AuthPrincipal get(String tokenDigest) {
+        Entry entry = entries.get(tokenDigest);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(tokenDigest, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal;
+    }
+
+    /**
+     * Tokens without an expiry are not cached
+     */
+    public void put(String tokenDigest, AuthPrincipal principal) {
+        if (principal.getExpiresAt() == null || maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(tokenDigest)) {
+            evict();
+        }
+        entries.put(tokenDigest, new Entry(principal, principal.getExpiresAt().toEpochMilli()));
+    }
+
+    public void invalidate(String tokenDigest) {
+        entries.remove(tokenDigest);
+    }
+
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    /**
+     * Drops expired entries, then arbitrary ones until a tenth of the capacity is free
+     */
+    private synchronized void evict() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        removeExpired();
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        if (entries.size() > target) {
+            int[] remaining = {entries.size() - target};
+            removeIf(entry -> remaining[0]-- > 0);
+        }
+    }
+
+    private void removeIf(Predicate<Entry> condition) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (condition.test(iterator.next())) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private static final class Entry {
+        private final AuthPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(AuthPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
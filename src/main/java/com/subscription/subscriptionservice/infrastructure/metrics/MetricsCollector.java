@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Simple Metrics Collector
@@ -21,6 +22,7 @@ public class MetricsCollector {
     private final Map<String, AtomicLong> errorCounts = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> totalResponseTime = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> requestCount = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<Map<String, Object>>> gauges = new ConcurrentHashMap<>();
     
     private MetricsCollector() {
     }
@@ -46,6 +48,13 @@ public class MetricsCollector {
         }
     }
     
+    /**
+     * Register a component whose current figures are included under "components" in {@link #getMetrics()}
+     */
+    public void registerGauge(String name, Supplier<Map<String, Object>> gauge) {
+        gauges.put(name, gauge);
+    }
+    
     public Map<String, Object> getMetrics() {
         Map<String, Object> metrics = new ConcurrentHashMap<>();
         
@@ -66,6 +75,12 @@ public class MetricsCollector {
         }
         
         metrics.put("requests", requests);
+        
+        Map<String, Object> components = new ConcurrentHashMap<>();
+        for (Map.Entry<String, Supplier<Map<String, Object>>> entry : gauges.entrySet()) {
+            components.put(entry.getKey(), entry.getValue().get());
+        }
+        metrics.put("components", components);
         metrics.put("timestamp", System.currentTimeMillis());
         
         return metrics;
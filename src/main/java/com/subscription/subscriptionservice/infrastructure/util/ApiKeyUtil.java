@@ -0,0 +1,63 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility class for device API key hashing. Keys are stored as their SHA-256 hex digest only, so
+ * a key is looked up by hashing it and probing the unique hash index.
+ */
+public class ApiKeyUtil {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    /**
+     * SHA-256 digest of the key
+     */
+    public static byte[] digest(String apiKey) {
+        return SHA_256.get().digest(apiKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lowercase hex SHA-256 digest of the key, as stored in devices.api_key_hash
+     */
+    public static String hash(String apiKey) {
+        return toHex(digest(apiKey));
+    }
+
+    public static String toHex(byte[] digest) {
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Digest bytes of a stored hash, or null when it is not a hex SHA-256 digest
+     */
+    public static byte[] fromHex(String hash) {
+        if (hash == null || hash.length() != 64) {
+            return null;
+        }
+        byte[] digest = new byte[32];
+        for (int i = 0; i < digest.length; i++) {
+            int high = Character.digit(hash.charAt(i * 2), 16);
+            int low = Character.digit(hash.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            digest[i] = (byte) ((high << 4) | low);
+        }
+        return digest;
+    }
+}
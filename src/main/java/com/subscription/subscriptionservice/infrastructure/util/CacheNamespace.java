@@ -0,0 +1,89 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Builds the cache keys of one region (users, subscriptions, ...) with the region's generation
+ * embedded, e.g. {@code users:g3:user:42}. Invalidating the whole region is then a single INCR of
+ * its generation counter: every node switches to new keys, and the old ones are unlinked in the
+ * background or simply expire.
+ * <p>
+ * The generation is re-read at most once a second, so another node's invalidation is seen within
+ * that time; an invalidation on this node applies immediately. A read that returns nothing (the
+ * cache being unreachable looks the same) keeps the last known generation, so a cache outage never
+ * sends the node back to generation 0 and its stale keys.
+ */
+public class CacheNamespace {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheNamespace.class);
+
+    public static final String USERS = "users";
+    public static final String SUBSCRIPTIONS = "subscriptions";
+    public static final String FEATURES = "features";
+    public static final String DEVICES = "devices";
+    public static final String USER_SUBSCRIPTIONS = "userSubscriptions";
+    public static final Set<String> REGIONS = Set.of(USERS, SUBSCRIPTIONS, FEATURES, DEVICES, USER_SUBSCRIPTIONS);
+
+    private static final long GENERATION_REFRESH_MILLIS = 1000;
+
+    private final CachePort cache;
+    private final String region;
+    private final String generationKey;
+    private final LongSupplier clock;
+
+    private volatile long generation;
+    private volatile long generationReadAt;
+
+    public CacheNamespace(CachePort cache, String region) {
+        this(cache, region, System::currentTimeMillis);
+    }
+
+    CacheNamespace(CachePort cache, String region, LongSupplier clock) {
+        this.cache = cache;
+        this.region = region;
+        this.generationKey = "generation:" + region;
+        this.clock = clock;
+    }
+
+    /**
+     * Key in the region's current generation
+     */
+    public String key(String prefix, Object... parts) {
+        return CacheUtil.buildKey(region + ":g" + generation() + ":" + prefix, parts);
+    }
+
+    /**
+     * Drop every entry of the region on all nodes
+     */
+    public void invalidateAll() {
+        if (cache == null) {
+            return;
+        }
+        long next = cache.increment(generationKey);
+        generation = next;
+        generationReadAt = clock.getAsLong();
+        cache.deleteByPrefix(region + ":g" + (next - 1) + ":");
+        logger.info("Invalidated cache region: region={}, generation={}", region, next);
+    }
+
+    private long generation() {
+        long now = clock.getAsLong();
+        if (cache != null && now - generationReadAt >= GENERATION_REFRESH_MILLIS) {
+            String value = cache.get(generationKey);
+            try {
+                if (value != null) {
+                    generation = Long.parseLong(value);
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring malformed cache generation: region={}, value={}", region, value);
+            }
+            generationReadAt = now;
+        }
+        return generation;
+    }
+}
@@ -0,0 +1,79 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import com.subscription.subscriptionservice.infrastructure.util.codec.CacheCodec;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for one entity type: keys in the region's namespace, values in its codec,
+ * loaded through a LoadingCache with the region's TTL. Services read with {@link #get} and evict
+ * the keys a write affects; without a cache port reads go straight to the loader.
+ */
+public class CacheRegion<T> {
+
+    private final String name;
+    private final CachePort cache;
+    private final CacheCodec<T> codec;
+    private final long ttlSeconds;
+    private final CacheNamespace keys;
+    private final LoadingCache loadingCache;
+
+    CacheRegion(String name, CachePort cache, CacheCodec<T> codec, long ttlSeconds, long staleSeconds) {
+        this.name = name;
+        this.cache = cache;
+        this.codec = codec;
+        this.ttlSeconds = ttlSeconds;
+        this.keys = new CacheNamespace(cache, name);
+        this.loadingCache = new LoadingCache(cache, staleSeconds);
+    }
+
+    public String key(String prefix, Object... parts) {
+        return keys.key(prefix, parts);
+    }
+
+    public T get(String key, Supplier<T> loader) {
+        return loadingCache.get(key, codec, ttlSeconds, loader);
+    }
+
+    /**
+     * @param aliases further keys the loaded value is cached under
+     */
+    public T get(String key, Supplier<T> loader, Function<T, Collection<String>> aliases) {
+        return loadingCache.get(key, codec, ttlSeconds, loader, aliases);
+    }
+
+    public void evict(String... keysToEvict) {
+        if (cache != null && keysToEvict.length > 0) {
+            cache.deleteAll(Arrays.asList(keysToEvict));
+        }
+    }
+
+    public void evict(Collection<String> keysToEvict) {
+        if (cache != null && !keysToEvict.isEmpty()) {
+            cache.deleteAll(keysToEvict);
+        }
+    }
+
+    public void invalidateAll() {
+        keys.invalidateAll();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(loadingCache.getStats());
+        long hits = (Long) stats.get("hits") + (Long) stats.get("staleHits");
+        long lookups = hits + (Long) stats.get("misses");
+        stats.put("hitRatio", lookups > 0 ? (double) hits / lookups : 0.0);
+        stats.put("ttlSeconds", ttlSeconds);
+        return stats;
+    }
+}
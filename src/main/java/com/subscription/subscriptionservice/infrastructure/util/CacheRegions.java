@@ -0,0 +1,63 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import com.subscription.subscriptionservice.infrastructure.util.codec.CacheCodec;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The application's cache regions, one per cached entity type, with TTLs from the
+ * {@code cache.regions} config block. Services sharing a region get the same instance. Built without
+ * a cache port, every region reads straight through to its loader.
+ */
+public class CacheRegions {
+
+    private static final long DEFAULT_TTL_SECONDS = 300;
+    private static final long DEFAULT_STALE_SECONDS = 60;
+
+    private final CachePort cache;
+    private final Map<String, Object> config;
+    private final ConcurrentMap<String, CacheRegion<?>> regions = new ConcurrentHashMap<>();
+
+    public CacheRegions() {
+        this(null, Collections.emptyMap());
+    }
+
+    /**
+     * @param config region name to {@code {ttlSeconds, staleSeconds}}
+     */
+    public CacheRegions(CachePort cache, Map<String, Object> config) {
+        this.cache = cache;
+        this.config = config != null ? config : Collections.emptyMap();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CacheRegion<T> region(String name, CacheCodec<T> codec) {
+        return (CacheRegion<T>) regions.computeIfAbsent(name, n -> {
+            Map<String, Object> regionConfig = (Map<String, Object>) config.get(n);
+            return new CacheRegion<>(n, cache, codec,
+                longSetting(regionConfig, "ttlSeconds", DEFAULT_TTL_SECONDS),
+                longSetting(regionConfig, "staleSeconds", DEFAULT_STALE_SECONDS));
+        });
+    }
+
+    private static long longSetting(Map<String, Object> regionConfig, String name, long defaultValue) {
+        Object value = regionConfig != null ? regionConfig.get(name) : null;
+        return value != null ? ((Number) value).longValue() : defaultValue;
+    }
+
+    /**
+     * Hit ratio and load counts by region
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        for (CacheRegion<?> region : regions.values()) {
+            stats.put(region.getName(), region.getStats());
+        }
+        return stats;
+    }
+}
@@ -1,17 +1,23 @@
 package com.subscription.subscriptionservice.infrastructure.util;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.subscription.subscriptionservice.application.port.outbound.CachePort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Utility class for cache operations
  */
 public class CacheUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(CacheUtil.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // Derived getters such as User.isActive() are serialized but have no setter
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     
     /**
      * Get object from cache
@@ -55,6 +61,25 @@ public class CacheUtil {
         }
     }
     
+    /**
+     * Put several objects in cache with expiration, in one round trip
+     */
+    public static void putAll(CachePort cache, Map<String, ?> values, long expirationSeconds) {
+        if (cache == null) {
+            return;
+        }
+        
+        Map<String, String> serialized = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            try {
+                serialized.put(entry.getKey(), objectMapper.writeValueAsString(entry.getValue()));
+            } catch (Exception e) {
+                logger.warn("Error serializing value for cache: key={}", entry.getKey(), e);
+            }
+        }
+        cache.putAll(serialized, expirationSeconds);
+    }
+    
     /**
      * Build cache key
      */
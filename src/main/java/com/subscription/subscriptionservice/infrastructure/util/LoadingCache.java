@@ -0,0 +1,258 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import com.subscription.subscriptionservice.infrastructure.util.codec.BinaryInput;
+import com.subscription.subscriptionservice.infrastructure.util.codec.BinaryOutput;
+import com.subscription.subscriptionservice.infrastructure.util.codec.CacheCodec;
+import com.subscription.subscriptionservice.infrastructure.util.codec.JsonCacheCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache over CachePort that keeps hot keys from stampeding the database:
+ * <ul>
+ *   <li>concurrent misses for a key on this instance share one load (single-flight)</li>
+ *   <li>TTLs are jittered so keys cached together do not expire together</li>
+ *   <li>entries record when they go stale and how long they took to load, and reads refresh them
+ *       in the background slightly ahead of expiry with a probability that grows as expiry nears
+ *       and with load time (XFetch)</li>
+ *   <li>past expiry the stale value is still served for a grace period while it is refreshed</li>
+ * </ul>
+ * Values are stored as bytes: a small header with the expiry and load time, then the value in the
+ * given codec's format (JSON unless the caller has a binary codec). Without a cache port every read
+ * goes to the loader.
+ */
+public class LoadingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadingCache.class);
+
+    // Header layout version, so entries in an older layout read as misses
+    private static final int ENVELOPE_VERSION = 1;
+    private static final double TTL_JITTER = 0.1;
+    // XFetch beta - above 1 favours earlier refreshes
+    private static final double EARLY_REFRESH_BETA = 1.0;
+
+    private static final Executor DEFAULT_REFRESH_EXECUTOR = newRefreshExecutor();
+
+    private final CachePort cache;
+    private final long staleSeconds;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    public LoadingCache(CachePort cache, long staleSeconds) {
+        this(cache, staleSeconds, DEFAULT_REFRESH_EXECUTOR);
+    }
+
+    public LoadingCache(CachePort cache, long staleSeconds, Executor refreshExecutor) {
+        this.cache = cache;
+        this.staleSeconds = staleSeconds;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public <T> T get(String key, Class<T> type, long ttlSeconds, Supplier<T> loader) {
+        return get(key, new JsonCacheCodec<>(type), ttlSeconds, loader, null);
+    }
+
+    public <T> T get(String key, CacheCodec<T> codec, long ttlSeconds, Supplier<T> loader) {
+        return get(key, codec, ttlSeconds, loader, null);
+    }
+
+    /**
+     * @param aliases further keys the loaded value is cached under, e.g. a user by id when loaded by
+     *                username; written in the same round trip
+     */
+    public <T> T get(String key, CacheCodec<T> codec, long ttlSeconds, Supplier<T> loader,
+                     Function<T, Collection<String>> aliases) {
+        if (cache == null) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Entry<T> cached = read(cache.getBytes(key), codec);
+        if (cached != null) {
+            if (now >= cached.expiresAt) {
+                staleHits.increment();
+                refreshAsync(key, codec, ttlSeconds, loader, aliases);
+            } else {
+                hits.increment();
+                if (shouldRefreshEarly(now, cached)) {
+                    refreshAsync(key, codec, ttlSeconds, loader, aliases);
+                }
+            }
+            return cached.value;
+        }
+        misses.increment();
+        return load(key, codec, ttlSeconds, loader, aliases);
+    }
+
+    /**
+     * XFetch: refresh when now - loadTime * beta * ln(random) passes the expiry
+     */
+    private static boolean shouldRefreshEarly(long now, Entry<?> entry) {
+        double random = ThreadLocalRandom.current().nextDouble();
+        return now - entry.loadMillis * EARLY_REFRESH_BETA * Math.log(random) >= entry.expiresAt;
+    }
+
+    private <T> T load(String key, CacheCodec<T> codec, long ttlSeconds, Supplier<T> loader,
+                       Function<T, Collection<String>> aliases) {
+        CompletableFuture<byte[]> loading = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, loading);
+        if (existing != null) {
+            coalesced.increment();
+            byte[] written;
+            try {
+                written = existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            // Every waiter gets its own copy of the value
+            Entry<T> entry = read(written, codec);
+            return entry != null ? entry.value : loader.get();
+        }
+        try {
+            T value = loader.get();
+            loading.complete(write(key, codec, value, ttlSeconds, System.currentTimeMillis(), aliases));
+            return value;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, loading);
+        }
+    }
+
+    private <T> void refreshAsync(String key, CacheCodec<T> codec, long ttlSeconds, Supplier<T> loader,
+                                  Function<T, Collection<String>> aliases) {
+        CompletableFuture<byte[]> refreshing = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, refreshing) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    long started = System.currentTimeMillis();
+                    refreshing.complete(write(key, codec, loader.get(), ttlSeconds, started, aliases));
+                    refreshes.increment();
+                } catch (RuntimeException e) {
+                    logger.debug("Background cache refresh failed: key={}", key, e);
+                    refreshing.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, refreshing);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Refresh queue full - a later read retries
+            inFlight.remove(key, refreshing);
+            refreshing.complete(null);
+        }
+    }
+
+    /**
+     * @return the written entry, or null when the value could not be encoded
+     */
+    private <T> byte[] write(String key, CacheCodec<T> codec, T value, long ttlSeconds, long loadStarted,
+                             Function<T, Collection<String>> aliases) {
+        long now = System.currentTimeMillis();
+        double jitter = 1 + TTL_JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        long ttlMillis = (long) (ttlSeconds * 1000 * jitter);
+        try {
+            byte[] payload = codec.encode(value);
+            byte[] entry = new BinaryOutput(payload.length + 16)
+                .writeByte(ENVELOPE_VERSION)
+                .writeVarLong(now + ttlMillis)
+                .writeVarLong(now - loadStarted)
+                .writeBytes(payload)
+                .toByteArray();
+
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+            entries.put(key, entry);
+            if (aliases != null && value != null) {
+                for (String alias : aliases.apply(value)) {
+                    entries.put(alias, entry);
+                }
+            }
+            // Kept past the logical expiry so stale reads can be served while refreshing
+            cache.putAllBytes(entries, ttlMillis / 1000 + staleSeconds);
+            return entry;
+        } catch (Exception e) {
+            logger.warn("Error serializing value for cache: key={}", key, e);
+            return null;
+        }
+    }
+
+    private static <T> Entry<T> read(byte[] bytes, CacheCodec<T> codec) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != ENVELOPE_VERSION) {
+            return null;
+        }
+        try {
+            BinaryInput in = new BinaryInput(bytes, 1);
+            long expiresAt = in.readVarLong();
+            long loadMillis = in.readVarLong();
+            return new Entry<>(codec.decode(in.remaining()), expiresAt, loadMillis);
+        } catch (RuntimeException e) {
+            logger.warn("Error deserializing cached value", e);
+            return null;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("refreshes", refreshes.sum());
+        return stats;
+    }
+
+    /**
+     * Small daemon pool; refreshes beyond its queue are dropped
+     */
+    private static Executor newRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1000), r -> {
+                Thread thread = new Thread(r, "cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAt;
+        private final long loadMillis;
+
+        private Entry(T value, long expiresAt, long loadMillis) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.loadMillis = loadMillis;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads what BinaryOutput wrote. Truncated or malformed input throws IllegalArgumentException.
+ */
+public final class BinaryInput {
+
+    private final byte[] bytes;
+    private int position;
+
+    public BinaryInput(byte[] bytes) {
+        this(bytes, 0);
+    }
+
+    public BinaryInput(byte[] bytes, int offset) {
+        this.bytes = bytes;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        require(1);
+        return bytes[position++] & 0xff;
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value > 0xffffffffL) {
+            throw new IllegalArgumentException("Varint out of range at " + position);
+        }
+        return (int) value;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at " + position);
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        require(length);
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public String readOptionalString() {
+        return present() ? readString() : null;
+    }
+
+    public Long readOptionalLong() {
+        return present() ? readSignedVarLong() : null;
+    }
+
+    public Integer readOptionalInt() {
+        return present() ? Math.toIntExact(readSignedVarLong()) : null;
+    }
+
+    public Boolean readOptionalBoolean() {
+        int value = readByte();
+        if (value > 2) {
+            throw new IllegalArgumentException("Malformed boolean at " + position);
+        }
+        return value == 0 ? null : value == 2;
+    }
+
+    public <E extends Enum<E>> E readOptionalEnum(E[] values) {
+        if (!present()) {
+            return null;
+        }
+        int ordinal = readVarInt();
+        if (ordinal >= values.length) {
+            throw new IllegalArgumentException("Unknown enum ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    public BigDecimal readOptionalDecimal() {
+        if (!present()) {
+            return null;
+        }
+        int scale = Math.toIntExact(readSignedVarLong());
+        int length = readVarInt();
+        require(length);
+        BigInteger unscaled = new BigInteger(bytes, position, length);
+        position += length;
+        return new BigDecimal(unscaled, scale);
+    }
+
+    public LocalDate readOptionalDate() {
+        return present() ? LocalDate.ofEpochDay(readSignedVarLong()) : null;
+    }
+
+    public LocalDateTime readOptionalDateTime() {
+        if (!present()) {
+            return null;
+        }
+        long epochSecond = readSignedVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(), ZoneOffset.UTC);
+    }
+
+    public List<Long> readOptionalLongs() {
+        if (!present()) {
+            return null;
+        }
+        int count = readVarInt();
+        List<Long> values = new ArrayList<>(Math.min(count, bytes.length - position));
+        for (int i = 0; i < count; i++) {
+            values.add(readOptionalLong());
+        }
+        return values;
+    }
+
+    private boolean present() {
+        int flag = readByte();
+        if (flag > 1) {
+            throw new IllegalArgumentException("Malformed presence flag at " + position);
+        }
+        return flag == 1;
+    }
+
+    /**
+     * The unread bytes
+     */
+    public byte[] remaining() {
+        return Arrays.copyOfRange(bytes, position, bytes.length);
+    }
+
+    public int position() {
+        return position;
+    }
+
+    private void require(int count) {
+        if (count < 0 || position + count > bytes.length) {
+            throw new IllegalArgumentException("Truncated input at " + position);
+        }
+    }
+}
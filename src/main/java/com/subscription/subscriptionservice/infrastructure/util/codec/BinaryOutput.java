@@ -0,0 +1,148 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable byte buffer for binary codecs. Integers are written as varints - seven bits per byte,
+ * low bits first - so small values take one byte; signed values are zig-zag encoded first.
+ */
+public final class BinaryOutput {
+
+    private byte[] buffer;
+    private int size;
+
+    public BinaryOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public BinaryOutput writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public BinaryOutput writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    /**
+     * Unsigned varint
+     */
+    public BinaryOutput writeVarInt(int value) {
+        return writeVarLong(value & 0xffffffffL);
+    }
+
+    /**
+     * Unsigned varint
+     */
+    public BinaryOutput writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7fL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Zig-zag varint, so small negative values stay short
+     */
+    public BinaryOutput writeSignedVarLong(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * UTF-8 bytes prefixed with their length
+     */
+    public BinaryOutput writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        return writeBytes(bytes);
+    }
+
+    /*
+     * Nullable values: a presence byte, then the value when present
+     */
+
+    public BinaryOutput writeOptionalString(String value) {
+        return value != null ? writeByte(1).writeString(value) : writeByte(0);
+    }
+
+    public BinaryOutput writeOptionalLong(Long value) {
+        return value != null ? writeByte(1).writeSignedVarLong(value) : writeByte(0);
+    }
+
+    public BinaryOutput writeOptionalInt(Integer value) {
+        return value != null ? writeByte(1).writeSignedVarLong(value) : writeByte(0);
+    }
+
+    public BinaryOutput writeOptionalBoolean(Boolean value) {
+        return writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    /**
+     * By ordinal, so reordering the enum changes the format
+     */
+    public BinaryOutput writeOptionalEnum(Enum<?> value) {
+        return value != null ? writeByte(1).writeVarInt(value.ordinal()) : writeByte(0);
+    }
+
+    /**
+     * Scale and unscaled value
+     */
+    public BinaryOutput writeOptionalDecimal(BigDecimal value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        return writeByte(1).writeSignedVarLong(value.scale()).writeVarInt(unscaled.length).writeBytes(unscaled);
+    }
+
+    /**
+     * Epoch day
+     */
+    public BinaryOutput writeOptionalDate(LocalDate value) {
+        return value != null ? writeByte(1).writeSignedVarLong(value.toEpochDay()) : writeByte(0);
+    }
+
+    /**
+     * UTC epoch second and nanos
+     */
+    public BinaryOutput writeOptionalDateTime(LocalDateTime value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        return writeByte(1).writeSignedVarLong(value.toEpochSecond(ZoneOffset.UTC)).writeVarInt(value.getNano());
+    }
+
+    public BinaryOutput writeOptionalLongs(List<Long> values) {
+        if (values == null) {
+            return writeByte(0);
+        }
+        writeByte(1).writeVarInt(values.size());
+        for (Long value : values) {
+            writeOptionalLong(value);
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
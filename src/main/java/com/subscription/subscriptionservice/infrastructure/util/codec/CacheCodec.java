@@ -0,0 +1,15 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+/**
+ * Converts cached values to and from the bytes stored in the cache
+ */
+public interface CacheCodec<T> {
+
+    byte[] encode(T value);
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a value this codec can read, e.g. one
+     *                                  written by a newer schema version - callers treat it as a miss
+     */
+    T decode(byte[] bytes);
+}
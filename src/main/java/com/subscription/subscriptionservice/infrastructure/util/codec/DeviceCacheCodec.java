@@ -0,0 +1,57 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.Device;
+
+/**
+ * Binary codec for cached devices: version byte, then the fields in declaration order as optional
+ * values. The plain API key is never written - only its hash. Any layout change must bump VERSION.
+ */
+public final class DeviceCacheCodec implements CacheCodec<Device> {
+
+    public static final DeviceCacheCodec INSTANCE = new DeviceCacheCodec();
+
+    static final int VERSION = 1;
+
+    private DeviceCacheCodec() {
+    }
+
+    @Override
+    public byte[] encode(Device device) {
+        return new BinaryOutput(128)
+            .writeByte(VERSION)
+            .writeOptionalLong(device.getId())
+            .writeOptionalString(device.getName())
+            .writeOptionalString(device.getDescription())
+            .writeOptionalString(device.getDeviceType())
+            .writeOptionalBoolean(device.getActive())
+            .writeOptionalBoolean(device.getDeleted())
+            .writeOptionalDateTime(device.getDeletedAt())
+            .writeOptionalLong(device.getDeletedBy())
+            .writeOptionalString(device.getApiKeyHash())
+            .writeOptionalDateTime(device.getCreatedAt())
+            .writeOptionalDateTime(device.getUpdatedAt())
+            .toByteArray();
+    }
+
+    @Override
+    public Device decode(byte[] bytes) {
+        BinaryInput in = new BinaryInput(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported device cache version " + version);
+        }
+        Device device = new Device();
+        device.setId(in.readOptionalLong());
+        device.setName(in.readOptionalString());
+        device.setDescription(in.readOptionalString());
+        device.setDeviceType(in.readOptionalString());
+        device.setActive(in.readOptionalBoolean());
+        device.setDeleted(in.readOptionalBoolean());
+        device.setDeletedAt(in.readOptionalDateTime());
+        device.setDeletedBy(in.readOptionalLong());
+        device.setApiKeyHash(in.readOptionalString());
+        device.setCreatedAt(in.readOptionalDateTime());
+        device.setUpdatedAt(in.readOptionalDateTime());
+        return device;
+    }
+}
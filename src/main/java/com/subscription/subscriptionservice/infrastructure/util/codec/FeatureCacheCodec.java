@@ -0,0 +1,51 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.Feature;
+
+/**
+ * Binary codec for cached features: version byte, then every field in declaration order as an
+ * optional value. Any layout change must bump VERSION.
+ */
+public final class FeatureCacheCodec implements CacheCodec<Feature> {
+
+    public static final FeatureCacheCodec INSTANCE = new FeatureCacheCodec();
+
+    static final int VERSION = 1;
+
+    private FeatureCacheCodec() {
+    }
+
+    @Override
+    public byte[] encode(Feature feature) {
+        return new BinaryOutput(96)
+            .writeByte(VERSION)
+            .writeOptionalLong(feature.getId())
+            .writeOptionalString(feature.getName())
+            .writeOptionalString(feature.getDescription())
+            .writeOptionalString(feature.getFeatureCode())
+            .writeOptionalBoolean(feature.getActive())
+            .writeOptionalBoolean(feature.getDeleted())
+            .writeOptionalDateTime(feature.getCreatedAt())
+            .writeOptionalDateTime(feature.getUpdatedAt())
+            .toByteArray();
+    }
+
+    @Override
+    public Feature decode(byte[] bytes) {
+        BinaryInput in = new BinaryInput(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported feature cache version " + version);
+        }
+        Feature feature = new Feature();
+        feature.setId(in.readOptionalLong());
+        feature.setName(in.readOptionalString());
+        feature.setDescription(in.readOptionalString());
+        feature.setFeatureCode(in.readOptionalString());
+        feature.setActive(in.readOptionalBoolean());
+        feature.setDeleted(in.readOptionalBoolean());
+        feature.setCreatedAt(in.readOptionalDateTime());
+        feature.setUpdatedAt(in.readOptionalDateTime());
+        return feature;
+    }
+}
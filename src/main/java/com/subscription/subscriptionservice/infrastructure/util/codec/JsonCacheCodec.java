@@ -0,0 +1,40 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Jackson codec for any bean, for values without a dedicated binary codec
+ */
+public class JsonCacheCodec<T> implements CacheCodec<T> {
+
+    // Derived getters such as User.isActive() are serialized but have no setter
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Class<T> type;
+
+    public JsonCacheCodec(Class<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot deserialize " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.Subscription;
+
+/**
+ * Binary codec for cached subscription plans: version byte, then every field in declaration order
+ * as an optional value. Any layout change must bump VERSION.
+ */
+public final class SubscriptionCacheCodec implements CacheCodec<Subscription> {
+
+    public static final SubscriptionCacheCodec INSTANCE = new SubscriptionCacheCodec();
+
+    static final int VERSION = 1;
+
+    private SubscriptionCacheCodec() {
+    }
+
+    @Override
+    public byte[] encode(Subscription subscription) {
+        return new BinaryOutput(128)
+            .writeByte(VERSION)
+            .writeOptionalLong(subscription.getId())
+            .writeOptionalString(subscription.getName())
+            .writeOptionalString(subscription.getDescription())
+            .writeOptionalLong(subscription.getDeviceId())
+            .writeOptionalDecimal(subscription.getBasePrice())
+            .writeOptionalEnum(subscription.getLevel())
+            .writeOptionalEnum(subscription.getBillingCycle())
+            .writeOptionalBoolean(subscription.getActive())
+            .writeOptionalBoolean(subscription.getDeleted())
+            .writeOptionalDateTime(subscription.getDeletedAt())
+            .writeOptionalLong(subscription.getDeletedBy())
+            .writeOptionalLongs(subscription.getFeatureIds())
+            .writeOptionalDateTime(subscription.getCreatedAt())
+            .writeOptionalDateTime(subscription.getUpdatedAt())
+            .toByteArray();
+    }
+
+    @Override
+    public Subscription decode(byte[] bytes) {
+        BinaryInput in = new BinaryInput(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported subscription cache version " + version);
+        }
+        Subscription subscription = new Subscription();
+        subscription.setId(in.readOptionalLong());
+        subscription.setName(in.readOptionalString());
+        subscription.setDescription(in.readOptionalString());
+        subscription.setDeviceId(in.readOptionalLong());
+        subscription.setBasePrice(in.readOptionalDecimal());
+        subscription.setLevel(in.readOptionalEnum(Subscription.SubscriptionLevel.values()));
+        subscription.setBillingCycle(in.readOptionalEnum(Subscription.BillingCycle.values()));
+        subscription.setActive(in.readOptionalBoolean());
+        subscription.setDeleted(in.readOptionalBoolean());
+        subscription.setDeletedAt(in.readOptionalDateTime());
+        subscription.setDeletedBy(in.readOptionalLong());
+        subscription.setFeatureIds(in.readOptionalLongs());
+        subscription.setCreatedAt(in.readOptionalDateTime());
+        subscription.setUpdatedAt(in.readOptionalDateTime());
+        return subscription;
+    }
+}
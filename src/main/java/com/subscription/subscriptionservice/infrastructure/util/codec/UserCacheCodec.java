@@ -0,0 +1,196 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.Role;
+import com.subscription.subscriptionservice.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Binary codec for cached users. Layout: version byte, a varint bitmask of the non-null fields,
+ * then those fields in declaration order - ids as varints, strings length-prefixed UTF-8, booleans
+ * as one byte, enums by ordinal, timestamps as UTC epoch seconds and nanos, and the roles as a
+ * count followed by each role's id and name.
+ * <p>
+ * Any change to the layout, including reordering an enum, must bump VERSION. Values written by
+ * another version are rejected and read as a cache miss, so old and new nodes can share a cache.
+ */
+public final class UserCacheCodec implements CacheCodec<User> {
+
+    public static final UserCacheCodec INSTANCE = new UserCacheCodec();
+
+    static final int VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int USERNAME = 1 << 1;
+    private static final int EMAIL = 1 << 2;
+    private static final int PASSWORD = 1 << 3;
+    private static final int MOBILE_NUMBER = 1 << 4;
+    private static final int PHONE_NUMBER = 1 << 5;
+    private static final int ADDRESS = 1 << 6;
+    private static final int CITY = 1 << 7;
+    private static final int STATE = 1 << 8;
+    private static final int ZIP_CODE = 1 << 9;
+    private static final int COUNTRY = 1 << 10;
+    private static final int DELETED = 1 << 11;
+    private static final int DELETED_AT = 1 << 12;
+    private static final int DELETED_BY = 1 << 13;
+    private static final int PROVIDER = 1 << 14;
+    private static final int PROVIDER_ID = 1 << 15;
+    private static final int ENABLED = 1 << 16;
+    private static final int ROLES = 1 << 17;
+
+    private static final int ROLE_ID = 1;
+    private static final int ROLE_NAME = 1 << 1;
+
+    private UserCacheCodec() {
+    }
+
+    @Override
+    public byte[] encode(User user) {
+        int mask = 0;
+        mask |= user.getId() != null ? ID : 0;
+        mask |= user.getUsername() != null ? USERNAME : 0;
+        mask |= user.getEmail() != null ? EMAIL : 0;
+        mask |= user.getPassword() != null ? PASSWORD : 0;
+        mask |= user.getMobileNumber() != null ? MOBILE_NUMBER : 0;
+        mask |= user.getPhoneNumber() != null ? PHONE_NUMBER : 0;
+        mask |= user.getAddress() != null ? ADDRESS : 0;
+        mask |= user.getCity() != null ? CITY : 0;
+        mask |= user.getState() != null ? STATE : 0;
+        mask |= user.getZipCode() != null ? ZIP_CODE : 0;
+        mask |= user.getCountry() != null ? COUNTRY : 0;
+        mask |= user.getDeleted() != null ? DELETED : 0;
+        mask |= user.getDeletedAt() != null ? DELETED_AT : 0;
+        mask |= user.getDeletedBy() != null ? DELETED_BY : 0;
+        mask |= user.getProvider() != null ? PROVIDER : 0;
+        mask |= user.getProviderId() != null ? PROVIDER_ID : 0;
+        mask |= user.getEnabled() != null ? ENABLED : 0;
+        mask |= user.getRoles() != null ? ROLES : 0;
+
+        BinaryOutput out = new BinaryOutput(128);
+        out.writeByte(VERSION).writeVarInt(mask);
+        if ((mask & ID) != 0) {
+            out.writeSignedVarLong(user.getId());
+        }
+        writeString(out, mask, USERNAME, user.getUsername());
+        writeString(out, mask, EMAIL, user.getEmail());
+        writeString(out, mask, PASSWORD, user.getPassword());
+        writeString(out, mask, MOBILE_NUMBER, user.getMobileNumber());
+        writeString(out, mask, PHONE_NUMBER, user.getPhoneNumber());
+        writeString(out, mask, ADDRESS, user.getAddress());
+        writeString(out, mask, CITY, user.getCity());
+        writeString(out, mask, STATE, user.getState());
+        writeString(out, mask, ZIP_CODE, user.getZipCode());
+        writeString(out, mask, COUNTRY, user.getCountry());
+        if ((mask & DELETED) != 0) {
+            out.writeByte(user.getDeleted() ? 1 : 0);
+        }
+        if ((mask & DELETED_AT) != 0) {
+            out.writeSignedVarLong(user.getDeletedAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeVarInt(user.getDeletedAt().getNano());
+        }
+        if ((mask & DELETED_BY) != 0) {
+            out.writeSignedVarLong(user.getDeletedBy());
+        }
+        if ((mask & PROVIDER) != 0) {
+            out.writeVarInt(user.getProvider().ordinal());
+        }
+        writeString(out, mask, PROVIDER_ID, user.getProviderId());
+        if ((mask & ENABLED) != 0) {
+            out.writeByte(user.getEnabled() ? 1 : 0);
+        }
+        if ((mask & ROLES) != 0) {
+            writeRoles(out, user.getRoles());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public User decode(byte[] bytes) {
+        BinaryInput in = new BinaryInput(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported user cache version " + version);
+        }
+        int mask = in.readVarInt();
+
+        User user = new User();
+        user.setId((mask & ID) != 0 ? in.readSignedVarLong() : null);
+        user.setUsername(readString(in, mask, USERNAME));
+        user.setEmail(readString(in, mask, EMAIL));
+        user.setPassword(readString(in, mask, PASSWORD));
+        user.setMobileNumber(readString(in, mask, MOBILE_NUMBER));
+        user.setPhoneNumber(readString(in, mask, PHONE_NUMBER));
+        user.setAddress(readString(in, mask, ADDRESS));
+        user.setCity(readString(in, mask, CITY));
+        user.setState(readString(in, mask, STATE));
+        user.setZipCode(readString(in, mask, ZIP_CODE));
+        user.setCountry(readString(in, mask, COUNTRY));
+        user.setDeleted((mask & DELETED) != 0 ? in.readByte() != 0 : null);
+        if ((mask & DELETED_AT) != 0) {
+            long epochSecond = in.readSignedVarLong();
+            user.setDeletedAt(LocalDateTime.ofEpochSecond(epochSecond, in.readVarInt(), ZoneOffset.UTC));
+        } else {
+            user.setDeletedAt(null);
+        }
+        user.setDeletedBy((mask & DELETED_BY) != 0 ? in.readSignedVarLong() : null);
+        user.setProvider((mask & PROVIDER) != 0 ? enumValue(User.AuthProvider.values(), in.readVarInt()) : null);
+        user.setProviderId(readString(in, mask, PROVIDER_ID));
+        user.setEnabled((mask & ENABLED) != 0 ? in.readByte() != 0 : null);
+        user.setRoles((mask & ROLES) != 0 ? readRoles(in) : null);
+        return user;
+    }
+
+    private static void writeRoles(BinaryOutput out, Set<Role> roles) {
+        int count = 0;
+        for (Role role : roles) {
+            count += role != null ? 1 : 0;
+        }
+        out.writeVarInt(count);
+        for (Role role : roles) {
+            if (role == null) {
+                continue;
+            }
+            int mask = (role.getId() != null ? ROLE_ID : 0) | (role.getName() != null ? ROLE_NAME : 0);
+            out.writeByte(mask);
+            if (role.getId() != null) {
+                out.writeSignedVarLong(role.getId());
+            }
+            if (role.getName() != null) {
+                out.writeVarInt(role.getName().ordinal());
+            }
+        }
+    }
+
+    private static Set<Role> readRoles(BinaryInput in) {
+        int count = in.readVarInt();
+        Set<Role> roles = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int mask = in.readByte();
+            Long id = (mask & ROLE_ID) != 0 ? in.readSignedVarLong() : null;
+            Role.RoleName name = (mask & ROLE_NAME) != 0 ? enumValue(Role.RoleName.values(), in.readVarInt()) : null;
+            roles.add(new Role(id, name));
+        }
+        return roles;
+    }
+
+    private static void writeString(BinaryOutput out, int mask, int field, String value) {
+        if ((mask & field) != 0) {
+            out.writeString(value);
+        }
+    }
+
+    private static String readString(BinaryInput in, int mask, int field) {
+        return (mask & field) != 0 ? in.readString() : null;
+    }
+
+    private static <E> E enumValue(E[] values, int ordinal) {
+        if (ordinal >= values.length) {
+            throw new IllegalArgumentException("Unknown enum ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,59 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.UserSubscription;
+
+/**
+ * Binary codec for cached user subscriptions: version byte, then every field in declaration order
+ * as an optional value. Any layout change must bump VERSION.
+ */
+public final class UserSubscriptionCacheCodec implements CacheCodec<UserSubscription> {
+
+    public static final UserSubscriptionCacheCodec INSTANCE = new UserSubscriptionCacheCodec();
+
+    static final int VERSION = 1;
+
+    private UserSubscriptionCacheCodec() {
+    }
+
+    @Override
+    public byte[] encode(UserSubscription userSubscription) {
+        return new BinaryOutput(96)
+            .writeByte(VERSION)
+            .writeOptionalLong(userSubscription.getId())
+            .writeOptionalLong(userSubscription.getUserId())
+            .writeOptionalLong(userSubscription.getSubscriptionId())
+            .writeOptionalDecimal(userSubscription.getNegotiatedPrice())
+            .writeOptionalDate(userSubscription.getStartDate())
+            .writeOptionalDate(userSubscription.getEndDate())
+            .writeOptionalDate(userSubscription.getBillingStartDate())
+            .writeOptionalEnum(userSubscription.getStatus())
+            .writeOptionalInt(userSubscription.getDurationMonths())
+            .writeOptionalLong(userSubscription.getAssignedBy())
+            .writeOptionalDateTime(userSubscription.getCreatedAt())
+            .writeOptionalDateTime(userSubscription.getUpdatedAt())
+            .toByteArray();
+    }
+
+    @Override
+    public UserSubscription decode(byte[] bytes) {
+        BinaryInput in = new BinaryInput(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported user subscription cache version " + version);
+        }
+        UserSubscription userSubscription = new UserSubscription();
+        userSubscription.setId(in.readOptionalLong());
+        userSubscription.setUserId(in.readOptionalLong());
+        userSubscription.setSubscriptionId(in.readOptionalLong());
+        userSubscription.setNegotiatedPrice(in.readOptionalDecimal());
+        userSubscription.setStartDate(in.readOptionalDate());
+        userSubscription.setEndDate(in.readOptionalDate());
+        userSubscription.setBillingStartDate(in.readOptionalDate());
+        userSubscription.setStatus(in.readOptionalEnum(UserSubscription.SubscriptionStatus.values()));
+        userSubscription.setDurationMonths(in.readOptionalInt());
+        userSubscription.setAssignedBy(in.readOptionalLong());
+        userSubscription.setCreatedAt(in.readOptionalDateTime());
+        userSubscription.setUpdatedAt(in.readOptionalDateTime());
+        return userSubscription;
+    }
+}
@@ -0,0 +1,65 @@
+package com.framework.core.di;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Container
+ */
+@DisplayName("Container Tests")
+public class ContainerTest {
+
+    interface Port {
+    }
+
+    static class FirstAdapter implements Port {
+    }
+
+    static class SecondAdapter implements Port {
+    }
+
+    public static class Service implements Port {
+        public Service() {
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve an interface to the only instance implementing it")
+    public void testUnambiguousInstance() {
+        Container container = new Container();
+        FirstAdapter adapter = new FirstAdapter();
+        container.registerSingleton(FirstAdapter.class, adapter);
+
+        assertSame(adapter, container.getBean(Port.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse an interface implemented by several instances unless it is bound explicitly")
+    public void testAmbiguousInstances() {
+        Container container = new Container();
+        FirstAdapter first = new FirstAdapter();
+        container.registerSingleton(FirstAdapter.class, first);
+        container.registerSingleton(SecondAdapter.class, new SecondAdapter());
+
+        assertThrows(RuntimeException.class, () -> container.getBean(Port.class));
+
+        container.registerSingleton(Port.class, first);
+        assertSame(first, container.getBean(Port.class));
+    }
+
+    @Test
+    @DisplayName("Should return the same singleton by interface and by implementation")
+    public void testSingletonDefinitionByInterface() {
+        Container container = new Container();
+        container.registerBean(Service.class, new BeanDefinition(Service.class, true, List.of()));
+
+        Service byClass = container.getBean(Service.class);
+
+        assertSame(byClass, container.getBean(Port.class));
+        assertSame(byClass, container.getBean(Port.class));
+    }
+}
@@ -0,0 +1,27 @@
+package com.framework.core.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HttpServletAdapter
+ */
+@DisplayName("HttpServletAdapter Tests")
+public class HttpServletAdapterTest {
+
+    @Test
+    @DisplayName("Should write error messages with quotes and newlines as valid JSON")
+    public void testErrorBodyEscaped() throws Exception {
+        String message = "Unexpected \"token\"\nat line 1 \\ column 2";
+
+        String body = HttpServletAdapter.errorBody(message);
+
+        assertEquals(Map.of("error", message), new ObjectMapper().readValue(body, Map.class));
+        assertEquals("{\"error\":null}", HttpServletAdapter.errorBody(null));
+    }
+}
@@ -0,0 +1,49 @@
+package com.subscription.subscriptionservice.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ApiKeyCache
+ */
+@DisplayName("ApiKeyCache Tests")
+public class ApiKeyCacheTest {
+
+    @Test
+    @DisplayName("Should cache known and unknown keys and drop them on invalidation")
+    public void testInvalidation() {
+        ApiKeyCache cache = new ApiKeyCache(100, 60_000, 60_000);
+        cache.putDevice("a", 1, true);
+        cache.putUnknown("b");
+
+        assertEquals(1, cache.get("a").getDeviceId());
+        assertTrue(cache.get("a").isActive());
+        assertTrue(cache.get("b").isUnknown());
+
+        // A new key for the device replaces the old one
+        cache.putDevice("c", 1, true);
+        assertNull(cache.get("a"));
+
+        cache.invalidateDevice(1);
+        assertNull(cache.get("c"));
+        cache.invalidate("b");
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    @DisplayName("Should expire entries and stay within the entry limit")
+    public void testBounds() {
+        ApiKeyCache expired = new ApiKeyCache(100, 60_000, 0);
+        expired.putUnknown("a");
+        assertNull(expired.get("a"));
+
+        ApiKeyCache cache = new ApiKeyCache(10, 60_000, 60_000);
+        for (int i = 0; i < 50; i++) {
+            cache.putDevice("key" + i, i, true);
+        }
+        assertTrue((Integer) cache.getStats().get("entries") <= 10);
+        assertNotNull(cache.get("key49"));
+    }
+}
@@ -0,0 +1,229 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.BillingRunRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.JobLeaseRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.exception.BillingRunNotFoundException;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.BillingRunPartition;
+import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BillingRunCoordinator
+ */
+@DisplayName("BillingRunCoordinator Tests")
+public class BillingRunCoordinatorTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 10, 1);
+    private static final long LAST_DUE_ID = 40;
+
+    private final InMemoryBillingRunRepository billingRunRepository = new InMemoryBillingRunRepository();
+    private final BillingRepositoryPort billingRepository = mock(BillingRepositoryPort.class);
+    private final UserSubscriptionRepositoryPort userSubscriptionRepository = mock(UserSubscriptionRepositoryPort.class);
+    private final JobLeaseRepositoryPort jobLeaseRepository = mock(JobLeaseRepositoryPort.class);
+    private final Set<Long> billed = ConcurrentHashMap.newKeySet();
+    private LeaseManager leaseManager;
+    private BillingRunCoordinator coordinator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(jobLeaseRepository.tryAcquire(anyString(), anyString(), any(), any(), any())).thenReturn(OptionalLong.of(1));
+        when(jobLeaseRepository.renew(anyString(), anyString(), anyLong(), any())).thenReturn(true);
+        when(userSubscriptionRepository.findDueForBillingIdRange(AS_OF)).thenReturn(Optional.of(new long[] {1, LAST_DUE_ID}));
+        when(userSubscriptionRepository.findDueForBilling(eq(AS_OF), anyLong(), anyLong(), anyInt()))
+            .thenAnswer(invocation -> due(invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        when(billingRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Billing> bills = invocation.getArgument(0);
+            for (Billing bill : bills) {
+                billed.add(bill.getUserSubscriptionId());
+            }
+            return bills;
+        });
+        leaseManager = new LeaseManager(jobLeaseRepository, "node-1");
+        coordinator = new BillingRunCoordinator(billingRunRepository, leaseManager, engine());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        coordinator.shutdown();
+        leaseManager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should record a run with its partition plan and complete every partition")
+    public void testRunCreatesPartitions() {
+        BillingRun run = coordinator.runNow(AS_OF);
+
+        BillingRun recorded = coordinator.find(run.getId());
+        assertEquals(BillingRun.RunStatus.COMPLETED, recorded.getStatus());
+        assertEquals(8, recorded.getPartitions().size());
+        long lowerId = 0;
+        for (BillingRunPartition partition : recorded.getPartitions()) {
+            assertEquals(run.getId(), partition.getBillingRunId());
+            assertEquals(lowerId, partition.getLowerId());
+            assertTrue(partition.isCompleted());
+            lowerId = partition.getUpperId();
+        }
+        assertEquals(LAST_DUE_ID, lowerId);
+        assertEquals(LAST_DUE_ID, recorded.getBillsCreated());
+        assertEquals(LAST_DUE_ID, billed.size());
+        assertNull(coordinator.getActiveRunId());
+    }
+
+    @Test
+    @DisplayName("Should resume a failed run from its checkpoints without redoing completed partitions")
+    public void testResumeFromCheckpoints() throws InterruptedException {
+        BillingRun run = coordinator.runNow(AS_OF);
+        BillingRunPartition partition = billingRunRepository.partitions.get(run.getId()).get(3);
+        // Partition 3 stopped after its first subscription
+        partition.setStatus(BillingRunPartition.PartitionStatus.FAILED);
+        partition.setLastProcessedId(partition.getLowerId() + 1);
+        partition.setSubscriptionsProcessed(1);
+        partition.setBillsCreated(1);
+        run.setStatus(BillingRun.RunStatus.FAILED);
+        billingRunRepository.save(run);
+        clearInvocations(userSubscriptionRepository);
+
+        coordinator.resume(run.getId());
+        awaitIdle();
+
+        BillingRun resumed = coordinator.find(run.getId());
+        assertEquals(BillingRun.RunStatus.COMPLETED, resumed.getStatus());
+        assertEquals(LAST_DUE_ID, resumed.getBillsCreated());
+        verify(userSubscriptionRepository).findDueForBilling(eq(AS_OF), eq(partition.getLowerId() + 1),
+            eq(partition.getUpperId()), anyInt());
+        verify(userSubscriptionRepository, times(1)).findDueForBilling(any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should resume a run left RUNNING by a crash once the lease is acquired")
+    public void testResumeStaleRun() {
+        BillingRun crashed = coordinator.runNow(AS_OF);
+        for (BillingRunPartition partition : billingRunRepository.partitions.get(crashed.getId())) {
+            partition.setStatus(BillingRunPartition.PartitionStatus.RUNNING);
+            partition.setLastProcessedId(partition.getLowerId());
+            partition.setSubscriptionsProcessed(0);
+            partition.setBillsCreated(0);
+        }
+        crashed.setStatus(BillingRun.RunStatus.RUNNING);
+        crashed.setFinishedAt(null);
+        billingRunRepository.save(crashed);
+
+        BillingRun next = coordinator.runNow(AS_OF);
+
+        assertEquals(BillingRun.RunStatus.COMPLETED, coordinator.find(crashed.getId()).getStatus());
+        assertEquals(LAST_DUE_ID, coordinator.find(crashed.getId()).getBillsCreated());
+        assertEquals(BillingRun.RunStatus.COMPLETED, coordinator.find(next.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report a missing run as a billing run not found")
+    public void testMissingRun() {
+        BillingRunNotFoundException e = assertThrows(BillingRunNotFoundException.class, () -> coordinator.find(99L));
+        assertEquals(404, e.getStatusCode());
+        assertEquals("BILLING_RUN_NOT_FOUND", e.getErrorCode());
+    }
+
+    private MonthlyBillingEngine engine() {
+        return new MonthlyBillingEngine(billingRepository, userSubscriptionRepository, billingRunRepository,
+            new DirectTransactionManager(), 2, 100, bills -> { });
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (coordinator.getActiveRunId() != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(coordinator.getActiveRunId());
+    }
+
+    private static List<UserSubscription> due(long afterId, long maxId, int limit) {
+        List<UserSubscription> subscriptions = new ArrayList<>();
+        for (long id = afterId + 1; id <= Math.min(maxId, LAST_DUE_ID) && subscriptions.size() < limit; id++) {
+            UserSubscription subscription = new UserSubscription();
+            subscription.setId(id);
+            subscription.setNegotiatedPrice(new BigDecimal("9.99"));
+            subscription.setBillingStartDate(AS_OF);
+            subscriptions.add(subscription);
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Keeps runs and partitions by reference, as the JDBC repository keeps rows
+     */
+    private static class InMemoryBillingRunRepository implements BillingRunRepositoryPort {
+        private final Map<Long, BillingRun> runs = new LinkedHashMap<>();
+        private final Map<Long, List<BillingRunPartition>> partitions = new ConcurrentHashMap<>();
+        private long nextId = 1;
+
+        @Override
+        public synchronized BillingRun save(BillingRun billingRun) {
+            if (billingRun.getId() == null) {
+                billingRun.setId(nextId++);
+            }
+            runs.put(billingRun.getId(), billingRun);
+            return billingRun;
+        }
+
+        @Override
+        public synchronized Optional<BillingRun> findById(Long id) {
+            return Optional.ofNullable(runs.get(id));
+        }
+
+        @Override
+        public synchronized List<BillingRun> findRecent(int limit) {
+            return new ArrayList<>(runs.values());
+        }
+
+        @Override
+        public synchronized List<BillingRun> findByStatus(BillingRun.RunStatus status) {
+            List<BillingRun> matching = new ArrayList<>();
+            for (BillingRun run : runs.values()) {
+                if (run.getStatus() == status) {
+                    matching.add(run);
+                }
+            }
+            return matching;
+        }
+
+        @Override
+        public List<BillingRunPartition> savePartitions(List<BillingRunPartition> saved) {
+            if (!saved.isEmpty()) {
+                partitions.put(saved.get(0).getBillingRunId(), saved);
+            }
+            return saved;
+        }
+
+        @Override
+        public void updatePartition(BillingRunPartition partition) {
+        }
+
+        @Override
+        public List<BillingRunPartition> findPartitions(Long billingRunId) {
+            return partitions.getOrDefault(billingRunId, List.of());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.AuditLogRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.BillingRunRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.AuditLog;
+import com.subscription.subscriptionservice.infrastructure.util.CacheRegions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BillingUseCase
+ */
+@DisplayName("BillingUseCase Tests")
+public class BillingUseCaseTest {
+
+    private final BillingRepositoryPort billingRepository = mock(BillingRepositoryPort.class);
+    private final AuditLogRepositoryPort auditLogRepository = mock(AuditLogRepositoryPort.class);
+    private final DirectTransactionManager transactionManager = new DirectTransactionManager();
+
+    @Test
+    @DisplayName("Should mark overdue bills in chunks, one transaction and one audit batch per chunk")
+    @SuppressWarnings("unchecked")
+    public void testMarkOverdueInChunks() {
+        when(billingRepository.markOverdue(any(LocalDate.class), eq(500)))
+            .thenReturn(ids(1, 500), ids(501, 700));
+
+        int marked = billingUseCase().markOverdueBills();
+
+        assertEquals(700, marked);
+        assertEquals(2, transactionManager.getTransactions());
+        ArgumentCaptor<List<AuditLog>> batches = ArgumentCaptor.forClass(List.class);
+        verify(auditLogRepository, times(2)).saveAll(batches.capture());
+        assertEquals(500, batches.getAllValues().get(0).size());
+        assertEquals(200, batches.getAllValues().get(1).size());
+        AuditLog first = batches.getAllValues().get(0).get(0);
+        assertEquals(1L, first.getEntityId());
+        assertEquals("{\"status\":\"OVERDUE\"}", first.getNewValues());
+    }
+
+    @Test
+    @DisplayName("Should stop after a single empty chunk when nothing is overdue")
+    public void testNothingOverdue() {
+        when(billingRepository.markOverdue(any(LocalDate.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, billingUseCase().markOverdueBills());
+        assertEquals(1, transactionManager.getTransactions());
+    }
+
+    private BillingUseCase billingUseCase() {
+        return new BillingUseCase(billingRepository, mock(UserSubscriptionRepositoryPort.class), auditLogRepository,
+            mock(BillingRunRepositoryPort.class), mock(LeaseManager.class), mock(OutboxRepositoryPort.class),
+            transactionManager, new CacheRegions());
+    }
+
+    private static List<Long> ids(long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
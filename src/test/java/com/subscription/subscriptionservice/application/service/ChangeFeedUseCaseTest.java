@@ -0,0 +1,94 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort.Change;
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort.ChangeBatch;
+import com.subscription.subscriptionservice.application.port.outbound.ChangeFeedRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChangeFeedUseCase
+ */
+@DisplayName("ChangeFeedUseCase Tests")
+public class ChangeFeedUseCaseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final ChangeFeedRepositoryPort changeFeedRepository = mock(ChangeFeedRepositoryPort.class);
+
+    @Test
+    @DisplayName("Should stop before a recent sequence gap without probing it")
+    public void testSafePrefixLengthRecentGap() {
+        LocalDateTime horizon = NOW.minus(ChangeFeedUseCase.GAP_GRACE);
+        List<ChangeRecord> recent = List.of(record(5, NOW), record(6, NOW), record(8, NOW));
+
+        assertEquals(2, ChangeFeedUseCase.safePrefixLength(recent, 4, horizon, changeFeedRepository));
+        assertEquals(0, ChangeFeedUseCase.safePrefixLength(recent, 3, horizon, changeFeedRepository));
+        verify(changeFeedRepository, never()).closeGap(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should pass an old gap only once its writer is confirmed rolled back")
+    public void testSafePrefixLengthOldGap() {
+        LocalDateTime horizon = NOW.minus(ChangeFeedUseCase.GAP_GRACE);
+        List<ChangeRecord> old = List.of(record(5, NOW), record(6, NOW), record(8, NOW.minusMinutes(1)));
+
+        // Still held by a slow transaction, however old the record after it is
+        when(changeFeedRepository.closeGap(eq(7L), anyInt())).thenReturn(false);
+        assertEquals(2, ChangeFeedUseCase.safePrefixLength(old, 4, horizon, changeFeedRepository));
+
+        when(changeFeedRepository.closeGap(eq(7L), anyInt())).thenReturn(true);
+        assertEquals(3, ChangeFeedUseCase.safePrefixLength(old, 4, horizon, changeFeedRepository));
+    }
+
+    @Test
+    @DisplayName("Should return one change per entity at its latest sequence")
+    public void testCoalesce() {
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        when(changeFeedRepository.findAfter(0, 500)).thenReturn(List.of(
+            new ChangeRecord(1L, ChangeRecord.USER, 10L, old),
+            new ChangeRecord(2L, ChangeRecord.USER_DEVICE, 20L, old),
+            new ChangeRecord(3L, ChangeRecord.USER, 10L, old)));
+        when(changeFeedRepository.findEntityStates(eq(ChangeRecord.USER), anyCollection()))
+            .thenReturn(Map.of(10L, Map.of("id", 10L, "username", "alice")));
+        when(changeFeedRepository.findEntityStates(eq(ChangeRecord.USER_DEVICE), anyCollection()))
+            .thenReturn(Map.of());
+
+        ChangeBatch batch = new ChangeFeedUseCase(changeFeedRepository).getChanges(0, 500);
+
+        assertEquals(3, batch.getCursor());
+        assertFalse(batch.isHasMore());
+        List<Change> changes = batch.getChanges();
+        assertEquals(2, changes.size());
+        assertEquals(2, changes.get(0).getSequence());
+        assertTrue(changes.get(0).isDeleted());
+        assertEquals(3, changes.get(1).getSequence());
+        assertEquals("alice", changes.get(1).getData().get("username"));
+    }
+
+    @Test
+    @DisplayName("Should ask for a resync when the cursor is older than the retained log")
+    public void testResync() {
+        when(changeFeedRepository.findOldestSequence()).thenReturn(100L);
+        when(changeFeedRepository.findLatestSequence()).thenReturn(150L);
+
+        ChangeBatch batch = new ChangeFeedUseCase(changeFeedRepository).getChanges(50, 500);
+
+        assertTrue(batch.isResync());
+        assertEquals(150, batch.getCursor());
+        verify(changeFeedRepository, never()).findAfter(anyLong(), anyInt());
+    }
+
+    private static ChangeRecord record(long sequence, LocalDateTime changedAt) {
+        return new ChangeRecord(sequence, ChangeRecord.USER, sequence, changedAt);
+    }
+}
@@ -0,0 +1,29 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.TransactionManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs each transaction inline and counts them, for use-case tests against mocked repositories
+ */
+class DirectTransactionManager implements TransactionManager {
+
+    private int transactions;
+
+    @Override
+    public <T> T executeInTransaction(Supplier<T> operation) {
+        transactions++;
+        return operation.get();
+    }
+
+    @Override
+    public void executeInTransaction(Runnable operation) {
+        transactions++;
+        operation.run();
+    }
+
+    int getTransactions() {
+        return transactions;
+    }
+}
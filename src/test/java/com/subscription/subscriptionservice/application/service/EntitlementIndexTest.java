@@ -0,0 +1,243 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort.SerialVerification;
+import com.subscription.subscriptionservice.application.port.outbound.ChangeFeedRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.DeviceRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.FeatureRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.SubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.UserDeviceRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.exception.AuthenticationException;
+import com.subscription.subscriptionservice.domain.exception.ForbiddenException;
+import com.subscription.subscriptionservice.domain.exception.ValidationException;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+import com.subscription.subscriptionservice.domain.model.Device;
+import com.subscription.subscriptionservice.domain.model.Feature;
+import com.subscription.subscriptionservice.domain.model.Subscription;
+import com.subscription.subscriptionservice.domain.model.UserDevice;
+import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import com.subscription.subscriptionservice.domain.model.UserSubscription.SubscriptionStatus;
+import com.subscription.subscriptionservice.infrastructure.util.ApiKeyUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EntitlementIndex
+ */
+@DisplayName("EntitlementIndex Tests")
+public class EntitlementIndexTest {
+
+    private final DeviceRepositoryPort deviceRepository = mock(DeviceRepositoryPort.class);
+    private final UserDeviceRepositoryPort userDeviceRepository = mock(UserDeviceRepositoryPort.class);
+    private final UserSubscriptionRepositoryPort userSubscriptionRepository = mock(UserSubscriptionRepositoryPort.class);
+    private final SubscriptionRepositoryPort subscriptionRepository = mock(SubscriptionRepositoryPort.class);
+    private final FeatureRepositoryPort featureRepository = mock(FeatureRepositoryPort.class);
+    private final ChangeFeedRepositoryPort changeFeedRepository = mock(ChangeFeedRepositoryPort.class);
+
+    private final EntitlementIndex index = new EntitlementIndex(deviceRepository, userDeviceRepository,
+        userSubscriptionRepository, subscriptionRepository, featureRepository, changeFeedRepository, new ApiKeyCache());
+
+    @Test
+    @DisplayName("Should decide every serial of a batch with one serial query")
+    public void testVerifyAll() {
+        givenDevice(1L, "key");
+        givenUserSubscription(10L, SubscriptionStatus.ACTIVE, null);
+        givenUserSubscription(11L, SubscriptionStatus.ACTIVE, LocalDate.now());
+        givenUserSubscription(12L, SubscriptionStatus.SUSPENDED, null);
+        when(userDeviceRepository.findByDeviceSerials(anyCollection())).thenReturn(List.of(
+            userDevice(100L, "ok", 1L, 10L, true),
+            userDevice(101L, "expired", 1L, 11L, true),
+            userDevice(102L, "suspended", 1L, 12L, true),
+            userDevice(103L, "inactive", 1L, 10L, false),
+            userDevice(104L, "other", 2L, 10L, true)));
+        Subscription subscription = new Subscription();
+        subscription.setId(5L);
+        subscription.setFeatureIds(List.of(8L, 3L));
+        when(subscriptionRepository.findById(5L)).thenReturn(Optional.of(subscription));
+        Feature feature = new Feature();
+        feature.setId(3L);
+        when(featureRepository.findByFeatureCode("HD")).thenReturn(Optional.of(feature));
+
+        List<SerialVerification> results = index.verifyAll("key",
+            Arrays.asList("ok", "expired", "suspended", "inactive", "other", "unknown", null), List.of("HD"));
+
+        verify(userDeviceRepository, times(1)).findByDeviceSerials(anyCollection());
+        assertTrue(results.get(0).isVerified());
+        assertEquals(List.of(3L, 8L), results.get(0).getEntitlement().getFeatureIds());
+        assertEquals(Map.of("HD", true), results.get(0).getFeatures());
+        assertEquals("Subscription has expired", results.get(1).getMessage());
+        assertEquals("Subscription is suspended", results.get(2).getMessage());
+        assertEquals("Device is not active", results.get(3).getMessage());
+        assertEquals(SerialVerification.FORBIDDEN, results.get(4).getError());
+        assertEquals(SerialVerification.NOT_FOUND, results.get(5).getError());
+        assertEquals(SerialVerification.INVALID, results.get(6).getError());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown API keys, reading each once, and denied serials")
+    public void testVerify() {
+        givenDevice(1L, "key");
+        givenUserSubscription(12L, SubscriptionStatus.CANCELLED, null);
+        when(userDeviceRepository.findByDeviceSerials(anyCollection()))
+            .thenReturn(List.of(userDevice(100L, "cancelled", 1L, 12L, true)));
+
+        assertThrows(AuthenticationException.class, () -> index.verify("wrong", "cancelled"));
+        assertThrows(AuthenticationException.class, () -> index.verify("wrong", "cancelled"));
+        verify(deviceRepository, times(1)).findByApiKeyHash(ApiKeyUtil.hash("wrong"));
+        ForbiddenException exception = assertThrows(ForbiddenException.class, () -> index.verify("key", "cancelled"));
+        assertEquals("Subscription is cancelled", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should read an unknown feature code once")
+    public void testUnknownFeatureCodeCached() {
+        givenDevice(1L, "key");
+
+        for (int i = 0; i < 2; i++) {
+            ValidationException exception = assertThrows(ValidationException.class,
+                () -> index.verifyAll("key", List.of("SN1"), List.of("NOPE")));
+            assertTrue(exception.getMessage().contains("Unknown feature code: NOPE"));
+        }
+        verify(featureRepository, times(1)).findByFeatureCode("NOPE");
+        assertEquals(1, index.getStats().get("unknownFeatureCodes"));
+    }
+
+    @Test
+    @DisplayName("Should test feature bits across bitset words")
+    public void testFeatureSet() {
+        EntitlementIndex.FeatureSet features = new EntitlementIndex.FeatureSet(new long[] {1, 2, 3, 4}, new int[] {0, 63, 64, 130});
+
+        assertTrue(features.contains(0));
+        assertTrue(features.contains(63));
+        assertTrue(features.contains(64));
+        assertTrue(features.contains(130));
+        assertFalse(features.contains(1));
+        assertFalse(features.contains(129));
+        assertFalse(features.contains(500));
+        assertFalse(EntitlementIndex.FeatureSet.EMPTY.contains(0));
+    }
+
+    @Test
+    @DisplayName("Should check the API key and resolve feature codes once for a batch verified in chunks")
+    public void testVerifierResolvesOnce() {
+        givenDevice(1L, "key");
+        givenUserSubscription(10L, SubscriptionStatus.ACTIVE, null);
+        when(userDeviceRepository.findByDeviceSerials(anyCollection())).thenAnswer(invocation -> {
+            List<UserDevice> found = new ArrayList<>();
+            for (Object serial : (Collection<?>) invocation.getArgument(0)) {
+                found.add(userDevice((long) serial.hashCode(), (String) serial, 1L, 10L, true));
+            }
+            return found;
+        });
+        Subscription subscription = new Subscription();
+        subscription.setId(5L);
+        subscription.setFeatureIds(List.of(3L));
+        when(subscriptionRepository.findById(5L)).thenReturn(Optional.of(subscription));
+        Feature feature = new Feature();
+        feature.setId(3L);
+        when(featureRepository.findByFeatureCode("HD")).thenReturn(Optional.of(feature));
+
+        EntitlementServicePort.SerialVerifier verifier = index.verifier("key", List.of("HD"));
+        List<SerialVerification> results = new ArrayList<>();
+        for (List<String> chunk : List.of(List.of("a", "b"), List.of("c"), List.of("d"))) {
+            results.addAll(verifier.verify(chunk));
+        }
+
+        assertEquals(4, results.size());
+        assertTrue(results.stream().allMatch(result -> result.isVerified() && result.getFeatures().get("HD")));
+        verify(deviceRepository, times(1)).findByApiKeyHash(anyString());
+        verify(featureRepository, times(1)).findByFeatureCode("HD");
+        assertThrows(AuthenticationException.class, () -> index.verifier("other", List.of("HD")));
+    }
+
+    @Test
+    @DisplayName("Should start before the first sequence still held by a running transaction")
+    public void testSettledSequence() {
+        // Sequences 4 and 9 are missing: 4 rolled back, 9 belongs to a slow transaction
+        TreeSet<Long> present = new TreeSet<>(List.of(1L, 2L, 3L, 5L, 6L, 7L, 8L, 10L, 11L, 12L));
+        when(changeFeedRepository.findLatestSequence()).thenReturn(12L);
+        when(changeFeedRepository.findOldestSequence()).thenReturn(1L);
+        when(changeFeedRepository.countSequences(anyLong(), anyLong())).thenAnswer(invocation ->
+            (long) present.subSet(invocation.getArgument(0), false, invocation.getArgument(1), true).size());
+        when(changeFeedRepository.closeGap(eq(4L), anyInt())).thenAnswer(invocation -> present.add(4L));
+        when(changeFeedRepository.closeGap(eq(9L), anyInt())).thenReturn(false);
+
+        assertEquals(8, index.settledSequence());
+        assertTrue(present.contains(4L));
+
+        present.add(9L);
+        assertEquals(12, index.settledSequence());
+    }
+
+    @Test
+    @DisplayName("Should replay recent entitlement changes up to the cursor to a new listener")
+    public void testAddChangeListenerReplays() {
+        when(changeFeedRepository.findLatestSequence()).thenReturn(12L);
+        when(changeFeedRepository.findOldestSequence()).thenReturn(1L);
+        when(changeFeedRepository.countSequences(0L, 12L)).thenReturn(12L);
+        LocalDateTime replaySince = LocalDateTime.now().minusHours(1);
+        when(changeFeedRepository.findFirstSequenceSince(replaySince)).thenReturn(10L);
+        when(changeFeedRepository.findAfter(9L, 1000)).thenReturn(List.of(
+            change(10L, ChangeRecord.DEVICE, 1L),
+            change(11L, ChangeRecord.FEATURE, 2L),
+            change(12L, ChangeRecord.USER_SUBSCRIPTION, 3L),
+            change(13L, ChangeRecord.DEVICE, 4L)));
+        List<String> replayed = new ArrayList<>();
+
+        index.start(60_000);
+        try {
+            index.addChangeListener((entityType, id, sequence) -> replayed.add(entityType + ":" + id + "@" + sequence),
+                replaySince);
+        } finally {
+            index.shutdown();
+        }
+
+        // The feature change is not an entitlement change; sequence 13 is past the cursor
+        assertEquals(List.of("device:1@10", "userSubscription:3@12"), replayed);
+    }
+
+    private static ChangeRecord change(Long sequence, String entityType, Long entityId) {
+        return new ChangeRecord(sequence, entityType, entityId, LocalDateTime.now());
+    }
+
+    private void givenDevice(Long id, String apiKey) {
+        Device device = new Device();
+        device.setId(id);
+        device.setApiKeyHash(ApiKeyUtil.hash(apiKey));
+        when(deviceRepository.findByApiKeyHash(device.getApiKeyHash())).thenReturn(Optional.of(device));
+    }
+
+    private void givenUserSubscription(Long id, SubscriptionStatus status, LocalDate endDate) {
+        UserSubscription userSubscription = new UserSubscription();
+        userSubscription.setId(id);
+        userSubscription.setSubscriptionId(5L);
+        userSubscription.setStatus(status);
+        userSubscription.setEndDate(endDate);
+        when(userSubscriptionRepository.findById(id)).thenReturn(Optional.of(userSubscription));
+    }
+
+    private static UserDevice userDevice(Long id, String serial, Long deviceId, Long userSubscriptionId, boolean active) {
+        UserDevice userDevice = new UserDevice();
+        userDevice.setId(id);
+        userDevice.setDeviceSerial(serial);
+        userDevice.setDeviceId(deviceId);
+        userDevice.setUserSubscriptionId(userSubscriptionId);
+        userDevice.setActive(active);
+        return userDevice;
+    }
+}
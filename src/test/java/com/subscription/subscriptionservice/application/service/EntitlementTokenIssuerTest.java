@@ -0,0 +1,64 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementServicePort.Entitlement;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort.EntitlementToken;
+import com.subscription.subscriptionservice.application.port.inbound.EntitlementTokenServicePort.RevocationList;
+import com.subscription.subscriptionservice.application.port.outbound.EntitlementTokenPort;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EntitlementTokenIssuer
+ */
+@DisplayName("EntitlementTokenIssuer Tests")
+public class EntitlementTokenIssuerTest {
+
+    private final EntitlementIndex entitlementIndex = mock(EntitlementIndex.class);
+    private final EntitlementTokenPort tokenPort = mock(EntitlementTokenPort.class);
+    private final EntitlementTokenIssuer issuer = new EntitlementTokenIssuer(entitlementIndex,
+        tokenPort, 3_600_000, 600_000);
+
+    @Test
+    @DisplayName("Should reuse the cached token until a newer change revokes its scope")
+    public void testReuseAndRevoke() {
+        when(entitlementIndex.cursor()).thenReturn(10L);
+        when(entitlementIndex.verify("key", "SN1")).thenReturn(new Entitlement(1, 2, 3, 4, "ACTIVE", null, List.of()));
+        when(tokenPort.sign(anyString(), eq("SN1"), anyMap(), anyLong(), anyLong())).thenReturn("signed");
+
+        EntitlementToken first = issuer.issueToken("key", "SN1");
+        assertSame(first, issuer.issueToken("key", "SN1"));
+
+        // A change the token already reflects does not revoke it
+        issuer.entitlementChanged(ChangeRecord.SUBSCRIPTION, 3, 10);
+        assertSame(first, issuer.issueToken("key", "SN1"));
+
+        issuer.entitlementChanged(ChangeRecord.USER_SUBSCRIPTION, 4, 11);
+        when(entitlementIndex.cursor()).thenReturn(11L);
+        assertNotSame(first, issuer.issueToken("key", "SN1"));
+        verify(tokenPort, times(2)).sign(anyString(), anyString(), anyMap(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should list revocations between the since sequence and the index cursor")
+    public void testGetRevocations() {
+        issuer.entitlementChanged(ChangeRecord.USER_DEVICE, 7, 5);
+        issuer.entitlementChanged(ChangeRecord.USER_DEVICE, 7, 8);
+        issuer.entitlementChanged(ChangeRecord.DEVICE, 1, 6);
+        issuer.entitlementChanged(ChangeRecord.SUBSCRIPTION, 2, 12);
+        when(entitlementIndex.cursor()).thenReturn(10L);
+
+        RevocationList revocations = issuer.getRevocations(5);
+
+        assertEquals(10, revocations.getCursor());
+        assertEquals(2, revocations.getRevocations().size());
+        assertEquals(ChangeRecord.DEVICE, revocations.getRevocations().get(0).getScope());
+        assertEquals(8, revocations.getRevocations().get(1).getSequence());
+    }
+}
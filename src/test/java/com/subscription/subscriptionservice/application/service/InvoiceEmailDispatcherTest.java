@@ -0,0 +1,118 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.EmailPort;
+import com.subscription.subscriptionservice.application.port.outbound.EmailPort.DeliveryStatus;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InvoiceEmailDispatcher
+ */
+@DisplayName("InvoiceEmailDispatcher Tests")
+public class InvoiceEmailDispatcherTest {
+
+    private final BillingRepositoryPort billingRepository = mock(BillingRepositoryPort.class);
+
+    @Test
+    @DisplayName("Should retry transient failures and mark delivered bills in bulk")
+    public void testRetryAndMarkSent() {
+        givenUnsentInvoices(1L, 2L, 3L);
+        // First attempt: 2 is transient, 3 is rejected; second attempt delivers 2
+        EmailPort emailPort = messages -> messages.size() == 3
+            ? List.of(DeliveryStatus.SENT, DeliveryStatus.RETRY, DeliveryStatus.REJECTED)
+            : Collections.nCopies(messages.size(), DeliveryStatus.SENT);
+
+        int sent = new InvoiceEmailDispatcher(billingRepository, emailPort, 10, 1, 3, 1, 1).dispatch();
+
+        assertEquals(2, sent);
+        verify(billingRepository).markEmailSent(eq(List.of(1L)), any());
+        verify(billingRepository).markEmailSent(eq(List.of(2L)), any());
+        verify(billingRepository, never()).markEmailSent(argThat(ids -> ids.contains(3L)), any());
+        verify(billingRepository).markEmailRejected(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("Should leave bills unsent after the last attempt")
+    public void testGiveUpAfterMaxAttempts() {
+        givenUnsentInvoices(1L, 2L);
+        List<Integer> attempts = new ArrayList<>();
+        EmailPort emailPort = messages -> {
+            attempts.add(messages.size());
+            return Collections.nCopies(messages.size(), DeliveryStatus.RETRY);
+        };
+
+        int sent = new InvoiceEmailDispatcher(billingRepository, emailPort, 10, 1, 3, 1, 1).dispatch();
+
+        assertEquals(0, sent);
+        assertEquals(List.of(2, 2, 2), attempts);
+        verify(billingRepository, never()).markEmailSent(argThat(ids -> !ids.isEmpty()), any());
+    }
+
+    @Test
+    @DisplayName("Should split a page into batches of batchSize")
+    public void testBatching() {
+        givenUnsentInvoices(1L, 2L, 3L, 4L, 5L);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        EmailPort emailPort = messages -> {
+            batchSizes.add(messages.size());
+            return Collections.nCopies(messages.size(), DeliveryStatus.SENT);
+        };
+
+        int sent = new InvoiceEmailDispatcher(billingRepository, emailPort, 2, 3, 1, 1, 1).dispatch();
+
+        assertEquals(5, sent);
+        Collections.sort(batchSizes);
+        assertEquals(List.of(1, 2, 2), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should grow the backoff exponentially up to the maximum")
+    public void testBackoff() {
+        InvoiceEmailDispatcher dispatcher = new InvoiceEmailDispatcher(billingRepository, messages -> List.of(), 1, 1, 5, 100, 1000);
+
+        for (int i = 0; i < 20; i++) {
+            long first = dispatcher.backoffMillis(1);
+            long third = dispatcher.backoffMillis(3);
+            long tenth = dispatcher.backoffMillis(10);
+            assertTrue(first >= 50 && first <= 100, "first: " + first);
+            assertTrue(third >= 200 && third <= 400, "third: " + third);
+            assertTrue(tenth >= 500 && tenth <= 1000, "tenth: " + tenth);
+        }
+    }
+
+    private void givenUnsentInvoices(Long... ids) {
+        List<Billing> billings = new ArrayList<>();
+        for (Long id : ids) {
+            Billing billing = new Billing();
+            billing.setId(id);
+            billing.setBillingPeriodStart(LocalDate.of(2026, 1, 1));
+            billing.setBillingPeriodEnd(LocalDate.of(2026, 2, 1));
+            billing.setDueDate(LocalDate.of(2026, 1, 31));
+            billing.setTotalAmount(new BigDecimal("9.99"));
+            billing.setPdfPath("/tmp/" + id + ".pdf");
+            billings.add(billing);
+        }
+        when(billingRepository.findUnsentInvoices(eq(0L), anyInt())).thenReturn(billings);
+        when(billingRepository.findRecipientEmails(anyList())).thenAnswer(invocation -> {
+            Map<Long, String> emails = new HashMap<>();
+            for (Object id : (List<?>) invocation.getArgument(0)) {
+                emails.put((Long) id, "user" + id + "@example.com");
+            }
+            return emails;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.subscription.subscriptionservice.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongKeyedMap
+ */
+@DisplayName("LongKeyedMap Tests")
+public class LongKeyedMapTest {
+
+    @Test
+    @DisplayName("Should put, replace and remove values")
+    public void testPutAndRemove() {
+        LongKeyedMap<String> map = new LongKeyedMap<>();
+
+        assertNull(map.put(1L, "a"));
+        assertEquals("a", map.put(1L, "b"));
+        assertEquals("b", map.putIfAbsent(1L, "c"));
+        assertNull(map.putIfAbsent(0L, "zero"));
+
+        assertEquals("b", map.get(1L));
+        assertEquals("zero", map.get(0L));
+        assertEquals(2, map.size());
+        assertEquals("b", map.remove(1L));
+        assertNull(map.get(1L));
+        assertNull(map.remove(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Should match a HashMap through growth and removals")
+    public void testAgainstHashMap() {
+        LongKeyedMap<Long> map = new LongKeyedMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // A small key range forces long probe runs and frequent removals inside them
+            long key = random.nextInt(20_000) - 10_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -10_000; key < 10_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
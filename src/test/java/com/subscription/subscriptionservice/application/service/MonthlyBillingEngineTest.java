@@ -0,0 +1,117 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.BillingRunRepositoryPort;
+import com.subscription.subscriptionservice.application.port.outbound.UserSubscriptionRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.BillingRun;
+import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MonthlyBillingEngine partitioning and re-runs
+ */
+@DisplayName("MonthlyBillingEngine Tests")
+public class MonthlyBillingEngineTest {
+    
+    @Test
+    @DisplayName("Should split id range into contiguous partitions covering every id")
+    public void testPartitionCoversRange() {
+        List<long[]> ranges = MonthlyBillingEngine.partition(10, 1009, 16);
+        
+        assertEquals(16, ranges.size());
+        assertEquals(9, ranges.get(0)[0]);
+        assertEquals(1009, ranges.get(ranges.size() - 1)[1]);
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1)[1], ranges.get(i)[0]);
+        }
+    }
+    
+    @Test
+    @DisplayName("Should not create more partitions than ids")
+    public void testPartitionSmallRange() {
+        List<long[]> ranges = MonthlyBillingEngine.partition(5, 7, 16);
+        
+        assertEquals(3, ranges.size());
+        assertEquals(4, ranges.get(0)[0]);
+        assertEquals(7, ranges.get(2)[1]);
+    }
+    
+    @Test
+    @DisplayName("Should use a single partition for a single id")
+    public void testPartitionSingleId() {
+        List<long[]> ranges = MonthlyBillingEngine.partition(42, 42, 8);
+        
+        assertEquals(1, ranges.size());
+        assertArrayEquals(new long[] {41, 42}, ranges.get(0));
+    }
+    
+    @Test
+    @DisplayName("Should create no second bill when the same subscriptions are billed again")
+    @SuppressWarnings("unchecked")
+    public void testRerunIsIdempotent() {
+        LocalDate asOf = LocalDate.of(2026, 10, 1);
+        BillingRepositoryPort billingRepository = mock(BillingRepositoryPort.class);
+        UserSubscriptionRepositoryPort userSubscriptionRepository = mock(UserSubscriptionRepositoryPort.class);
+        // Stands in for the unique (user_subscription_id, billing_period_start) constraint
+        Set<String> billedPeriods = new HashSet<>();
+        when(billingRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Billing> inserted = new ArrayList<>();
+            for (Billing bill : (List<Billing>) invocation.getArgument(0)) {
+                if (billedPeriods.add(bill.getUserSubscriptionId() + ":" + bill.getBillingPeriodStart())) {
+                    inserted.add(bill);
+                }
+            }
+            return inserted;
+        });
+        when(userSubscriptionRepository.findDueForBillingIdRange(asOf)).thenReturn(Optional.of(new long[] {1, 3}));
+        when(userSubscriptionRepository.findDueForBilling(eq(asOf), anyLong(), anyLong(), anyInt()))
+            .thenAnswer(invocation -> due(invocation.getArgument(1), invocation.getArgument(2), asOf));
+        List<Billing> handedOn = new ArrayList<>();
+        MonthlyBillingEngine engine = new MonthlyBillingEngine(billingRepository, userSubscriptionRepository,
+            mock(BillingRunRepositoryPort.class), new DirectTransactionManager(), 2, 10, handedOn::addAll);
+        
+        BillingRun first = run(engine, asOf);
+        BillingRun rerun = run(engine, asOf);
+        
+        assertEquals(3, first.getBillsCreated());
+        assertEquals(0, rerun.getBillsCreated());
+        assertEquals(3, rerun.getDuplicatesSkipped());
+        assertEquals(3, rerun.getSubscriptionsProcessed());
+        assertEquals(3, handedOn.size());
+    }
+    
+    private static BillingRun run(MonthlyBillingEngine engine, LocalDate asOf) {
+        BillingRun run = new BillingRun();
+        run.setAsOf(asOf);
+        run.setPartitions(engine.plan(asOf));
+        engine.execute(run);
+        run.refreshTotals();
+        return run;
+    }
+    
+    private static List<UserSubscription> due(long afterId, long maxId, LocalDate billingStart) {
+        List<UserSubscription> subscriptions = new ArrayList<>();
+        for (long id = afterId + 1; id <= Math.min(maxId, 3); id++) {
+            UserSubscription subscription = new UserSubscription();
+            subscription.setId(id);
+            subscription.setNegotiatedPrice(new BigDecimal("9.99"));
+            subscription.setBillingStartDate(billingStart);
+            subscriptions.add(subscription);
+        }
+        return subscriptions;
+    }
+}
@@ -0,0 +1,102 @@
+package com.subscription.subscriptionservice.application.service;
+
+import com.subscription.subscriptionservice.application.port.outbound.EventSinkPort;
+import com.subscription.subscriptionservice.application.port.outbound.OutboxRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.DomainEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay
+ */
+@DisplayName("OutboxRelay Tests")
+public class OutboxRelayTest {
+
+    private final OutboxRepositoryPort outboxRepository = mock(OutboxRepositoryPort.class);
+
+    @Test
+    @DisplayName("Should publish a batch to every sink and mark it published")
+    public void testRelayBatch() {
+        givenUnpublished(1L, 2L, 3L);
+        List<Long> first = new ArrayList<>();
+        List<Long> second = new ArrayList<>();
+
+        int relayed = relay(sink("first", first), sink("second", second)).relayBatch();
+
+        assertEquals(3, relayed);
+        assertEquals(List.of(1L, 2L, 3L), first);
+        assertEquals(List.of(1L, 2L, 3L), second);
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L, 3L)), any());
+    }
+
+    @Test
+    @DisplayName("Should leave the batch unpublished when a sink fails")
+    public void testSinkFailure() {
+        givenUnpublished(1L, 2L);
+        EventSinkPort failing = new EventSinkPort() {
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public void publish(List<DomainEvent> events) {
+                throw new IllegalStateException("unavailable");
+            }
+        };
+
+        OutboxRelay relay = relay(sink("first", new ArrayList<>()), failing);
+
+        assertThrows(IllegalStateException.class, relay::relayBatch);
+        verify(outboxRepository, never()).markPublished(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should grow the backoff exponentially up to 30 seconds")
+    public void testBackoff() {
+        OutboxRelay relay = relay();
+
+        assertEquals(1000, relay.backoffMillis(1));
+        assertEquals(4000, relay.backoffMillis(3));
+        assertEquals(30000, relay.backoffMillis(10));
+    }
+
+    private OutboxRelay relay(EventSinkPort... sinks) {
+        return new OutboxRelay(outboxRepository, List.of(sinks), null, 10, 1000, Duration.ofHours(1));
+    }
+
+    private static EventSinkPort sink(String name, List<Long> received) {
+        return new EventSinkPort() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void publish(List<DomainEvent> events) {
+                for (DomainEvent event : events) {
+                    received.add(event.getId());
+                }
+            }
+        };
+    }
+
+    private void givenUnpublished(Long... ids) {
+        List<DomainEvent> events = new ArrayList<>();
+        for (Long id : ids) {
+            DomainEvent event = DomainEvent.of("Billing", id, DomainEvent.BILLING_PAID, Map.of("billingId", id));
+            event.setId(id);
+            events.add(event);
+        }
+        when(outboxRepository.findUnpublished(anyInt())).thenReturn(events);
+    }
+}
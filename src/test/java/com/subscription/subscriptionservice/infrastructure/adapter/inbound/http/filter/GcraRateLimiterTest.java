@@ -0,0 +1,93 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.http.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GcraRateLimiter
+ */
+@DisplayName("GcraRateLimiter Tests")
+public class GcraRateLimiterTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow the burst at once, then limit until one interval has passed")
+    public void testBurstAndRefill() {
+        AtomicLong clock = new AtomicLong(0);
+        // 60 per minute - one request a second, five at once
+        GcraRateLimiter limiter = new GcraRateLimiter(60, MINUTE, 5, 100, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            GcraRateLimiter.Decision decision = limiter.acquire("client");
+            assertTrue(decision.isAllowed());
+            assertEquals(4 - i, decision.getRemaining());
+        }
+
+        GcraRateLimiter.Decision limited = limiter.acquire("client");
+        assertFalse(limited.isAllowed());
+        assertEquals(0, limited.getRemaining());
+        assertEquals(SECOND, limited.getRetryAfterNanos());
+        assertEquals(5 * SECOND, limited.getResetNanos());
+
+        clock.addAndGet(SECOND);
+        assertTrue(limiter.acquire("client").isAllowed());
+        assertFalse(limiter.acquire("client").isAllowed());
+
+        assertEquals(6, limiter.getAllowed());
+        assertEquals(2, limiter.getLimited());
+    }
+
+    @Test
+    @DisplayName("Should keep separate allowances per key")
+    public void testKeysIndependent() {
+        AtomicLong clock = new AtomicLong(0);
+        GcraRateLimiter limiter = new GcraRateLimiter(60, MINUTE, 1, 100, clock::get);
+
+        assertTrue(limiter.acquire("a").isAllowed());
+        assertFalse(limiter.acquire("a").isAllowed());
+        assertTrue(limiter.acquire("b").isAllowed());
+    }
+
+    @Test
+    @DisplayName("Should drop idle keys once a period without changing any decision")
+    public void testIdleEviction() {
+        AtomicLong clock = new AtomicLong(0);
+        GcraRateLimiter limiter = new GcraRateLimiter(60, MINUTE, 5, 100, clock::get);
+        limiter.acquire("idle");
+        clock.addAndGet(58 * SECOND);
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("busy");
+        }
+
+        clock.addAndGet(3 * SECOND);
+        limiter.acquire("new");
+
+        // "idle" was back to a full allowance, "busy" still owes time and is kept
+        assertEquals(2, limiter.size());
+        assertEquals(0, limiter.getEvictions());
+        GcraRateLimiter.Decision busy = limiter.acquire("busy");
+        assertTrue(busy.isAllowed());
+        assertEquals(2, busy.getRemaining());
+    }
+
+    @Test
+    @DisplayName("Should stay within its capacity when every key is active")
+    public void testBounded() {
+        AtomicLong clock = new AtomicLong(0);
+        GcraRateLimiter limiter = new GcraRateLimiter(60, MINUTE, 5, 10, clock::get);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(limiter.acquire("client-" + i).isAllowed());
+        }
+
+        assertTrue(limiter.size() <= 10);
+        assertTrue(limiter.getEvictions() > 0);
+    }
+}
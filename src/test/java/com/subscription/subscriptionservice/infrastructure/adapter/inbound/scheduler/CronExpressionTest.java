@@ -0,0 +1,52 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.inbound.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CronExpression
+ */
+@DisplayName("CronExpression Tests")
+public class CronExpressionTest {
+    
+    @Test
+    @DisplayName("Should fire daily at the configured time")
+    public void testDaily() {
+        CronExpression cron = new CronExpression("0 2 * * *");
+        
+        assertEquals(LocalDateTime.of(2026, 3, 10, 2, 0), cron.next(LocalDateTime.of(2026, 3, 10, 1, 59, 30)));
+        assertEquals(LocalDateTime.of(2026, 3, 11, 2, 0), cron.next(LocalDateTime.of(2026, 3, 10, 2, 0)));
+    }
+    
+    @Test
+    @DisplayName("Should support steps and ranges")
+    public void testStepsAndRanges() {
+        CronExpression cron = new CronExpression("*/10 9-17 * * 1-5");
+        
+        // Friday 17:55 -> Monday 09:00
+        assertEquals(LocalDateTime.of(2026, 10, 19, 9, 0), cron.next(LocalDateTime.of(2026, 10, 16, 17, 55)));
+        assertEquals(LocalDateTime.of(2026, 10, 19, 9, 20), cron.next(LocalDateTime.of(2026, 10, 19, 9, 10)));
+    }
+    
+    @Test
+    @DisplayName("Should treat 0 and 7 as Sunday and OR restricted day fields")
+    public void testDayOfWeek() {
+        assertEquals(LocalDateTime.of(2026, 10, 25, 4, 0),
+            new CronExpression("0 4 * * 7").next(LocalDateTime.of(2026, 10, 19, 0, 0)));
+        // 1st of the month or any Sunday, whichever comes first
+        assertEquals(LocalDateTime.of(2026, 10, 25, 0, 0),
+            new CronExpression("0 0 1 * 0").next(LocalDateTime.of(2026, 10, 19, 0, 0)));
+    }
+    
+    @Test
+    @DisplayName("Should reject malformed expressions")
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new CronExpression("0 2 * *"));
+        assertThrows(IllegalArgumentException.class, () -> new CronExpression("60 * * * *"));
+        assertThrows(IllegalArgumentException.class, () -> new CronExpression("0 5-2 * * *"));
+    }
+}
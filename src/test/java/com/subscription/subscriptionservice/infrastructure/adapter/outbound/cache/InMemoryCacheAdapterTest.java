@@ -0,0 +1,80 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryCacheAdapter
+ */
+@DisplayName("InMemoryCacheAdapter Tests")
+public class InMemoryCacheAdapterTest {
+
+    private final InMemoryCacheAdapter cache = new InMemoryCacheAdapter(1000, 0);
+
+    @AfterEach
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Should expire entries and remove them in the sweep")
+    public void testExpiry() throws InterruptedException {
+        cache.put("a", "1", 60);
+        cache.put("b", "2");
+        cache.put("c", "3", 60);
+        cache.expire("c", 0);
+        Thread.sleep(5);
+
+        assertEquals("1", cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertFalse(cache.exists("c"));
+
+        cache.removeExpired();
+        assertEquals(2, cache.getStats().get("entries"));
+        assertEquals(1L, cache.getStats().get("expirations"));
+    }
+
+    @Test
+    @DisplayName("Should keep frequently used keys when one-off keys are written to a full cache")
+    public void testAdmission() {
+        String value = "x".repeat(90);
+        for (int i = 0; i < 10; i++) {
+            cache.put("hot" + i, value);
+            for (int read = 0; read < 3; read++) {
+                cache.get("hot" + i);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put("scan" + i, value);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(cache.get("hot" + i));
+        }
+        assertTrue((Long) cache.getStats().get("weight") <= 1000);
+        assertTrue((Long) cache.getStats().get("rejections") > 0);
+    }
+
+    @Test
+    @DisplayName("Should evict to stay within the weight bound once a new key is used more often")
+    public void testEviction() {
+        String value = "x".repeat(95);
+        for (int i = 0; i < 10; i++) {
+            cache.put("old" + i, value);
+        }
+        for (int read = 0; read < 5; read++) {
+            cache.get("new");
+        }
+        cache.put("new", value);
+
+        assertEquals(value, cache.get("new"));
+        assertTrue((Long) cache.getStats().get("weight") <= 1000);
+        assertEquals(1L, cache.getStats().get("evictions"));
+
+        cache.put("huge", "x".repeat(2000));
+        assertNull(cache.get("huge"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TieredCacheAdapter
+ */
+@DisplayName("TieredCacheAdapter Tests")
+public class TieredCacheAdapterTest {
+
+    private final RedisCacheAdapter redis = mock(RedisCacheAdapter.class);
+    private final TieredCacheAdapter cache = new TieredCacheAdapter(redis, 2, 60);
+
+    @Test
+    @DisplayName("Should serve repeated reads from L1 and evict beyond the size bound")
+    @SuppressWarnings("unchecked")
+    public void testReadThrough() {
+        when(redis.get("a")).thenReturn("1");
+        when(redis.get("b")).thenReturn("2");
+        when(redis.get("c")).thenReturn("3");
+
+        assertEquals("1", cache.get("a"));
+        assertEquals("1", cache.get("a"));
+        verify(redis, times(1)).get("a");
+
+        cache.get("b");
+        cache.get("c");
+        assertEquals("1", cache.get("a"));
+        verify(redis, times(2)).get("a");
+
+        Map<String, Object> l1 = (Map<String, Object>) cache.getStats().get("l1");
+        assertEquals(1L, l1.get("hits"));
+        assertEquals(2L, l1.get("evictions"));
+    }
+
+    @Test
+    @DisplayName("Should drop L1 copies on local writes and on invalidations from other nodes")
+    public void testInvalidation() {
+        when(redis.get("a")).thenReturn("1", "2", "3", "4");
+
+        cache.get("a");
+        cache.put("a", "2", 60);
+        verify(redis).publish(eq(TieredCacheAdapter.INVALIDATION_CHANNEL), endsWith("\na"));
+        assertEquals("2", cache.get("a"));
+
+        cache.onInvalidation("other-node\na");
+        assertEquals("3", cache.get("a"));
+
+        cache.onInvalidation("other-node\n*");
+        assertEquals("4", cache.get("a"));
+        assertEquals("4", cache.get("a"));
+        verify(redis, times(4)).get("a");
+    }
+
+    @Test
+    @DisplayName("Should read only L1 misses from Redis in one call and invalidate batches in one message")
+    public void testMultiKey() {
+        when(redis.get("a")).thenReturn("1");
+        when(redis.getAll(List.of("b"))).thenReturn(Map.of("b", "2"));
+        cache.get("a");
+
+        assertEquals(Map.of("a", "1", "b", "2"), cache.getAll(List.of("a", "b")));
+        verify(redis).getAll(List.of("b"));
+
+        cache.deleteAll(List.of("a", "b"));
+        verify(redis).deleteAll(List.of("a", "b"));
+        verify(redis).publish(eq(TieredCacheAdapter.INVALIDATION_CHANNEL), endsWith("\na\nb"));
+
+        cache.onInvalidation("other-node\na\nb");
+        assertEquals(0, ((Map<?, ?>) cache.getStats().get("l1")).get("entries"));
+    }
+}
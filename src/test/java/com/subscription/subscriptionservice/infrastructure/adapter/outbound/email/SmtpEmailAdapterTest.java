@@ -0,0 +1,177 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.email;
+
+import com.subscription.subscriptionservice.application.port.outbound.EmailPort.DeliveryStatus;
+import com.subscription.subscriptionservice.domain.model.EmailMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SmtpEmailAdapter, against an in-process SMTP stub
+ */
+@DisplayName("SmtpEmailAdapter Tests")
+public class SmtpEmailAdapterTest {
+
+    private SmtpStub smtp;
+    private SmtpEmailAdapter adapter;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        smtp = new SmtpStub(Set.of("<gone@example.com>"));
+        adapter = new SmtpEmailAdapter("127.0.0.1", smtp.getPort(), null, null, "billing@example.com", false, 1);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        adapter.shutdown();
+        smtp.close();
+    }
+
+    @Test
+    @DisplayName("Should send a batch over one reused connection")
+    public void testSendBatchOverOneConnection() {
+        List<DeliveryStatus> statuses = adapter.sendAll(List.of(message(1L, "a@example.com"), message(2L, "b@example.com")));
+        List<DeliveryStatus> next = adapter.sendAll(List.of(message(3L, "c@example.com")));
+
+        assertEquals(List.of(DeliveryStatus.SENT, DeliveryStatus.SENT), statuses);
+        assertEquals(List.of(DeliveryStatus.SENT), next);
+        assertEquals(List.of("<a@example.com>", "<b@example.com>", "<c@example.com>"), smtp.getDelivered());
+        assertEquals(1, smtp.getConnections());
+    }
+
+    @Test
+    @DisplayName("Should report a recipient refused by the server as rejected and keep sending")
+    public void testRefusedRecipientRejected() {
+        List<DeliveryStatus> statuses = adapter.sendAll(List.of(message(1L, "gone@example.com"), message(2L, "b@example.com")));
+
+        assertEquals(List.of(DeliveryStatus.REJECTED, DeliveryStatus.SENT), statuses);
+        assertEquals(List.of("<b@example.com>"), smtp.getDelivered());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed address without contacting the server")
+    public void testMalformedAddressRejected() {
+        List<DeliveryStatus> statuses = adapter.sendAll(List.of(message(1L, "not an address")));
+
+        assertEquals(List.of(DeliveryStatus.REJECTED), statuses);
+        assertEquals(0, smtp.getConnections());
+    }
+
+    @Test
+    @DisplayName("Should ask for a retry of the whole batch when the server is unreachable")
+    public void testUnreachableServerRetried() throws IOException {
+        smtp.close();
+
+        List<DeliveryStatus> statuses = adapter.sendAll(List.of(message(1L, "a@example.com"), message(2L, "b@example.com")));
+
+        assertEquals(List.of(DeliveryStatus.RETRY, DeliveryStatus.RETRY), statuses);
+    }
+
+    private static EmailMessage message(Long id, String to) {
+        return new EmailMessage(id, to, "Invoice " + id, "Please find your invoice attached.", null);
+    }
+
+    /**
+     * Minimal SMTP server: accepts every message except those to the refused recipients
+     */
+    private static class SmtpStub implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final Set<String> refused;
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+        private final AtomicInteger connections = new AtomicInteger();
+
+        SmtpStub(Set<String> refused) throws IOException {
+            this.serverSocket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+            this.refused = refused;
+            Thread acceptor = new Thread(this::acceptLoop, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        List<String> getDelivered() {
+            return delivered;
+        }
+
+        int getConnections() {
+            return connections.get();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    connections.incrementAndGet();
+                    serve(socket);
+                } catch (IOException e) {
+                    // Closed by the test or by the client
+                }
+            }
+        }
+
+        private void serve(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+            reply(out, "220 localhost SMTP stub");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("RCPT TO:")) {
+                    String address = line.substring("RCPT TO:".length()).trim();
+                    if (refused.contains(address)) {
+                        reply(out, "550 No such user");
+                    } else {
+                        recipient = address;
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // Message content is not inspected
+                    }
+                    delivered.add(recipient);
+                    reply(out, "250 OK");
+                } else if (command.startsWith("MAIL FROM:") || command.equals("RSET")) {
+                    recipient = null;
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // EHLO, HELO and NOOP
+                    reply(out, "250 localhost");
+                }
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.pdf;
+
+import com.subscription.subscriptionservice.application.port.outbound.BillingRepositoryPort;
+import com.subscription.subscriptionservice.domain.model.Billing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AsyncInvoiceRenderingAdapter
+ */
+@DisplayName("AsyncInvoiceRenderingAdapter Tests")
+public class AsyncInvoiceRenderingAdapterTest {
+
+    private static final byte[] PDF = {'%', 'P', 'D', 'F'};
+
+    @TempDir
+    Path outputDirectory;
+
+    // Open bills without a PDF, as findWithoutPdf sees them
+    private final ConcurrentSkipListMap<Long, Billing> withoutPdf = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> linked = new ConcurrentHashMap<>();
+    private BillingRepositoryPort billingRepository;
+    private InvoicePdfRenderer renderer;
+    private AsyncInvoiceRenderingAdapter adapter;
+
+    @BeforeEach
+    public void setUp() {
+        billingRepository = mock(BillingRepositoryPort.class);
+        when(billingRepository.findWithoutPdf(anyLong(), anyInt())).thenAnswer(invocation -> {
+            List<Billing> page = new ArrayList<>(withoutPdf.tailMap(invocation.getArgument(0), false).values());
+            return page.subList(0, Math.min(page.size(), invocation.<Integer>getArgument(1)));
+        });
+        when(billingRepository.updatePdfPaths(any())).thenAnswer(invocation -> {
+            Map<Long, String> pdfPaths = invocation.getArgument(0);
+            linked.putAll(pdfPaths);
+            withoutPdf.keySet().removeAll(pdfPaths.keySet());
+            return pdfPaths.size();
+        });
+        renderer = mock(InvoicePdfRenderer.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (adapter != null) {
+            adapter.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should render the backlog of open bills on startup")
+    public void testStartupSweepRendersBacklog() throws Exception {
+        addWithoutPdf(1L, 2L);
+        when(renderer.render(any())).thenReturn(PDF);
+
+        adapter = start();
+
+        await(() -> linked.size() == 2);
+        assertTrue(Files.exists(Path.of(linked.get(1L))));
+        assertTrue(Files.exists(Path.of(linked.get(2L))));
+        assertEquals(List.of(), tempFiles());
+    }
+
+    @Test
+    @DisplayName("Should not queue a bill again while it is being rendered")
+    public void testBillBeingRenderedIsNotQueuedTwice() throws Exception {
+        Billing billing = addWithoutPdf(1L).get(0);
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(renderer.render(any())).thenAnswer(invocation -> {
+            rendering.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return PDF;
+        });
+
+        adapter = start();
+        assertTrue(rendering.await(5, TimeUnit.SECONDS));
+        adapter.submit(List.of(billing));
+        adapter.submit(List.of(billing));
+        release.countDown();
+
+        await(() -> linked.containsKey(1L) && isIdle());
+        verify(renderer, times(1)).render(any());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed render on the next sweep")
+    public void testFailedRenderIsRetried() throws Exception {
+        addWithoutPdf(1L);
+        when(renderer.render(any())).thenThrow(new IllegalStateException("font missing")).thenReturn(PDF);
+
+        adapter = start();
+
+        await(() -> linked.containsKey(1L));
+        verify(renderer, times(2)).render(any());
+        assertEquals(1L, adapter.getStats().get("failed"));
+        assertEquals(0L, adapter.getStats().get("abandoned"));
+    }
+
+    @Test
+    @DisplayName("Should give up on a bill after the maximum number of failed renders")
+    public void testGivesUpAfterMaxAttempts() throws Exception {
+        addWithoutPdf(1L);
+        when(renderer.render(any())).thenThrow(new IllegalStateException("font missing"));
+
+        adapter = start();
+
+        await(() -> Long.valueOf(1).equals(adapter.getStats().get("abandoned")));
+        // Another sweep interval passes without a further attempt
+        verify(renderer, after(1500).times(AsyncInvoiceRenderingAdapter.MAX_RENDER_ATTEMPTS)).render(any());
+        assertTrue(linked.isEmpty());
+        assertEquals(List.of(), tempFiles());
+    }
+
+    private AsyncInvoiceRenderingAdapter start() throws IOException {
+        return new AsyncInvoiceRenderingAdapter(billingRepository, renderer, outputDirectory, 2, 100, 10);
+    }
+
+    private List<Billing> addWithoutPdf(long... ids) {
+        List<Billing> billings = new ArrayList<>();
+        for (long id : ids) {
+            Billing billing = new Billing();
+            billing.setId(id);
+            billing.setBillDate(LocalDate.of(2026, 10, 1));
+            withoutPdf.put(id, billing);
+            billings.add(billing);
+        }
+        return billings;
+    }
+
+    private boolean isIdle() {
+        Map<String, Object> stats = adapter.getStats();
+        return Integer.valueOf(0).equals(stats.get("queued")) && Integer.valueOf(0).equals(stats.get("inFlight"));
+    }
+
+    private List<Path> tempFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(outputDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".tmp")).toList();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
+
+import com.subscription.subscriptionservice.domain.model.Billing;
+import com.subscription.subscriptionservice.domain.model.UserSubscription;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcBillingRepository batch inserts, against an in-memory H2 database
+ */
+@DisplayName("JdbcBillingRepository Tests")
+public class JdbcBillingRepositoryTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2026, 10, 1);
+
+    private HikariDataSource dataSource;
+    private JdbcBillingRepository repository;
+    private JdbcTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:billing_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE billings (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_subscription_id BIGINT NOT NULL, billing_period_start DATE NOT NULL, " +
+                "billing_period_end DATE NOT NULL, base_amount DECIMAL(10,2), negotiated_amount DECIMAL(10,2), " +
+                "pro_rata_amount DECIMAL(10,2), total_amount DECIMAL(10,2), bill_date DATE, due_date DATE, " +
+                "paid_date DATE, payment_method VARCHAR(50), status VARCHAR(50), pdf_path VARCHAR(500), " +
+                "email_sent BOOLEAN, email_sent_at TIMESTAMP, created_at TIMESTAMP, updated_at TIMESTAMP, " +
+                "email_rejected BOOLEAN DEFAULT FALSE NOT NULL, " +
+                "CONSTRAINT uk_billings_subscription_period UNIQUE (user_subscription_id, billing_period_start))");
+        }
+        repository = new JdbcBillingRepository(dataSource);
+        transactionManager = new JdbcTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should create no second bill when a chunk is billed again")
+    public void testRerunCreatesNothing() throws SQLException {
+        List<Billing> first = transactionManager.executeInTransaction(() -> repository.insertAll(bills(1, 2, 3)));
+        List<Billing> rerun = transactionManager.executeInTransaction(() -> repository.insertAll(bills(1, 2, 3)));
+
+        assertEquals(3, first.size());
+        assertTrue(rerun.isEmpty());
+        assertEquals(3, countBills());
+    }
+
+    @Test
+    @DisplayName("Should skip only the duplicate keys of a partly billed chunk and keep the transaction usable")
+    public void testDuplicateKeysSkipped() throws SQLException {
+        transactionManager.executeInTransaction(() -> repository.insertAll(bills(2)));
+
+        List<Billing> inserted = transactionManager.executeInTransaction(() -> {
+            List<Billing> created = repository.insertAll(bills(1, 2, 3));
+            // The savepoint rollback leaves the surrounding transaction open for the chunk's other writes
+            repository.insertAll(bills(4));
+            return created;
+        });
+
+        assertEquals(List.of(1L, 3L), subscriptionIds(inserted));
+        assertNotNull(inserted.get(0).getId());
+        assertEquals(4, countBills());
+    }
+
+    @Test
+    @DisplayName("Should find only open bills without a PDF for the invoice backlog")
+    public void testFindWithoutPdfSkipsClosedBills() throws SQLException {
+        List<Billing> inserted = transactionManager.executeInTransaction(() -> repository.insertAll(bills(1, 2, 3, 4, 5)));
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE billings SET status = 'PAID' WHERE user_subscription_id = 2");
+            stmt.executeUpdate("UPDATE billings SET status = 'CANCELLED' WHERE user_subscription_id = 3");
+            stmt.executeUpdate("UPDATE billings SET status = 'OVERDUE' WHERE user_subscription_id = 4");
+            stmt.executeUpdate("UPDATE billings SET pdf_path = 'INV-5.pdf' WHERE user_subscription_id = 5");
+        }
+
+        List<Billing> missing = repository.findWithoutPdf(0, 10);
+
+        assertEquals(List.of(1L, 4L), subscriptionIds(missing));
+        assertEquals(List.of(4L), subscriptionIds(repository.findWithoutPdf(inserted.get(0).getId(), 10)));
+    }
+
+    @Test
+    @DisplayName("Should stop offering invoices for email once they are sent or rejected")
+    public void testSentAndRejectedInvoicesNotOffered() throws SQLException {
+        List<Billing> inserted = transactionManager.executeInTransaction(() -> repository.insertAll(bills(1, 2, 3)));
+        Map<Long, String> pdfPaths = new HashMap<>();
+        for (Billing billing : inserted) {
+            pdfPaths.put(billing.getId(), billing.invoiceNumber() + ".pdf");
+        }
+        repository.updatePdfPaths(pdfPaths);
+
+        repository.markEmailSent(List.of(inserted.get(0).getId()), LocalDateTime.now());
+        repository.markEmailRejected(List.of(inserted.get(1).getId()));
+
+        assertEquals(List.of(3L), subscriptionIds(repository.findUnsentInvoices(0, 10)));
+    }
+
+    private static List<Billing> bills(long... userSubscriptionIds) {
+        List<Billing> bills = new ArrayList<>();
+        for (long userSubscriptionId : userSubscriptionIds) {
+            UserSubscription subscription = new UserSubscription();
+            subscription.setId(userSubscriptionId);
+            subscription.setNegotiatedPrice(new BigDecimal("9.99"));
+            bills.add(Billing.forPeriod(subscription, PERIOD_START, PERIOD_START.plusMonths(1), PERIOD_START));
+        }
+        return bills;
+    }
+
+    private static List<Long> subscriptionIds(List<Billing> bills) {
+        List<Long> ids = new ArrayList<>();
+        for (Billing bill : bills) {
+            ids.add(bill.getUserSubscriptionId());
+        }
+        return ids;
+    }
+
+    private int countBills() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM billings")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
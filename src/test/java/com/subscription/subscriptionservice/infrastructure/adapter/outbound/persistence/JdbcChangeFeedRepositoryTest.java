@@ -0,0 +1,118 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
+
+import com.subscription.subscriptionservice.application.port.inbound.ChangeFeedServicePort.ChangeBatch;
+import com.subscription.subscriptionservice.application.service.ChangeFeedUseCase;
+import com.subscription.subscriptionservice.domain.model.ChangeRecord;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcChangeFeedRepository gap handling, against an in-memory H2 database
+ */
+@DisplayName("JdbcChangeFeedRepository Tests")
+public class JdbcChangeFeedRepositoryTest {
+
+    // Well past ChangeFeedUseCase.GAP_GRACE
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusMinutes(10);
+
+    private HikariDataSource dataSource;
+    private JdbcChangeFeedRepository repository;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:change_feed_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=200");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE change_log (seq BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "entity_type VARCHAR(30) NOT NULL, entity_id BIGINT NOT NULL, changed_at TIMESTAMP NOT NULL)");
+            stmt.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), email VARCHAR(100), " +
+                "mobile_number VARCHAR(20), enabled BOOLEAN, deleted BOOLEAN)");
+        }
+        repository = new JdbcChangeFeedRepository(dataSource);
+        // Sequence 1, read by every client already
+        try (Connection conn = dataSource.getConnection()) {
+            recordUserChange(conn, 0L);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should hold the feed at a slow transaction's sequence until it commits, past the grace period")
+    public void testSlowTransactionCommitsAfterGrace() throws SQLException {
+        ChangeFeedUseCase changeFeed = new ChangeFeedUseCase(repository);
+        try (Connection slow = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            long slowSequence = recordUserChange(slow, 1L);
+            try (Connection fast = dataSource.getConnection()) {
+                recordUserChange(fast, 2L);
+            }
+
+            ChangeBatch held = changeFeed.getChanges(1, 100);
+            assertEquals(1, held.getCursor());
+            assertTrue(held.getChanges().isEmpty());
+
+            slow.commit();
+            ChangeBatch after = changeFeed.getChanges(1, 100);
+            assertEquals(3, after.getCursor());
+            assertEquals(List.of(slowSequence, 3L), List.of(after.getChanges().get(0).getSequence(),
+                after.getChanges().get(1).getSequence()));
+        }
+        assertEquals(0, repository.findAfter(0, 100).stream()
+            .filter(record -> ChangeRecord.GAP.equals(record.getEntityType())).count());
+    }
+
+    @Test
+    @DisplayName("Should close the gap of a rolled back transaction and move past it")
+    public void testRolledBackGapClosed() throws SQLException {
+        ChangeFeedUseCase changeFeed = new ChangeFeedUseCase(repository);
+        try (Connection rolledBack = dataSource.getConnection()) {
+            rolledBack.setAutoCommit(false);
+            recordUserChange(rolledBack, 1L);
+            try (Connection fast = dataSource.getConnection()) {
+                recordUserChange(fast, 2L);
+            }
+            rolledBack.rollback();
+        }
+
+        ChangeBatch batch = changeFeed.getChanges(1, 100);
+
+        assertEquals(3, batch.getCursor());
+        assertEquals(1, batch.getChanges().size());
+        assertEquals(2L, batch.getChanges().get(0).getEntityId());
+        assertEquals(ChangeRecord.GAP, repository.findAfter(1, 1).get(0).getEntityType());
+        assertEquals(3, repository.countSequences(0, 3));
+    }
+
+    private static long recordUserChange(Connection conn, long userId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO change_log (entity_type, entity_id, changed_at) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, ChangeRecord.USER);
+            stmt.setLong(2, userId);
+            stmt.setTimestamp(3, Timestamp.valueOf(LONG_AGO));
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+}
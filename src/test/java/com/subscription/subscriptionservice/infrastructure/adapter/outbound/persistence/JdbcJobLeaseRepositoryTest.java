@@ -0,0 +1,77 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcJobLeaseRepository, against an in-memory H2 database
+ */
+@DisplayName("JdbcJobLeaseRepository Tests")
+public class JdbcJobLeaseRepositoryTest {
+
+    // Ahead of the wall clock, which release() uses to expire a lease
+    private final LocalDateTime now = LocalDateTime.now().plusDays(1).withNano(0);
+    private HikariDataSource dataSource;
+    private JdbcJobLeaseRepository repository;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:leases_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE job_leases (job_name VARCHAR(100) PRIMARY KEY, owner VARCHAR(200), " +
+                "lease_until TIMESTAMP, fencing_token BIGINT DEFAULT 0, last_scheduled_at TIMESTAMP, updated_at TIMESTAMP)");
+        }
+        repository = new JdbcJobLeaseRepository(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should not grant a held lease again before it expires, even to its owner")
+    public void testHeldLeaseNotReacquired() {
+        OptionalLong first = repository.tryAcquire("billing-run", "node-1", now, now.plusMinutes(5), null);
+
+        assertEquals(OptionalLong.of(1), first);
+        assertTrue(repository.tryAcquire("billing-run", "node-1", now.plusMinutes(1), now.plusMinutes(6), null).isEmpty());
+        assertTrue(repository.tryAcquire("billing-run", "node-2", now.plusMinutes(1), now.plusMinutes(6), null).isEmpty());
+        assertTrue(repository.renew("billing-run", "node-1", 1, now.plusMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should hand an expired lease to the next node with a higher fencing token")
+    public void testExpiredLeaseTakenOver() {
+        repository.tryAcquire("billing-run", "node-1", now, now.plusMinutes(5), null);
+
+        OptionalLong takeover = repository.tryAcquire("billing-run", "node-2", now.plusMinutes(6), now.plusMinutes(11), null);
+
+        assertEquals(OptionalLong.of(2), takeover);
+        assertFalse(repository.renew("billing-run", "node-1", 1, now.plusMinutes(12)));
+    }
+
+    @Test
+    @DisplayName("Should run each schedule slot once")
+    public void testScheduleSlotRunsOnce() {
+        LocalDateTime slot = now.withMinute(0);
+        OptionalLong first = repository.tryAcquire("job:monthlyBilling", "node-1", now, now.plusMinutes(5), slot);
+        repository.release("job:monthlyBilling", "node-1", first.getAsLong());
+
+        assertTrue(repository.tryAcquire("job:monthlyBilling", "node-2", now.plusMinutes(1), now.plusMinutes(6), slot).isEmpty());
+        assertTrue(repository.tryAcquire("job:monthlyBilling", "node-2", now.plusMinutes(1), now.plusMinutes(6),
+            slot.plusHours(1)).isPresent());
+    }
+}
@@ -0,0 +1,43 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.infrastructure.util.ApiKeyUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter
+ */
+@DisplayName("BloomFilter Tests")
+public class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never miss an added digest and stay near the configured false positive rate")
+    public void testMembership() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(ApiKeyUtil.digest("revoked-" + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(ApiKeyUtil.digest("revoked-" + i)));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(ApiKeyUtil.digest("live-" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+        assertEquals(10_000, filter.additions());
+    }
+
+    @Test
+    @DisplayName("Should reject inputs too short to be a digest")
+    public void testRejectsShortInput() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertThrows(IllegalArgumentException.class, () -> filter.put(new byte[8]));
+    }
+}
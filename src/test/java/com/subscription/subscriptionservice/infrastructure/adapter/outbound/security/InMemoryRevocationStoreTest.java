@@ -0,0 +1,86 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.domain.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryRevocationStore
+ */
+@DisplayName("InMemoryRevocationStore Tests")
+public class InMemoryRevocationStoreTest {
+
+    @Test
+    @DisplayName("Should hold a revocation only until the token expires")
+    public void testExpiry() {
+        InMemoryRevocationStore store = new InMemoryRevocationStore(10);
+        long now = System.currentTimeMillis();
+        store.revoke("live", now + 60_000);
+        store.revoke("expired", now - 1);
+
+        assertTrue(store.isRevoked("live"));
+        assertFalse(store.isRevoked("expired"));
+        assertFalse(store.isRevoked("unknown"));
+        assertEquals(1, store.getStats().get("entries"));
+    }
+
+    @Test
+    @DisplayName("Should refuse new revocations when full rather than drop live ones")
+    public void testBounded() {
+        InMemoryRevocationStore store = new InMemoryRevocationStore(10);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            store.revoke("token-" + i, now + 60_000 + i * 1000L);
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> store.revoke("newest", now + 600_000));
+
+        assertEquals(10, store.getStats().get("entries"));
+        assertEquals(1L, store.getStats().get("overflows"));
+        assertTrue(store.isRevoked("token-0"));
+        assertFalse(store.isRevoked("newest"));
+        // Re-revoking a listed token needs no room
+        store.revoke("token-0", now + 120_000);
+    }
+
+    @Test
+    @DisplayName("Should make room by dropping expired revocations")
+    public void testExpiredMakeRoom() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        InMemoryRevocationStore store = new InMemoryRevocationStore(2, 2, now::get);
+        store.revoke("short", now.get() + 1000);
+        store.revoke("long", now.get() + 60_000);
+        now.addAndGet(1000);
+
+        store.revoke("newest", now.get() + 60_000);
+
+        assertTrue(store.isRevoked("newest"));
+        assertTrue(store.isRevoked("long"));
+        assertEquals(2, store.getStats().get("entries"));
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest rotated refresh token rather than block logouts")
+    public void testRotatedEviction() {
+        InMemoryRevocationStore store = new InMemoryRevocationStore(2, 3);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            store.revokeRotated("refresh-" + i, now + 600_000);
+        }
+
+        assertFalse(store.isRevoked("refresh-0"));
+        assertFalse(store.isRevoked("refresh-1"));
+        assertTrue(store.isRevoked("refresh-4"));
+        assertEquals(3, store.getStats().get("rotatedEntries"));
+        assertEquals(2L, store.getStats().get("evictions"));
+
+        store.revoke("access-0", now + 60_000);
+        store.revoke("access-1", now + 60_000);
+        assertTrue(store.isRevoked("access-1"));
+        assertEquals(0L, store.getStats().get("overflows"));
+    }
+}
@@ -0,0 +1,25 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtEntitlementTokenAdapter
+ */
+@DisplayName("JwtEntitlementTokenAdapter Tests")
+public class JwtEntitlementTokenAdapterTest {
+
+    @Test
+    @DisplayName("Should refuse a key pair with only one half configured")
+    public void testRejectsHalfConfiguredPair() throws Exception {
+        Map<String, Object> ephemeral = new JwtEntitlementTokenAdapter(null, " ").getVerificationKey();
+        String publicKey = (String) ephemeral.get("publicKey");
+
+        assertThrows(IllegalArgumentException.class, () -> new JwtEntitlementTokenAdapter(null, publicKey));
+        assertThrows(IllegalArgumentException.class, () -> new JwtEntitlementTokenAdapter("MIGHAgEAMBMG", ""));
+    }
+}
@@ -0,0 +1,76 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.domain.exception.AuthenticationException;
+import com.subscription.subscriptionservice.domain.model.AuthPrincipal;
+import com.subscription.subscriptionservice.domain.model.Role;
+import com.subscription.subscriptionservice.domain.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtSecurityAdapter
+ */
+@DisplayName("JwtSecurityAdapter Tests")
+public class JwtSecurityAdapterTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-only";
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(4, 1, 4, 5000);
+    private final JwtSecurityAdapter adapter = new JwtSecurityAdapter(SECRET, 60_000, 120_000, passwordHasher);
+
+    @AfterEach
+    public void tearDown() {
+        passwordHasher.close();
+    }
+
+    @Test
+    @DisplayName("Should read username, id, roles and expiry from one parse")
+    public void testParseAndValidate() {
+        String token = adapter.generateAccessToken(user());
+
+        AuthPrincipal principal = adapter.parseAndValidate(token);
+
+        assertEquals("alice", principal.getUsername());
+        assertEquals(42L, principal.getUserId());
+        assertEquals(List.of("ROLE_ADMIN"), principal.getRoles());
+        assertTrue(principal.getExpiresAt().isAfter(Instant.now()));
+        assertThrows(UnsupportedOperationException.class, () -> principal.getRoles().add("ROLE_USER"));
+        assertSame(principal, adapter.parseAndValidate(token));
+        assertEquals(1L, adapter.getVerifiedTokenCache().getStats().get("hits"));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered, foreign, expired and revoked tokens")
+    public void testRejectsInvalidTokens() {
+        String token = adapter.generateAccessToken(user());
+        JwtSecurityAdapter otherKey = new JwtSecurityAdapter(SECRET.replace('t', 'x'), 60_000, 120_000, passwordHasher);
+        JwtSecurityAdapter expired = new JwtSecurityAdapter(SECRET, -1000, -1000, passwordHasher);
+
+        assertThrows(AuthenticationException.class, () -> adapter.parseAndValidate(token + "x"));
+        assertThrows(AuthenticationException.class, () -> adapter.parseAndValidate(otherKey.generateAccessToken(user())));
+        assertThrows(AuthenticationException.class, () -> adapter.parseAndValidate(expired.generateAccessToken(user())));
+        assertThrows(AuthenticationException.class, () -> adapter.parseAndValidate("not-a-token"));
+
+        // Verified once, so the revocation has to drop the cached principal too
+        assertEquals("alice", adapter.parseAndValidate(token).getUsername());
+        adapter.blacklistToken(token, System.currentTimeMillis() + 60_000);
+        assertThrows(AuthenticationException.class, () -> adapter.parseAndValidate(token));
+        assertFalse(adapter.validateToken(token));
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("alice");
+        user.setRoles(new HashSet<>(Set.of(new Role(1L, Role.RoleName.ROLE_ADMIN))));
+        return user;
+    }
+}
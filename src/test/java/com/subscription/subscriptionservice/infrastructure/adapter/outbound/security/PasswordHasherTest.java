@@ -0,0 +1,49 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.domain.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHasher
+ */
+@DisplayName("PasswordHasher Tests")
+public class PasswordHasherTest {
+
+    @Test
+    @DisplayName("Should hash at the configured cost and flag hashes made at another cost")
+    public void testHashAndRehash() {
+        try (PasswordHasher hasher = new PasswordHasher(5, 2, 4, 5000)) {
+            String hashed = hasher.hash("secret");
+
+            assertEquals(5, PasswordHasher.costOf(hashed));
+            assertTrue(hasher.verify("secret", hashed));
+            assertFalse(hasher.verify("wrong", hashed));
+            assertFalse(hasher.verify("secret", null));
+            assertFalse(hasher.needsRehash(hashed));
+            assertTrue(hasher.needsRehash(BCrypt.hashpw("secret", BCrypt.gensalt(4))));
+            assertEquals(-1, PasswordHasher.costOf("plain-text"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should turn callers away with 503 once the queue is full")
+    public void testBackpressure() throws InterruptedException {
+        try (PasswordHasher hasher = new PasswordHasher(13, 1, 1, 30_000)) {
+            CompletableFuture.runAsync(() -> hasher.hash("first"));
+            CompletableFuture.runAsync(() -> hasher.hash("second"));
+            while ((Integer) hasher.getStats().get("queued") < 1) {
+                Thread.sleep(5);
+            }
+
+            ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> hasher.hash("third"));
+            assertEquals(503, e.getStatusCode());
+            assertEquals(1L, hasher.getStats().get("rejections"));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.subscription.subscriptionservice.infrastructure.adapter.outbound.security;
+
+import com.subscription.subscriptionservice.domain.model.AuthPrincipal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VerifiedTokenCache
+ */
+@DisplayName("VerifiedTokenCache Tests")
+public class VerifiedTokenCacheTest {
+
+    @Test
+    @DisplayName("Should serve a principal until its token expires or is invalidated")
+    public void testExpiryAndInvalidation() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        AuthPrincipal live = principal(Instant.now().plusSeconds(60));
+        cache.put("live", live);
+        cache.put("expired", principal(Instant.now().minusSeconds(1)));
+        cache.put("no-expiry", principal(null));
+
+        assertSame(live, cache.get("live"));
+        assertNull(cache.get("expired"));
+        assertNull(cache.get("no-expiry"));
+
+        cache.invalidate("live");
+        assertNull(cache.get("live"));
+    }
+
+    @Test
+    @DisplayName("Should stay within its capacity, dropping expired entries first")
+    public void testBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        for (int i = 0; i < 5; i++) {
+            cache.put("expired-" + i, principal(Instant.now().minusSeconds(1)));
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.put("live-" + i, principal(Instant.now().plusSeconds(60)));
+        }
+
+        cache.put("newest", principal(Instant.now().plusSeconds(60)));
+
+        assertEquals(6, cache.getStats().get("entries"));
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.get("live-" + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put("more-" + i, principal(Instant.now().plusSeconds(60)));
+        }
+        assertTrue((Integer) cache.getStats().get("entries") <= 10);
+    }
+
+    private static AuthPrincipal principal(Instant expiresAt) {
+        return new AuthPrincipal("alice", 42L, List.of("ROLE_USER"), expiresAt);
+    }
+}
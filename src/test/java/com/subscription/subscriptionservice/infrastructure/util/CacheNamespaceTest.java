@@ -0,0 +1,75 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import com.subscription.subscriptionservice.application.port.outbound.CachePort;
+import com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CacheNamespace
+ */
+@DisplayName("CacheNamespace Tests")
+public class CacheNamespaceTest {
+
+    private final InMemoryCacheAdapter cachePort = new InMemoryCacheAdapter(100_000, 0);
+
+    @AfterEach
+    public void tearDown() {
+        cachePort.close();
+    }
+
+    @Test
+    @DisplayName("Should move the region to new keys and remove the old ones")
+    public void testInvalidateAll() {
+        CacheNamespace users = new CacheNamespace(cachePort, CacheNamespace.USERS);
+        CacheNamespace devices = new CacheNamespace(cachePort, CacheNamespace.DEVICES);
+        String userKey = users.key("user", 42);
+        String deviceKey = devices.key("device", 42);
+        assertEquals("users:g0:user:42", userKey);
+        cachePort.put(userKey, "alice");
+        cachePort.put(deviceKey, "sensor");
+
+        users.invalidateAll();
+
+        assertEquals("users:g1:user:42", users.key("user", 42));
+        assertNull(cachePort.get(userKey));
+        assertEquals("sensor", cachePort.get(devices.key("device", 42)));
+    }
+
+    @Test
+    @DisplayName("Should pick up another instance's invalidation once the generation is re-read")
+    public void testSharedGeneration() {
+        AtomicLong now = new AtomicLong(10_000);
+        CacheNamespace local = new CacheNamespace(cachePort, CacheNamespace.USERS, now::get);
+        CacheNamespace remote = new CacheNamespace(cachePort, CacheNamespace.USERS, now::get);
+        assertEquals("users:g0:user:1", local.key("user", 1));
+
+        remote.invalidateAll();
+        remote.invalidateAll();
+        assertEquals("users:g0:user:1", local.key("user", 1));
+        now.addAndGet(1000);
+
+        assertEquals("users:g2:user:1", local.key("user", 1));
+    }
+
+    @Test
+    @DisplayName("Should keep the last known generation while the cache returns nothing")
+    public void testKeepsGenerationWhenUnreadable() {
+        AtomicLong now = new AtomicLong(10_000);
+        CachePort unreachable = mock(CachePort.class);
+        when(unreachable.get("generation:users")).thenReturn("3").thenReturn(null);
+        CacheNamespace users = new CacheNamespace(unreachable, CacheNamespace.USERS, now::get);
+        assertEquals("users:g3:user:1", users.key("user", 1));
+
+        now.addAndGet(1000);
+
+        assertEquals("users:g3:user:1", users.key("user", 1));
+        verify(unreachable, times(2)).get("generation:users");
+    }
+}
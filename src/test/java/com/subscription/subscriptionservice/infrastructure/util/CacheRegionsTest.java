@@ -0,0 +1,70 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter;
+import com.subscription.subscriptionservice.infrastructure.util.codec.JsonCacheCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CacheRegions
+ */
+@DisplayName("CacheRegions Tests")
+public class CacheRegionsTest {
+
+    private final InMemoryCacheAdapter cachePort = new InMemoryCacheAdapter(100_000, 0);
+    private final CacheRegions regions = new CacheRegions(cachePort,
+        Map.of(CacheNamespace.FEATURES, Map.of("ttlSeconds", 3600, "staleSeconds", 300)));
+
+    @AfterEach
+    public void tearDown() {
+        cachePort.close();
+    }
+
+    @Test
+    @DisplayName("Should read through, evict on write and report the hit ratio per region")
+    @SuppressWarnings("unchecked")
+    public void testReadThroughAndEvict() {
+        CacheRegion<String> features = regions.region(CacheNamespace.FEATURES, new JsonCacheCodec<>(String.class));
+        AtomicInteger loads = new AtomicInteger();
+        String key = features.key("feature", 1);
+
+        assertEquals("v1", features.get(key, () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", features.get(key, () -> "v" + loads.incrementAndGet()));
+        features.evict(key);
+        assertEquals("v2", features.get(key, () -> "v" + loads.incrementAndGet()));
+
+        Map<String, Object> stats = (Map<String, Object>) regions.getStats().get(CacheNamespace.FEATURES);
+        assertEquals(3600L, stats.get("ttlSeconds"));
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(1.0 / 3, (Double) stats.get("hitRatio"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should share one region per name and fall back to defaults")
+    public void testSharedRegionsAndDefaults() {
+        CacheRegion<String> first = regions.region(CacheNamespace.DEVICES, new JsonCacheCodec<>(String.class));
+        CacheRegion<String> second = regions.region(CacheNamespace.DEVICES, new JsonCacheCodec<>(String.class));
+
+        assertSame(first, second);
+        assertEquals(300L, first.getStats().get("ttlSeconds"));
+    }
+
+    @Test
+    @DisplayName("Should load every read when there is no cache port")
+    public void testPassthrough() {
+        CacheRegion<String> users = new CacheRegions().region(CacheNamespace.USERS, new JsonCacheCodec<>(String.class));
+        AtomicInteger loads = new AtomicInteger();
+
+        users.get(users.key("user", 1), () -> "v" + loads.incrementAndGet());
+        users.get(users.key("user", 1), () -> "v" + loads.incrementAndGet());
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,92 @@
+package com.subscription.subscriptionservice.infrastructure.util;
+
+import com.subscription.subscriptionservice.infrastructure.adapter.outbound.cache.InMemoryCacheAdapter;
+import com.subscription.subscriptionservice.infrastructure.util.codec.JsonCacheCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadingCache
+ */
+@DisplayName("LoadingCache Tests")
+public class LoadingCacheTest {
+
+    private final InMemoryCacheAdapter cachePort = new InMemoryCacheAdapter(100_000, 0);
+    // Refreshes run on the calling thread
+    private final LoadingCache cache = new LoadingCache(cachePort, 60, Runnable::run);
+
+    @AfterEach
+    public void tearDown() {
+        cachePort.close();
+    }
+
+    @Test
+    @DisplayName("Should load a missing key once for concurrent readers")
+    public void testSingleFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(readers.submit(() -> cache.get("key", String.class, 300, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a stale value while it is refreshed")
+    public void testStaleWhileRevalidate() {
+        AtomicReference<String> source = new AtomicReference<>("v1");
+
+        assertEquals("v1", cache.get("key", String.class, 0, source::get));
+        source.set("v2");
+
+        assertEquals("v1", cache.get("key", String.class, 0, source::get));
+        assertEquals("v2", cache.get("key", String.class, 0, source::get));
+        assertEquals(2L, cache.getStats().get("staleHits"));
+        assertEquals(2L, cache.getStats().get("refreshes"));
+    }
+
+    @Test
+    @DisplayName("Should cache under aliases and not cache failed loads")
+    public void testAliasesAndFailures() {
+        cache.get("user:username:alice", new JsonCacheCodec<>(String.class), 300, () -> "alice", value -> List.of("user:1"));
+        assertEquals("alice", cache.get("user:1", String.class, 300, () -> fail("should be cached")));
+
+        assertThrows(IllegalStateException.class, () -> cache.get("missing", String.class, 300, () -> {
+            throw new IllegalStateException("not found");
+        }));
+        assertNull(cachePort.get("missing"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.Subscription;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SubscriptionCacheCodec
+ */
+@DisplayName("SubscriptionCacheCodec Tests")
+public class SubscriptionCacheCodecTest {
+
+    private final SubscriptionCacheCodec codec = SubscriptionCacheCodec.INSTANCE;
+
+    @Test
+    @DisplayName("Should round-trip a fully populated subscription")
+    public void testRoundTrip() {
+        Subscription subscription = new Subscription(7L, "Pro", "Pro plan", 3L, new BigDecimal("-1234.5600"),
+            Subscription.SubscriptionLevel.values()[Subscription.SubscriptionLevel.values().length - 1],
+            Subscription.BillingCycle.values()[Subscription.BillingCycle.values().length - 1], false, true,
+            LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999), 9L, new ArrayList<>(List.of(1L, 300L, 70_000L)),
+            LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        Subscription decoded = codec.decode(codec.encode(subscription));
+
+        assertEquals(subscription, decoded);
+        // Scale is part of the value - 1234.5600 must not come back as 1234.56
+        assertEquals(4, decoded.getBasePrice().scale());
+    }
+
+    @Test
+    @DisplayName("Should keep null fields null instead of restoring defaults")
+    public void testNulls() {
+        Subscription subscription = new Subscription();
+        subscription.setLevel(null);
+        subscription.setBillingCycle(null);
+        subscription.setActive(null);
+        subscription.setDeleted(null);
+        subscription.setFeatureIds(null);
+
+        Subscription decoded = codec.decode(codec.encode(subscription));
+
+        assertEquals(subscription, decoded);
+        assertNull(decoded.getFeatureIds());
+        assertNull(decoded.getLevel());
+    }
+
+    @Test
+    @DisplayName("Should reject bytes from another codec version")
+    public void testRejectsUnreadable() {
+        byte[] bytes = codec.encode(new Subscription());
+        bytes[0] = (byte) (SubscriptionCacheCodec.VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(bytes));
+    }
+}
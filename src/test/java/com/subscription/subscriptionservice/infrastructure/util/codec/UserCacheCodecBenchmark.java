@@ -0,0 +1,73 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.Role;
+import com.subscription.subscriptionservice.domain.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Payload size and encode/decode cost of UserCacheCodec against the JSON codec it replaced.
+ * The build has no JMH, so this is a warmed-up loop; run it with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("UserCacheCodec Benchmark")
+public class UserCacheCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 200_000;
+
+    // Keeps the JIT from discarding the measured work
+    private long sink;
+
+    @Test
+    @DisplayName("Should compare binary and JSON payload size and codec cost")
+    public void testCompareWithJson() {
+        // A typical user with one role; JSON has no LocalDateTime support here, so deletedAt stays null
+        User user = new User(42L, "alice", "alice@example.com", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4F0tZ6C0cvC2JQXs3C5X8de",
+            "+15550001", null, "1 Main St", "Springfield", "IL", "62701", "US", false, null,
+            null, User.AuthProvider.LOCAL, null, true, new HashSet<>(Set.of(new Role(1L, Role.RoleName.ROLE_USER))));
+        CacheCodec<User> binary = UserCacheCodec.INSTANCE;
+        CacheCodec<User> json = new JsonCacheCodec<>(User.class);
+        byte[] binaryPayload = binary.encode(user);
+        byte[] jsonPayload = json.encode(user);
+
+        double jsonEncode = encodeMicros(json, user);
+        double binaryEncode = encodeMicros(binary, user);
+        double jsonDecode = decodeMicros(json, jsonPayload);
+        double binaryDecode = decodeMicros(binary, binaryPayload);
+
+        System.out.printf("payload  %d B JSON -> %d B binary%n", jsonPayload.length, binaryPayload.length);
+        System.out.printf("encode   %.2f us   -> %.2f us%n", jsonEncode, binaryEncode);
+        System.out.printf("decode   %.2f us   -> %.2f us%n", jsonDecode, binaryDecode);
+        assertTrue(binaryPayload.length < jsonPayload.length);
+        assertTrue(sink != 0);
+    }
+
+    private double encodeMicros(CacheCodec<User> codec, User user) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += codec.encode(user).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.encode(user).length;
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    private double decodeMicros(CacheCodec<User> codec, byte[] payload) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += codec.decode(payload).getId();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += codec.decode(payload).getId();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+}
@@ -0,0 +1,65 @@
+package com.subscription.subscriptionservice.infrastructure.util.codec;
+
+import com.subscription.subscriptionservice.domain.model.Role;
+import com.subscription.subscriptionservice.domain.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserCacheCodec
+ */
+@DisplayName("UserCacheCodec Tests")
+public class UserCacheCodecTest {
+
+    private final UserCacheCodec codec = UserCacheCodec.INSTANCE;
+
+    @Test
+    @DisplayName("Should round-trip a fully populated user")
+    public void testRoundTrip() {
+        User user = new User(42L, "alice", "alice@example.com", "$2a$10$hash", "+15550001", "+15550002",
+            "1 Main St", "Springfield", "IL", "62701", "US", true, LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789),
+            7L, User.AuthProvider.GOOGLE, "google-123", false,
+            new HashSet<>(Set.of(new Role(1L, Role.RoleName.ROLE_USER), new Role(2L, Role.RoleName.ROLE_ADMIN))));
+
+        User decoded = codec.decode(codec.encode(user));
+
+        assertEquals(user, decoded);
+        // JSON has no LocalDateTime support here
+        user.setDeletedAt(null);
+        assertTrue(codec.encode(user).length < new JsonCacheCodec<>(User.class).encode(user).length / 2);
+    }
+
+    @Test
+    @DisplayName("Should keep null fields null instead of restoring defaults")
+    public void testNulls() {
+        User user = new User();
+        user.setId(-1L);
+        user.setDeleted(null);
+        user.setEnabled(null);
+        user.setProvider(null);
+        user.setRoles(null);
+
+        User decoded = codec.decode(codec.encode(user));
+
+        assertEquals(user, decoded);
+        assertNull(decoded.getEnabled());
+        assertNull(decoded.getRoles());
+    }
+
+    @Test
+    @DisplayName("Should reject other versions and truncated input")
+    public void testRejectsUnreadable() {
+        byte[] encoded = codec.encode(new User());
+        byte[] otherVersion = encoded.clone();
+        otherVersion[0] = UserCacheCodec.VERSION + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(otherVersion));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{UserCacheCodec.VERSION, (byte) 0x82}));
+    }
+}